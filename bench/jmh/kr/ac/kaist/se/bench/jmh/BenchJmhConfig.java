@@ -0,0 +1,15 @@
+package kr.ac.kaist.se.bench.jmh;
+
+/**
+ * Common settings of JMH benchmarks
+ *
+ * @author ymbaek
+ */
+final class BenchJmhConfig {
+
+    /** Number of CSs of each organization of a synthetic SoS model */
+    static final int CS_PER_ORG = 100;
+
+    private BenchJmhConfig() {
+    }
+}
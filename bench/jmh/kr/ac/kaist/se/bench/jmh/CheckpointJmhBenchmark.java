@@ -0,0 +1,115 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimEngine;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import kr.ac.kaist.se.simdata.output.SimLog;
+import kr.ac.kaist.se.simdata.output.sink.NullSimLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reaching checkpointTick of a synthetic SoS model (BenchSoS) with a GRID map:
+ * re-running the model from tick 0 vs. restoring a checkpoint of the tick (SimEngine.restore(..)),
+ * and writing the checkpoint (SimEngine.checkpoint(..)).
+ * A new model and SimEngine are created before each invocation.
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CheckpointJmhBenchmark {
+
+    @Param({"1000"})
+    public int numOfCSs;
+
+    @Param({"1000"})
+    public int checkpointTick;
+
+    @Param({"100"})
+    public int mapWidth;
+
+    private File mapInitFile;
+    private SimConfiguration simConfig;
+    private SimEngine checkpointedEngine;
+    private byte[] checkpoint;
+
+    private SimEngine simEngine;
+
+    @Setup(Level.Trial)
+    public void setUpCheckpoint() throws IOException {
+        SimTracer.setSilent();
+
+        mapInitFile = File.createTempFile("jmhmap", ".txt");
+        try (FileWriter writer = new FileWriter(mapInitFile)) {
+            writer.write("SET(isWall=1) WHERE(xPos==0);\n");
+            writer.write("SET(elevation=3.5, terrain=\"WATER\") WHERE(floor==\"FLOOR_2\")\n");
+        }
+
+        simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(checkpointTick + 1);
+        simConfig.setSimSilentMode(true);
+        simConfig.setSimEngineLogEnabled(false);
+
+        //A checkpoint after checkpointTick
+        checkpointedEngine = createSimEngine();
+        checkpointedEngine.startSimulation();
+        ByteArrayOutputStream checkpointBytes = new ByteArrayOutputStream();
+        checkpointedEngine.checkpoint(checkpointBytes);
+        checkpoint = checkpointBytes.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mapInitFile.delete();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpEngine() {
+        simEngine = createSimEngine();
+    }
+
+    @Benchmark
+    public SimLog rerun() {
+        return simEngine.startSimulation();
+    }
+
+    @Benchmark
+    public int restore() throws IOException {
+        return simEngine.restore(new ByteArrayInputStream(checkpoint));
+    }
+
+    @Benchmark
+    public int checkpoint() throws IOException {
+        ByteArrayOutputStream checkpointBytes = new ByteArrayOutputStream(checkpoint.length);
+        checkpointedEngine.checkpoint(checkpointBytes);
+        return checkpointBytes.size();
+    }
+
+    private SimEngine createSimEngine() {
+        SoS simModel = BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false);
+        simModel.setSosMap(BenchModelFactory.createMap(mapWidth, mapWidth, mapInitFile.getPath(), EnumMapBackend.GRID));
+
+        return new SimEngine(simModel, "0", simConfig, new SimScenario(), new NullSimLogSink());
+    }
+}
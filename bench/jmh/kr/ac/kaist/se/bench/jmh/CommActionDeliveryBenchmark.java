@@ -0,0 +1,77 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchCS;
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.cap.CommAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message delivery of CommActions, as SimEngine does in a tick:
+ * precondition check, receiver lookup, enqueue to the receiver, and dequeue by the receiver.
+ * Every CS sends a message to the next CS of its organization.
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommActionDeliveryBenchmark {
+
+    @Param({"100", "10000"})
+    public int numOfCSs;
+
+    private SoS sos;
+    private final ArrayList<CommAction> commActions = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        int numOfOrgs = Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG);
+        int csPerOrg = Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG);
+        sos = BenchModelFactory.createSoS(numOfOrgs, csPerOrg, true);
+
+        commActions.clear();
+        for (Constituent cs : sos.getCsList()) {
+            BenchCS benchCS = (BenchCS) cs;
+            commActions.add(new CommAction(sos, benchCS, "COMM_" + cs.getId(), "SendToPeer", benchCS.makeMsgForCommAction(null)));
+        }
+    }
+
+    /**
+     * Deliver a message of every CommAction (i.e., numOfCSs messages per invocation)
+     */
+    @Benchmark
+    public int deliverMessages() {
+        int delivered = 0;
+
+        for (CommAction commAction : commActions) {
+            if (commAction.checkPrecondition()) {
+                _SimMessage_ message = commAction.getMessage();
+                _SimObject_ receiverObj = sos.getMemberSimObjectById(message.getReceiverId());
+                if (receiverObj != null) {
+                    receiverObj.getMsgQueue().offer(message);
+                }
+            }
+        }
+
+        for (CommAction commAction : commActions) {
+            if (commAction.getActionSubject().getMsgQueue().poll() != null) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+}
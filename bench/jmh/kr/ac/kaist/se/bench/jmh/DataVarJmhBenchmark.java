@@ -0,0 +1,65 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.data.EnumDomainType;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DataVarDomain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Set/get of a DataVar: the string API vs. the typed API
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataVarJmhBenchmark {
+
+    private DataVar intVar;
+    private DataVar floatVar;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+        intVar = new DataVar("energy", "energy", "Int", "0", "0",
+                new DataVarDomain(EnumDomainType.VALUE_RANGE_DISCRETE, 0, 1000, false, true, "0"));
+        floatVar = new DataVar("speed", "speed", "Float", "0.0", "0.0",
+                new DataVarDomain(EnumDomainType.VALUE_RANGE_CONTINUOUS, 0, 1000, false, false, "0.0"));
+    }
+
+    @Benchmark
+    public String intStringApi() {
+        int value = Integer.parseInt(intVar.getDataCurValue());
+        intVar.setDataCurValue(Integer.toString((value + 1) & 1023));
+        return intVar.getDataCurValue();
+    }
+
+    @Benchmark
+    public int intTypedApi() {
+        intVar.setIntegerData((intVar.getIntegerData() + 1) & 1023);
+        return intVar.getIntegerData();
+    }
+
+    @Benchmark
+    public String floatStringApi() {
+        float value = Float.parseFloat(floatVar.getDataCurValue());
+        floatVar.setDataCurValue(Float.toString(value < 1000 ? value + 0.5f : 0));
+        return floatVar.getDataCurValue();
+    }
+
+    @Benchmark
+    public float floatTypedApi() {
+        float value = floatVar.getFloatData();
+        floatVar.setFloatData(value < 1000 ? value + 0.5f : 0);
+        return floatVar.getFloatData();
+    }
+}
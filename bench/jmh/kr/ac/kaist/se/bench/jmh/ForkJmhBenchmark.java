@@ -0,0 +1,114 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimEngine;
+import kr.ac.kaist.se.controller.sim.SimModelFactory;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a what-if branch of a running simulation of a synthetic SoS model (BenchSoS) with a GRID map:
+ * SimEngine.fork(..) (the map is shared copy-on-write) vs. copying the whole state through a checkpoint
+ * (SimEngine.checkpoint(..)/restore(..)).
+ * In both cases, a model of a branch is created by the same SimModelFactory (with its own map),
+ * and NUM_OF_BRANCHES branches are created in each invocation (from one checkpoint for restore).
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ForkJmhBenchmark {
+
+    private static final int NUM_OF_BRANCHES = 16;
+
+    @Param({"1000"})
+    public int numOfCSs;
+
+    @Param({"300"})
+    public int mapWidth;
+
+    private File mapInitFile;
+    private SimConfiguration simConfig;
+    private SimModelFactory modelFactory;
+    private SimEngine simEngine;
+
+    @Setup
+    public void setUp() throws IOException {
+        SimTracer.setSilent();
+
+        mapInitFile = File.createTempFile("jmhmap", ".txt");
+        try (FileWriter writer = new FileWriter(mapInitFile)) {
+            writer.write("SET(isWall=1) WHERE(xPos==0);\n");
+            writer.write("SET(elevation=3.5, terrain=\"WATER\") WHERE(floor==\"FLOOR_2\")\n");
+        }
+
+        simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(10);
+        simConfig.setSimSilentMode(true);
+        simConfig.setSimEngineLogEnabled(false);
+
+        modelFactory = (replicationId, randomSeed) -> createSimModel();
+
+        simEngine = new SimEngine(modelFactory.createSimModel(0, 0), "0", simConfig, new SimScenario(), null);
+        simEngine.startSimulation();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapInitFile.delete();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_BRANCHES)
+    public ArrayList<SimEngine> fork() {
+        ArrayList<SimEngine> branches = new ArrayList<>(NUM_OF_BRANCHES);
+        for (int branchId = 0; branchId < NUM_OF_BRANCHES; branchId++) {
+            branches.add(simEngine.fork(modelFactory, branchId, null));
+        }
+        return branches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_BRANCHES)
+    public ArrayList<SimEngine> checkpointAndRestore() throws IOException {
+        ByteArrayOutputStream checkpointBytes = new ByteArrayOutputStream();
+        simEngine.checkpoint(checkpointBytes);
+        byte[] checkpoint = checkpointBytes.toByteArray();
+
+        ArrayList<SimEngine> branches = new ArrayList<>(NUM_OF_BRANCHES);
+        for (int branchId = 0; branchId < NUM_OF_BRANCHES; branchId++) {
+            SimEngine branchEngine = new SimEngine(modelFactory.createSimModel(branchId, 0), "0", simConfig, new SimScenario(), null);
+            branchEngine.restore(new ByteArrayInputStream(checkpoint));
+            branches.add(branchEngine);
+        }
+        return branches;
+    }
+
+    private SoS createSimModel() {
+        SoS simModel = BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false);
+        simModel.setSosMap(BenchModelFactory.createMap(mapWidth, mapWidth, mapInitFile.getPath(), EnumMapBackend.GRID));
+        return simModel;
+    }
+}
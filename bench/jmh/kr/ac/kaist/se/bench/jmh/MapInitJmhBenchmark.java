@@ -0,0 +1,65 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchMap;
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.model.sos.geo.SimMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map initialization (SimMap with MapBuilder) of a width x width x 3 map from a map file
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MapInitJmhBenchmark {
+
+    @Param({"100", "300", "578"})
+    public int width;
+
+    @Param({"GRID", "HASH_MAP"})
+    public EnumMapBackend mapBackend;
+
+    private File mapInitFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapInitFile = File.createTempFile("jmhmapinit", ".txt");
+        try (FileWriter writer = new FileWriter(mapInitFile)) {
+            for (int pos = 0; pos < width; pos += 10) {
+                writer.write("SET(isWall=1) WHERE(xPos==" + pos + ");\n");
+                writer.write("SET(isWall=1) WHERE(yPos==" + pos + ");\n");
+            }
+            for (int xPos = 0; xPos < width; xPos++) {
+                writer.write("SET(terrain=\"WATER\") WHERE(xPos==" + xPos + "&&floor==\"FLOOR_1\");\n");
+            }
+            writer.write("SET(elevation=3.5) WHERE(floor==\"FLOOR_2\")\n");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapInitFile.delete();
+    }
+
+    @Benchmark
+    public SimMap initMap() {
+        BenchMap map = BenchModelFactory.createMap(width, width, mapInitFile.getPath(), mapBackend);
+        return map;
+    }
+}
@@ -0,0 +1,81 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.controller.util.MapFileReader;
+import kr.ac.kaist.se.controller.util.MapStatementReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading all statements of a generated map file of fileSizeMB:
+ * streaming over a memory-mapped file (MapStatementReader)
+ * vs. reading the whole file into a string and splitting it (MapFileReader.readMapFile(..))
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MapStatementReaderJmhBenchmark {
+
+    @Param({"16", "64"})
+    public int fileSizeMB;
+
+    private File mapFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapFile = File.createTempFile("jmhmapstream", ".txt");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(mapFile), 1 << 20)) {
+            long fileSize = fileSizeMB * 1024L * 1024L;
+            long written = 0;
+            long index = 0;
+            while (written < fileSize) {
+                String statement = "SET(isWall=" + (index % 2) + ", terrain=\"WATER\") WHERE(xPos==" + (index % 1000) +
+                        "&&yPos==" + (index / 1000 % 1000) + "&&floor==\"FLOOR_" + (index % 3 + 1) + "\");\n";
+                writer.write(statement);
+                written += statement.length();
+                index++;
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapFile.delete();
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        long checksum = 0;
+        try (MapStatementReader statementReader = new MapStatementReader(mapFile, null)) {
+            String statement;
+            while ((statement = statementReader.nextStatement()) != null) {
+                checksum += statement.length();
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long wholeString() {
+        long checksum = 0;
+        String mapInitString = new MapFileReader().readMapFile(mapFile.getPath());
+        for (String statement : mapInitString.trim().split(";")) {
+            checksum += statement.length();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,93 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchMap;
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.util.MapKeyIndex;
+import kr.ac.kaist.se.controller.util.MapKeyManager;
+import kr.ac.kaist.se.controller.util.MapQuery;
+import kr.ac.kaist.se.controller.util.MapQueryCompiler;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WHERE matching of a map-init query on a width x width x 3 hashmap-backed map:
+ * the key index (MapKeyIndex) vs. the former scan decomposing every key of the whole key set
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapWhereMatchJmhBenchmark {
+
+    @Param({"100", "300"})
+    public int width;
+
+    private BenchMap map;
+    private MapKeyManager keyManager;
+    private MapKeyIndex keyIndex;
+    private final ArrayList<MapQuery> mapQueries = new ArrayList<>();
+    private int queryIndex = 0;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+        map = BenchModelFactory.createMap(width, width, "nofile", EnumMapBackend.HASH_MAP);
+        keyManager = new MapKeyManager(map.getMapLocInfo(), map.getMapDimVars());
+        keyIndex = new MapKeyIndex(map.getMapLocInfo(), keyManager, map.getMapDimVars().size());
+
+        //Walls on every 10th row/column, a terrain per column of a floor, and elevation per floor
+        MapQueryCompiler queryCompiler = new MapQueryCompiler(map.getMapDimVars(), map.getMapDataVars());
+        mapQueries.clear();
+        for (int pos = 0; pos < width; pos += 10) {
+            mapQueries.add(queryCompiler.compileQuery("SET(isWall=1) WHERE(xPos==" + pos + ")"));
+            mapQueries.add(queryCompiler.compileQuery("SET(isWall=1) WHERE(yPos==" + pos + ")"));
+            mapQueries.add(queryCompiler.compileQuery("SET(terrain=\"WATER\") WHERE(xPos==" + pos + "&&floor==\"FLOOR_1\")"));
+        }
+        for (String floor : BenchMap.FLOORS) {
+            mapQueries.add(queryCompiler.compileQuery("SET(elevation=3.5) WHERE(floor==\"" + floor + "\")"));
+        }
+    }
+
+    @Benchmark
+    public int keyIndex() {
+        return keyIndex.findMatchingKeys(nextQuery()).size();
+    }
+
+    @Benchmark
+    public int keyScan() {
+        MapQuery mapQuery = nextQuery();
+
+        //The former WHERE matching: every key is decomposed for every condition of a query
+        int numOfMatchingKeys = 0;
+        for (String key : map.getMapLocInfo().keySet()) {
+            boolean isMatching = true;
+            for (int condition = 0; condition < mapQuery.getNumOfConditions(); condition++) {
+                if (!keyManager.getDimValuesFromKey(key).get(mapQuery.getCondDimVarIndex(condition))
+                        .equals(mapQuery.getCondDimVarValue(condition))) {
+                    isMatching = false;
+                }
+            }
+            if (isMatching) {
+                numOfMatchingKeys++;
+            }
+        }
+        return numOfMatchingKeys;
+    }
+
+    private MapQuery nextQuery() {
+        queryIndex = queryIndex + 1 < mapQueries.size() ? queryIndex + 1 : 0;
+        return mapQueries.get(queryIndex);
+    }
+}
@@ -0,0 +1,72 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimReplicationRunner;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import kr.ac.kaist.se.simdata.output.SimReplicationResult;
+import kr.ac.kaist.se.simdata.output.sink.MemorySimLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replications per second of SimReplicationRunner for a synthetic SoS model (BenchSoS),
+ * on one thread vs. on all cores (each replication keeps its SimLogEvents in a MemorySimLogSink)
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReplicationRunnerJmhBenchmark {
+
+    private static final int NUM_OF_REPLICATIONS = 200;
+    private static final int TICKS = 100;
+
+    @Param({"100"})
+    public int numOfCSs;
+
+    @Param({"false", "true"})
+    public boolean parallelRun;
+
+    private SimReplicationRunner runner;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+
+        SimConfiguration simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(TICKS);
+        simConfig.setSimSilentMode(true);
+
+        runner = new SimReplicationRunner(
+                (replicationId, randomSeed) -> BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false),
+                simConfig, new SimScenario());
+        runner.setParallelism(parallelRun ? Runtime.getRuntime().availableProcessors() : 1);
+        runner.setLogSinkFactory(replicationId -> new MemorySimLogSink());
+
+        //A failed replication would not be visible in throughput
+        for (SimReplicationResult result : runner.runReplications(1)) {
+            if (!result.isSucceeded()) {
+                throw new IllegalStateException("Replication " + result.getReplicationId() + " failed", result.getFailure());
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_REPLICATIONS)
+    public ArrayList<SimReplicationResult> replications() {
+        return runner.runReplications(NUM_OF_REPLICATIONS);
+    }
+}
@@ -0,0 +1,93 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.controller.sim.SimEventCalendar;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
+import kr.ac.kaist.se.simdata.evnt.EnumEventOccPattern;
+import kr.ac.kaist.se.simdata.evnt.EnumEventPredefBehavior;
+import kr.ac.kaist.se.simdata.evnt.EnumEventProbDist;
+import kr.ac.kaist.se.simdata.evnt.EnumEventTargetScope;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioEvent;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioUnitEvent;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding the unit events of every tick of a scenario (CONSTANT and PERIODIC events over the whole simulation time):
+ * scanning all unit events at every tick (previous SimEngine) vs. SimEventCalendar (including scheduling)
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScenarioCalendarJmhBenchmark {
+
+    @Param({"1000", "5000"})
+    public int simTotalTime;
+
+    @Param({"20"})
+    public int numOfEvents;
+
+    private SimScenario simScenario;
+    private ArrayList<SimScenarioUnitEvent> unitEventList;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+        simScenario = new SimScenario();
+        for (int i = 0; i < numOfEvents; i++) {
+            EnumEventOccPattern occPattern = i % 2 == 0 ? EnumEventOccPattern.CONSTANT : EnumEventOccPattern.PERIODIC;
+            simScenario.addSimScenarioEvent(new SimScenarioEvent("EVT_" + i, "BenchEvent",
+                    EnumEventType.NOT_DETERMINED, simTotalTime,
+                    "CS_0_0", null,
+                    EnumEventTargetScope.SINGLE_OBJECT,
+                    EnumEventPredefBehavior.NOT_DETERMINED,
+                    occPattern,
+                    i, simTotalTime, 3, 10 + i,
+                    false, EnumEventProbDist.NOT_PROBABILISTIC, ""));
+        }
+
+        //Unit events are created once (the scan is measured without their creation)
+        unitEventList = simScenario.getUnitEventList();
+    }
+
+    @Benchmark
+    public long scan() {
+        long numOfExecutedEvents = 0;
+        for (int tick = 0; tick < simTotalTime; tick++) {
+            for (SimScenarioUnitEvent unitEvent : unitEventList) {
+                if (unitEvent.getStartTime() == tick) {
+                    numOfExecutedEvents++;
+                }
+            }
+        }
+        return numOfExecutedEvents;
+    }
+
+    @Benchmark
+    public long calendar() {
+        SimEventCalendar eventCalendar = new SimEventCalendar();
+        eventCalendar.scheduleAll(simScenario.getEventList());
+
+        long numOfExecutedEvents = 0;
+        for (int tick = 0; tick < simTotalTime; tick++) {
+            for (SimScenarioUnitEvent unitEvent : eventCalendar.pollEvents(tick)) {
+                if (unitEvent.getStartTime() == tick) {
+                    numOfExecutedEvents++;
+                }
+            }
+        }
+        return numOfExecutedEvents;
+    }
+}
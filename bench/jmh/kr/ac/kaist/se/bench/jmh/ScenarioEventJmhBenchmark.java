@@ -0,0 +1,73 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
+import kr.ac.kaist.se.simdata.evnt.EnumEventOccPattern;
+import kr.ac.kaist.se.simdata.evnt.EnumEventPredefBehavior;
+import kr.ac.kaist.se.simdata.evnt.EnumEventProbDist;
+import kr.ac.kaist.se.simdata.evnt.EnumEventTargetScope;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioEvent;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioUnitEvent;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decomposition of a scenario event into unit events:
+ * all at once (SimScenarioEvent.readUnitEvents()) vs. lazily (SimScenario.addSimScenarioEvent(..) and createUnitEventsAt(..))
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScenarioEventJmhBenchmark {
+
+    @Param({"1000", "100000"})
+    public int simTotalTime;
+
+    @Param({"CONSTANT", "PERIODIC"})
+    public EnumEventOccPattern occPattern;
+
+    private SimScenarioEvent scenarioEvent;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+        scenarioEvent = new SimScenarioEvent("EVT_BENCH", "BenchEvent",
+                EnumEventType.NOT_DETERMINED,
+                simTotalTime,
+                "CS_0_0", null,
+                EnumEventTargetScope.SINGLE_OBJECT,
+                EnumEventPredefBehavior.NOT_DETERMINED,
+                occPattern,
+                0, simTotalTime, 5, 10,
+                false, EnumEventProbDist.NOT_PROBABILISTIC, "");
+    }
+
+    @Benchmark
+    public ArrayList<SimScenarioUnitEvent> readUnitEvents() {
+        return scenarioEvent.readUnitEvents();
+    }
+
+    @Benchmark
+    public SimScenario addToScenario() {
+        SimScenario simScenario = new SimScenario();
+        simScenario.addSimScenarioEvent(scenarioEvent);
+        return simScenario;
+    }
+
+    @Benchmark
+    public ArrayList<SimScenarioUnitEvent> createUnitEventsAtMidTime() {
+        return scenarioEvent.createUnitEventsAt(simTotalTime / 2);
+    }
+}
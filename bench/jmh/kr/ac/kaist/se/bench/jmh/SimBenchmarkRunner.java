@@ -0,0 +1,32 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A launcher of the JMH benchmarks of this package.
+ * - args[0] (optional): a regular expression of benchmarks to run (e.g., SoSTraversal)
+ * - -DnumOfCSs=... (optional): sizes of synthetic SoS models (e.g., -DnumOfCSs=1000,100000)
+ *
+ * @author ymbaek
+ */
+public class SimBenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : SimBenchmarkRunner.class.getPackage().getName() + ".*";
+
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder()
+                .include(include)
+                .forks(1)
+                .jvmArgsAppend("-Xmx4g");
+
+        String numOfCSs = System.getProperty("numOfCSs");
+        if (numOfCSs != null) {
+            optionsBuilder.param("numOfCSs", numOfCSs.split(","));
+        }
+
+        new Runner(optionsBuilder.build()).run();
+    }
+}
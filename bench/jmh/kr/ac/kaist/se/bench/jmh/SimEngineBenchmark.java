@@ -0,0 +1,69 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimEngine;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import kr.ac.kaist.se.simdata.output.SimLog;
+import kr.ac.kaist.se.simdata.output.sink.EnumSimLogSinkType;
+import kr.ac.kaist.se.simdata.output.sink.NullSimLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks per second of SimEngine.startSimulation() for synthetic SoS models (BenchSoS).
+ * A new SimEngine runs TICKS ticks in each invocation (logs are discarded by NullSimLogSink).
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimEngineBenchmark {
+
+    private static final int TICKS = 100;
+
+    @Param({"1000", "10000"})
+    public int numOfCSs;
+
+    @Param({"false", "true"})
+    public boolean parallelRun;
+
+    private SoS sos;
+    private SimEngine simEngine;
+
+    @Setup(Level.Trial)
+    public void setUpModel() {
+        sos = BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpEngine() {
+        SimConfiguration simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(TICKS);
+        simConfig.setSimSilentMode(true);
+        simConfig.setSimParallelRun(parallelRun);
+        simConfig.setSimLogSinkType(EnumSimLogSinkType.NONE);
+
+        simEngine = new SimEngine(sos, "0", simConfig, new SimScenario(), new NullSimLogSink());
+        SimTracer.setSilent();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public SimLog ticks() {
+        return simEngine.startSimulation();
+    }
+}
@@ -0,0 +1,109 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchMap;
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.model.sos.geo.SimMap;
+import kr.ac.kaist.se.model.sos.geo.SimMapGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading isWall of randomly chosen location points of a width x width x 3 map:
+ * SimMap.getLocDataWithKey(..) of both backends (HASH_MAP, GRID),
+ * and direct column reads of SimMapGrid by a key and by value indices of dimensions
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimMapGridJmhBenchmark {
+
+    private static final int NUM_OF_KEYS = 1024;
+
+    @Param({"100", "300"})
+    public int width;
+
+    private SimMap hashMapMap;
+    private SimMap gridMap;
+    private SimMapGrid mapGrid;
+    private int isWallColumn;
+
+    private final String[] keys = new String[NUM_OF_KEYS];
+    private final int[][] coordinates = new int[NUM_OF_KEYS][];
+    private int keyIndex = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        //getLocDataWithKey(..) of the GRID backend creates DataVars (their creation is traced)
+        SimTracer.setSilent();
+
+        //Walls on the borders of each floor, water on a column, and elevation of upper floors
+        File mapInitFile = File.createTempFile("jmhmap", ".txt");
+        try {
+            try (FileWriter writer = new FileWriter(mapInitFile)) {
+                writer.write("SET(isWall=1) WHERE(xPos==0);\n");
+                writer.write("SET(isWall=1) WHERE(yPos==0);\n");
+                writer.write("SET(terrain=\"WATER\") WHERE(xPos==5&&floor==\"FLOOR_1\");\n");
+                writer.write("SET(elevation=3.5) WHERE(floor==\"FLOOR_2\");\n");
+                writer.write("SET(elevation=7.0, terrain=\"ROCK\") WHERE(floor==\"FLOOR_3\")\n");
+            }
+            hashMapMap = BenchModelFactory.createMap(width, width, mapInitFile.getPath(), EnumMapBackend.HASH_MAP);
+            gridMap = BenchModelFactory.createMap(width, width, mapInitFile.getPath(), EnumMapBackend.GRID);
+        } finally {
+            mapInitFile.delete();
+        }
+
+        mapGrid = gridMap.getMapGrid();
+        isWallColumn = mapGrid.getColumnIndex("isWall");
+
+        Random rand = new Random(42);
+        for (int i = 0; i < NUM_OF_KEYS; i++) {
+            keys[i] = rand.nextInt(width) + "," + rand.nextInt(width) + "," + BenchMap.FLOORS[rand.nextInt(BenchMap.FLOORS.length)];
+
+            int cellIndex = mapGrid.getCellIndex(keys[i]);
+            coordinates[i] = new int[mapGrid.getNumOfDims()];
+            for (int dim = 0; dim < mapGrid.getNumOfDims(); dim++) {
+                coordinates[i][dim] = mapGrid.getDimValueIndexOfCell(cellIndex, dim);
+            }
+        }
+    }
+
+    @Benchmark
+    public int hashMapLocData() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return hashMapMap.getLocDataWithKey(keys[keyIndex]).get(0).getIntegerData();
+    }
+
+    @Benchmark
+    public int gridLocData() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return gridMap.getLocDataWithKey(keys[keyIndex]).get(0).getIntegerData();
+    }
+
+    @Benchmark
+    public int gridColumnByKey() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return mapGrid.getInt(mapGrid.getCellIndex(keys[keyIndex]), isWallColumn);
+    }
+
+    @Benchmark
+    public int gridColumnByCoordinates() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return mapGrid.getInt(mapGrid.getCellIndex(coordinates[keyIndex]), isWallColumn);
+    }
+}
@@ -0,0 +1,103 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.Environment;
+import kr.ac.kaist.se.model.sos.Infrastructure;
+import kr.ac.kaist.se.model.sos.Organization;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.SystemEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SoS.getMemberSimObjectById(..) with randomly chosen CS ids:
+ * the hash-indexed registry vs. the former linear scan over member lists
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimObjectRegistryJmhBenchmark {
+
+    private static final int NUM_OF_KEYS = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    public int numOfCSs;
+
+    private SoS sos;
+    private final String[] keys = new String[NUM_OF_KEYS];
+    private int keyIndex = 0;
+
+    @Setup
+    public void setUp() {
+        int numOfOrgs = Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG);
+        int csPerOrg = Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG);
+        sos = BenchModelFactory.createSoS(numOfOrgs, csPerOrg, false);
+
+        Random rand = new Random(42);
+        for (int i = 0; i < NUM_OF_KEYS; i++) {
+            keys[i] = BenchModelFactory.csId(rand.nextInt(numOfOrgs), rand.nextInt(csPerOrg));
+        }
+    }
+
+    @Benchmark
+    public _SimObject_ getMemberSimObjectById() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return sos.getMemberSimObjectById(keys[keyIndex]);
+    }
+
+    @Benchmark
+    public _SimObject_ linearScan() {
+        keyIndex = (keyIndex + 1) & (NUM_OF_KEYS - 1);
+        return findByLinearScan(keys[keyIndex]);
+    }
+
+    /**
+     * The former implementation of SoS.getMemberSimObjectById (linear scan), as a baseline
+     */
+    private _SimObject_ findByLinearScan(String objId) {
+        if (sos.getId().equals(objId)) {
+            return sos;
+        }
+
+        for (Organization org : sos.getOrgList()) {
+            if (org.getId().equals(objId)) {
+                return org;
+            }
+        }
+        for (Infrastructure infra : sos.getInfraList()) {
+            if (infra.getId().equals(objId)) {
+                return infra;
+            }
+        }
+        for (Environment env : sos.getEnvList()) {
+            if (env.getId().equals(objId)) {
+                return env;
+            }
+        }
+        for (Constituent cs : sos.getCsList()) {
+            if (cs.getId().equals(objId)) {
+                return cs;
+            }
+        }
+        for (SystemEntity systemEntity : sos.getSystemEntityList()) {
+            if (systemEntity.getId().equals(objId)) {
+                return systemEntity;
+            }
+        }
+
+        return null;
+    }
+}
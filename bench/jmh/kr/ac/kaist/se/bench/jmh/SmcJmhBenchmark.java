@@ -0,0 +1,98 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimReplicationRunner;
+import kr.ac.kaist.se.controller.smc.BayesianTest;
+import kr.ac.kaist.se.controller.smc.ChernoffTest;
+import kr.ac.kaist.se.controller.smc.SimProperty;
+import kr.ac.kaist.se.controller.smc.SmcEngine;
+import kr.ac.kaist.se.controller.smc.SmcResult;
+import kr.ac.kaist.se.controller.smc.SmcTest;
+import kr.ac.kaist.se.controller.smc.SprtTest;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SmcEngine.verify(..) of P(property) >= THETA by a sequential test (SPRT, CHERNOFF, BAYESIAN),
+ * for a synthetic Bernoulli property of a known probability (decided by the seed of a replication)
+ * over replications of a small synthetic SoS model.
+ * The numbers of samples and replications needed by a test are reported as auxiliary counters.
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SmcJmhBenchmark {
+
+    private static final double THETA = 0.7;
+    private static final int MAX_NUM_OF_REPLICATIONS = 20000;
+    private static final int TICKS = 10;
+
+    @Param({"0.5", "0.65", "0.75", "0.9"})
+    public double probability;
+
+    @Param({"SPRT", "CHERNOFF", "BAYESIAN"})
+    public String smcTestName;
+
+    /* Numbers of samples and replications of the verifications of an iteration */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SmcCounters {
+        public long numOfSamples;
+        public long numOfReplications;
+    }
+
+    private SimConfiguration simConfig;
+    private SimProperty property;
+
+    @Setup
+    public void setUp() {
+        SimTracer.setSilent();
+
+        simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(TICKS);
+        simConfig.setSimSilentMode(true);
+
+        property = replicationResult -> new Random(replicationResult.getRandomSeed()).nextDouble() < probability;
+    }
+
+    @Benchmark
+    public SmcResult verify(SmcCounters counters) {
+        SimReplicationRunner runner = new SimReplicationRunner(
+                (replicationId, randomSeed) -> BenchModelFactory.createSoS(1, 2, false),
+                simConfig, new SimScenario());
+        runner.setBaseSeed(42);
+
+        SmcResult smcResult = new SmcEngine(runner, property).verify(createSmcTest(), MAX_NUM_OF_REPLICATIONS);
+        counters.numOfSamples += smcResult.getNumOfSamples();
+        counters.numOfReplications += smcResult.getNumOfReplications();
+        return smcResult;
+    }
+
+    private SmcTest createSmcTest() {
+        switch (smcTestName) {
+            case "SPRT":
+                return new SprtTest(THETA, 0.02, 0.01, 0.01);
+            case "CHERNOFF":
+                return new ChernoffTest(THETA, 0.02, 0.01);
+            case "BAYESIAN":
+                return new BayesianTest(THETA, 1000);
+            default:
+                throw new IllegalArgumentException("Unknown SMC test: " + smcTestName);
+        }
+    }
+}
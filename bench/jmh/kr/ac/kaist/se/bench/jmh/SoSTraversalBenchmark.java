@@ -0,0 +1,56 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.simdata.output.intermediate.RunResult;
+import kr.ac.kaist.se.simdata.output.intermediate.SimActionBuffer;
+import kr.ac.kaist.se.simdata.output.intermediate.UpdateResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Traversal of the object tree of an SoS: SoS.run() (selection) and SoS.update(..) (execution),
+ * with the RunResult tree or with a flat SimActionBuffer
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SoSTraversalBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int numOfCSs;
+
+    private SoS sos;
+    private int tick = 0;
+    private final SimActionBuffer actionBuffer = new SimActionBuffer();
+
+    @Setup
+    public void setUp() {
+        sos = BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false);
+    }
+
+    @Benchmark
+    public RunResult run() {
+        return sos.run();
+    }
+
+    @Benchmark
+    public UpdateResult runAndUpdate() {
+        return sos.update(sos.run(), tick++);
+    }
+
+    @Benchmark
+    public UpdateResult runAndUpdateWithActionBuffer() {
+        return sos.update(sos.fillActionBuffer(sos.run(), actionBuffer), tick++);
+    }
+}
@@ -0,0 +1,92 @@
+package kr.ac.kaist.se.bench.jmh;
+
+import kr.ac.kaist.se.bench.model.BenchCS;
+import kr.ac.kaist.se.bench.model.BenchModelFactory;
+import kr.ac.kaist.se.controller.sim.SimEngine;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.simdata.input.EnumTimeAdvanceMode;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import kr.ac.kaist.se.simdata.output.SimLog;
+import kr.ac.kaist.se.simdata.output.sink.EnumSimLogSinkType;
+import kr.ac.kaist.se.simdata.output.sink.NullSimLogSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulated ticks per second of a mostly idle model (every CS wakes up every WAKE_UP_PERIOD ticks),
+ * in FIXED_STEP mode vs. NEXT_EVENT mode of SimEngine.
+ * Before the trial, a simulation checks that NEXT_EVENT mode executes only the wake-up ticks
+ * (containers such as the SoS and organizations wake up only for their members).
+ *
+ * @author ymbaek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TimeAdvanceBenchmark {
+
+    private static final int TICKS = 1000;
+    private static final int WAKE_UP_PERIOD = 10;
+
+    @Param({"1000", "10000"})
+    public int numOfCSs;
+
+    @Param({"FIXED_STEP", "NEXT_EVENT"})
+    public EnumTimeAdvanceMode timeAdvanceMode;
+
+    private SoS sos;
+    private SimEngine simEngine;
+
+    @Setup(Level.Trial)
+    public void setUpModel() {
+        sos = BenchModelFactory.createSoS(Math.max(1, numOfCSs / BenchJmhConfig.CS_PER_ORG), Math.min(numOfCSs, BenchJmhConfig.CS_PER_ORG), false);
+        for (Constituent cs : sos.getCsList()) {
+            ((BenchCS) cs).setWakeUpPeriod(WAKE_UP_PERIOD);
+        }
+
+        //Idle ticks should be skipped in NEXT_EVENT mode
+        SimEngine checkEngine = createEngine();
+        checkEngine.startSimulation();
+        int expectedTicks = timeAdvanceMode == EnumTimeAdvanceMode.NEXT_EVENT ? TICKS / WAKE_UP_PERIOD : TICKS;
+        if (checkEngine.getNumOfExecutedTicks() != expectedTicks) {
+            throw new IllegalStateException("Unexpected # of executed ticks in " + timeAdvanceMode + ": " +
+                    checkEngine.getNumOfExecutedTicks() + " (expected: " + expectedTicks + ")");
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpEngine() {
+        simEngine = createEngine();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public SimLog simulatedTicks() {
+        return simEngine.startSimulation();
+    }
+
+    private SimEngine createEngine() {
+        SimConfiguration simConfig = new SimConfiguration();
+        simConfig.setSimTotalTime(TICKS);
+        simConfig.setSimSilentMode(true);
+        simConfig.setSimTimeAdvanceMode(timeAdvanceMode);
+        simConfig.setSimLogSinkType(EnumSimLogSinkType.NONE);
+
+        SimEngine engine = new SimEngine(sos, "0", simConfig, new SimScenario(), new NullSimLogSink());
+        SimTracer.setSilent();
+        return engine;
+    }
+}
@@ -0,0 +1,94 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.abst.comm.EnumMsgType;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.Organization;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.cap.CommAction;
+import kr.ac.kaist.se.model.sos.comm.Message;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.geo.ObjectLocation;
+
+import java.util.ArrayList;
+
+/**
+ * Synthetic constituent for benchmarks.
+ * A BenchCS sends a message to its peer CS (peerId) at every tick, if a CommAction is added.
+ *
+ * @author ymbaek
+ */
+public class BenchCS extends Constituent {
+
+    private String peerId;
+
+    //Period of wake-ups in a next-event time advance (0: every tick)
+    private int wakeUpPeriod = 0;
+
+    public BenchCS(SoS simModel, Organization myOrg, String csId, String csName) {
+        super(simModel, myOrg, csId, csName);
+    }
+
+    /**
+     * Add a CommAction that sends a message to a peer CS
+     *
+     * @param peerId id of the receiver
+     */
+    public void addCommActionTo(String peerId) {
+        this.peerId = peerId;
+        addActionToCapableActionList(new CommAction(mySoS, this, "COMM_" + id, "SendToPeer"));
+    }
+
+    /**
+     * Set a period of wake-ups: the CS is idle between multiples of the period (unless it has an incoming message)
+     *
+     * @param wakeUpPeriod period in ticks (0: every tick)
+     */
+    public void setWakeUpPeriod(int wakeUpPeriod) {
+        this.wakeUpPeriod = wakeUpPeriod;
+    }
+
+    @Override
+    public int getNextWakeUpTick(int curTick) {
+        if (wakeUpPeriod <= 0 || !msgQueue.isEmpty()) {
+            return super.getNextWakeUpTick(curTick);
+        }
+        return (curTick + wakeUpPeriod - 1) / wakeUpPeriod * wakeUpPeriod;
+    }
+
+    @Override
+    protected void initCapableActions() {
+    }
+
+    @Override
+    public void initCommActions() {
+    }
+
+    @Override
+    protected void initObjLocation() {
+    }
+
+    @Override
+    public ObjectLocation getCurLocation() {
+        return null;
+    }
+
+    @Override
+    public ArrayList<_SimAction_> selectMoveActions(ArrayList<_SimAction_> possibleMoveActions) {
+        return null;
+    }
+
+    @Override
+    public String findReceiverObjIdFromSoS(String condition) {
+        return peerId;
+    }
+
+    @Override
+    public _SimMessage_ makeMsgForCommAction(CommAction aCommAction) {
+        ArrayList<DataVar> msgDataList = new ArrayList<>();
+        msgDataList.add(new DataVar("seqVar", "seqVar", "Int", "0", "1", null));
+
+        return new Message("MSG_" + id, "PEER", EnumMsgType.GENERAL_MSG, id, findReceiverObjIdFromSoS(null), msgDataList);
+    }
+}
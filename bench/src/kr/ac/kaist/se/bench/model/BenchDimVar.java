@@ -0,0 +1,44 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.model.sos.data.DimVar;
+import kr.ac.kaist.se.model.sos.data.DimVarDomain;
+
+import java.util.ArrayList;
+
+/**
+ * Synthetic dimension variable for benchmarks (an Int range or an Enum list).
+ *
+ * @author ymbaek
+ */
+public class BenchDimVar extends DimVar {
+
+    public BenchDimVar(String dataId, String dataType, String dataDefaultValue, DimVarDomain dataDomain) {
+        super(dataId, dataId, dataType, dataDefaultValue, dataDefaultValue, dataDomain);
+    }
+
+    @Override
+    public boolean checkUpdateValid(int diff) {
+        if (varType.equals("Int")) {
+            int newValue = Integer.parseInt(getDataCurValue()) + diff;
+            return newValue >= varDomain.getDomainMinVal() && newValue <= varDomain.getDomainMaxVal();
+        } else {
+            int newIndex = varDomain.getDomainEnumVal().indexOf(getDataCurValue()) + diff;
+            return newIndex >= 0 && newIndex < varDomain.getDomainEnumVal().size();
+        }
+    }
+
+    @Override
+    public boolean updateValueOfDim(int diff) {
+        if (!checkUpdateValid(diff)) {
+            return false;
+        }
+
+        if (varType.equals("Int")) {
+            setDataCurValue(Integer.toString(Integer.parseInt(getDataCurValue()) + diff));
+        } else {
+            ArrayList<String> enumVals = varDomain.getDomainEnumVal();
+            setDataCurValue(enumVals.get(enumVals.indexOf(getDataCurValue()) + diff));
+        }
+        return true;
+    }
+}
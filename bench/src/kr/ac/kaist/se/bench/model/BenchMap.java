@@ -0,0 +1,61 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.model.abst.data.EnumDomainType;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DataVarDomain;
+import kr.ac.kaist.se.model.sos.data.DimVar;
+import kr.ac.kaist.se.model.sos.data.DimVarDomain;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.model.sos.geo.SimMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Synthetic map for benchmarks:
+ * xPos (0 ~ width-1) x yPos (0 ~ height-1) x floor (FLOOR_1 ~ FLOOR_3),
+ * with isWall (Int), elevation (Float), and terrain (Enum) at every location point.
+ *
+ * @author ymbaek
+ */
+public class BenchMap extends SimMap {
+
+    public static final String[] FLOORS = {"FLOOR_1", "FLOOR_2", "FLOOR_3"};
+
+    public BenchMap(int width, int height, String mapInitFileName, EnumMapBackend mapBackend) {
+        super("BenchMap", "BenchMap", createDimVars(width, height), createDataVars(), mapInitFileName, mapBackend);
+    }
+
+    private static ArrayList<DimVar> createDimVars(int width, int height) {
+        ArrayList<DimVar> dimVars = new ArrayList<>();
+        dimVars.add(new BenchDimVar("xPos", "Int", "0", new DimVarDomain(EnumDomainType.VALUE_RANGE_DISCRETE, 0, width - 1)));
+        dimVars.add(new BenchDimVar("yPos", "Int", "0", new DimVarDomain(EnumDomainType.VALUE_RANGE_DISCRETE, 0, height - 1)));
+        dimVars.add(new BenchDimVar("floor", "Enum", FLOORS[0], new DimVarDomain(EnumDomainType.ENUMERATION, new ArrayList<>(Arrays.asList(FLOORS)))));
+        return dimVars;
+    }
+
+    private static ArrayList<DataVar> createDataVars() {
+        ArrayList<DataVar> dataVars = new ArrayList<>();
+        dataVars.add(new DataVar("isWall", "isWall", "Int", "0", "0",
+                new DataVarDomain(EnumDomainType.VALUE_RANGE_DISCRETE, 0, 1, true, true, "0")));
+        dataVars.add(new DataVar("elevation", "elevation", "Float", "0.0", "0.0",
+                new DataVarDomain(EnumDomainType.VALUE_RANGE_CONTINUOUS, -100, 100, false, false, "0.0")));
+        dataVars.add(new DataVar("terrain", "terrain", "Enum", "GROUND", "GROUND",
+                new DataVarDomain(EnumDomainType.ENUMERATION, new ArrayList<>(Arrays.asList("GROUND", "WATER", "ROCK")), true, true, "GROUND")));
+        return dataVars;
+    }
+
+    /* Dimensions and data variables are given to the constructor */
+
+    @Override
+    protected void initMapDimensions() {
+    }
+
+    @Override
+    protected void initMapInformation() {
+    }
+
+    @Override
+    protected void buildMap(String mapInitInfo) {
+    }
+}
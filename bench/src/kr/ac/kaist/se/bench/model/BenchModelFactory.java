@@ -0,0 +1,94 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+
+/**
+ * A factory of synthetic SoS models (BenchSoS) and maps (BenchMap) for benchmarks
+ *
+ * @author ymbaek
+ */
+public class BenchModelFactory {
+
+    /**
+     * A method to create a synthetic SoS model.
+     * Traces (SimTracer) are turned off while the model is being built.
+     *
+     * @param numOfOrgs      number of organizations
+     * @param numOfCSsPerOrg number of CSs of each organization
+     * @param withCommAction true if every CS sends a message to the next CS of its organization
+     * @return SoS model created
+     */
+    public static SoS createSoS(int numOfOrgs, int numOfCSsPerOrg, boolean withCommAction) {
+        EnumTraceLevel[] traceLevels = silenceTracer();
+
+        try {
+            BenchSoS sos = new BenchSoS("BENCH_SOS", "BenchSoS");
+
+            for (int orgIndex = 0; orgIndex < numOfOrgs; orgIndex++) {
+                BenchOrg org = new BenchOrg(sos, "ORG_" + orgIndex, "Org" + orgIndex);
+
+                for (int csIndex = 0; csIndex < numOfCSsPerOrg; csIndex++) {
+                    BenchCS cs = new BenchCS(sos, org, csId(orgIndex, csIndex), "CS" + csIndex);
+                    if (withCommAction) {
+                        cs.addCommActionTo(csId(orgIndex, (csIndex + 1) % numOfCSsPerOrg));
+                    }
+                    org.addCS(cs, true);
+                }
+
+                sos.addOrg(org);
+            }
+
+            return sos;
+        } finally {
+            restoreTracer(traceLevels);
+        }
+    }
+
+    /**
+     * A method to create a synthetic map (width x height x 3 floors).
+     * Traces (SimTracer) are turned off while the map is being built.
+     *
+     * @param width           number of xPos values
+     * @param height          number of yPos values
+     * @param mapInitFileName map file (initialization queries)
+     * @param mapBackend      backend of location information
+     * @return BenchMap created
+     */
+    public static BenchMap createMap(int width, int height, String mapInitFileName, EnumMapBackend mapBackend) {
+        EnumTraceLevel[] traceLevels = silenceTracer();
+
+        try {
+            return new BenchMap(width, height, mapInitFileName, mapBackend);
+        } finally {
+            restoreTracer(traceLevels);
+        }
+    }
+
+    public static String csId(int orgIndex, int csIndex) {
+        return "CS_" + orgIndex + "_" + csIndex;
+    }
+
+    /**
+     * Turn off traces
+     * @return trace levels of subsystems before silencing
+     */
+    private static EnumTraceLevel[] silenceTracer() {
+        EnumTraceSubsystem[] subsystems = EnumTraceSubsystem.values();
+        EnumTraceLevel[] traceLevels = new EnumTraceLevel[subsystems.length];
+        for (EnumTraceSubsystem subsystem : subsystems) {
+            traceLevels[subsystem.ordinal()] = SimTracer.getLevel(subsystem);
+        }
+        SimTracer.setSilent();
+        return traceLevels;
+    }
+
+    private static void restoreTracer(EnumTraceLevel[] traceLevels) {
+        for (EnumTraceSubsystem subsystem : EnumTraceSubsystem.values()) {
+            SimTracer.setLevel(subsystem, traceLevels[subsystem.ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.sos.Organization;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.geo.ObjectLocation;
+
+import java.util.ArrayList;
+
+/**
+ * Synthetic organization for benchmarks
+ *
+ * @author ymbaek
+ */
+public class BenchOrg extends Organization {
+
+    public BenchOrg(SoS simModel, String orgId, String orgName) {
+        super(simModel, orgId, orgName);
+    }
+
+    @Override
+    protected void initObjLocation() {
+    }
+
+    @Override
+    public ObjectLocation getCurLocation() {
+        return null;
+    }
+
+    @Override
+    public ArrayList<_SimAction_> selectMoveActions(ArrayList<_SimAction_> possibleMoveActions) {
+        return null;
+    }
+}
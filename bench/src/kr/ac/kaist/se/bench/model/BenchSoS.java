@@ -0,0 +1,43 @@
+package kr.ac.kaist.se.bench.model;
+
+import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.geo.ObjectLocation;
+
+import java.util.ArrayList;
+
+/**
+ * Synthetic SoS for benchmarks.
+ * Member objects are added by BenchModelFactory after construction.
+ *
+ * @author ymbaek
+ */
+public class BenchSoS extends SoS {
+
+    public BenchSoS(String sosId, String sosName) {
+        super(sosId, sosName);
+    }
+
+    @Override
+    protected void initSoSModel() {
+        //Members are added by BenchModelFactory
+    }
+
+    @Override
+    protected void initMap() {
+    }
+
+    @Override
+    protected void initObjLocation() {
+    }
+
+    @Override
+    public ObjectLocation getCurLocation() {
+        return null;
+    }
+
+    @Override
+    protected ArrayList<_SimAction_> selectMoveActions(ArrayList<_SimAction_> possibleMoveActions) {
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+package kr.ac.kaist.se.controller.comm;
+
+/**
+ * A link of a network model (SimLinkNetworkModel) from a sender to a receiver.
+ * - latency: number of ticks for a message to arrive (0: in the same tick)
+ * - bandwidth: number of messages leaving the link in a tick (0: unlimited);
+ * messages over the bandwidth are queued and leave at following ticks (in the order of sending)
+ * - lossRate: probability of a message to be lost (0.0 ~ 1.0)
+ *
+ * @author ymbaek
+ */
+public class SimLink {
+
+    private final int latency;
+    private final int bandwidth;
+    private final double lossRate;
+
+    //Queue of the link: the last tick at which a message leaves the link, and number of messages leaving at the tick
+    private int queueTick = Integer.MIN_VALUE;
+    private int numOfMsgsInQueueTick = 0;
+
+
+    public SimLink(int latency, int bandwidth, double lossRate) {
+        if (latency < 0 || bandwidth < 0 || lossRate < 0.0 || lossRate > 1.0) {
+            throw new IllegalArgumentException("Invalid link (latency: " + latency + ", bandwidth: " + bandwidth + ", lossRate: " + lossRate + ")");
+        }
+        this.latency = latency;
+        this.bandwidth = bandwidth;
+        this.lossRate = lossRate;
+    }
+
+
+    /**
+     * A new link with the same properties (and an empty queue), e.g., a link of a sender and a receiver from a default link
+     */
+    public SimLink copy() {
+        return new SimLink(latency, bandwidth, lossRate);
+    }
+
+    /**
+     * A new link with the same properties and the same queue (e.g., a link of a forked network model)
+     */
+    SimLink fork() {
+        SimLink forkedLink = copy();
+        forkedLink.setQueue(queueTick, numOfMsgsInQueueTick);
+        return forkedLink;
+    }
+
+    /**
+     * Get a tick at which a message sent at sendTick leaves the link (the bandwidth of the tick is consumed)
+     *
+     * @param sendTick tick at which the message is sent
+     * @return tick at which the message leaves the link (>= sendTick)
+     */
+    int depart(int sendTick) {
+        if (bandwidth == 0) {
+            return sendTick;
+        }
+
+        if (queueTick < sendTick) {
+            queueTick = sendTick;
+            numOfMsgsInQueueTick = 0;
+        } else if (numOfMsgsInQueueTick >= bandwidth) {
+            queueTick++;
+            numOfMsgsInQueueTick = 0;
+        }
+        numOfMsgsInQueueTick++;
+
+        return queueTick;
+    }
+
+    /**
+     * Check if any message has been queued in the link (i.e., getQueueTick() is a tick)
+     */
+    boolean hasQueue() {
+        return queueTick != Integer.MIN_VALUE;
+    }
+
+    int getQueueTick() {
+        return queueTick;
+    }
+
+    int getNumOfMsgsInQueueTick() {
+        return numOfMsgsInQueueTick;
+    }
+
+    /**
+     * Set the queue of the link (e.g., restored from a checkpoint)
+     *
+     * @param queueTick            the last tick at which a message leaves the link
+     * @param numOfMsgsInQueueTick number of messages leaving at queueTick
+     */
+    void setQueue(int queueTick, int numOfMsgsInQueueTick) {
+        this.queueTick = queueTick;
+        this.numOfMsgsInQueueTick = numOfMsgsInQueueTick;
+    }
+
+    /**
+     * Check if the link has a state (a queue of a bandwidth), which cannot be shared by several senders and receivers
+     */
+    public boolean isBandwidthLimited() {
+        return bandwidth > 0;
+    }
+
+    public int getLatency() {
+        return latency;
+    }
+
+    public int getBandwidth() {
+        return bandwidth;
+    }
+
+    public double getLossRate() {
+        return lossRate;
+    }
+}
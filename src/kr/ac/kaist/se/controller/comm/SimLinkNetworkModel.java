@@ -0,0 +1,176 @@
+package kr.ac.kaist.se.controller.comm;
+
+import kr.ac.kaist.se.controller.util.SimRandomService;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.intf.Checkpointable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A network model with a link (SimLink: latency, bandwidth, loss rate) per a sender and a receiver.
+ * A link set by setLink(..) is used for its sender and receiver, and the default link is used for the others;
+ * a bandwidth-limited default link is copied for each sender and receiver (each link has its own queue).
+ * A SimLink object set for several senders and receivers shares its bandwidth (e.g., a shared medium).
+ * <p>
+ * Losses are drawn from a given random stream (e.g., SimRandomService.createStream(..)), thus they are reproducible.
+ * A forked model (fork(..)) has the links and queues of this model, and draws losses from a stream of the branch (LOSS_STREAM_NAME).
+ * Queues of links are kept in a checkpoint (Checkpointable); links are identified by their senders and receivers.
+ *
+ * @author ymbaek
+ */
+public class SimLinkNetworkModel implements SimNetworkModel, Checkpointable {
+
+    //Name of the stream of losses of a forked model
+    public static final String LOSS_STREAM_NAME = "__SimLinkNetworkModel__";
+
+    private final SplittableRandom random;
+
+    private SimLink defaultLink = new SimLink(0, 0, 0.0);
+
+    //Links (senderId -> receiverId -> link)
+    private final HashMap<String, HashMap<String, SimLink>> links = new HashMap<>();
+
+
+    public SimLinkNetworkModel(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public SimLinkNetworkModel(SplittableRandom random, SimLink defaultLink) {
+        this.random = random;
+        this.defaultLink = defaultLink;
+    }
+
+
+    @Override
+    public int transmit(_SimMessage_ aMsg, String senderId, _SimObject_ receiverObj, int sendTick) {
+        SimLink aLink = getLink(senderId, receiverObj.getId());
+
+        if (aLink.getLossRate() > 0.0 && random.nextDouble() < aLink.getLossRate()) {
+            return LOST;
+        }
+        return aLink.depart(sendTick) + aLink.getLatency();
+    }
+
+    @Override
+    public SimNetworkModel fork(SimRandomService branchRandomService) {
+        //A link shared by several senders and receivers is also shared in the forked model
+        IdentityHashMap<SimLink, SimLink> forkedLinks = new IdentityHashMap<>();
+
+        SimLinkNetworkModel forkedModel = new SimLinkNetworkModel(branchRandomService.createStream(LOSS_STREAM_NAME),
+                forkedLinks.computeIfAbsent(defaultLink, SimLink::fork));
+        for (Map.Entry<String, HashMap<String, SimLink>> linksOfSender : links.entrySet()) {
+            for (Map.Entry<String, SimLink> linkEntry : linksOfSender.getValue().entrySet()) {
+                forkedModel.setLink(linksOfSender.getKey(), linkEntry.getKey(),
+                        forkedLinks.computeIfAbsent(linkEntry.getValue(), SimLink::fork));
+            }
+        }
+        return forkedModel;
+    }
+
+    /**
+     * Write queues of links (links without any queued message are not written)
+     */
+    @Override
+    public void writeCheckpoint(DataOutput dataOutput) throws IOException {
+        ArrayList<String> senderIds = new ArrayList<>();
+        ArrayList<String> receiverIds = new ArrayList<>();
+        ArrayList<SimLink> queuedLinks = new ArrayList<>();
+        for (Map.Entry<String, HashMap<String, SimLink>> linksOfSender : links.entrySet()) {
+            for (Map.Entry<String, SimLink> linkEntry : linksOfSender.getValue().entrySet()) {
+                if (linkEntry.getValue().hasQueue()) {
+                    senderIds.add(linksOfSender.getKey());
+                    receiverIds.add(linkEntry.getKey());
+                    queuedLinks.add(linkEntry.getValue());
+                }
+            }
+        }
+
+        dataOutput.writeInt(queuedLinks.size());
+        for (int i = 0; i < queuedLinks.size(); i++) {
+            dataOutput.writeUTF(senderIds.get(i));
+            dataOutput.writeUTF(receiverIds.get(i));
+            dataOutput.writeInt(queuedLinks.get(i).getQueueTick());
+            dataOutput.writeInt(queuedLinks.get(i).getNumOfMsgsInQueueTick());
+        }
+    }
+
+    /**
+     * Read queues of links onto links of this model (with the same senders and receivers)
+     */
+    @Override
+    public void readCheckpoint(DataInput dataInput) throws IOException {
+        for (HashMap<String, SimLink> linksOfSender : links.values()) {
+            for (SimLink aLink : linksOfSender.values()) {
+                aLink.setQueue(Integer.MIN_VALUE, 0);
+            }
+        }
+
+        int numOfQueuedLinks = dataInput.readInt();
+        for (int i = 0; i < numOfQueuedLinks; i++) {
+            String senderId = dataInput.readUTF();
+            String receiverId = dataInput.readUTF();
+            int queueTick = dataInput.readInt();
+            int numOfMsgsInQueueTick = dataInput.readInt();
+
+            SimLink aLink = getLink(senderId, receiverId);
+            if (aLink.isBandwidthLimited()) {
+                aLink.setQueue(queueTick, numOfMsgsInQueueTick);
+            }
+        }
+    }
+
+    /**
+     * Get a link of a sender and a receiver
+     *
+     * @param senderId   id of a sender
+     * @param receiverId id of a receiver
+     * @return link set by setLink(..), or the default link (copied if it is bandwidth-limited)
+     */
+    public SimLink getLink(String senderId, String receiverId) {
+        HashMap<String, SimLink> linksOfSender = links.get(senderId);
+        SimLink aLink = linksOfSender != null ? linksOfSender.get(receiverId) : null;
+
+        if (aLink == null) {
+            if (!defaultLink.isBandwidthLimited()) {
+                return defaultLink;
+            }
+            aLink = defaultLink.copy();
+            links.computeIfAbsent(senderId, key -> new HashMap<>()).put(receiverId, aLink);
+        }
+        return aLink;
+    }
+
+    /**
+     * Set a link of a sender and a receiver
+     */
+    public void setLink(String senderId, String receiverId, SimLink aLink) {
+        links.computeIfAbsent(senderId, key -> new HashMap<>()).put(receiverId, aLink);
+    }
+
+    /**
+     * Set links between two objects in both directions (a duplex link: each direction has its own queue)
+     */
+    public void setDuplexLink(String objId1, String objId2, SimLink aLink) {
+        setLink(objId1, objId2, aLink);
+        setLink(objId2, objId1, aLink.copy());
+    }
+
+    public SimLink getDefaultLink() {
+        return defaultLink;
+    }
+
+    /**
+     * Set the default link (links already copied from the previous default link are kept)
+     */
+    public void setDefaultLink(SimLink defaultLink) {
+        this.defaultLink = defaultLink;
+    }
+}
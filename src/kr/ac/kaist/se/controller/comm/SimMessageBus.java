@@ -0,0 +1,408 @@
+package kr.ac.kaist.se.controller.comm;
+
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.comm.SimMsgInbox;
+import kr.ac.kaist.se.model.abst.comm.SimMsgRoute;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.cap.CommAction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+/**
+ * A message bus of a simulation model (owned by SimEngine):
+ * it delivers messages of CommActions into inboxes (msgQueue) of their receivers.
+ * Receivers are resolved by the object registry of the SoS (SoS.getMemberSimObjectById(..)),
+ * and a message is offered into a SimMsgInbox without a lock, thus messages can be delivered
+ * by several senders (e.g., tasks of the run pool of SimEngine) at the same time.
+ * <p>
+ * Messages arrive in an inbox in the order of CommActions, also in a parallel delivery (deliverAll(..) with a pool):
+ * receivers of chunks of CommActions are resolved in parallel into buckets of partitions of receivers,
+ * and then each partition is delivered by a task in the order of chunks (a receiver is in one partition),
+ * thus the order of messages in an inbox does not depend on the scheduling of tasks or the number of threads.
+ * <p>
+ * A message with a route (_SimMessage_.getMsgRoute()) is a multicast message: receivers are resolved by a routing index
+ * (SimRoutingIndex, by topic, organization, class and state), and the same message object is offered into all their inboxes
+ * (its payload is shared, thus receivers should not modify it).
+ * <p>
+ * If a network model (SimNetworkModel) is set, each message to a receiver is transmitted over a link of the model:
+ * a message arriving at a later tick is held in a timing wheel (SimTimingWheel) and delivered when the bus
+ * is advanced to the tick (advanceTo(..), called by deliverAll(..) of each tick), and a lost message is dropped.
+ * Without a network model, every message is delivered in the tick in which it is sent.
+ *
+ * @author ymbaek
+ */
+public class SimMessageBus {
+
+    //Minimum number of messages delivered by a task of a parallel delivery
+    private static final int DELIVERY_CHUNK_SIZE = 1024;
+
+    private final SoS simModel;
+    private final SimRoutingIndex routingIndex;
+
+    //Network model (null: every message is delivered immediately) and messages in flight
+    private SimNetworkModel networkModel;
+    private final SimTimingWheel inFlightMsgs = new SimTimingWheel(0);
+
+    //Statistics of the bus (updated by concurrent senders; a multicast message is counted once per receiver as delivered)
+    private final LongAdder numOfDeliveredMsgs = new LongAdder();
+    private final LongAdder numOfUndeliverableMsgs = new LongAdder();
+    private final LongAdder numOfMulticastMsgs = new LongAdder();
+    private final LongAdder numOfLostMsgs = new LongAdder();
+
+
+    public SimMessageBus(SoS simModel) {
+        this.simModel = simModel;
+        this.routingIndex = new SimRoutingIndex(simModel);
+    }
+
+
+    /**
+     * Deliver a message into the inbox of its receiver, or inboxes of all receivers of its route (thread-safe)
+     *
+     * @param aMsg message to be delivered
+     * @return false if any receiver is not found
+     */
+    public boolean send(_SimMessage_ aMsg) {
+        return route(aMsg, this::dispatch);
+    }
+
+    /**
+     * Deliver a message into inboxes of all receivers of a route, except its sender (thread-safe)
+     *
+     * @param aMsg   message to be delivered (shared by receivers)
+     * @param aRoute route of the message
+     * @return false if no receiver is found
+     */
+    public boolean multicast(_SimMessage_ aMsg, SimMsgRoute aRoute) {
+        return multicast(aMsg, aRoute, this::dispatch);
+    }
+
+    /**
+     * Subscribe a topic (messages routed by SimMsgRoute.toTopic(topic) are delivered to the subscriber)
+     */
+    public void subscribe(String topic, _SimObject_ subscriber) {
+        routingIndex.subscribe(topic, subscriber);
+    }
+
+    public void unsubscribe(String topic, _SimObject_ subscriber) {
+        routingIndex.unsubscribe(topic, subscriber);
+    }
+
+    /**
+     * Deliver messages of CommActions.
+     * If a pool is given, chunks of CommActions are delivered by its tasks in parallel (in the order of CommActions per inbox).
+     *
+     * @param commActions CommActions (with their messages) of the current tick
+     * @param pool        pool for a parallel delivery (null: sequential delivery)
+     */
+    public void deliverAll(List<CommAction> commActions, ForkJoinPool pool) {
+        deliverAll(commActions, pool, inFlightMsgs.getCurTick());
+    }
+
+    /**
+     * Deliver messages of a tick: messages in flight arriving by the tick are delivered first,
+     * and then messages of CommActions are sent.
+     * If a pool is given (and no network model is set), chunks of CommActions are delivered by its tasks in parallel
+     * (in the order of CommActions per inbox).
+     *
+     * @param commActions CommActions (with their messages) of the tick
+     * @param pool        pool for a parallel delivery (null: sequential delivery)
+     * @param tick        current tick
+     */
+    public void deliverAll(List<CommAction> commActions, ForkJoinPool pool, int tick) {
+        //States of objects may be changed by the previous tick
+        routingIndex.invalidateStates();
+
+        advanceTo(tick);
+
+        //Transmissions over a network model are sequential (links have queues)
+        if (pool == null || networkModel != null || commActions.size() < DELIVERY_CHUNK_SIZE * 2) {
+            deliverRange(commActions, 0, commActions.size());
+        } else {
+            deliverInParallel(commActions, pool);
+        }
+    }
+
+    /**
+     * Advance the current tick of the bus, and deliver messages in flight arriving by the tick
+     *
+     * @param tick current tick
+     * @return number of delivered messages
+     */
+    public int advanceTo(int tick) {
+        synchronized (inFlightMsgs) {
+            return inFlightMsgs.advanceTo(tick, this::deliver);
+        }
+    }
+
+    /**
+     * Lower bound of the tick at which the next message in flight arrives (e.g., for a next-event time advance)
+     *
+     * @return tick, or -1 if no message is in flight
+     */
+    public int getNextDeliveryTick() {
+        synchronized (inFlightMsgs) {
+            return inFlightMsgs.getNextDeliveryTick();
+        }
+    }
+
+    /**
+     * Visit messages in flight (e.g., for a checkpoint or a fork), in the order in which they are delivered
+     *
+     * @param msgConsumer consumer of each message in flight with its delivery tick and receiver
+     */
+    public void forEachInFlightMsg(SimTimingWheel.InFlightMsgConsumer msgConsumer) {
+        synchronized (inFlightMsgs) {
+            inFlightMsgs.forEach(msgConsumer);
+        }
+    }
+
+    /**
+     * Remove messages in flight, and set the current tick of the bus
+     * (e.g., before messages in flight of a checkpoint or a forked bus are scheduled by scheduleInFlightMsg(..))
+     *
+     * @param tick current tick (the last delivered tick)
+     */
+    public void resetInFlightMsgs(int tick) {
+        synchronized (inFlightMsgs) {
+            inFlightMsgs.clear(tick);
+        }
+    }
+
+    /**
+     * Add a message in flight (e.g., a message in flight of a checkpoint), delivered when the bus is advanced to its delivery tick
+     *
+     * @return false if the delivery tick is not later than the current tick of the bus (the message is not added)
+     */
+    public boolean scheduleInFlightMsg(int deliveryTick, _SimObject_ receiverObj, _SimMessage_ aMsg) {
+        synchronized (inFlightMsgs) {
+            return inFlightMsgs.schedule(deliveryTick, receiverObj, aMsg);
+        }
+    }
+
+    /**
+     * The last tick delivered by the bus
+     */
+    public int getCurTick() {
+        synchronized (inFlightMsgs) {
+            return inFlightMsgs.getCurTick();
+        }
+    }
+
+    public int getNumOfInFlightMsgs() {
+        synchronized (inFlightMsgs) {
+            return inFlightMsgs.size();
+        }
+    }
+
+    public SimNetworkModel getNetworkModel() {
+        return networkModel;
+    }
+
+    /**
+     * Set a network model (null: messages are delivered immediately; messages already in flight arrive as scheduled)
+     */
+    public void setNetworkModel(SimNetworkModel networkModel) {
+        this.networkModel = networkModel;
+    }
+
+    public long getNumOfDeliveredMsgs() {
+        return numOfDeliveredMsgs.sum();
+    }
+
+    public long getNumOfUndeliverableMsgs() {
+        return numOfUndeliverableMsgs.sum();
+    }
+
+    public long getNumOfLostMsgs() {
+        return numOfLostMsgs.sum();
+    }
+
+    public long getNumOfMulticastMsgs() {
+        return numOfMulticastMsgs.sum();
+    }
+
+    public SimRoutingIndex getRoutingIndex() {
+        return routingIndex;
+    }
+
+
+    /**
+     * Resolve receivers of a message, and pass each receiver (with the message) to a consumer
+     *
+     * @return false if any receiver is not found
+     */
+    private boolean route(_SimMessage_ aMsg, BiConsumer<_SimObject_, _SimMessage_> receiverConsumer) {
+        if (aMsg.isMulticast()) {
+            return multicast(aMsg, aMsg.getMsgRoute(), receiverConsumer);
+        }
+
+        _SimObject_ receiverObj = simModel.getMemberSimObjectById(aMsg.getReceiverId());
+
+        if (receiverObj == null) {
+            numOfUndeliverableMsgs.increment();
+            if (SimTracer.isOn(EnumTraceSubsystem.COMM, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.COMM, EnumTraceLevel.WARN, "(SimMessageBus:send) Receiver not found (" + aMsg.getReceiverId() + ")");
+            }
+            return false;
+        }
+
+        receiverConsumer.accept(receiverObj, aMsg);
+        return true;
+    }
+
+    /**
+     * Resolve receivers of a route (except the sender of the message), and pass each receiver to a consumer
+     */
+    private boolean multicast(_SimMessage_ aMsg, SimMsgRoute aRoute, BiConsumer<_SimObject_, _SimMessage_> receiverConsumer) {
+        int numOfReceivers = routingIndex.forEachReceiver(aRoute, aMsg.getSenderId(), receiverObj -> receiverConsumer.accept(receiverObj, aMsg));
+
+        numOfMulticastMsgs.increment();
+        if (numOfReceivers == 0) {
+            numOfUndeliverableMsgs.increment();
+            if (SimTracer.isOn(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG, "(SimMessageBus:multicast) No receiver of a route (" + aRoute + ")");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void deliverRange(List<CommAction> commActions, int from, int to) {
+        for (int i = from; i < to; i++) {
+            send(commActions.get(i).getMessage());
+        }
+    }
+
+    /**
+     * Deliver messages of CommActions in parallel (without a network model):
+     * 1. receivers of each chunk of CommActions are resolved, into a bucket per partition of receivers
+     * 2. messages of each partition are delivered in the order of chunks
+     * (a receiver is in one partition, thus its inbox receives messages in the order of CommActions)
+     */
+    private void deliverInParallel(List<CommAction> commActions, ForkJoinPool pool) {
+        int numOfChunks = (commActions.size() + DELIVERY_CHUNK_SIZE - 1) / DELIVERY_CHUNK_SIZE;
+        int numOfPartitions = pool.getParallelism();
+        DeliveryBucket[][] buckets = new DeliveryBucket[numOfChunks][numOfPartitions];
+
+        pool.invoke(new DeliveryTask(0, numOfChunks, chunk -> {
+            DeliveryBucket[] bucketsOfChunk = buckets[chunk];
+            int to = Math.min(commActions.size(), (chunk + 1) * DELIVERY_CHUNK_SIZE);
+
+            for (int i = chunk * DELIVERY_CHUNK_SIZE; i < to; i++) {
+                route(commActions.get(i).getMessage(), (receiverObj, aMsg) -> {
+                    int partition = (System.identityHashCode(receiverObj) & Integer.MAX_VALUE) % numOfPartitions;
+                    if (bucketsOfChunk[partition] == null) {
+                        bucketsOfChunk[partition] = new DeliveryBucket();
+                    }
+                    bucketsOfChunk[partition].add(receiverObj, aMsg);
+                });
+            }
+        }));
+
+        pool.invoke(new DeliveryTask(0, numOfPartitions, partition -> {
+            for (int chunk = 0; chunk < numOfChunks; chunk++) {
+                DeliveryBucket bucket = buckets[chunk][partition];
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.receivers.size(); i++) {
+                        deliver(bucket.receivers.get(i), bucket.msgs.get(i));
+                    }
+                }
+            }
+        }));
+    }
+
+    /**
+     * Deliver a message to a receiver, immediately or over the network model
+     */
+    private void dispatch(_SimObject_ receiverObj, _SimMessage_ aMsg) {
+        if (networkModel == null) {
+            deliver(receiverObj, aMsg);
+            return;
+        }
+
+        synchronized (inFlightMsgs) {
+            int sendTick = inFlightMsgs.getCurTick();
+            int arrivalTick = networkModel.transmit(aMsg, aMsg.getSenderId(), receiverObj, sendTick);
+
+            if (arrivalTick == SimNetworkModel.LOST) {
+                numOfLostMsgs.increment();
+                if (SimTracer.isOn(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG)) {
+                    SimTracer.trace(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG, "(SimMessageBus:dispatch) A message is lost (" +
+                            aMsg.getMsgId() + ": " + aMsg.getSenderId() + "->" + receiverObj.getId() + ")");
+                }
+            } else if (!inFlightMsgs.schedule(arrivalTick, receiverObj, aMsg)) {
+                //Arrives in the current tick
+                deliver(receiverObj, aMsg);
+            }
+        }
+    }
+
+    private void deliver(_SimObject_ receiverObj, _SimMessage_ aMsg) {
+        offerToInbox(receiverObj, aMsg);
+        numOfDeliveredMsgs.increment();
+    }
+
+    /**
+     * Offer a message into an inbox (an inbox other than SimMsgInbox, e.g., a LinkedList set by a model, is locked)
+     */
+    private static void offerToInbox(_SimObject_ receiverObj, _SimMessage_ aMsg) {
+        Queue<_SimMessage_> msgQueue = receiverObj.getMsgQueue();
+
+        if (msgQueue instanceof SimMsgInbox) {
+            msgQueue.offer(aMsg);
+        } else {
+            synchronized (msgQueue) {
+                msgQueue.offer(aMsg);
+            }
+        }
+    }
+
+
+    /* Messages (and their receivers) of a partition of receivers, resolved from a chunk of CommActions */
+    private static final class DeliveryBucket {
+        private final ArrayList<_SimObject_> receivers = new ArrayList<>();
+        private final ArrayList<_SimMessage_> msgs = new ArrayList<>();
+
+        private void add(_SimObject_ receiverObj, _SimMessage_ aMsg) {
+            receivers.add(receiverObj);
+            msgs.add(aMsg);
+        }
+    }
+
+    /* A task running a step of a parallel delivery for a range of indexes (chunks or partitions; split until one index) */
+    private static class DeliveryTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer step;
+
+        private DeliveryTask(int from, int to, IntConsumer step) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                step.accept(from);
+            } else if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new DeliveryTask(from, mid, step), new DeliveryTask(mid, to, step));
+            }
+        }
+    }
+}
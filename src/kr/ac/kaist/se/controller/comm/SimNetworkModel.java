@@ -0,0 +1,44 @@
+package kr.ac.kaist.se.controller.comm;
+
+import kr.ac.kaist.se.controller.util.SimRandomService;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+
+/**
+ * Interface of a network model of a message bus (SimMessageBus.setNetworkModel(..)),
+ * which decides when a message sent over a link (a sender -> a receiver) arrives at the receiver, or whether it is lost.
+ * A message arriving at a later tick is held by the bus (in-flight) until the tick.
+ * <p>
+ * transmit(..) is called by one thread at a time, in the order of messages sent in a tick.
+ * A network model with a state (e.g., queues of links) should also implement Checkpointable,
+ * so that its state is kept in a checkpoint of a simulation (SimCheckpointWriter).
+ *
+ * @author ymbaek
+ */
+public interface SimNetworkModel {
+
+    /**
+     * Arrival tick of a lost message
+     */
+    int LOST = -1;
+
+    /**
+     * Transmit a message over a link
+     *
+     * @param aMsg        message (of a multicast message, transmitted once per receiver)
+     * @param senderId    id of the sender
+     * @param receiverObj receiver
+     * @param sendTick    tick at which the message is sent
+     * @return tick at which the message arrives (sendTick: in the same tick), or LOST
+     */
+    int transmit(_SimMessage_ aMsg, String senderId, _SimObject_ receiverObj, int sendTick);
+
+    /**
+     * Fork this network model with its current state (e.g., queues of links) for a branch of a simulation (SimEngine.fork(..)).
+     * The forked model is used by the branch only, thus it does not share a state with this model.
+     *
+     * @param branchRandomService random service of the branch (e.g., for a stream of losses of the branch)
+     * @return network model of the branch
+     */
+    SimNetworkModel fork(SimRandomService branchRandomService);
+}
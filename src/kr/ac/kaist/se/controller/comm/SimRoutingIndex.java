@@ -0,0 +1,281 @@
+package kr.ac.kaist.se.controller.comm;
+
+import kr.ac.kaist.se.model.abst.comm.SimMsgRoute;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.intf.Communicatable;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.Organization;
+import kr.ac.kaist.se.model.sos.SoS;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A routing index of a message bus, which resolves receivers of a multicast message (SimMsgRoute)
+ * without scanning the registry of an SoS for each message:
+ * - class -> objects (indexed by all classes and interfaces of each object)
+ * - topic -> subscribers (Communicatable.getSubscribedTopics() and subscribe(..))
+ * - stateId -> objects (built once after invalidateStates(), e.g., at the message phase of every tick)
+ * - orgId -> member CSs (allMemberCSList of the Organization)
+ * <p>
+ * The class and topic index is rebuilt when the registry of the SoS (SoS.getSimObjectRegistryVersion()) or
+ * subscriptions are changed. Indexes are replaced as a whole and read without a lock,
+ * thus receivers can be resolved by concurrent delivery tasks.
+ * Receivers of an index are ordered by their ids (the same order for every run).
+ *
+ * @author ymbaek
+ */
+public class SimRoutingIndex {
+
+    private static final _SimObject_[] NO_RECEIVERS = new _SimObject_[0];
+
+    private final SoS simModel;
+
+    //Class and topic index (null: not built yet)
+    private volatile Index index;
+    //State index (null: to be built at the first lookup)
+    private volatile Map<String, _SimObject_[]> stateIndex;
+
+    //Subscriptions by subscribe(..) (in addition to topics of Communicatable objects)
+    private final HashMap<String, LinkedHashSet<_SimObject_>> subscriptions = new HashMap<>();
+    private volatile int subscriptionVersion = 0;
+
+
+    /* An index built from a version of the registry and subscriptions */
+    private static final class Index {
+        private final int registryVersion;
+        private final int subscriptionVersion;
+        private final _SimObject_[] memberObjects;
+        private final Map<Class<?>, _SimObject_[]> classIndex;
+        private final Map<String, _SimObject_[]> topicIndex;
+
+        private Index(int registryVersion, int subscriptionVersion, _SimObject_[] memberObjects,
+                      Map<Class<?>, _SimObject_[]> classIndex, Map<String, _SimObject_[]> topicIndex) {
+            this.registryVersion = registryVersion;
+            this.subscriptionVersion = subscriptionVersion;
+            this.memberObjects = memberObjects;
+            this.classIndex = classIndex;
+            this.topicIndex = topicIndex;
+        }
+    }
+
+
+    public SimRoutingIndex(SoS simModel) {
+        this.simModel = simModel;
+    }
+
+
+    /**
+     * Subscribe a topic (thread-safe)
+     *
+     * @param topic      topic
+     * @param subscriber object receiving messages of the topic
+     */
+    public synchronized void subscribe(String topic, _SimObject_ subscriber) {
+        if (subscriptions.computeIfAbsent(topic, aTopic -> new LinkedHashSet<>()).add(subscriber)) {
+            subscriptionVersion++;
+        }
+    }
+
+    /**
+     * Unsubscribe a topic subscribed by subscribe(..) (thread-safe)
+     *
+     * @param topic      topic
+     * @param subscriber object receiving messages of the topic
+     */
+    public synchronized void unsubscribe(String topic, _SimObject_ subscriber) {
+        LinkedHashSet<_SimObject_> subscribers = subscriptions.get(topic);
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            if (subscribers.isEmpty()) {
+                subscriptions.remove(topic);
+            }
+            subscriptionVersion++;
+        }
+    }
+
+    /**
+     * Invalidate the state index (states of objects may be changed since the last lookup)
+     */
+    public void invalidateStates() {
+        stateIndex = null;
+    }
+
+    /**
+     * Visit receivers of a route (except its sender)
+     *
+     * @param aRoute           route of a message
+     * @param senderId         id of the sender of a message
+     * @param receiverConsumer consumer of each receiver
+     * @return number of receivers
+     */
+    public int forEachReceiver(SimMsgRoute aRoute, String senderId, Consumer<_SimObject_> receiverConsumer) {
+        //Receivers are selected from the most specific index, and other conditions are checked one by one
+        List<? extends _SimObject_> candidates;
+        boolean isOrgChecked = false;
+        boolean isStateChecked = false;
+
+        if (aRoute.getTopic() != null) {
+            candidates = asList(getIndex().topicIndex.get(aRoute.getTopic()));
+        } else if (aRoute.getOrgId() != null) {
+            _SimObject_ orgObj = simModel.getMemberSimObjectById(aRoute.getOrgId());
+            candidates = orgObj instanceof Organization ? ((Organization) orgObj).getAllMemberCSList() : Collections.emptyList();
+            isOrgChecked = true;
+        } else if (aRoute.getStateId() != null) {
+            candidates = asList(getStateIndex().get(aRoute.getStateId()));
+            isStateChecked = true;
+        } else {
+            candidates = asList(getIndex().classIndex.get(aRoute.getReceiverClass()));
+        }
+
+        Class<?> receiverClass = aRoute.getReceiverClass();
+        int numOfReceivers = 0;
+
+        for (int i = 0; i < candidates.size(); i++) {
+            _SimObject_ candidate = candidates.get(i);
+
+            if (candidate.getId().equals(senderId) || !receiverClass.isInstance(candidate)) {
+                continue;
+            }
+            if (!isOrgChecked && aRoute.getOrgId() != null && !isMemberOfOrg(candidate, aRoute.getOrgId())) {
+                continue;
+            }
+            if (!isStateChecked && aRoute.getStateId() != null && !aRoute.getStateId().equals(candidate.getCurStateId())) {
+                continue;
+            }
+
+            receiverConsumer.accept(candidate);
+            numOfReceivers++;
+        }
+
+        return numOfReceivers;
+    }
+
+
+    private Index getIndex() {
+        Index curIndex = index;
+        if (curIndex == null ||
+                curIndex.registryVersion != simModel.getSimObjectRegistryVersion() ||
+                curIndex.subscriptionVersion != subscriptionVersion) {
+            curIndex = buildIndex();
+        }
+        return curIndex;
+    }
+
+    private synchronized Index buildIndex() {
+        int registryVersion = simModel.getSimObjectRegistryVersion();
+        if (index != null && index.registryVersion == registryVersion && index.subscriptionVersion == subscriptionVersion) {
+            //Built by another thread
+            return index;
+        }
+
+        HashMap<Class<?>, ArrayList<_SimObject_>> classLists = new HashMap<>();
+        HashMap<String, LinkedHashSet<_SimObject_>> topicSets = new HashMap<>();
+
+        ArrayList<_SimObject_> memberObjects = getMemberObjects();
+        for (_SimObject_ aObj : memberObjects) {
+            for (Class<?> aClass : getClassesOf(aObj.getClass())) {
+                classLists.computeIfAbsent(aClass, key -> new ArrayList<>()).add(aObj);
+            }
+            if (aObj instanceof Communicatable) {
+                for (String topic : ((Communicatable) aObj).getSubscribedTopics()) {
+                    topicSets.computeIfAbsent(topic, key -> new LinkedHashSet<>()).add(aObj);
+                }
+            }
+        }
+        for (Map.Entry<String, LinkedHashSet<_SimObject_>> subscription : subscriptions.entrySet()) {
+            topicSets.computeIfAbsent(subscription.getKey(), key -> new LinkedHashSet<>()).addAll(subscription.getValue());
+        }
+
+        HashMap<Class<?>, _SimObject_[]> classIndex = new HashMap<>();
+        classLists.forEach((aClass, objList) -> classIndex.put(aClass, objList.toArray(NO_RECEIVERS)));
+        HashMap<String, _SimObject_[]> topicIndex = new HashMap<>();
+        topicSets.forEach((topic, objSet) -> topicIndex.put(topic, objSet.toArray(NO_RECEIVERS)));
+
+        index = new Index(registryVersion, subscriptionVersion, memberObjects.toArray(NO_RECEIVERS), classIndex, topicIndex);
+        //The state index is rebuilt from new members
+        stateIndex = null;
+        return index;
+    }
+
+    private Map<String, _SimObject_[]> getStateIndex() {
+        Map<String, _SimObject_[]> curStateIndex = stateIndex;
+        if (curStateIndex == null) {
+            curStateIndex = buildStateIndex();
+        }
+        return curStateIndex;
+    }
+
+    private synchronized Map<String, _SimObject_[]> buildStateIndex() {
+        if (stateIndex != null) {
+            //Built by another thread
+            return stateIndex;
+        }
+
+        HashMap<String, ArrayList<_SimObject_>> stateLists = new HashMap<>();
+        for (_SimObject_ aObj : getIndex().memberObjects) {
+            if (aObj.getCurStateId() != null) {
+                stateLists.computeIfAbsent(aObj.getCurStateId(), key -> new ArrayList<>()).add(aObj);
+            }
+        }
+
+        HashMap<String, _SimObject_[]> newStateIndex = new HashMap<>();
+        stateLists.forEach((stateId, objList) -> newStateIndex.put(stateId, objList.toArray(NO_RECEIVERS)));
+
+        stateIndex = newStateIndex;
+        return newStateIndex;
+    }
+
+    /**
+     * Member objects of the SoS (except the SoS itself) in the order of their ids
+     */
+    private ArrayList<_SimObject_> getMemberObjects() {
+        ArrayList<_SimObject_> memberObjects = new ArrayList<>(simModel.getSimObjectRegistry().values());
+        memberObjects.remove(simModel);
+        memberObjects.sort(Comparator.comparing(_SimObject_::getId));
+        return memberObjects;
+    }
+
+    /**
+     * Classes (up to _SimObject_) and interfaces of a class of an object
+     */
+    private static LinkedHashSet<Class<?>> getClassesOf(Class<?> objClass) {
+        LinkedHashSet<Class<?>> classes = new LinkedHashSet<>();
+        for (Class<?> aClass = objClass; aClass != null && _SimObject_.class.isAssignableFrom(aClass); aClass = aClass.getSuperclass()) {
+            classes.add(aClass);
+            addInterfaces(aClass, classes);
+        }
+        return classes;
+    }
+
+    private static void addInterfaces(Class<?> aClass, LinkedHashSet<Class<?>> classes) {
+        for (Class<?> aInterface : aClass.getInterfaces()) {
+            if (classes.add(aInterface)) {
+                addInterfaces(aInterface, classes);
+            }
+        }
+    }
+
+    private static boolean isMemberOfOrg(_SimObject_ aObj, String orgId) {
+        if (!(aObj instanceof Constituent)) {
+            return false;
+        }
+        for (Organization aOrg = ((Constituent) aObj).getMyOrg(); aOrg != null; aOrg = aOrg.getParentOrg()) {
+            if (Objects.equals(aOrg.getId(), orgId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<_SimObject_> asList(_SimObject_[] receivers) {
+        return receivers != null ? Arrays.asList(receivers) : Collections.emptyList();
+    }
+}
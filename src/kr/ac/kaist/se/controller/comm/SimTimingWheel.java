@@ -0,0 +1,278 @@
+package kr.ac.kaist.se.controller.comm;
+
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.BiConsumer;
+
+/**
+ * A hierarchical timing wheel of in-flight messages (a message and its receiver), keyed by their delivery ticks.
+ * <p>
+ * The wheel has NUM_OF_LEVELS levels of NUM_OF_SLOTS slots: a slot of level 0 holds messages of one tick,
+ * and a slot of level L holds messages of NUM_OF_SLOTS^L ticks. A message is added to the lowest level
+ * whose rotation contains its delivery tick (O(1)), and messages of a slot of a higher level are moved to lower levels
+ * when the current tick reaches the slot (each message is moved at most NUM_OF_LEVELS - 1 times).
+ * Empty levels are skipped while advancing, thus advancing over idle ticks does not visit every tick.
+ * <p>
+ * Messages of the same delivery tick are expired in the order of schedule(..).
+ * Nodes of expired messages are reused for new messages (no allocation in a steady state).
+ * A wheel is not thread-safe.
+ *
+ * @author ymbaek
+ */
+public class SimTimingWheel {
+
+    private static final int SLOT_BITS = 8;
+    private static final int NUM_OF_SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = NUM_OF_SLOTS - 1;
+    //4 levels of 256 slots cover 2^32 ticks (any int delivery tick)
+    private static final int NUM_OF_LEVELS = 4;
+
+    /* A consumer of an in-flight message with its delivery tick (see forEach(..)) */
+    public interface InFlightMsgConsumer {
+        void accept(int deliveryTick, _SimObject_ receiverObj, _SimMessage_ aMsg);
+    }
+
+    /* A node of an in-flight message (a singly linked list per slot) */
+    private static final class Node {
+        private int deliveryTick;
+        private _SimObject_ receiverObj;
+        private _SimMessage_ msg;
+        private Node next;
+    }
+
+    private final Node[][] slotHeads = new Node[NUM_OF_LEVELS][NUM_OF_SLOTS];
+    private final Node[][] slotTails = new Node[NUM_OF_LEVELS][NUM_OF_SLOTS];
+    private final int[] levelSizes = new int[NUM_OF_LEVELS];
+
+    private int curTick;
+    private int size = 0;
+
+    //Free list of nodes
+    private Node freeNodes;
+
+
+    public SimTimingWheel(int startTick) {
+        this.curTick = startTick;
+    }
+
+
+    /**
+     * Add an in-flight message
+     *
+     * @param deliveryTick tick at which the message is delivered
+     * @param receiverObj  receiver of the message
+     * @param aMsg         message
+     * @return false if the delivery tick is not later than the current tick (the message is not added)
+     */
+    public boolean schedule(int deliveryTick, _SimObject_ receiverObj, _SimMessage_ aMsg) {
+        if (deliveryTick <= curTick) {
+            return false;
+        }
+
+        Node node = freeNodes;
+        if (node != null) {
+            freeNodes = node.next;
+            node.next = null;
+        } else {
+            node = new Node();
+        }
+        node.deliveryTick = deliveryTick;
+        node.receiverObj = receiverObj;
+        node.msg = aMsg;
+
+        insert(node);
+        size++;
+        return true;
+    }
+
+    /**
+     * Advance the current tick, and expire messages whose delivery ticks are reached (in the order of delivery ticks)
+     *
+     * @param targetTick   new current tick (ignored if it is not later than the current tick)
+     * @param msgConsumer  consumer of each expired message and its receiver
+     * @return number of expired messages
+     */
+    public int advanceTo(int targetTick, BiConsumer<_SimObject_, _SimMessage_> msgConsumer) {
+        int numOfExpiredMsgs = 0;
+
+        while (curTick < targetTick) {
+            if (size == 0) {
+                curTick = targetTick;
+                break;
+            }
+
+            //If lower levels are empty, ticks until the next slot of the lowest non-empty level are skipped
+            int lowestLevel = 0;
+            while (levelSizes[lowestLevel] == 0) {
+                lowestLevel++;
+            }
+            if (lowestLevel > 0) {
+                long slotTicks = 1L << (SLOT_BITS * lowestLevel);
+                long nextSlotTick = ((long) curTick & -slotTicks) + slotTicks;
+                if (nextSlotTick > targetTick) {
+                    curTick = targetTick;
+                    break;
+                }
+                curTick = (int) nextSlotTick - 1;
+            }
+
+            curTick++;
+
+            //Messages of slots of higher levels reached at this tick are moved to lower levels (from the highest level)
+            for (int level = NUM_OF_LEVELS - 1; level > 0; level--) {
+                if ((curTick & ((1 << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (curTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                }
+            }
+
+            numOfExpiredMsgs += expire(curTick & SLOT_MASK, msgConsumer);
+        }
+
+        return numOfExpiredMsgs;
+    }
+
+    /**
+     * Lower bound of the tick at which the next message is expired (exact if it is in the rotation of level 0)
+     *
+     * @return tick, or -1 if no message is in flight
+     */
+    public int getNextDeliveryTick() {
+        if (size == 0) {
+            return -1;
+        }
+
+        for (int level = 0; level < NUM_OF_LEVELS; level++) {
+            if (levelSizes[level] == 0) {
+                continue;
+            }
+
+            int shift = SLOT_BITS * level;
+            int curSlot = (curTick >>> shift) & SLOT_MASK;
+            for (int slot = curSlot + 1; slot < NUM_OF_SLOTS; slot++) {
+                if (slotHeads[level][slot] != null) {
+                    //The first tick of the slot (the rotation of the level is the rotation of the current tick)
+                    long rotationTick = (long) curTick & -(1L << (shift + SLOT_BITS));
+                    return (int) (rotationTick + ((long) slot << shift));
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Visit in-flight messages without expiring them (e.g., for a checkpoint),
+     * in the order in which they are expired (by delivery ticks, and in the order of schedule(..) in a tick)
+     *
+     * @param msgConsumer consumer of each in-flight message with its delivery tick and receiver
+     */
+    public void forEach(InFlightMsgConsumer msgConsumer) {
+        ArrayList<Node> nodes = new ArrayList<>(size);
+        for (int level = 0; level < NUM_OF_LEVELS; level++) {
+            for (int slot = 0; slot < NUM_OF_SLOTS; slot++) {
+                for (Node node = slotHeads[level][slot]; node != null; node = node.next) {
+                    nodes.add(node);
+                }
+            }
+        }
+
+        //Messages of a delivery tick are in one slot (in the order of schedule(..)), thus a stable sort keeps their order
+        nodes.sort(Comparator.comparingInt(node -> node.deliveryTick));
+        for (Node node : nodes) {
+            msgConsumer.accept(node.deliveryTick, node.receiverObj, node.msg);
+        }
+    }
+
+    /**
+     * Remove all in-flight messages, and set the current tick (e.g., before messages of a checkpoint are scheduled)
+     *
+     * @param startTick new current tick
+     */
+    public void clear(int startTick) {
+        for (int level = 0; level < NUM_OF_LEVELS; level++) {
+            Arrays.fill(slotHeads[level], null);
+            Arrays.fill(slotTails[level], null);
+        }
+        Arrays.fill(levelSizes, 0);
+        size = 0;
+        curTick = startTick;
+    }
+
+    public int getCurTick() {
+        return curTick;
+    }
+
+    /**
+     * Number of in-flight messages
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Add a node to the lowest level whose current rotation contains its delivery tick
+     */
+    private void insert(Node node) {
+        int level = 0;
+        while (level < NUM_OF_LEVELS - 1 &&
+                (node.deliveryTick >>> (SLOT_BITS * (level + 1))) != (curTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (node.deliveryTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        if (slotTails[level][slot] == null) {
+            slotHeads[level][slot] = node;
+        } else {
+            slotTails[level][slot].next = node;
+        }
+        slotTails[level][slot] = node;
+        levelSizes[level]++;
+    }
+
+    private void cascade(int level, int slot) {
+        Node node = detach(level, slot);
+        while (node != null) {
+            Node next = node.next;
+            node.next = null;
+            insert(node);
+            node = next;
+        }
+    }
+
+    private int expire(int slot, BiConsumer<_SimObject_, _SimMessage_> msgConsumer) {
+        Node node = detach(0, slot);
+        int numOfExpiredMsgs = 0;
+
+        while (node != null) {
+            Node next = node.next;
+            _SimObject_ receiverObj = node.receiverObj;
+            _SimMessage_ aMsg = node.msg;
+
+            //The node is released before the consumer is called (the consumer may schedule a new message)
+            node.receiverObj = null;
+            node.msg = null;
+            node.next = freeNodes;
+            freeNodes = node;
+            size--;
+
+            msgConsumer.accept(receiverObj, aMsg);
+            numOfExpiredMsgs++;
+            node = next;
+        }
+        return numOfExpiredMsgs;
+    }
+
+    private Node detach(int level, int slot) {
+        Node head = slotHeads[level][slot];
+        for (Node node = head; node != null; node = node.next) {
+            levelSizes[level]--;
+        }
+        slotHeads[level][slot] = null;
+        slotTails[level][slot] = null;
+        return head;
+    }
+}
@@ -1,27 +1,51 @@
 package kr.ac.kaist.se.controller.sim;
 
+import kr.ac.kaist.se.controller.comm.SimMessageBus;
+import kr.ac.kaist.se.controller.comm.SimNetworkModel;
 import kr.ac.kaist.se.controller.mape.MapeEngine;
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimRandomService;
 import kr.ac.kaist.se.controller.util.SimScenarioReader;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.cap.EnumActionType;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.obj._SimObject_;
 import kr.ac.kaist.se.model.sos.SoS;
 import kr.ac.kaist.se.model.sos.cap.CommAction;
+import kr.ac.kaist.se.simdata.checkpoint.SimCheckpointReader;
+import kr.ac.kaist.se.simdata.checkpoint.SimCheckpointWriter;
 import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioEvent;
 import kr.ac.kaist.se.simdata.evnt.SimScenarioUnitEvent;
+import kr.ac.kaist.se.simdata.input.EnumTimeAdvanceMode;
 import kr.ac.kaist.se.simdata.input.SimConfiguration;
 import kr.ac.kaist.se.simdata.input.SimScenario;
 import kr.ac.kaist.se.simdata.output.SimLog;
 import kr.ac.kaist.se.simdata.output.intermediate.RunResult;
+import kr.ac.kaist.se.simdata.output.intermediate.SimActionBuffer;
 import kr.ac.kaist.se.simdata.output.intermediate.UpdateResult;
+import kr.ac.kaist.se.simdata.output.sink.AsyncSimLogWriter;
+import kr.ac.kaist.se.simdata.output.sink.BinarySimLogSink;
+import kr.ac.kaist.se.simdata.output.sink.EnumSimLogSinkType;
+import kr.ac.kaist.se.simdata.output.sink.NullSimLogSink;
+import kr.ac.kaist.se.simdata.output.sink.SimLogSink;
+import kr.ac.kaist.se.simdata.output.sink.TextSimLogSink;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.logging.FileHandler;
+import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -40,14 +64,23 @@ public class SimEngine {
 
     private static final String logFormat = "[%1$tF %1$tT] [%2$-7s] %3$s %n";
     Timestamp timestamp;
-    /* Logger for SimEngine */
-    private final Logger logger = Logger.getLogger("Simulation Engine Logger");
+    /* Logger for SimEngine (an anonymous logger that is turned off, if SimEngineLog.log is disabled) */
+    private final Logger logger;
     private FileHandler fileHandler;
-    /* Record of SimLogEvents */
-    private BufferedWriter outputWriter = null;
-    private final String lineSeparator = System.getProperty("line.separator");
-    private final File logFile = new File("SimModelLog.log");
+    /* Record of SimLogEvents (written by a background thread) */
+    private AsyncSimLogWriter logWriter = null;
+    private static final File logFile = new File("SimModelLog.log");
+    private static final File binaryLogFile = new File("SimModelLog.bin");
     private int simTick = 0;
+    /* Number of ticks actually executed (less than simTotalTime in NEXT_EVENT mode) */
+    private int numOfExecutedTicks = 0;
+    /* The tick to be executed first (greater than 0 if a checkpoint is restored) */
+    private int startTick = 0;
+    /* The tick to be executed next (i.e., resumeTick of a checkpoint of the current state) */
+    private int resumeTick = 0;
+    /* A checkpoint requested by checkpoint(tick, file) (written after the tick is executed) */
+    private int checkpointTick = -1;
+    private File checkpointFile;
 
 //    private int cur_tick = 0;
 
@@ -58,8 +91,28 @@ public class SimEngine {
 
     private SimScenarioReader scenarioReader;
 
+    /* Unit events of simScenario, indexed by their start times */
+    private SimEventCalendar eventCalendar = new SimEventCalendar();
+
+    //Flat buffer of selected actions of the current tick (reused at every tick)
+    private final SimActionBuffer actionBuffer = new SimActionBuffer();
+
+    //Message bus delivering messages of CommActions into inboxes of receivers
+    private SimMessageBus messageBus;
+    //Network model of the message bus (null: messages are delivered in the tick in which they are sent)
+    private SimNetworkModel networkModel;
+
+    //Random number streams of the engine and member objects (seeded by simConfig)
+    private SimRandomService randomService;
+
     private MapeEngine mapeEngine;
 
+    /* Pool for the parallel run phase (see SimConfiguration.isSimParallelRun()) */
+    private ForkJoinPool runPool;
+
+    /* Silent mode of this engine (traces of threads running this engine are turned off; see SimTracer.setThreadSilent(..)) */
+    private final boolean isSilent;
+
 
 //    public SimEngine(SoS simModel, String isMapeOn) {
 //
@@ -73,62 +126,87 @@ public class SimEngine {
 
 
     public SimEngine(SoS simModel, String isMapeOn, SimConfiguration simConfig, SimScenario simScenario) {
+        this(simModel, isMapeOn, simConfig, simScenario, createLogSink(simConfig));
+    }
 
+    /**
+     * Constructor with a specific SimLogSink (instead of a sink of SimConfiguration.getSimLogSinkType())
+     *
+     * @param logSink SimLogSink where SimLogEvents are written
+     */
+    public SimEngine(SoS simModel, String isMapeOn, SimConfiguration simConfig, SimScenario simScenario, SimLogSink logSink) {
 
-        System.setProperty("java.util.logging.SimpleFormatter.format",
-                logFormat);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SimEngine) SimEngine is constructed.");
+        //Silent mode: traces of threads running this engine are turned off (traces of other simulations are not affected)
+        this.isSilent = simConfig != null && simConfig.isSimSilentMode();
+        boolean wasSilent = enterSilentMode();
 
         try {
-            fileHandler = new FileHandler("SimEngineLog.log");
-            logger.addHandler(fileHandler);
-            logger.setUseParentHandlers(false);
-
-            fileHandler.setFormatter(new SimpleFormatter() {
-                @Override
-                public synchronized String format(LogRecord lr) {
-                    return String.format(logFormat,
-                            new Date(lr.getMillis()),
-                            lr.getLevel().getLocalizedName(),
-                            lr.getMessage()
-                    );
+            System.setProperty("java.util.logging.SimpleFormatter.format",
+                    logFormat);
+
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine) SimEngine is constructed.");
+
+            if (simConfig == null || simConfig.isSimEngineLogEnabled()) {
+                logger = Logger.getLogger("Simulation Engine Logger");
+
+                try {
+                    fileHandler = new FileHandler("SimEngineLog.log");
+                    logger.addHandler(fileHandler);
+                    logger.setUseParentHandlers(false);
+
+                    fileHandler.setFormatter(new SimpleFormatter() {
+                        @Override
+                        public synchronized String format(LogRecord lr) {
+                            return String.format(logFormat,
+                                    new Date(lr.getMillis()),
+                                    lr.getLevel().getLocalizedName(),
+                                    lr.getMessage()
+                            );
+                        }
+                    });
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
-            });
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+            } else {
+                logger = Logger.getAnonymousLogger();
+                logger.setUseParentHandlers(false);
+                logger.setLevel(Level.OFF);
+            }
 
-        if (!logFile.exists()) {
-            System.out.println("no file");
-        }
+            if (logSink == null) {
+                logSink = new NullSimLogSink();
+            }
+            logWriter = new AsyncSimLogWriter(logSink,
+                    (simConfig != null ? simConfig : this.simConfig).getSimLogBufferSize());
 
-        try {
-            outputWriter = new BufferedWriter(new FileWriter(logFile));
-
-            timestamp = new Timestamp(System.currentTimeMillis());
-
-            String currentPath = new java.io.File(".").getCanonicalPath();
-
-            outputWriter.write(currentPath + "\\SimModelLog.log" + lineSeparator);
-            outputWriter.write("> last update:" + timestamp + lineSeparator);
-            outputWriter.write("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━" + lineSeparator);
-            outputWriter.write("SimEngine constructed at" + timestamp + lineSeparator);
-            outputWriter.write("> SimModel: " + simModel + "(" + simModel.getName() + ")" + lineSeparator);
-            outputWriter.write("> isMapeOn: " + isMapeOn + lineSeparator);
-            outputWriter.write("> simConfig: " + simConfig + lineSeparator);
-            outputWriter.write("> simScenario: " + simScenario + lineSeparator);
-            outputWriter.write("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━" + lineSeparator);
-            outputWriter.flush();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+            try {
+                timestamp = new Timestamp(System.currentTimeMillis());
+
+                String currentPath = new java.io.File(".").getCanonicalPath();
+
+                ArrayList<String> headerLines = new ArrayList<>();
+                headerLines.add(currentPath + "\\SimModelLog.log");
+                headerLines.add("> last update:" + timestamp);
+                headerLines.add("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+                headerLines.add("SimEngine constructed at" + timestamp);
+                headerLines.add("> SimModel: " + simModel + "(" + simModel.getName() + ")");
+                headerLines.add("> isMapeOn: " + isMapeOn);
+                headerLines.add("> simConfig: " + simConfig);
+                headerLines.add("> simScenario: " + simScenario);
+                headerLines.add("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+                logWriter.writeHeader(headerLines);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
 
 
-        logger.info("(pre-simulation) A SimEngine object is constructed and initialized.");
-        initSimEngine(simModel, isMapeOn, simConfig, simScenario);
-        logger.info("(pre-simulation) SimulationEngine is initialized: " + simModel + ", " + isMapeOn + ", " + simConfig + ", " + simScenario);
+            logger.info("(pre-simulation) A SimEngine object is constructed and initialized.");
+            initSimEngine(simModel, isMapeOn, simConfig, simScenario);
+            logger.info("(pre-simulation) SimulationEngine is initialized: " + simModel + ", " + isMapeOn + ", " + simConfig + ", " + simScenario);
+        } finally {
+            SimTracer.setThreadSilent(wasSilent);
+        }
 
     }
 
@@ -145,15 +223,20 @@ public class SimEngine {
             // Initialize simulation model
             initSimModel(simModel);
         } else {
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (SimEngine:initSimEngine) simModel: null");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimEngine:initSimEngine) simModel: null");
         }
         if (simConfig != null) {
             // Initialize simulation configuration
             initSimConfig(simConfig);
         } else {
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (SimEngine:initSimEngine) simConfig: null");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimEngine:initSimEngine) simConfig: null");
+        }
+
+        //Random number streams (each member object has its own stream derived from the seed, its id and a tick)
+        randomService = new SimRandomService(this.simConfig.getSimRandomSeed());
+        if (simModel != null) {
+            //Ids of log events (unique in the model without any check)
+            simModel.assignLogSubjectIndexes();
         }
         if (simScenario != null && simScenario.getNumOfUnitEvents() != 0) {
             //Initialize SimScenarioReader
@@ -162,8 +245,7 @@ public class SimEngine {
             //Initialize simulation scenario
             initSimScenario(simScenario);
         } else {
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (SimEngine:initSimEngine) simScenario: null");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimEngine:initSimEngine) simScenario: null");
         }
     }
 
@@ -172,9 +254,12 @@ public class SimEngine {
      */
     private void initSimModel(SoS simModel) {
         this.simModel = simModel;
+        this.messageBus = new SimMessageBus(simModel);
+        this.messageBus.setNetworkModel(networkModel);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SimEngine:initSimModel) SimModel is initialized (" + this.simModel + ")");
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:initSimModel) SimModel is initialized (" + this.simModel + ")");
+        }
     }
 
     /**
@@ -183,8 +268,9 @@ public class SimEngine {
     private void initSimConfig(SimConfiguration simConfig) {
         this.simConfig = simConfig;
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SimEngine:initSimConfig) SimConfiguration is initialized(" + this.simConfig + ")");
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:initSimConfig) SimConfiguration is initialized(" + this.simConfig + ")");
+        }
     }
 
     /**
@@ -193,8 +279,12 @@ public class SimEngine {
     private void initSimScenario(SimScenario simScenario) {
         this.simScenario = simScenario;
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SimEngine:initSimScenario) SimScenario is initialized(" + this.simScenario + ")");
+        eventCalendar = new SimEventCalendar();
+        eventCalendar.scheduleAll(simScenario.getEventList());
+
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:initSimScenario) SimScenario is initialized(" + this.simScenario + ")");
+        }
     }
 
     /**
@@ -204,6 +294,15 @@ public class SimEngine {
      * @return SimLog
      */
     public SimLog startSimulation() {
+        boolean wasSilent = enterSilentMode();
+        try {
+            return runSimulation();
+        } finally {
+            SimTracer.setThreadSilent(wasSilent);
+        }
+    }
+
+    private SimLog runSimulation() {
 
         SimLog simLog = new SimLog();
 
@@ -211,30 +310,36 @@ public class SimEngine {
 
         logger.info("(pre-simulation) ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println();
-        System.out.println("[" + timestamp + "] ===================================================================");
-        System.out.println("[" + timestamp + "] (SimEngine:startSimulation) Simulation is started.");
+        SimTracer.println(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "");
+        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "===================================================================");
+        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:startSimulation) Simulation is started.");
 
-        for (int cur_tick = 0; cur_tick < this.simConfig.getSimTotalTime(); cur_tick++) {
+        numOfExecutedTicks = 0;
 
-            simTick = cur_tick;
+        for (int cur_tick = startTick; cur_tick < this.simConfig.getSimTotalTime(); cur_tick = getNextTick(cur_tick + 1)) {
 
-            System.out.println();
-            timestamp = new Timestamp(System.currentTimeMillis());
-//            System.out.println("[" + timestamp + "] ===================================================================");
-            System.out.println("[" + timestamp + "] ┌──────────────────────────────────────────────────────────────────┐");
-            System.out.println("[" + timestamp + "] (SimEngine:startSimulation) cur_tick: " + cur_tick);
-            System.out.println("[" + timestamp + "] └──────────────────────────────────────────────────────────────────┘");
+            //A requested checkpoint is written before the first tick after the checkpoint tick
+            if (checkpointFile != null && cur_tick > checkpointTick) {
+                writeRequestedCheckpoint();
+            }
 
+            simTick = cur_tick;
+            simModel.setCurTick(cur_tick);
+            //Random streams of the tick (derived from the seed and the tick, also after a restore or a fork)
+            randomService.assignStreams(simModel, cur_tick);
+            numOfExecutedTicks++;
+
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.println(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "┌──────────────────────────────────────────────────────────────────┐");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:startSimulation) cur_tick: " + cur_tick);
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "└──────────────────────────────────────────────────────────────────┘");
+            }
 
-            /* PHASE 01: Executing SimScenarioUnitEvent of a given SimScenario */
-            ArrayList<SimScenarioUnitEvent> scenarioUnitEvents = new ArrayList<>();
 
-            for (SimScenarioUnitEvent unitEvent : simScenario.getUnitEventList()) {
-                if (unitEvent.getStartTime() == cur_tick) {
-                    unitEvent.executeEvent();
-                }
+            /* PHASE 01: Executing SimScenarioUnitEvent of a given SimScenario */
+            for (SimScenarioUnitEvent unitEvent : eventCalendar.pollEvents(cur_tick)) {
+                unitEvent.executeEvent();
             }
 //            if (simScenario != null && simScenario.getNumOfUnitEvents() != 0){
 //
@@ -244,58 +349,68 @@ public class SimEngine {
             /* PHASE 01: Collecting RunResults from SimModel */
 
             RunResult curTickSimResult = runSimModel();
-            logger.info("(cur_tick:" + simTick + ") RunResult of current tick is returned: # of selectedActions(" + getSelectedActionsFromRunResult(curTickSimResult).size() + ")");
-
-            timestamp = new Timestamp(System.currentTimeMillis());
-//            System.out.println("[" + timestamp + "] ===================================================================");
-            System.out.println();
-            System.out.println("[" + timestamp + "] ┌──────────────────────────────────────────────────────────────────┐");
-            System.out.println("[" + timestamp + "] (SimEngine:startSimulation) RunResult is returned: (getSelectedActionList().size():" +
-                    curTickSimResult.getSelectedActionList().size() + ") | (getSubRunREsults().size():" +
-                    curTickSimResult.getSubRunResults().size() + ") | (total#ofActions:" +
-                    getSelectedActionsFromRunResult(curTickSimResult).size() + ")");
-            System.out.println("[" + timestamp + "] └──────────────────────────────────────────────────────────────────┘");
+
+            //Selected actions are flattened into actionBuffer (in the order of the RunResult tree), used by the following phases
+            simModel.fillActionBuffer(curTickSimResult, actionBuffer);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info("(cur_tick:" + simTick + ") RunResult of current tick is returned: # of selectedActions(" + actionBuffer.size() + ")");
+            }
+
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.println(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "┌──────────────────────────────────────────────────────────────────┐");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:startSimulation) RunResult is returned: (getSelectedActionList().size():" +
+                        curTickSimResult.getSelectedActionList().size() + ") | (getSubRunREsults().size():" +
+                        curTickSimResult.getSubRunResults().size() + ") | (total#ofActions:" +
+                        actionBuffer.size() + ")");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "└──────────────────────────────────────────────────────────────────┘");
+            }
 
             /* PHASE 02: Resolving conflicts of the RunResult of the current tick */
 
-            curTickSimResult = this.resolveConflict(curTickSimResult);
-            logger.info("(cur_tick:" + simTick + ") Conflicts are resolved: filtered # of selectedActions(" + getSelectedActionsFromRunResult(curTickSimResult).size() + ")");
+            this.resolveConflict(actionBuffer);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info("(cur_tick:" + simTick + ") Conflicts are resolved: filtered # of selectedActions(" + actionBuffer.size() + ")");
+            }
 
 
             /* PHASE 03: Collecting CommActions to process message sending */
 
-            ArrayList<CommAction> selectedCommActions = readCommActions(curTickSimResult);
-            logger.info("(cur_tick:" + simTick + ") Communication actions are read: # of commActions(" + selectedCommActions.size() + ")");
+            ArrayList<CommAction> selectedCommActions = readCommActions(actionBuffer);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info("(cur_tick:" + simTick + ") Communication actions are read: # of commActions(" + selectedCommActions.size() + ")");
+            }
 
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + ":readCommActions) selectedCommActions.size(): " + selectedCommActions.size());
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + ":readCommActions) selectedCommActions.size(): " + selectedCommActions.size());
+            }
 
 
-            processMsgs(selectedCommActions);
+            processMsgs(selectedCommActions, cur_tick);
 
 
-            System.out.println("[" + timestamp + "] (SimEngine:startSimulation) selectedActions of curTickSimResult: " + getSelectedActionsFromRunResult(curTickSimResult));
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:startSimulation) selectedActions of curTickSimResult: " + actionBuffer.toActionList());
+            }
 
 
             /* PHASE 04: Update SimModel by actually executing the actions, allowed by this SimEngine */
 
-            UpdateResult curTickUpdateResult = this.updateSimModel(curTickSimResult, cur_tick);
-            logger.info("(cur_tick:" + simTick + ") RunResult of current tick is returned: # of logs(" + curTickUpdateResult.getLogEventList().size() + ")");
-
-            System.out.println("[" + timestamp + "] ┌──────────────────────────────────────────────────────────────────┐");
-            System.out.println("[" + timestamp + "] (SimEngine:startSimulation) size of log: " + curTickUpdateResult.getLogEventList().size());
-            System.out.println("[" + timestamp + "] └──────────────────────────────────────────────────────────────────┘");
-
-            for (SimLogEvent aLogEvent : curTickUpdateResult.getLogEventList()) {
+            UpdateResult curTickUpdateResult = this.updateSimModel(actionBuffer, cur_tick);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info("(cur_tick:" + simTick + ") RunResult of current tick is returned: # of logs(" + curTickUpdateResult.getLogEventList().size() + ")");
+            }
 
-                try {
-                    outputWriter.write(aLogEvent.getStringLogEvent() + lineSeparator);
-                    outputWriter.flush();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "┌──────────────────────────────────────────────────────────────────┐");
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:startSimulation) size of log: " + curTickUpdateResult.getLogEventList().size());
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "└──────────────────────────────────────────────────────────────────┘");
             }
 
+            //SimLogEvents of this tick are written by the writer thread (group commit)
+            logWriter.appendAll(curTickUpdateResult.getLogEventList());
+            logWriter.commit();
+
 
 //            logger.info("(cur_tick:" + cur_tick + ") Info");
 //            logger.warning("(cur_tick:" + cur_tick + ") Warning");
@@ -315,102 +430,324 @@ public class SimEngine {
             }
              */
 
-            logger.info("(cur_tick:" + simTick + ") ===================================================================");
+            if (logger.isLoggable(Level.INFO)) {
+                logger.info("(cur_tick:" + simTick + ") ===================================================================");
+            }
+
+            resumeTick = cur_tick + 1;
+        }
 
+        //A checkpoint at (or after) the last tick
+        if (checkpointFile != null) {
+            writeRequestedCheckpoint();
         }
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "]  ===================================================================");
-        System.out.println("[" + timestamp + "] (Main) Simulation engine is terminated.");
+        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, " ===================================================================");
+        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(Main) Simulation engine is terminated.");
 
         logger.info("(post-simulation) ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        logger.info("(post-simulation) Simulation engine is terminated.");
+        logger.info("(post-simulation) Simulation engine is terminated: # of executed ticks(" + numOfExecutedTicks + "/" + simConfig.getSimTotalTime() + ")");
 
+        //Shutdown of the pool for the parallel run phase
+        if (runPool != null) {
+            runPool.shutdown();
+            runPool = null;
+        }
 
-        //Close of outputWriter
+        //Close of logWriter (waits until all SimLogEvents are written)
         try {
-            outputWriter.close();
+            logWriter.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
 
+        //The logger is shared by SimEngines (by name), thus the handler of this engine is removed
+        if (fileHandler != null) {
+            logger.removeHandler(fileHandler);
+            fileHandler.close();
+        }
+
         return simLog;
 
     }
 
+    /**
+     * A method to get the next tick to be executed.
+     * In NEXT_EVENT mode, the clock jumps to the earliest tick when
+     * an object of simModel wakes up or a unit event of simScenario occurs.
+     *
+     * @param fromTick the earliest possible tick (i.e., the next tick in FIXED_STEP mode)
+     * @return the next tick (simTotalTime if there is no more activity)
+     */
+    private int getNextTick(int fromTick) {
+        if (simConfig.getSimTimeAdvanceMode() != EnumTimeAdvanceMode.NEXT_EVENT || simModel == null) {
+            return fromTick;
+        }
+
+        int nextTick = simModel.getNextWakeUpTick(fromTick);
+
+        int nextEventTick = eventCalendar.getNextEventTime();
+        if (nextEventTick >= 0 && nextEventTick < nextTick) {
+            nextTick = Math.max(fromTick, nextEventTick);
+        }
+
+        //Messages in flight are delivered at their ticks
+        int nextDeliveryTick = messageBus.getNextDeliveryTick();
+        if (nextDeliveryTick >= 0 && nextDeliveryTick < nextTick) {
+            nextTick = Math.max(fromTick, nextDeliveryTick);
+        }
+
+        if (nextTick >= simConfig.getSimTotalTime()) {
+            nextTick = simConfig.getSimTotalTime();
+        }
+
+        if (nextTick > fromTick && SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:getNextTick) Idle ticks are skipped: " + fromTick + " -> " + nextTick);
+        }
+
+        return nextTick;
+    }
+
+    /**
+     * A method to request a checkpoint of the simulation state after a given tick is executed.
+     * The checkpoint is written into a file during startSimulation() (only one checkpoint can be requested).
+     *
+     * @param tick           the last tick executed before the checkpoint
+     * @param checkpointFile file where the checkpoint is written
+     */
+    public void checkpoint(int tick, File checkpointFile) {
+        this.checkpointTick = tick;
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * A method to write a checkpoint of the current simulation state
+     * (e.g., before or after startSimulation())
+     *
+     * @param outputStream output where the checkpoint is written (not closed by this method)
+     */
+    public void checkpoint(OutputStream outputStream) throws IOException {
+        SimCheckpointWriter checkpointWriter = new SimCheckpointWriter(outputStream);
+        checkpointWriter.writeCheckpoint(simModel, resumeTick, messageBus);
+        checkpointWriter.flush();
+
+        if (!isSilent && SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:checkpoint) A checkpoint is written (resumeTick: " + resumeTick + ")");
+        }
+    }
+
+    /**
+     * A method to restore a checkpoint onto simModel.
+     * simModel should have the same structure as the model of the checkpoint (e.g., a newly constructed model),
+     * and startSimulation() resumes the simulation from the tick after the checkpoint.
+     * Unit events of simScenario before the resumed tick are not executed again.
+     * A network model should be set (setNetworkModel(..)) before the restore to get the state of its links.
+     *
+     * @param inputStream input of a checkpoint (not closed by this method)
+     * @return the tick to be executed first
+     */
+    public int restore(InputStream inputStream) throws IOException {
+        SimCheckpointReader checkpointReader = new SimCheckpointReader(inputStream);
+        resumeFrom(checkpointReader.readCheckpoint(simModel, messageBus));
+
+        if (!isSilent && SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:restore) A checkpoint is restored (startTick: " + startTick + ")");
+        }
+        logger.info("(pre-simulation) A checkpoint is restored: startTick(" + startTick + ")");
+
+        return startTick;
+    }
+
+    public int restore(File checkpointFile) throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(checkpointFile)) {
+            return restore(inputStream);
+        }
+    }
+
+    /**
+     * A method to fork this simulation at the current state (i.e., after the last executed tick)
+     * into a branch (e.g., a what-if branch of MAPE planning or a sensitivity study).
+     * The branch has its own model (created by modelFactory, and forked from simModel by SoS.fork(..)),
+     * its own seed (derived from SimConfiguration.getSimRandomSeed() and branchId), and its own SimLogSink.
+     * startSimulation() of the branch resumes from the current tick, and branches can run concurrently on different threads.
+     * simScenario is shared by branches (read-only).
+     * Messages in flight of the message bus are cloned into the bus of the branch,
+     * and the network model is forked with its state (SimNetworkModel.fork(..)) for the branch.
+     *
+     * @param modelFactory factory of a model with the same structure as simModel
+     * @param branchId     id of the branch
+     * @param logSink      SimLogSink of the branch (null: NullSimLogSink)
+     * @return SimEngine of the branch
+     */
+    public SimEngine fork(SimModelFactory modelFactory, int branchId, SimLogSink logSink) {
+        long branchSeed = SimReplicationRunner.deriveSeed(simConfig.getSimRandomSeed(), branchId);
+
+        SimConfiguration branchConfig = new SimConfiguration(simConfig);
+        branchConfig.setSimRandomSeed(branchSeed);
+        branchConfig.setSimEngineLogEnabled(false);
+
+        simScenario.resolveEventIntervals();
+
+        SoS branchModel = simModel.fork(modelFactory.createSimModel(branchId, branchSeed));
+
+        SimEngine branchEngine = new SimEngine(branchModel, isMapeOn ? "1" : "0", branchConfig, simScenario, logSink);
+        branchEngine.resumeFrom(resumeTick);
+
+        //The network model of the branch has the same links and queues (and draws losses from a stream of the branch)
+        if (networkModel != null) {
+            branchEngine.setNetworkModel(networkModel.fork(branchEngine.getRandomService()));
+        }
+
+        //Messages in flight are cloned into the message bus of the branch (to the objects of the branch)
+        SimMessageBus branchMessageBus = branchEngine.getMessageBus();
+        branchMessageBus.resetInFlightMsgs(messageBus.getCurTick());
+        messageBus.forEachInFlightMsg((deliveryTick, receiverObj, aMsg) -> {
+            _SimObject_ branchReceiverObj = branchModel.getMemberSimObjectById(receiverObj.getId());
+            if (branchReceiverObj != null) {
+                branchMessageBus.scheduleInFlightMsg(deliveryTick, branchReceiverObj, aMsg.clone());
+            }
+        });
+
+        if (!isSilent && SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimEngine:fork) A branch is forked: branchId(" + branchId + "), startTick(" + resumeTick + ")");
+        }
+        logger.info("(cur_tick:" + simTick + ") A branch is forked: branchId(" + branchId + "), startTick(" + resumeTick + ")");
+
+        return branchEngine;
+    }
+
+    /**
+     * Set the tick to be executed first (e.g., after a checkpoint is restored),
+     * and schedule unit events of simScenario again from the tick
+     */
+    private void resumeFrom(int tick) {
+        startTick = tick;
+        resumeTick = tick;
+
+        eventCalendar = new SimEventCalendar();
+        eventCalendar.setCurTime(startTick);
+        eventCalendar.scheduleAll(simScenario.getEventList());
+    }
+
+    /**
+     * Turn off traces of the current thread if this engine is in silent mode
+     *
+     * @return previous silent mode of the current thread (to be restored by SimTracer.setThreadSilent(..))
+     */
+    private boolean enterSilentMode() {
+        return SimTracer.setThreadSilent(isSilent || SimTracer.isThreadSilent());
+    }
+
+    /**
+     * Write a checkpoint requested by checkpoint(tick, file)
+     */
+    private void writeRequestedCheckpoint() {
+        try (FileOutputStream outputStream = new FileOutputStream(checkpointFile)) {
+            checkpoint(outputStream);
+            logger.info("(cur_tick:" + simTick + ") A checkpoint is written: " + checkpointFile + " (resumeTick: " + resumeTick + ")");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        checkpointFile = null;
+    }
+
+    /**
+     * A method to add a SimScenarioEvent during a simulation (e.g., a dynamic event).
+     * Its unit events are executed from the next tick (unit events of passed ticks are ignored).
+     * The event is scheduled only in the event calendar of this engine;
+     * simScenario is not modified, since it can be shared by other engines (e.g., branches of fork(..)).
+     *
+     * @param scenarioEvent event to be added to this simulation
+     */
+    public void addScenarioEvent(SimScenarioEvent scenarioEvent) {
+        eventCalendar.schedule(scenarioEvent);
+    }
+
+    /**
+     * A method to create a SimLogSink according to SimConfiguration.getSimLogSinkType()
+     *
+     * @param simConfig simulation configuration
+     * @return SimLogSink (NullSimLogSink if a log file cannot be opened)
+     */
+    private static SimLogSink createLogSink(SimConfiguration simConfig) {
+        try {
+            switch (simConfig != null ? simConfig.getSimLogSinkType() : EnumSimLogSinkType.TEXT) {
+                case BINARY:
+                    return new BinarySimLogSink(binaryLogFile);
+                case NONE:
+                    return new NullSimLogSink();
+                case TEXT:
+                default:
+                    return new TextSimLogSink(logFile);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new NullSimLogSink();
+        }
+    }
+
     private void printIncludedActions(ArrayList<? extends _SimAction_> actionList) {
+        if (!SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+            return;
+        }
+
         int index = 0;
 
-        System.out.print("printIncludedActions(): ");
+        StringBuilder includedActions = new StringBuilder("printIncludedActions(): ");
 
         for (_SimAction_ aAction : actionList) {
+            includedActions.append(aAction.getActionId()).append("(").append(aAction.getActionSubject().getId()).append(")");
             if (index + 1 < actionList.size()) {
-                System.out.print(aAction.getActionId() + "(" + aAction.getActionSubject().getId() + "), ");
-            } else {
-                System.out.print(aAction.getActionId() + "(" + aAction.getActionSubject().getId() + ")");
+                includedActions.append(", ");
             }
 
             index++;
         }
-        System.out.println();
+        SimTracer.println(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, includedActions.toString());
     }
 
     /**
-     * Read CommActions from RunResult
+     * Read CommActions of an action buffer.
+     * Read CommActions are removed from the buffer (and RunResults), since their messages are sent by processMsgs(..),
+     * not by the update of SimModel.
      *
-     * @param curTickSimResult
-     * @return selected communication actions
+     * @param actionBuffer selected actions of the current tick
+     * @return selected communication actions (satisfying their preconditions)
      */
-    private ArrayList<CommAction> readCommActions(RunResult curTickSimResult) {
-        ArrayList<CommAction> selectedCommActions = new ArrayList<>();
-//        ArrayList<_SimAction_> selectedActions = getSelectedActionsFromRunResult(curTickSimResult);
-        ArrayList<_SimAction_> selectedActions = curTickSimResult.getSelectedActionList();
-
-        for (_SimAction_ aAction : selectedActions) {
-            if (aAction instanceof CommAction) {
-                if (aAction.checkPrecondition()) {
-                    selectedCommActions.add((CommAction) aAction);
-                    curTickSimResult.getSelectedActionList().remove(aAction);
-//                System.out.println("***" + aAction.getActionId() + "(" + aAction.getActionSubject().getId() + ")");
-                }
+    private ArrayList<CommAction> readCommActions(SimActionBuffer actionBuffer) {
+        int numOfCommActions = actionBuffer.size(EnumActionType.COMM);
+        ArrayList<CommAction> selectedCommActions = new ArrayList<>(numOfCommActions);
+
+        for (int i = 0; i < numOfCommActions; i++) {
+            CommAction aCommAction = (CommAction) actionBuffer.getAction(EnumActionType.COMM, i);
+            if (aCommAction != null && aCommAction.checkPrecondition()) {
+                selectedCommActions.add(aCommAction);
+                actionBuffer.remove(EnumActionType.COMM, i);
             }
         }
 
-        for (RunResult subRunResult : curTickSimResult.getSubRunResults()) {
-//            System.out.println("---");
-            selectedCommActions.addAll(readCommActions(subRunResult));
-        }
-
         return selectedCommActions;
     }
 
 
-    private boolean processMsgs(ArrayList<CommAction> selectedCommActions) {
-
-        for (CommAction commAction : selectedCommActions) {
-            _SimObject_ receiverObj = simModel.getMemberSimObjectById(commAction.getMessage().getReceiverId());
-
-            if (receiverObj != null) {
-                receiverObj.getMsgQueue().offer(commAction.getMessage());
-            } else {
-                System.out.println("Receiver not found");
-            }
-        }
+    /**
+     * Deliver messages of CommActions by the message bus
+     * (in parallel by runPool if SimConfiguration.isSimParallelRun()),
+     * after messages in flight arriving by the tick are delivered (if a network model is set)
+     */
+    private boolean processMsgs(ArrayList<CommAction> selectedCommActions, int tick) {
+        messageBus.deliverAll(selectedCommActions, simConfig.isSimParallelRun() ? runPool : null, tick);
 
         return true;
     }
 
 
     /**
-     * @param curTickSimResult
-     * @return
+     * @param actionBuffer selected actions of the current tick (filtered in place)
      */
-    private RunResult resolveConflict(RunResult curTickSimResult) {
+    private void resolveConflict(SimActionBuffer actionBuffer) {
         //TODO: To implement a logic to resolve a conflict
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + ":resolveConflict)");
-
-        return curTickSimResult;
+        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimEngine:resolveConflict)");
     }
 
 //    private void printAllRunResults(RunResult runResult){
@@ -423,18 +760,6 @@ public class SimEngine {
 //        //System.out.println();
 //    }
 
-    private ArrayList<_SimAction_> getSelectedActionsFromRunResult(RunResult runResult) {
-        ArrayList<_SimAction_> actionsInRunResult = new ArrayList<>();
-
-        actionsInRunResult.addAll(runResult.getSelectedActionList());
-
-        for (RunResult subRunResult : runResult.getSubRunResults()) {
-            actionsInRunResult.addAll(getSelectedActionsFromRunResult(subRunResult));
-        }
-
-        return actionsInRunResult;
-    }
-
 //    private ArrayList<SimLogEvent> getLogEventsFromUpdateResult(UpdateResult updateResult) {
 //        ArrayList<SimLogEvent> logEventsInRunResult = new ArrayList<>();
 //
@@ -448,21 +773,6 @@ public class SimEngine {
 //    }
 
 
-    private void removeActionFromRunResult(RunResult runResult, _SimAction_ aAction) {
-
-
-        for (RunResult subRunResult : runResult.getSubRunResults()) {
-            subRunResult.getSelectedActionList().remove(aAction);
-        }
-
-        for (_SimAction_ selectedAction : runResult.getSelectedActionList()) {
-            if (selectedAction.getActionId().equals(aAction.getActionId())) {
-                runResult.getSelectedActionList().remove(selectedAction);
-            }
-        }
-    }
-
-
     /**
      * A method to collect selected actions from simModel by running a simulation model.
      *
@@ -472,6 +782,15 @@ public class SimEngine {
 //        timestamp = new Timestamp(System.currentTimeMillis());
 //        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + ":runSimModel)");
 
+        //Parallel run phase: members are run by tasks of runPool, and results are merged in order
+        if (simConfig.isSimParallelRun()) {
+            if (runPool == null) {
+                runPool = new ForkJoinPool(Math.max(1, simConfig.getSimParallelism()),
+                        isSilent ? SilentWorkerThread::new : ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, false);
+            }
+            return runPool.invoke(ForkJoinTask.adapt(simModel::runInParallel));
+        }
+
         return simModel.run();
     }
 
@@ -481,33 +800,35 @@ public class SimEngine {
      *
      * @return
      */
-    private UpdateResult updateSimModel(RunResult curTickRunResult, int tick) {
+    private UpdateResult updateSimModel(SimActionBuffer actionBuffer, int tick) {
 //        timestamp = new Timestamp(System.currentTimeMillis());
 //        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + ":updateSimModel)");
 
-        return simModel.update(curTickRunResult, tick);
+        return simModel.update(actionBuffer, tick);
     }
 
 
     private void printSimInputInfo() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
-        System.out.println("[" + timestamp + "] ┌─ Simulation Inputs ───────────────────────────────────────────────┐");
-        System.out.println("[" + timestamp + "]  - Simulation Configuration ");
-        System.out.println("[" + timestamp + "]    > [simTotalTime: " + simConfig.getSimTotalTime() + "]");
-        System.out.println("[" + timestamp + "]    > [SimMapeMode: " + simConfig.isSimMapeMode() + "]");
-        System.out.println("[" + timestamp + "]    > [SimHasScenario: " + simConfig.isSimHasScenario() + "]");
-        System.out.println("[" + timestamp + "]  - Simulation Scenario ");
-        System.out.println("[" + timestamp + "]    > [scenarioName: " + simScenario.getScenarioName() + "]");
-        System.out.println("[" + timestamp + "]    > [numOfEvents (length): " + simScenario.getNumOfEvents() + "]");
-        System.out.println("[" + timestamp + "]    > [numOfUnitEvents (length of unit events): " + simScenario.getNumOfUnitEvents() + "]");
-        System.out.println("[" + timestamp + "] └───────────────────────────────────────────────────────────────────┘");
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "┌─ Simulation Inputs ───────────────────────────────────────────────┐");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, " - Simulation Configuration ");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [simTotalTime: " + simConfig.getSimTotalTime() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [SimMapeMode: " + simConfig.isSimMapeMode() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [SimHasScenario: " + simConfig.isSimHasScenario() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [SimParallelRun: " + simConfig.isSimParallelRun() + " (parallelism: " + simConfig.getSimParallelism() + ")]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, " - Simulation Scenario ");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [scenarioName: " + simScenario.getScenarioName() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [numOfEvents (length): " + simScenario.getNumOfEvents() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "   > [numOfUnitEvents (length of unit events): " + simScenario.getNumOfUnitEvents() + "]");
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "└───────────────────────────────────────────────────────────────────┘");
+        }
 
         logger.info("(pre-simulation) ┌─ Simulation Inputs ───────────────────────────────────────────────┐");
         logger.info("(pre-simulation)  - Simulation Configuration ");
         logger.info("(pre-simulation)    > [simTotalTime: " + simConfig.getSimTotalTime() + "]");
         logger.info("(pre-simulation)    > [SimMapeMode: " + simConfig.isSimMapeMode() + "]");
         logger.info("(pre-simulation)    > [SimHasScenario: " + simConfig.isSimHasScenario() + "]");
+        logger.info("(pre-simulation)    > [SimParallelRun: " + simConfig.isSimParallelRun() + " (parallelism: " + simConfig.getSimParallelism() + ")]");
         logger.info("(pre-simulation)   - Simulation Scenario ");
         logger.info("(pre-simulation)    > [scenarioName: " + simScenario.getScenarioName() + "]");
         logger.info("(pre-simulation)    > [numOfEvents (length): " + simScenario.getNumOfEvents() + "]");
@@ -538,6 +859,8 @@ public class SimEngine {
 
     public void setSimModel(SoS simModel) {
         this.simModel = simModel;
+        this.messageBus = new SimMessageBus(simModel);
+        this.messageBus.setNetworkModel(networkModel);
     }
 
     public SimConfiguration getSimConfig() {
@@ -548,6 +871,40 @@ public class SimEngine {
         this.simConfig = simConfig;
     }
 
+    public int getNumOfExecutedTicks() {
+        return numOfExecutedTicks;
+    }
+
+    public int getStartTick() {
+        return startTick;
+    }
+
+    public SimMessageBus getMessageBus() {
+        return messageBus;
+    }
+
+    public SimNetworkModel getNetworkModel() {
+        return networkModel;
+    }
+
+    /**
+     * Set a network model of the message bus (e.g., a SimLinkNetworkModel with a stream of getRandomService())
+     */
+    public void setNetworkModel(SimNetworkModel networkModel) {
+        this.networkModel = networkModel;
+        if (messageBus != null) {
+            messageBus.setNetworkModel(networkModel);
+        }
+    }
+
+    public SimRandomService getRandomService() {
+        return randomService;
+    }
+
+    public SimEventCalendar getEventCalendar() {
+        return eventCalendar;
+    }
+
     public SimScenario getSimScenario() {
         return simScenario;
     }
@@ -571,4 +928,19 @@ public class SimEngine {
     public void setMapeEngine(MapeEngine mapeEngine) {
         this.mapeEngine = mapeEngine;
     }
+
+
+    /* A worker thread of runPool of an engine in silent mode (its traces are turned off) */
+    private static class SilentWorkerThread extends ForkJoinWorkerThread {
+
+        private SilentWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            SimTracer.setThreadSilent(true);
+        }
+    }
 }
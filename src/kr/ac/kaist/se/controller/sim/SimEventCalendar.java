@@ -0,0 +1,275 @@
+package kr.ac.kaist.se.controller.sim;
+
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioEvent;
+import kr.ac.kaist.se.simdata.evnt.SimScenarioUnitEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A calendar queue of SimScenarioEvents, used by SimEngine to find the unit events of a tick.
+ * <p>
+ * The calendar has a ring of buckets (one bucket per tick) that covers the window
+ * [curTime, curTime + numOfBuckets). Events beyond the window are kept in an overflow queue
+ * and moved into the ring when the window reaches them.
+ * Thus, the events of a tick are returned in O(1) amortized time (instead of scanning all unit events).
+ * <p>
+ * A SimScenarioEvent is kept only at the start time of its next unit event.
+ * When the time is polled, unit events of the time are created (SimScenarioEvent.createUnitEventsAt(..)),
+ * and the SimScenarioEvent is scheduled again at the start time of its next unit event.
+ * <p>
+ * Events can be scheduled at runtime (e.g., dynamic events);
+ * their unit events before the current time of the calendar are not executed.
+ *
+ * @author ymbaek
+ */
+public class SimEventCalendar {
+
+    public static final int DEFAULT_NUM_OF_BUCKETS = 1024;
+
+    /* A SimScenarioEvent scheduled at the start time of its next unit event */
+    private static class ScheduledEvent {
+        private final SimScenarioEvent scenarioEvent;
+        private int time;
+
+        private ScheduledEvent(SimScenarioEvent scenarioEvent, int time) {
+            this.scenarioEvent = scenarioEvent;
+            this.time = time;
+        }
+    }
+
+    /* Ring of buckets (index: time & bucketMask) */
+    private final ArrayList<ArrayList<ScheduledEvent>> buckets;
+    private final int bucketMask;
+
+    /* Events beyond the window of the ring */
+    private final PriorityQueue<ScheduledEvent> overflowQueue =
+            new PriorityQueue<>((event1, event2) -> Integer.compare(event1.time, event2.time));
+
+    /* Earliest time whose events are not polled yet */
+    private int curTime = 0;
+
+    private int numOfEvents = 0;
+    private int numOfEventsInBuckets = 0;
+
+
+    public SimEventCalendar() {
+        this(DEFAULT_NUM_OF_BUCKETS);
+    }
+
+    /**
+     * @param numOfBuckets number of ticks covered by the ring (rounded up to a power of two)
+     */
+    public SimEventCalendar(int numOfBuckets) {
+        int size = 1;
+        while (size < numOfBuckets) {
+            size <<= 1;
+        }
+
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.bucketMask = size - 1;
+    }
+
+
+    /**
+     * A method to schedule a SimScenarioEvent at the start time of its next unit event
+     * (from the current time of the calendar)
+     *
+     * @param scenarioEvent event to be scheduled
+     * @return true if scheduled, false if the event has no more unit event
+     */
+    public boolean schedule(SimScenarioEvent scenarioEvent) {
+        int nextTime = scenarioEvent.getNextUnitEventTime(curTime);
+
+        if (nextTime < 0) {
+            if (SimTracer.isOn(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG, "(SimEventCalendar:schedule) An event without unit events (from time " + curTime + ") is ignored: id(" + scenarioEvent.getId() + ")");
+            }
+            return false;
+        }
+
+        insert(new ScheduledEvent(scenarioEvent, nextTime));
+        numOfEvents++;
+
+        return true;
+    }
+
+    /**
+     * A method to schedule SimScenarioEvents (e.g., all events of a SimScenario)
+     *
+     * @param scenarioEvents events to be scheduled (null is allowed)
+     */
+    public void scheduleAll(Collection<SimScenarioEvent> scenarioEvents) {
+        if (scenarioEvents != null) {
+            for (SimScenarioEvent scenarioEvent : scenarioEvents) {
+                schedule(scenarioEvent);
+            }
+        }
+    }
+
+    /**
+     * A method to set the current time of an empty calendar
+     * (e.g., to resume a simulation from a checkpoint; events are scheduled from the time)
+     *
+     * @param time the earliest time to be polled
+     */
+    public void setCurTime(int time) {
+        if (numOfEvents > 0) {
+            throw new IllegalStateException("The time of a calendar with scheduled events cannot be set (# of events: " + numOfEvents + ")");
+        }
+        this.curTime = time;
+    }
+
+    /**
+     * A method to return the unit events of a given time.
+     * Times should be polled in increasing order; unit events of skipped times are not executed,
+     * since a unit event is executed only at its start time.
+     *
+     * @param time current tick
+     * @return unit events whose start time is the given time
+     */
+    public List<SimScenarioUnitEvent> pollEvents(int time) {
+        if (time < curTime) {
+            return Collections.emptyList();
+        }
+
+        advanceTo(time);
+
+        ArrayList<ScheduledEvent> bucket = buckets.get(time & bucketMask);
+        curTime = time + 1;
+
+        if (bucket.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        buckets.set(time & bucketMask, new ArrayList<>());
+        numOfEventsInBuckets -= bucket.size();
+
+        ArrayList<SimScenarioUnitEvent> unitEvents = new ArrayList<>(bucket.size());
+        for (ScheduledEvent scheduledEvent : bucket) {
+            unitEvents.addAll(scheduledEvent.scenarioEvent.createUnitEventsAt(time));
+            reschedule(scheduledEvent);
+        }
+
+        return unitEvents;
+    }
+
+    /**
+     * A method to get the earliest start time of the unit events of scheduled events
+     *
+     * @return earliest start time, or -1 if no event is scheduled
+     */
+    public int getNextEventTime() {
+        if (numOfEventsInBuckets > 0) {
+            for (int time = curTime; isInWindow(time); time++) {
+                if (!buckets.get(time & bucketMask).isEmpty()) {
+                    return time;
+                }
+            }
+        }
+
+        ScheduledEvent firstOverflowEvent = overflowQueue.peek();
+        return firstOverflowEvent != null ? firstOverflowEvent.time : -1;
+    }
+
+
+    /**
+     * Move the window of the ring to [time, time + numOfBuckets)
+     */
+    private void advanceTo(int time) {
+        //Events of skipped times are scheduled again from the given time
+        ArrayList<ScheduledEvent> skippedEvents = null;
+        for (int skippedTime = curTime; skippedTime < time && numOfEventsInBuckets > 0 && isInWindow(skippedTime); skippedTime++) {
+            ArrayList<ScheduledEvent> bucket = buckets.get(skippedTime & bucketMask);
+            if (!bucket.isEmpty()) {
+                if (skippedEvents == null) {
+                    skippedEvents = new ArrayList<>();
+                }
+                skippedEvents.addAll(bucket);
+                numOfEventsInBuckets -= bucket.size();
+                bucket.clear();
+            }
+        }
+
+        curTime = time;
+
+        //Events that come into the window
+        while (!overflowQueue.isEmpty() && isInWindow(overflowQueue.peek().time)) {
+            ScheduledEvent scheduledEvent = overflowQueue.poll();
+            if (scheduledEvent.time < curTime) {
+                if (skippedEvents == null) {
+                    skippedEvents = new ArrayList<>();
+                }
+                skippedEvents.add(scheduledEvent);
+            } else {
+                buckets.get(scheduledEvent.time & bucketMask).add(scheduledEvent);
+                numOfEventsInBuckets++;
+            }
+        }
+
+        if (skippedEvents != null) {
+            if (SimTracer.isOn(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.WARN, "(SimEventCalendar:pollEvents) Unit events of skipped times (before " + time + ") are not executed: # of events(" + skippedEvents.size() + ")");
+            }
+            for (ScheduledEvent scheduledEvent : skippedEvents) {
+                reschedule(scheduledEvent);
+            }
+        }
+    }
+
+    /**
+     * Schedule an event again at the start time of its next unit event (from curTime)
+     */
+    private void reschedule(ScheduledEvent scheduledEvent) {
+        int nextTime = scheduledEvent.scenarioEvent.getNextUnitEventTime(curTime);
+
+        if (nextTime < 0) {
+            numOfEvents--;
+        } else {
+            scheduledEvent.time = nextTime;
+            insert(scheduledEvent);
+        }
+    }
+
+    private void insert(ScheduledEvent scheduledEvent) {
+        if (isInWindow(scheduledEvent.time)) {
+            buckets.get(scheduledEvent.time & bucketMask).add(scheduledEvent);
+            numOfEventsInBuckets++;
+        } else {
+            overflowQueue.add(scheduledEvent);
+        }
+    }
+
+    private boolean isInWindow(int time) {
+        return time - curTime <= bucketMask;
+    }
+
+
+    public int getCurTime() {
+        return curTime;
+    }
+
+    /**
+     * @return number of scheduled SimScenarioEvents that have unit events from the current time
+     */
+    public int getNumOfEvents() {
+        return numOfEvents;
+    }
+
+    public int getNumOfBuckets() {
+        return bucketMask + 1;
+    }
+
+    public boolean isEmpty() {
+        return numOfEvents == 0;
+    }
+}
@@ -0,0 +1,22 @@
+package kr.ac.kaist.se.controller.sim;
+
+import kr.ac.kaist.se.simdata.output.sink.SimLogSink;
+
+import java.io.IOException;
+
+/**
+ * Interface for factories of SimLogSinks.
+ * Every replication of SimReplicationRunner writes its SimLogEvents into its own SimLogSink.
+ *
+ * @author ymbaek
+ */
+public interface SimLogSinkFactory {
+
+    /**
+     * A method to create a new SimLogSink for a replication
+     *
+     * @param replicationId id of the replication (0, 1, 2, ...)
+     * @return a new SimLogSink (e.g., a file per replication, or MemorySimLogSink)
+     */
+    SimLogSink createLogSink(int replicationId) throws IOException;
+}
@@ -0,0 +1,21 @@
+package kr.ac.kaist.se.controller.sim;
+
+import kr.ac.kaist.se.model.sos.SoS;
+
+/**
+ * Interface for factories of simulation models.
+ * Every replication of SimReplicationRunner needs its own (independent) SoS object.
+ *
+ * @author ymbaek
+ */
+public interface SimModelFactory {
+
+    /**
+     * A method to create a new simulation model for a replication
+     *
+     * @param replicationId id of the replication (0, 1, 2, ...)
+     * @param randomSeed    seed of random numbers of the replication
+     * @return a new SoS object (must not be shared by replications)
+     */
+    SoS createSimModel(int replicationId, long randomSeed);
+}
@@ -0,0 +1,21 @@
+package kr.ac.kaist.se.controller.sim;
+
+import kr.ac.kaist.se.simdata.output.SimReplicationResult;
+
+/**
+ * Interface for listeners of finished replications of SimReplicationRunner.
+ * A listener is called by the thread that runs SimReplicationRunner.runReplications(..),
+ * in the order in which replications are finished.
+ *
+ * @author ymbaek
+ */
+public interface SimReplicationListener {
+
+    /**
+     * A method called when a replication is finished
+     *
+     * @param replicationResult result of the finished replication
+     * @return true to continue, false to stop launching new replications
+     */
+    boolean onReplicationFinished(SimReplicationResult replicationResult);
+}
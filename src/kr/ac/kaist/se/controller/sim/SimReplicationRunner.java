@@ -0,0 +1,221 @@
+package kr.ac.kaist.se.controller.sim;
+
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimRandomService;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.simdata.input.SimConfiguration;
+import kr.ac.kaist.se.simdata.input.SimScenario;
+import kr.ac.kaist.se.simdata.output.SimReplicationResult;
+import kr.ac.kaist.se.simdata.output.sink.NullSimLogSink;
+import kr.ac.kaist.se.simdata.output.sink.SimLogSink;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A runner of independent replications of a simulation (e.g., for statistical model checking).
+ * <p>
+ * Replications run concurrently on a thread pool (one SimEngine per replication).
+ * Each replication has
+ * (i) its own simulation model (created by SimModelFactory),
+ * (ii) its own seed (SimConfiguration.getSimRandomSeed(), derived from baseSeed and the replication id),
+ * (iii) its own SimLogSink (created by SimLogSinkFactory, NullSimLogSink by default),
+ * (iv) its own result (SimReplicationResult).
+ * SimEngineLog.log is disabled for replications.
+ * <p>
+ * A SimScenario is shared by replications (read-only), thus it should not be modified during replications.
+ *
+ * @author ymbaek
+ */
+public class SimReplicationRunner {
+
+    private final SimModelFactory modelFactory;
+    private final SimConfiguration simConfig;
+    private final SimScenario simScenario;
+
+    private SimLogSinkFactory logSinkFactory = replicationId -> new NullSimLogSink();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long baseSeed = 0;
+
+
+    public SimReplicationRunner(SimModelFactory modelFactory, SimConfiguration simConfig, SimScenario simScenario) {
+        this.modelFactory = modelFactory;
+        this.simConfig = simConfig;
+        this.simScenario = simScenario != null ? simScenario : new SimScenario();
+    }
+
+
+    /**
+     * A method to run replications and collect all results
+     *
+     * @param numOfReplications number of replications
+     * @return results of all replications (ordered by replication id)
+     */
+    public ArrayList<SimReplicationResult> runReplications(int numOfReplications) {
+        ArrayList<SimReplicationResult> replicationResults = new ArrayList<>(numOfReplications);
+        runReplications(numOfReplications, replicationResult -> {
+            replicationResults.add(replicationResult);
+            return true;
+        });
+
+        replicationResults.sort((result1, result2) -> Integer.compare(result1.getReplicationId(), result2.getReplicationId()));
+        return replicationResults;
+    }
+
+    /**
+     * A method to run replications, reporting each result to a listener as soon as it is finished.
+     * At most (2 * parallelism) replications are launched at a time, thus the listener can stop
+     * launching new replications (e.g., early stopping of sequential tests).
+     *
+     * @param maxNumOfReplications maximum number of replications
+     * @param listener             listener of finished replications (false: stop launching new replications)
+     * @return number of finished replications
+     */
+    public int runReplications(int maxNumOfReplications, SimReplicationListener listener) {
+        //Intervals of unit events are resolved before replications share the scenario
+        simScenario.resolveEventIntervals();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism), new ReplicationThreadFactory());
+        ExecutorCompletionService<SimReplicationResult> completionService = new ExecutorCompletionService<>(executor);
+
+        int maxNumOfInFlight = Math.max(1, parallelism) * 2;
+        int numOfLaunched = 0;
+        int numOfFinished = 0;
+        boolean isStopped = false;
+
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimReplicationRunner:runReplications) Replications are started: max # of replications(" + maxNumOfReplications + "), parallelism(" + parallelism + ")");
+        }
+
+        try {
+            while (numOfFinished < numOfLaunched || (!isStopped && numOfLaunched < maxNumOfReplications)) {
+                //Launch replications up to maxNumOfInFlight
+                while (!isStopped && numOfLaunched < maxNumOfReplications && numOfLaunched - numOfFinished < maxNumOfInFlight) {
+                    int replicationId = numOfLaunched;
+                    completionService.submit(() -> runReplication(replicationId));
+                    numOfLaunched++;
+                }
+
+                SimReplicationResult replicationResult = completionService.take().get();
+                numOfFinished++;
+
+                if (!isStopped && !listener.onReplicationFinished(replicationResult)) {
+                    isStopped = true;
+                    if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+                        SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SimReplicationRunner:runReplications) Launching replications is stopped: # of launched replications(" + numOfLaunched + ")");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            //runReplication(..) catches every exception of a replication
+            e.printStackTrace();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return numOfFinished;
+    }
+
+    /**
+     * A method to run a replication (called by a thread of the pool)
+     *
+     * @param replicationId id of the replication
+     * @return result of the replication
+     */
+    private SimReplicationResult runReplication(int replicationId) {
+        long randomSeed = deriveSeed(baseSeed, replicationId);
+        SimReplicationResult replicationResult = new SimReplicationResult(replicationId, randomSeed);
+
+        long startTime = System.nanoTime();
+        try {
+            SimConfiguration replicationConfig = new SimConfiguration(simConfig);
+            replicationConfig.setSimRandomSeed(randomSeed);
+            replicationConfig.setSimEngineLogEnabled(false);
+
+            SoS simModel = modelFactory.createSimModel(replicationId, randomSeed);
+            SimLogSink logSink = logSinkFactory.createLogSink(replicationId);
+
+            SimEngine simEngine = new SimEngine(simModel, "0", replicationConfig, simScenario, logSink);
+            replicationResult.setSimLog(simEngine.startSimulation());
+
+            replicationResult.setSimModel(simModel);
+            replicationResult.setLogSink(logSink);
+            replicationResult.setNumOfExecutedTicks(simEngine.getNumOfExecutedTicks());
+        } catch (Exception | Error e) {
+            replicationResult.setFailure(e);
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.ERROR, "(SimReplicationRunner:runReplication) Replication " + replicationId + " is failed: " + e);
+            }
+        }
+        replicationResult.setElapsedTimeNanos(System.nanoTime() - startTime);
+
+        return replicationResult;
+    }
+
+    /**
+     * A method to derive a seed of a replication (SplitMix64 finalizer),
+     * so that seeds of consecutive replications are not correlated.
+     *
+     * @param baseSeed      base seed of all replications
+     * @param replicationId id of a replication
+     * @return seed of the replication
+     */
+    public static long deriveSeed(long baseSeed, int replicationId) {
+        return SimRandomService.deriveSeed(baseSeed, replicationId);
+    }
+
+
+    /* Daemon threads named by replication runners */
+    private static class ReplicationThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNum = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "SimReplication-" + threadNum.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+
+    public SimLogSinkFactory getLogSinkFactory() {
+        return logSinkFactory;
+    }
+
+    public void setLogSinkFactory(SimLogSinkFactory logSinkFactory) {
+        this.logSinkFactory = logSinkFactory;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getBaseSeed() {
+        return baseSeed;
+    }
+
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    public SimConfiguration getSimConfig() {
+        return simConfig;
+    }
+
+    public SimScenario getSimScenario() {
+        return simScenario;
+    }
+}
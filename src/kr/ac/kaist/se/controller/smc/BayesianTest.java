@@ -0,0 +1,168 @@
+package kr.ac.kaist.se.controller.smc;
+
+/**
+ * Bayesian hypothesis test with the Bayes factor (Jeffreys' test).
+ * <p>
+ * With a Beta(priorAlpha, priorBeta) prior of p, the posterior after x successes of n samples is
+ * Beta(x + priorAlpha, n - x + priorBeta). The Bayes factor of H0: p >= theta to H1: p < theta is
+ * (posterior odds of H0) / (prior odds of H0), and the test is decided
+ * as soon as the Bayes factor is at least threshold (SATISFIED) or at most 1 / threshold (NOT_SATISFIED).
+ *
+ * @author ymbaek
+ */
+public class BayesianTest extends SmcTest {
+
+    private final double threshold;
+    private final double priorAlpha;
+    private final double priorBeta;
+
+    //Prior odds of H0: P(p >= theta) / P(p < theta)
+    private final double priorOdds;
+
+    private double bayesFactor = 1;
+
+
+    /**
+     * Test with the uniform prior (Beta(1, 1))
+     *
+     * @param theta     probability threshold
+     * @param threshold Bayes factor threshold (> 1, e.g., 100)
+     */
+    public BayesianTest(double theta, double threshold) {
+        this(theta, threshold, 1, 1);
+    }
+
+    /**
+     * @param theta      probability threshold
+     * @param threshold  Bayes factor threshold (> 1, e.g., 100)
+     * @param priorAlpha alpha of the Beta prior
+     * @param priorBeta  beta of the Beta prior
+     */
+    public BayesianTest(double theta, double threshold, double priorAlpha, double priorBeta) {
+        super(theta);
+
+        if (threshold <= 1 || priorAlpha <= 0 || priorBeta <= 0) {
+            throw new IllegalArgumentException("threshold must be > 1 and the prior must be positive: threshold(" + threshold + "), prior(" + priorAlpha + ", " + priorBeta + ")");
+        }
+
+        this.threshold = threshold;
+        this.priorAlpha = priorAlpha;
+        this.priorBeta = priorBeta;
+
+        double priorH1 = regularizedIncompleteBeta(theta, priorAlpha, priorBeta);
+        this.priorOdds = (1 - priorH1) / priorH1;
+    }
+
+
+    @Override
+    protected EnumSmcVerdict decide(boolean isSatisfied) {
+        //Posterior probability of H1 (p < theta)
+        double posteriorH1 = regularizedIncompleteBeta(theta, numOfSuccesses + priorAlpha, numOfSamples - numOfSuccesses + priorBeta);
+        bayesFactor = ((1 - posteriorH1) / posteriorH1) / priorOdds;
+
+        if (bayesFactor >= threshold) {
+            return EnumSmcVerdict.SATISFIED;
+        } else if (bayesFactor <= 1 / threshold) {
+            return EnumSmcVerdict.NOT_SATISFIED;
+        }
+        return EnumSmcVerdict.UNDECIDED;
+    }
+
+    @Override
+    public String getTestName() {
+        return "Bayesian(theta:" + theta + ", threshold:" + threshold + ", prior:Beta(" + priorAlpha + "," + priorBeta + "))";
+    }
+
+    public double getBayesFactor() {
+        return bayesFactor;
+    }
+
+    /**
+     * @return posterior mean of p
+     */
+    @Override
+    public double getEstimatedProbability() {
+        return (numOfSuccesses + priorAlpha) / (numOfSamples + priorAlpha + priorBeta);
+    }
+
+
+    /**
+     * Regularized incomplete beta function I_x(a, b) (i.e., CDF of Beta(a, b) at x),
+     * computed by the continued fraction (Lentz's method)
+     */
+    static double regularizedIncompleteBeta(double x, double a, double b) {
+        if (x <= 0) {
+            return 0;
+        } else if (x >= 1) {
+            return 1;
+        }
+
+        double logFront = logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x) + b * Math.log(1 - x);
+
+        //The continued fraction converges rapidly for x < (a + 1) / (a + b + 2)
+        if (x < (a + 1) / (a + b + 2)) {
+            return Math.exp(logFront) * betaContinuedFraction(x, a, b) / a;
+        } else {
+            return 1 - Math.exp(logFront) * betaContinuedFraction(1 - x, b, a) / b;
+        }
+    }
+
+    private static double betaContinuedFraction(double x, double a, double b) {
+        final int maxIterations = 10000;
+        final double epsilon = 1e-15;
+        final double tiny = 1e-300;
+
+        double c = 1;
+        double d = 1 - (a + b) * x / (a + 1);
+        if (Math.abs(d) < tiny) {
+            d = tiny;
+        }
+        d = 1 / d;
+        double fraction = d;
+
+        for (int m = 1; m <= maxIterations; m++) {
+            int m2 = 2 * m;
+
+            //Even step
+            double numerator = m * (b - m) * x / ((a + m2 - 1) * (a + m2));
+            d = 1 + numerator * d;
+            c = 1 + numerator / c;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = Math.abs(c) < tiny ? tiny : c;
+            fraction *= d * c;
+
+            //Odd step
+            numerator = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1));
+            d = 1 + numerator * d;
+            c = 1 + numerator / c;
+            d = 1 / (Math.abs(d) < tiny ? tiny : d);
+            c = Math.abs(c) < tiny ? tiny : c;
+            double step = d * c;
+            fraction *= step;
+
+            if (Math.abs(step - 1) < epsilon) {
+                break;
+            }
+        }
+
+        return fraction;
+    }
+
+    /**
+     * Logarithm of the gamma function (Lanczos approximation)
+     */
+    private static double logGamma(double x) {
+        final double[] coefficients = {
+                76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : coefficients) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
@@ -0,0 +1,75 @@
+package kr.ac.kaist.se.controller.smc;
+
+/**
+ * A test based on the Chernoff-Hoeffding bound (Okamoto bound).
+ * <p>
+ * With N = ceil(ln(2 / delta) / (2 * epsilon^2)) samples, the estimated probability p' satisfies
+ * |p' - p| < epsilon with confidence 1 - delta, and the hypothesis is decided by p' >= theta.
+ * The test stops early, as soon as the remaining samples cannot change the decision
+ * (i.e., enough successes or failures have already been observed).
+ *
+ * @author ymbaek
+ */
+public class ChernoffTest extends SmcTest {
+
+    private final double epsilon;
+    private final double delta;
+
+    //Number of samples required by the bound
+    private final int numOfRequiredSamples;
+    //Minimum number of successes (among numOfRequiredSamples) for p' >= theta
+    private final int numOfRequiredSuccesses;
+
+
+    /**
+     * @param theta   probability threshold
+     * @param epsilon error bound of the estimated probability
+     * @param delta   confidence parameter (confidence: 1 - delta)
+     */
+    public ChernoffTest(double theta, double epsilon, double delta) {
+        super(theta);
+
+        if (epsilon <= 0 || epsilon >= 1 || delta <= 0 || delta >= 1) {
+            throw new IllegalArgumentException("epsilon and delta must be in (0, 1): epsilon(" + epsilon + "), delta(" + delta + ")");
+        }
+
+        this.epsilon = epsilon;
+        this.delta = delta;
+
+        this.numOfRequiredSamples = getNumOfRequiredSamples(epsilon, delta);
+        this.numOfRequiredSuccesses = (int) Math.ceil(theta * numOfRequiredSamples);
+    }
+
+
+    /**
+     * A method to get the number of samples required by the Okamoto bound
+     *
+     * @param epsilon error bound
+     * @param delta   confidence parameter
+     * @return ceil(ln(2 / delta) / (2 * epsilon^2))
+     */
+    public static int getNumOfRequiredSamples(double epsilon, double delta) {
+        return (int) Math.ceil(Math.log(2 / delta) / (2 * epsilon * epsilon));
+    }
+
+    @Override
+    protected EnumSmcVerdict decide(boolean isSatisfied) {
+        int numOfFailures = numOfSamples - numOfSuccesses;
+
+        if (numOfSuccesses >= numOfRequiredSuccesses) {
+            return EnumSmcVerdict.SATISFIED;
+        } else if (numOfFailures > numOfRequiredSamples - numOfRequiredSuccesses) {
+            return EnumSmcVerdict.NOT_SATISFIED;
+        }
+        return EnumSmcVerdict.UNDECIDED;
+    }
+
+    @Override
+    public String getTestName() {
+        return "Chernoff(theta:" + theta + ", epsilon:" + epsilon + ", delta:" + delta + ", N:" + numOfRequiredSamples + ")";
+    }
+
+    public int getNumOfRequiredSamples() {
+        return numOfRequiredSamples;
+    }
+}
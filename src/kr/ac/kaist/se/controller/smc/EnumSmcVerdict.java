@@ -0,0 +1,7 @@
+package kr.ac.kaist.se.controller.smc;
+
+public enum EnumSmcVerdict {
+    SATISFIED,      //P(property) >= theta is accepted
+    NOT_SATISFIED,  //P(property) < theta is accepted
+    UNDECIDED       //The maximum number of samples is reached before a decision
+}
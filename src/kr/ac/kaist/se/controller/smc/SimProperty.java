@@ -0,0 +1,21 @@
+package kr.ac.kaist.se.controller.smc;
+
+import kr.ac.kaist.se.simdata.output.SimReplicationResult;
+
+/**
+ * Interface for bounded properties verified by SmcEngine.
+ * A property is evaluated over a single replication (i.e., a finite trace bounded by simTotalTime),
+ * e.g., over SimLogEvents of a MemorySimLogSink or the final state of the simulation model.
+ *
+ * @author ymbaek
+ */
+public interface SimProperty {
+
+    /**
+     * A method to check if a replication satisfies this property
+     *
+     * @param replicationResult result of a finished replication
+     * @return true if the property is satisfied by the replication
+     */
+    boolean check(SimReplicationResult replicationResult);
+}
@@ -0,0 +1,115 @@
+package kr.ac.kaist.se.controller.smc;
+
+import kr.ac.kaist.se.controller.sim.SimReplicationRunner;
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.simdata.output.SimReplicationResult;
+
+import java.util.HashMap;
+
+/**
+ * Statistical model checking (SMC) engine on top of SimReplicationRunner.
+ * <p>
+ * A bounded property (SimProperty) is evaluated over each replication, and the result is given to
+ * a sequential test (SmcTest: SprtTest, ChernoffTest, or BayesianTest) that decides P(property) >= theta.
+ * As soon as the test is decided, no more replication is launched
+ * (replications already running are finished but not used).
+ * <p>
+ * Samples are given to the test in the order of replication ids (not in the order of completion),
+ * so that the decision does not depend on the running time of replications.
+ *
+ * @author ymbaek
+ */
+public class SmcEngine {
+
+    private final SimReplicationRunner replicationRunner;
+    private final SimProperty property;
+
+
+    public SmcEngine(SimReplicationRunner replicationRunner, SimProperty property) {
+        this.replicationRunner = replicationRunner;
+        this.property = property;
+    }
+
+
+    /**
+     * A method to verify P(property) >= theta with a sequential test
+     *
+     * @param smcTest              a new (not used) test
+     * @param maxNumOfReplications maximum number of replications (UNDECIDED if the test is not decided until then)
+     * @return result of the verification
+     */
+    public SmcResult verify(SmcTest smcTest, int maxNumOfReplications) {
+        long startTime = System.nanoTime();
+
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SmcEngine:verify) Verification is started: " + smcTest.getTestName());
+        }
+
+        //Outcomes of replications finished out of order (replication id -> satisfied; null if failed)
+        HashMap<Integer, Boolean> pendingOutcomes = new HashMap<>();
+        int[] nextReplicationId = {0};
+        int[] numOfFailedReplications = {0};
+
+        int numOfReplications = replicationRunner.runReplications(maxNumOfReplications, replicationResult -> {
+            pendingOutcomes.put(replicationResult.getReplicationId(), evaluate(replicationResult, numOfFailedReplications));
+
+            //Samples are added in the order of replication ids
+            while (!smcTest.isDecided() && pendingOutcomes.containsKey(nextReplicationId[0])) {
+                Boolean isSatisfied = pendingOutcomes.remove(nextReplicationId[0]);
+                if (isSatisfied != null) {
+                    smcTest.addSample(isSatisfied);
+                }
+                nextReplicationId[0]++;
+            }
+
+            return !smcTest.isDecided();
+        });
+
+        SmcResult smcResult = new SmcResult(smcTest.getTestName(),
+                smcTest.getVerdict(),
+                smcTest.getNumOfSamples(),
+                smcTest.getNumOfSuccesses(),
+                smcTest.getEstimatedProbability(),
+                numOfReplications,
+                numOfFailedReplications[0],
+                System.nanoTime() - startTime);
+
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.INFO, "(SmcEngine:verify) Verification is finished: " + smcResult);
+        }
+
+        return smcResult;
+    }
+
+    /**
+     * Evaluate the property over a replication
+     *
+     * @return true/false, or null if the replication (or the evaluation) is failed
+     */
+    private Boolean evaluate(SimReplicationResult replicationResult, int[] numOfFailedReplications) {
+        if (replicationResult.isSucceeded()) {
+            try {
+                return property.check(replicationResult);
+            } catch (RuntimeException e) {
+                replicationResult.setFailure(e);
+            }
+        }
+
+        numOfFailedReplications[0]++;
+        if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+            SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SmcEngine:verify) A failed replication is not used as a sample: " + replicationResult);
+        }
+        return null;
+    }
+
+
+    public SimReplicationRunner getReplicationRunner() {
+        return replicationRunner;
+    }
+
+    public SimProperty getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,85 @@
+package kr.ac.kaist.se.controller.smc;
+
+/**
+ * Result of a statistical model checking (SmcEngine.verify(..))
+ *
+ * @author ymbaek
+ */
+public class SmcResult {
+
+    private final String testName;
+    private final EnumSmcVerdict verdict;
+
+    //Number of replications used by the test
+    private final int numOfSamples;
+    private final int numOfSuccesses;
+    private final double estimatedProbability;
+
+    //Number of finished replications (including replications finished after the decision, and failed replications)
+    private final int numOfReplications;
+    private final int numOfFailedReplications;
+
+    private final long elapsedTimeNanos;
+
+
+    public SmcResult(String testName,
+                     EnumSmcVerdict verdict,
+                     int numOfSamples,
+                     int numOfSuccesses,
+                     double estimatedProbability,
+                     int numOfReplications,
+                     int numOfFailedReplications,
+                     long elapsedTimeNanos) {
+        this.testName = testName;
+        this.verdict = verdict;
+        this.numOfSamples = numOfSamples;
+        this.numOfSuccesses = numOfSuccesses;
+        this.estimatedProbability = estimatedProbability;
+        this.numOfReplications = numOfReplications;
+        this.numOfFailedReplications = numOfFailedReplications;
+        this.elapsedTimeNanos = elapsedTimeNanos;
+    }
+
+
+    public String getTestName() {
+        return testName;
+    }
+
+    public EnumSmcVerdict getVerdict() {
+        return verdict;
+    }
+
+    public int getNumOfSamples() {
+        return numOfSamples;
+    }
+
+    public int getNumOfSuccesses() {
+        return numOfSuccesses;
+    }
+
+    public double getEstimatedProbability() {
+        return estimatedProbability;
+    }
+
+    public int getNumOfReplications() {
+        return numOfReplications;
+    }
+
+    public int getNumOfFailedReplications() {
+        return numOfFailedReplications;
+    }
+
+    public long getElapsedTimeNanos() {
+        return elapsedTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SmcResult(" + testName + ": " + verdict +
+                ", samples:" + numOfSamples +
+                ", successes:" + numOfSuccesses +
+                ", estimated:" + String.format("%.4f", estimatedProbability) +
+                ", replications:" + numOfReplications +
+                (numOfFailedReplications > 0 ? ", failed:" + numOfFailedReplications : "") + ")";
+    }
+}
@@ -0,0 +1,87 @@
+package kr.ac.kaist.se.controller.smc;
+
+/**
+ * Abstract class for statistical tests of SmcEngine,
+ * which decide a hypothesis P(property) >= theta from Bernoulli samples (results of replications).
+ * A test is sequential: samples are added one by one until the test is decided.
+ *
+ * @author ymbaek
+ */
+public abstract class SmcTest {
+
+    //Probability threshold of the hypothesis P(property) >= theta
+    protected final double theta;
+
+    protected int numOfSamples = 0;
+    protected int numOfSuccesses = 0;
+
+    protected EnumSmcVerdict verdict = EnumSmcVerdict.UNDECIDED;
+
+
+    protected SmcTest(double theta) {
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("theta must be in (0, 1): " + theta);
+        }
+        this.theta = theta;
+    }
+
+
+    /**
+     * A method to add a sample (once the test is decided, samples are ignored)
+     *
+     * @param isSatisfied true if a replication satisfies the property
+     */
+    public void addSample(boolean isSatisfied) {
+        if (isDecided()) {
+            return;
+        }
+
+        numOfSamples++;
+        if (isSatisfied) {
+            numOfSuccesses++;
+        }
+
+        verdict = decide(isSatisfied);
+    }
+
+    /**
+     * A method to decide the hypothesis with samples so far
+     * (numOfSamples and numOfSuccesses already include the last sample)
+     *
+     * @param isSatisfied the last sample
+     * @return SATISFIED or NOT_SATISFIED if decided, UNDECIDED if more samples are needed
+     */
+    protected abstract EnumSmcVerdict decide(boolean isSatisfied);
+
+    /**
+     * @return name of the test (for traces)
+     */
+    public abstract String getTestName();
+
+    public boolean isDecided() {
+        return verdict != EnumSmcVerdict.UNDECIDED;
+    }
+
+    public EnumSmcVerdict getVerdict() {
+        return verdict;
+    }
+
+    /**
+     * @return estimated probability of the property (ratio of successes)
+     */
+    public double getEstimatedProbability() {
+        return numOfSamples == 0 ? 0 : (double) numOfSuccesses / numOfSamples;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public int getNumOfSamples() {
+        return numOfSamples;
+    }
+
+    public int getNumOfSuccesses() {
+        return numOfSuccesses;
+    }
+}
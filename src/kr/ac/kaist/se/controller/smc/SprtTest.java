@@ -0,0 +1,79 @@
+package kr.ac.kaist.se.controller.smc;
+
+/**
+ * Wald's sequential probability ratio test (SPRT) with an indifference region.
+ * <p>
+ * H0: p >= theta + delta (SATISFIED) vs. H1: p <= theta - delta (NOT_SATISFIED),
+ * with the probability of type-I error alpha and type-II error beta.
+ * The log-likelihood ratio of H1 to H0 is updated for each sample, and the test is decided
+ * as soon as the ratio crosses log(beta / (1 - alpha)) or log((1 - beta) / alpha).
+ *
+ * @author ymbaek
+ */
+public class SprtTest extends SmcTest {
+
+    private final double delta;
+    private final double alpha;
+    private final double beta;
+
+    //Increments of the log-likelihood ratio for a success and a failure
+    private final double successLogRatio;
+    private final double failureLogRatio;
+
+    private final double acceptH0Bound;
+    private final double acceptH1Bound;
+
+    private double logRatio = 0;
+
+
+    /**
+     * @param theta probability threshold
+     * @param delta half-width of the indifference region (theta +- delta should be in (0, 1))
+     * @param alpha probability of type-I error
+     * @param beta  probability of type-II error
+     */
+    public SprtTest(double theta, double delta, double alpha, double beta) {
+        super(theta);
+
+        double p0 = theta + delta;
+        double p1 = theta - delta;
+        if (delta <= 0 || p0 >= 1 || p1 <= 0) {
+            throw new IllegalArgumentException("theta +- delta must be in (0, 1): theta(" + theta + "), delta(" + delta + ")");
+        }
+        if (alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("alpha and beta must be in (0, 1): alpha(" + alpha + "), beta(" + beta + ")");
+        }
+
+        this.delta = delta;
+        this.alpha = alpha;
+        this.beta = beta;
+
+        this.successLogRatio = Math.log(p1 / p0);
+        this.failureLogRatio = Math.log((1 - p1) / (1 - p0));
+
+        this.acceptH0Bound = Math.log(beta / (1 - alpha));
+        this.acceptH1Bound = Math.log((1 - beta) / alpha);
+    }
+
+
+    @Override
+    protected EnumSmcVerdict decide(boolean isSatisfied) {
+        logRatio += isSatisfied ? successLogRatio : failureLogRatio;
+
+        if (logRatio <= acceptH0Bound) {
+            return EnumSmcVerdict.SATISFIED;
+        } else if (logRatio >= acceptH1Bound) {
+            return EnumSmcVerdict.NOT_SATISFIED;
+        }
+        return EnumSmcVerdict.UNDECIDED;
+    }
+
+    @Override
+    public String getTestName() {
+        return "SPRT(theta:" + theta + ", delta:" + delta + ", alpha:" + alpha + ", beta:" + beta + ")";
+    }
+
+    public double getLogRatio() {
+        return logRatio;
+    }
+}
@@ -0,0 +1,15 @@
+package kr.ac.kaist.se.controller.util;
+
+/**
+ * Levels of traces printed by SimTracer (from the least to the most verbose)
+ *
+ * @author ymbaek
+ */
+public enum EnumTraceLevel {
+    OFF,    //Nothing is printed
+    ERROR,  //Failures (printed on stderr)
+    WARN,   //Unexpected but recoverable situations
+    INFO,   //Pre-/post-simulation information (configuration, model structure, ...)
+    DEBUG,  //Per-tick information (engine phases, object behaviors)
+    TRACE   //Detailed information (creation of data objects, map data, ...)
+}
@@ -0,0 +1,16 @@
+package kr.ac.kaist.se.controller.util;
+
+/**
+ * Subsystems of which traces can be switched separately (see SimTracer)
+ *
+ * @author ymbaek
+ */
+public enum EnumTraceSubsystem {
+    ENGINE,     //SimEngine
+    MODEL,      //SimObjects (SoS, Org, Infra, Env, CS, entities, ...)
+    ACTION,     //Actions (_SimAction_)
+    COMM,       //Messages and their delivery
+    DATA,       //Data variables (DataVar, DimVar)
+    MAP,        //SimMap and MapBuilder
+    SCENARIO    //Simulation scenarios and events
+}
@@ -2,11 +2,12 @@ package kr.ac.kaist.se.controller.util;
 
 import kr.ac.kaist.se.model.sos.data.DataVar;
 import kr.ac.kaist.se.model.sos.data.DimVar;
+import kr.ac.kaist.se.model.sos.geo.SimMapGrid;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Set;
 
 /**
  * A class to build, initialize, and update a map
@@ -18,26 +19,43 @@ public class MapBuilder {
 
     private MapFileReader fileReader;
     private MapKeyManager keyManager;
+    private MapKeyIndex keyIndex;
 
     private HashMap<String, ArrayList<DataVar>> mapLocInfoToBeUpdated;
+    private SimMapGrid mapGridToBeUpdated;
 
-    private String mapInitString;
+    private String mapInitFileName;
+
+    //Listener of the progress of reading a map file (traces progress if not given)
+    private MapLoadProgressListener progressListener;
 
 
     public MapBuilder(String mapInitFileName,
                       HashMap<String, ArrayList<DataVar>> mapLocInfo) {
         this.mapLocInfoToBeUpdated = mapLocInfo;
 
+        this.mapInitFileName = mapInitFileName;
         fileReader = new MapFileReader();
-        mapInitString = fileReader.readMapFile(mapInitFileName);
+    }
+
+    public MapBuilder(String mapInitFileName,
+                      SimMapGrid mapGrid) {
+        this.mapGridToBeUpdated = mapGrid;
 
-//        System.out.println(mapInitString.length());
+        this.mapInitFileName = mapInitFileName;
+        fileReader = new MapFileReader();
     }
 
 
     /**
-     * A method to update map data hashmap,
-     * based on mapInitString (initialization queries), mapDimVars, and mapDataVars
+     * A method to update map data (hashmap or grid),
+     * based on the map file (initialization queries), mapDimVars, and mapDataVars.
+     * <p>
+     * Statements of the map file are streamed (MapStatementReader), and each of them is
+     * compiled (MapQueryCompiler) and applied as soon as it is read.
+     * WHERE conditions are matched
+     * - by coordinate ranges of cells (grid), or
+     * - by an index of keys built once for all queries (hashmap).
      *
      * @param mapDimVars            Dimension variables of a map
      * @param mapDataVars           Data variables of a map
@@ -45,209 +63,167 @@ public class MapBuilder {
     public void updateMapData(ArrayList<DimVar> mapDimVars,
                               ArrayList<DataVar> mapDataVars) {
 
-        keyManager = new MapKeyManager(mapLocInfoToBeUpdated, mapDimVars);
-
-        /* Hashmap-related variables */
-        Set<String> wholeKeySet = mapLocInfoToBeUpdated.keySet();   //A set of keys from mapLocInfo of a map
-        ArrayList<String> matchingKeySet;                           //Matching keys to be updated
-
-        if (mapInitString.length() > 0) {
-
-            /* Input query for initialization/update */
-            ArrayList<String> mapInitQueryList = new ArrayList<>(Arrays.asList(mapInitString.trim().split(";")));
-
-            System.out.println(mapInitQueryList.size() + "|" + mapInitQueryList);
-
-            //For every query divided by ";"
-            for (String mapInitQuery : mapInitQueryList) {
-                //Trim for every query
-                mapInitQuery = mapInitQuery.trim();
-
-                String setString = "";      //SET(setString)
-                String whereString = "";    //WHERE(whereString)
-
-                /* Clauses parsed from the query (mapInitQuery) */
-                ArrayList<String> datavarAssignmentClauses = new ArrayList<>(); //Assignment queries for dataVars
-                ArrayList<String> dimvarConditionClauses = new ArrayList<>();   //Conditions of dimVars
-
-                /* Indices and values of conDimVars and dataVars */
-                ArrayList<Integer> condDimVarIndices = new ArrayList<>();
-                ArrayList<String> condDimVarValues = new ArrayList<>();
-
-                ArrayList<Integer> dataVarIndices = new ArrayList<>();
-                ArrayList<String> dataVarValues = new ArrayList<>();
-
-                //List of datavars to be stored in the hashmap (mapLocInfoToBeUpdated)
-                ArrayList<DataVar> locDataVars = new ArrayList<>();
-
-
-
-                /* PHASE 01. Get setString (SET(setString)) */
-                setString = mapInitQuery.split("WHERE")[0].split("SET")[1].trim();
-                setString = setString.replace("(", "").replace(")", "").trim();
-
-                trimStrings(new ArrayList<>(Arrays.asList(setString.split(","))), datavarAssignmentClauses);
-
-
-                /* PHASE 02. Check conditions based on whereString */
+        //"nofile" or "" means no initialization query
+        if (mapInitFileName == null || mapInitFileName.equals("nofile") || mapInitFileName.equals("")) {
+            return;
+        }
 
-                //If there is WHERE clause, we have to check <dimvarConditionClauses(s)>
-                if (mapInitQuery.contains("WHERE")) {
+        MapQueryCompiler queryCompiler = new MapQueryCompiler(mapDimVars, mapDataVars);
 
-                    /* Get whereString (WHERE(whereString)) */
-                    whereString = mapInitQuery.split("WHERE")[1].trim();
-                    whereString = whereString.replace("(", "").replace(")", "").trim();
+        try (MapStatementReader statementReader = fileReader.openMapFile(mapInitFileName, getProgressListener())) {
 
-                    //WHERE(dimvar_cond)
-                    if (!whereString.equals("ALL")) {
-                        trimStrings(new ArrayList<>(Arrays.asList(whereString.split("&&"))), dimvarConditionClauses);
+            /* Hashmap: keys are indexed once for all queries */
+            if (mapGridToBeUpdated == null) {
+                keyManager = new MapKeyManager(mapLocInfoToBeUpdated, mapDimVars);
+                keyIndex = new MapKeyIndex(mapLocInfoToBeUpdated, keyManager, mapDimVars.size());
+            }
 
-                        parseDimVarConditionClauses(dimvarConditionClauses, mapDimVars, condDimVarIndices, condDimVarValues);
+            String statement;
+            while ((statement = statementReader.nextStatement()) != null) {
+                MapQuery mapQuery = queryCompiler.compileQuery(statement);
+                if (mapQuery != null) {
+                    applyQuery(mapQuery);
+                }
+            }
 
-                        //Matching keys are found based on dimvarConditions
-                        matchingKeySet = findMatchingKeys(wholeKeySet, condDimVarIndices, condDimVarValues);
+            if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG, "(MapBuilder) " + statementReader.getNumOfStatements() + " statements are applied (" + mapInitFileName + ")");
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-                        //Update the hashmap (mapLocInfoToBeUpdated)
-                        updateDataVarsOfHashMap(datavarAssignmentClauses,
-                                mapDataVars,
-                                matchingKeySet,
-                                locDataVars,
-                                dataVarIndices,
-                                dataVarValues);
+    /**
+     * A listener to be notified of the progress of reading a map file.
+     * If a listener is not set, the progress is traced (MAP, DEBUG).
+     */
+    private MapLoadProgressListener getProgressListener() {
+        if (progressListener != null) {
+            return progressListener;
+        }
 
-                    }
-                    //WHERE(ALL)
-                    else {
-                        //In this case, parsing dimVarConditions (where clause) is not needed.
-                        //Since this is for all points, wholeKeySet itself will be matchingKeySet
-                        matchingKeySet = new ArrayList<>(wholeKeySet);
+        return (bytesRead, totalBytes, numOfStatements) -> {
+            if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG, "(MapBuilder) Reading " + mapInitFileName + ": " +
+                        bytesRead + "/" + totalBytes + " bytes (" +
+                        (totalBytes > 0 ? bytesRead * 100 / totalBytes : 100) + "%), " +
+                        numOfStatements + " statements");
+            }
+        };
+    }
 
-                        //Update the hashmap (mapLocInfoToBeUpdated)
-                        updateDataVarsOfHashMap(datavarAssignmentClauses,
-                                mapDataVars,
-                                matchingKeySet,
-                                locDataVars,
-                                dataVarIndices,
-                                dataVarValues);
+    public void setProgressListener(MapLoadProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
 
-                    }
-                }
-                //If there is no WHERE clause, it means ALL
-                else if (!mapInitQuery.contains("WHERE")) {
-                    //In this case, parsing dimVarConditions (where clause) is not needed.
-                    //Since this is for all points, wholeKeySet itself will be matchingKeySet
-                    matchingKeySet = new ArrayList<>(wholeKeySet);
-
-                    //Update the hashmap (mapLocInfoToBeUpdated)
-                    updateDataVarsOfHashMap(datavarAssignmentClauses,
-                            mapDataVars,
-                            matchingKeySet,
-                            locDataVars,
-                            dataVarIndices,
-                            dataVarValues);
-                }
+    /**
+     * A method to apply a compiled query to the map data (hashmap or grid)
+     *
+     * @param mapQuery  compiled query
+     */
+    public void applyQuery(MapQuery mapQuery) {
+        if (mapGridToBeUpdated != null) {
+            updateDataVarsOfGrid(mapQuery);
+        } else {
+            //Matching keys are found based on dimvarConditions
+            ArrayList<String> matchingKeySet = keyIndex.findMatchingKeys(mapQuery);
+
+            //Update the hashmap (mapLocInfoToBeUpdated)
+            updateLocDataVars(matchingKeySet, mapQuery);
+        }
 
-                System.out.println("\nupdateMapData Query: " + mapInitQuery);
+        if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.TRACE)) {
+            SimTracer.println(EnumTraceSubsystem.MAP, EnumTraceLevel.TRACE, "\nupdateMapData Query: " + mapQuery);
+            if (mapGridToBeUpdated == null) {
                 printMapLocHashMap(mapLocInfoToBeUpdated);
-
             }
         }
     }
 
 
     /**
-     * A method to update dataVars of a given hashmap (here, mapLocInfoToBeUpdated)
-     * @param datavarAssignmentClauses  Parsed clauses for data var assignment/update (used for parseDataVarAssignmentClauses)
-     * @param mapDataVars               dataVars of a map (used for parseDataVarAssignmentClauses)
-     * @param matchingKeySet            Matching keys found (used for updateLocDataVars)
-     * @param locDataVars               List of datavars to be stored in the hashmap (used for updateLocDataVars)
-     * @param dataVarIndices            Indices of dataVars to be updated (used for parseDataVarAssignmentClauses, updateLocDataVars)
-     * @param dataVarValues             Values of dataVars to be updated (used for parseDataVarAssignmentClauses, updateLocDataVars)
+     * A method to update cells of a grid (here, mapGridToBeUpdated) matching a query.
+     * <p>
+     * Since the last dimension varies fastest,
+     * cells matching fixed values of dimensions are contiguous blocks:
+     * the block size is the stride of the last dimension having a condition,
+     * and blocks are enumerated over values of the other (unconditioned) dimensions before it.
+     *
+     * @param mapQuery  compiled query
      */
-    private void updateDataVarsOfHashMap(ArrayList<String> datavarAssignmentClauses,
-                                         ArrayList<DataVar> mapDataVars,
-                                         ArrayList<String> matchingKeySet,
-                                         ArrayList<DataVar> locDataVars,
-                                         ArrayList<Integer> dataVarIndices,
-                                         ArrayList<String> dataVarValues){
-
-        //Parse clauses for dataVar assignment
-        parseDataVarAssignmentClauses(datavarAssignmentClauses, mapDataVars, dataVarIndices, dataVarValues);
-
-        //Actually update locDataVars
-        updateLocDataVars(matchingKeySet, locDataVars, dataVarIndices, dataVarValues);
-    }
-
+    private void updateDataVarsOfGrid(MapQuery mapQuery) {
+        SimMapGrid mapGrid = mapGridToBeUpdated;
+        int numOfDims = mapGrid.getNumOfDims();
 
+        /* Value index of each dimension to be matched (-1: any value) */
+        int[] condValueIndices = new int[numOfDims];
+        Arrays.fill(condValueIndices, -1);
 
+        for (int condition = 0; condition < mapQuery.getNumOfConditions(); condition++) {
+            int dim = mapQuery.getCondDimVarIndex(condition);
+            int valueIndex = mapGrid.getDimValueIndex(dim, mapQuery.getCondDimVarValue(condition));
 
-    /**
-     * A method to parse clauses of dimVar conditions (e.g., xPosVar==1&&yPosVar==2)
-     * @param dimvarConditionClauses    Parsed clauses for representing conditions of dimVars
-     * @param mapDimVars                dimVars of a map
-     * @param condDimVarIndices         Indices of dimVars to be checked
-     * @param condDimVarValues          Values of dimVars to be checked
-     */
-    private void parseDimVarConditionClauses(ArrayList<String> dimvarConditionClauses,
-                                             ArrayList<DimVar> mapDimVars,
-                                             ArrayList<Integer> condDimVarIndices,
-                                             ArrayList<String> condDimVarValues) {
-        //For each dimvarConditionClauses (e.g., xPosVar==3)
-        for (String cond : dimvarConditionClauses) {
-//                        System.out.print(cond + ": ");
-
-            String dimId = cond.split("==")[0].trim();
-            String dimValue = cond.split("==")[1].trim();
-
-            //For enumeration case that contains double quotation marks (e.g., "FLOOR_B1")
-            //Remove the double-quotation marks
-            if (dimValue.contains("\"")) {
-                dimValue = dimValue.replaceAll("\"", "");
+            //No cell matches a value outside of the domain, or two different values of a dimension
+            if (valueIndex < 0 || (condValueIndices[dim] >= 0 && condValueIndices[dim] != valueIndex)) {
+                return;
             }
+            condValueIndices[dim] = valueIndex;
+        }
 
-            int index = 0;
-            for (DimVar mapDimVar : mapDimVars) {
-                if (mapDimVar.getVarId().equals(dimId)) {
-                    condDimVarIndices.add(index);
-                    condDimVarValues.add(dimValue);
-                }
-                index++;
-            }
+        /* Values are parsed once for all matching cells */
+        int numOfAssignments = mapQuery.getNumOfAssignments();
+        int[] columns = new int[numOfAssignments];
+        int[] encodedValues = new int[numOfAssignments];
+        for (int assignment = 0; assignment < numOfAssignments; assignment++) {
+            columns[assignment] = mapQuery.getDataVarIndex(assignment);
+            encodedValues[assignment] = mapGrid.encodeValue(columns[assignment], mapQuery.getDataVarValue(assignment));
         }
-    }
 
-    /**
-     * A method to parse clauses of dataVar assignment/update (e.g., isWall=1)
-     * @param datavarAssignmentClauses  Parsed clauses for data var assignment/update
-     * @param mapDataVars               dataVars of a map
-     * @param dataVarIndices            Indices of dataVars to be updated
-     * @param dataVarValues             Values of dataVars to be updated
-     */
-    private void parseDataVarAssignmentClauses(ArrayList<String> datavarAssignmentClauses,
-                                               ArrayList<DataVar> mapDataVars,
-                                               ArrayList<Integer> dataVarIndices,
-                                               ArrayList<String> dataVarValues) {
+        /* Block of contiguous cells */
+        int lastCondDim = -1;
+        int baseCellIndex = 0;
+        for (int dim = 0; dim < numOfDims; dim++) {
+            if (condValueIndices[dim] >= 0) {
+                lastCondDim = dim;
+                baseCellIndex += condValueIndices[dim] * mapGrid.getDimStride(dim);
+            }
+        }
 
-        for (String assignmentQuery : datavarAssignmentClauses) {
+        //WHERE(ALL)
+        if (lastCondDim < 0) {
+            fillBlock(mapGrid, 0, mapGrid.getNumOfCells(), columns, encodedValues);
+            return;
+        }
 
-            String dataVarId = assignmentQuery.split("=")[0].trim();
-            String dataVarValue = assignmentQuery.split("=")[1].trim();
+        int blockSize = mapGrid.getDimStride(lastCondDim);
 
-            //For enumeration case that contains double quotation marks (e.g., "FLOOR_B1")
-            //Remove the double-quotation marks
-            if (dataVarValue.contains("\"")) {
-                dataVarValue = dataVarValue.replaceAll("\"", "");
+        /* Enumerate values of unconditioned dimensions before lastCondDim (as an odometer) */
+        int[] freeValueIndices = new int[lastCondDim];
+        while (true) {
+            int blockStart = baseCellIndex;
+            for (int dim = 0; dim < lastCondDim; dim++) {
+                blockStart += freeValueIndices[dim] * mapGrid.getDimStride(dim);
             }
+            fillBlock(mapGrid, blockStart, blockStart + blockSize, columns, encodedValues);
 
-            int index = 0;
-            for (DataVar mapDataVar : mapDataVars) {
-                if (mapDataVar.getVarId().equals(dataVarId)) {
-                    dataVarIndices.add(index);
-                    dataVarValues.add(dataVarValue);
+            int dim = lastCondDim - 1;
+            while (dim >= 0) {
+                if (condValueIndices[dim] < 0 && ++freeValueIndices[dim] < mapGrid.getDimSize(dim)) {
+                    break;
                 }
-                index++;
+                freeValueIndices[dim] = 0;
+                dim--;
             }
+            if (dim < 0) {
+                return;
+            }
+        }
+    }
 
+    private void fillBlock(SimMapGrid mapGrid, int fromCellIndex, int toCellIndex, int[] columns, int[] encodedValues) {
+        for (int assignment = 0; assignment < columns.length; assignment++) {
+            mapGrid.fillEncodedValue(fromCellIndex, toCellIndex, columns[assignment], encodedValues[assignment]);
         }
     }
 
@@ -255,100 +231,43 @@ public class MapBuilder {
     /**
      * A method to actually update dataVars of hashMap data
      * @param matchingKeySet            Matching keys found
-     * @param locDataVars               List of datavars to be stored in the hashmap
-     * @param dataVarIndices            Indices of dataVars to be updated
-     * @param dataVarValues             Values of dataVars to be updated
+     * @param mapQuery                  Compiled query (dataVars and values to be updated)
      */
     private void updateLocDataVars(ArrayList<String> matchingKeySet,
-                                   ArrayList<DataVar> locDataVars,
-                                   ArrayList<Integer> dataVarIndices,
-                                   ArrayList<String> dataVarValues) {
+                                   MapQuery mapQuery) {
         for (String matchingKey : matchingKeySet) {
             ArrayList<DataVar> dataVars = mapLocInfoToBeUpdated.get(matchingKey);
 
-            locDataVars.clear();
+            //A new list for each key (a list shared by matching keys mixes up their values)
+            ArrayList<DataVar> locDataVars = new ArrayList<>(dataVars.size());
 
-            int dataVarIndex = 0;
             for (DataVar dataVar : dataVars) {
-
-                DataVar newDataVar = (DataVar) dataVar.clone();
-
-                int innerIndex = 0;
-                for (Integer index : dataVarIndices) {
-
-                    if (dataVarIndex == index) {
-                        newDataVar.setDataCurValue(dataVarValues.get(innerIndex));
-                    }
-
-                    innerIndex++;
-                }
-                dataVarIndex++;
-                locDataVars.add(newDataVar);
-            }
-
-            mapLocInfoToBeUpdated.put(matchingKey, locDataVars);
-        }
-    }
-
-
-    /**
-     * A method to find a list(set) of matching keys from a whole key sets,
-     * based on varIndices and varValues.
-     *
-     * @param wholeKeySets A pool that has a whole set of keys
-     * @param varIndices   List of indices contained in dimvar_cond (1 if yPosVar==3)
-     * @param varValues    List of values contained in dimvar_cond (3 if yPosVar==3)
-     * @return  Matching keys found
-     */
-    private ArrayList<String> findMatchingKeys(Set<String> wholeKeySets, ArrayList<Integer> varIndices, ArrayList<String> varValues) {
-        ArrayList<String> matchingKeys = new ArrayList<>();
-        boolean isMatching;
-
-        for (String key : wholeKeySets) {
-            isMatching = true;
-
-            int varIndicesIndex = 0;
-            for (Integer index : varIndices) {
-                //If the key matches the given condition
-                if (!(keyManager.getDimValuesFromKey(key).get(index).equals(varValues.get(varIndicesIndex)))) {
-                    isMatching = false;
-                }
-                varIndicesIndex++;
+                locDataVars.add((DataVar) dataVar.clone());
             }
 
-            if (isMatching) {
-                matchingKeys.add(key);
+            //Later assignments of the same dataVar override earlier ones (as written in a query)
+            for (int assignment = 0; assignment < mapQuery.getNumOfAssignments(); assignment++) {
+                locDataVars.get(mapQuery.getDataVarIndex(assignment)).setDataCurValue(mapQuery.getDataVarValue(assignment));
             }
-        }
-
-        return matchingKeys;
-    }
 
-
-    /**
-     * A method to trim a list of string (ArrayList<String>)
-     * @param stringList            List of strings
-     * @param stringListTrimmed     List of trimmed strings
-     */
-    private void trimStrings(ArrayList<String> stringList, ArrayList<String> stringListTrimmed) {
-        for (String aString : stringList) {
-            stringListTrimmed.add(aString.trim());
+            mapLocInfoToBeUpdated.put(matchingKey, locDataVars);
         }
     }
 
 
-
     /**
      * A method to print a mapLocInfo hashmap
      * @param mapLocHashMap A hashmap to be printed
      */
     private void printMapLocHashMap(HashMap<String, ArrayList<DataVar>> mapLocHashMap) {
+        StringBuilder mapLocInfo = new StringBuilder();
         for (HashMap.Entry<String, ArrayList<DataVar>> pair : mapLocHashMap.entrySet()) {
-            System.out.print("\t" + pair.getKey() + "|");
+            mapLocInfo.append("\t").append(pair.getKey()).append("|");
             for (DataVar aDataVar : pair.getValue()) {
-                System.out.print(aDataVar.getVarId() + "(" + aDataVar.getDataCurValue() + ")");
+                mapLocInfo.append(aDataVar.getVarId()).append("(").append(aDataVar.getDataCurValue()).append(")");
             }
-            System.out.println();
+            SimTracer.println(EnumTraceSubsystem.MAP, EnumTraceLevel.TRACE, mapLocInfo.toString());
+            mapLocInfo.setLength(0);
         }
     }
 
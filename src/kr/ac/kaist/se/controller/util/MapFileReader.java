@@ -1,6 +1,7 @@
 package kr.ac.kaist.se.controller.util;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
@@ -10,6 +11,23 @@ import java.io.IOException;
  * @author ymbaek
  */
 public class MapFileReader {
+
+    /**
+     * A method to open a map file as a stream of statements (divided by ";").
+     * Unlike readMapFile(..), the file is not loaded into a string as a whole.
+     *
+     * @param fileName          Name(dir and file name) of a file
+     * @param progressListener  Listener to be notified of the progress (nullable)
+     * @return Reader of statements of the file
+     */
+    public MapStatementReader openMapFile(String fileName, MapLoadProgressListener progressListener) throws IOException {
+        File mapFile = new File(fileName);
+        if (!mapFile.isFile()) {
+            throw new FileNotFoundException(fileName);
+        }
+        return new MapStatementReader(mapFile, progressListener);
+    }
+
     /**
      * A method to read a map file
      * @param fileName  Name(dir and file name) of a file
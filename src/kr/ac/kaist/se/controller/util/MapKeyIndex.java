@@ -0,0 +1,137 @@
+package kr.ac.kaist.se.controller.util;
+
+import kr.ac.kaist.se.model.sos.data.DataVar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * An index of string-based keys of a mapLocInfo hashmap (e.g., 3,4,FLOOR_1).
+ * Every key is decomposed only once (by MapKeyManager), and for each dimension,
+ * keys are indexed by their values (value -> positions of keys having the value).
+ * Thus, conditions of a query (dimVarId==value) are answered without scanning the whole key set.
+ *
+ * @author ymbaek
+ */
+public class MapKeyIndex {
+
+    private final String[] keys;
+
+    //For each dimension: values of keys (as ordinals of the dimension)
+    private final int[][] keyValueOrdinals;
+    //For each dimension: value -> ordinal
+    private final ArrayList<HashMap<String, Integer>> valueOrdinals;
+    //For each dimension and ordinal: positions of keys having the value
+    private final ArrayList<ArrayList<int[]>> postingLists;
+
+
+    public MapKeyIndex(HashMap<String, ArrayList<DataVar>> mapLocInfo,
+                       MapKeyManager keyManager,
+                       int numOfDims) {
+        this.keys = mapLocInfo.keySet().toArray(new String[0]);
+        this.keyValueOrdinals = new int[numOfDims][keys.length];
+        this.valueOrdinals = new ArrayList<>(numOfDims);
+        this.postingLists = new ArrayList<>(numOfDims);
+
+        ArrayList<ArrayList<Integer>> postingSizes = new ArrayList<>(numOfDims);
+        for (int dim = 0; dim < numOfDims; dim++) {
+            valueOrdinals.add(new HashMap<>());
+            postingSizes.add(new ArrayList<>());
+        }
+
+        //Decompose every key once
+        for (int position = 0; position < keys.length; position++) {
+            ArrayList<String> dimValues = keyManager.getDimValuesFromKey(keys[position]);
+
+            for (int dim = 0; dim < numOfDims; dim++) {
+                String dimValue = dim < dimValues.size() ? dimValues.get(dim) : "";
+                HashMap<String, Integer> ordinals = valueOrdinals.get(dim);
+                Integer ordinal = ordinals.get(dimValue);
+                if (ordinal == null) {
+                    ordinal = ordinals.size();
+                    ordinals.put(dimValue, ordinal);
+                    postingSizes.get(dim).add(0);
+                }
+                keyValueOrdinals[dim][position] = ordinal;
+                postingSizes.get(dim).set(ordinal, postingSizes.get(dim).get(ordinal) + 1);
+            }
+        }
+
+        //Positions of keys for each value
+        for (int dim = 0; dim < numOfDims; dim++) {
+            ArrayList<int[]> dimPostingLists = new ArrayList<>();
+            for (Integer postingSize : postingSizes.get(dim)) {
+                dimPostingLists.add(new int[postingSize]);
+            }
+            int[] filled = new int[dimPostingLists.size()];
+            for (int position = 0; position < keys.length; position++) {
+                int ordinal = keyValueOrdinals[dim][position];
+                dimPostingLists.get(ordinal)[filled[ordinal]++] = position;
+            }
+            postingLists.add(dimPostingLists);
+        }
+    }
+
+
+    /**
+     * A method to find keys matching all conditions of a query
+     *
+     * @param mapQuery compiled query
+     * @return matching keys
+     */
+    public ArrayList<String> findMatchingKeys(MapQuery mapQuery) {
+        int numOfConditions = mapQuery.getNumOfConditions();
+
+        if (numOfConditions == 0) {
+            ArrayList<String> matchingKeys = new ArrayList<>(keys.length);
+            for (String key : keys) {
+                matchingKeys.add(key);
+            }
+            return matchingKeys;
+        }
+
+        //Resolve conditions into ordinals, and choose the smallest posting list
+        int[] condDims = new int[numOfConditions];
+        int[] condOrdinals = new int[numOfConditions];
+        int[] smallestPostingList = null;
+
+        for (int condition = 0; condition < numOfConditions; condition++) {
+            int dim = mapQuery.getCondDimVarIndex(condition);
+            Integer ordinal = valueOrdinals.get(dim).get(mapQuery.getCondDimVarValue(condition));
+
+            //No key has the value
+            if (ordinal == null) {
+                return new ArrayList<>();
+            }
+
+            condDims[condition] = dim;
+            condOrdinals[condition] = ordinal;
+
+            int[] postingList = postingLists.get(dim).get(ordinal);
+            if (smallestPostingList == null || postingList.length < smallestPostingList.length) {
+                smallestPostingList = postingList;
+            }
+        }
+
+        //Check the other conditions for the keys of the smallest posting list
+        ArrayList<String> matchingKeys = new ArrayList<>(smallestPostingList.length);
+        for (int position : smallestPostingList) {
+            boolean isMatching = true;
+            for (int condition = 0; condition < numOfConditions && isMatching; condition++) {
+                if (keyValueOrdinals[condDims[condition]][position] != condOrdinals[condition]) {
+                    isMatching = false;
+                }
+            }
+
+            if (isMatching) {
+                matchingKeys.add(keys[position]);
+            }
+        }
+
+        return matchingKeys;
+    }
+
+    public int getNumOfKeys() {
+        return keys.length;
+    }
+}
@@ -0,0 +1,18 @@
+package kr.ac.kaist.se.controller.util;
+
+/**
+ * A listener to be notified of the progress of reading a map file (see MapStatementReader)
+ *
+ * @author ymbaek
+ */
+public interface MapLoadProgressListener {
+
+    /**
+     * Called periodically while a map file is read, and once at the end of the file
+     *
+     * @param bytesRead       bytes of the file read so far
+     * @param totalBytes      size of the file
+     * @param numOfStatements number of statements read so far
+     */
+    void onProgress(long bytesRead, long totalBytes, int numOfStatements);
+}
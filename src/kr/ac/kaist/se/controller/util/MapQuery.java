@@ -0,0 +1,76 @@
+package kr.ac.kaist.se.controller.util;
+
+/**
+ * A compiled query of the map-init language (e.g., SET(isWall=1) WHERE(xPos==0&&floor=="FLOOR_1")).
+ * Ids of dimVars and dataVars are resolved into their indices (in mapDimVars and mapDataVars) by MapQueryCompiler,
+ * thus a query can be applied without parsing strings again.
+ *
+ * @author ymbaek
+ */
+public class MapQuery {
+
+    /** Original query string (for traces) */
+    private final String queryString;
+
+    /** SET(dataVarId=value, ...) */
+    private final int[] dataVarIndices;
+    private final String[] dataVarValues;
+
+    /** WHERE(dimVarId==value && ...) (no condition means ALL) */
+    private final int[] condDimVarIndices;
+    private final String[] condDimVarValues;
+
+
+    public MapQuery(String queryString,
+                    int[] dataVarIndices,
+                    String[] dataVarValues,
+                    int[] condDimVarIndices,
+                    String[] condDimVarValues) {
+        this.queryString = queryString;
+        this.dataVarIndices = dataVarIndices;
+        this.dataVarValues = dataVarValues;
+        this.condDimVarIndices = condDimVarIndices;
+        this.condDimVarValues = condDimVarValues;
+    }
+
+
+    /**
+     * Check if this query is applied to all location points (i.e., WHERE(ALL) or no WHERE clause)
+     */
+    public boolean isForAllLocations() {
+        return condDimVarIndices.length == 0;
+    }
+
+    public int getNumOfAssignments() {
+        return dataVarIndices.length;
+    }
+
+    public int getDataVarIndex(int assignment) {
+        return dataVarIndices[assignment];
+    }
+
+    public String getDataVarValue(int assignment) {
+        return dataVarValues[assignment];
+    }
+
+    public int getNumOfConditions() {
+        return condDimVarIndices.length;
+    }
+
+    public int getCondDimVarIndex(int condition) {
+        return condDimVarIndices[condition];
+    }
+
+    public String getCondDimVarValue(int condition) {
+        return condDimVarValues[condition];
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String toString() {
+        return queryString;
+    }
+}
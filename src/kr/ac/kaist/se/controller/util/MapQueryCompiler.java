@@ -0,0 +1,167 @@
+package kr.ac.kaist.se.controller.util;
+
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DimVar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * A compiler of the map-init language.
+ * <p>
+ * A map file consists of queries divided by ";":
+ * SET(dataVarId=value, ...) WHERE(dimVarId==value && ...)
+ * - WHERE(ALL) or no WHERE clause means all location points
+ * - Enumeration values can be double-quoted (e.g., floor=="FLOOR_1")
+ * <p>
+ * Each query is parsed only once, and ids are resolved into indices of mapDimVars and mapDataVars.
+ *
+ * @author ymbaek
+ */
+public class MapQueryCompiler {
+
+    private final HashMap<String, Integer> dimVarIndices = new HashMap<>();
+    private final HashMap<String, Integer> dataVarIndices = new HashMap<>();
+
+
+    public MapQueryCompiler(ArrayList<DimVar> mapDimVars, ArrayList<DataVar> mapDataVars) {
+        for (int index = 0; index < mapDimVars.size(); index++) {
+            dimVarIndices.putIfAbsent(mapDimVars.get(index).getVarId(), index);
+        }
+        for (int index = 0; index < mapDataVars.size(); index++) {
+            dataVarIndices.putIfAbsent(mapDataVars.get(index).getVarId(), index);
+        }
+    }
+
+
+    /**
+     * A method to compile whole contents of a map file
+     *
+     * @param mapInitString queries divided by ";"
+     * @return compiled queries (in the order of the contents)
+     */
+    public ArrayList<MapQuery> compile(String mapInitString) {
+        ArrayList<MapQuery> mapQueries = new ArrayList<>();
+
+        int start = 0;
+        while (start < mapInitString.length()) {
+            int end = mapInitString.indexOf(';', start);
+            if (end < 0) {
+                end = mapInitString.length();
+            }
+
+            MapQuery mapQuery = compileQuery(mapInitString.substring(start, end));
+            if (mapQuery != null) {
+                mapQueries.add(mapQuery);
+            }
+            start = end + 1;
+        }
+
+        return mapQueries;
+    }
+
+    /**
+     * A method to compile a query (e.g., SET(isWall=1) WHERE(xPos==0&&floor=="FLOOR_1"))
+     *
+     * @param mapInitQuery a query (without ";")
+     * @return compiled query, or null if the query is empty or has no SET clause
+     */
+    public MapQuery compileQuery(String mapInitQuery) {
+        mapInitQuery = mapInitQuery.trim();
+        if (mapInitQuery.isEmpty()) {
+            return null;
+        }
+
+        int whereIndex = mapInitQuery.indexOf("WHERE");
+        String setPart = whereIndex >= 0 ? mapInitQuery.substring(0, whereIndex) : mapInitQuery;
+        int setIndex = setPart.indexOf("SET");
+        if (setIndex < 0) {
+            if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN, "(MapQueryCompiler) A query without SET is ignored: " + mapInitQuery);
+            }
+            return null;
+        }
+
+
+        /* SET(setString) */
+        String setString = removeParentheses(setPart.substring(setIndex + 3));
+
+        ArrayList<Integer> assignedDataVarIndices = new ArrayList<>();
+        ArrayList<String> assignedValues = new ArrayList<>();
+
+        for (String assignmentClause : setString.split(",")) {
+            int assignIndex = assignmentClause.indexOf('=');
+            if (assignIndex < 0) {
+                continue;
+            }
+
+            String dataVarId = assignmentClause.substring(0, assignIndex).trim();
+            Integer dataVarIndex = dataVarIndices.get(dataVarId);
+            if (dataVarIndex == null) {
+                traceUnknownVar(dataVarId, mapInitQuery);
+                continue;
+            }
+
+            assignedDataVarIndices.add(dataVarIndex);
+            assignedValues.add(removeQuotationMarks(assignmentClause.substring(assignIndex + 1).trim()));
+        }
+
+
+        /* WHERE(whereString) */
+        ArrayList<Integer> condDimVarIndices = new ArrayList<>();
+        ArrayList<String> condValues = new ArrayList<>();
+
+        if (whereIndex >= 0) {
+            String whereString = removeParentheses(mapInitQuery.substring(whereIndex + 5));
+
+            if (!whereString.equals("ALL")) {
+                for (String conditionClause : whereString.split("&&")) {
+                    int equalIndex = conditionClause.indexOf("==");
+                    if (equalIndex < 0) {
+                        continue;
+                    }
+
+                    String dimVarId = conditionClause.substring(0, equalIndex).trim();
+                    Integer dimVarIndex = dimVarIndices.get(dimVarId);
+                    if (dimVarIndex == null) {
+                        traceUnknownVar(dimVarId, mapInitQuery);
+                        continue;
+                    }
+
+                    condDimVarIndices.add(dimVarIndex);
+                    condValues.add(removeQuotationMarks(conditionClause.substring(equalIndex + 2).trim()));
+                }
+            }
+        }
+
+        return new MapQuery(mapInitQuery,
+                toIntArray(assignedDataVarIndices),
+                assignedValues.toArray(new String[0]),
+                toIntArray(condDimVarIndices),
+                condValues.toArray(new String[0]));
+    }
+
+
+    private void traceUnknownVar(String varId, String mapInitQuery) {
+        if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN)) {
+            SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN, "(MapQueryCompiler) Unknown variable (" + varId + ") is ignored: " + mapInitQuery);
+        }
+    }
+
+    private static String removeParentheses(String aString) {
+        return aString.replace("(", "").replace(")", "").trim();
+    }
+
+    //For enumeration case that contains double quotation marks (e.g., "FLOOR_B1")
+    private static String removeQuotationMarks(String aString) {
+        return aString.indexOf('"') >= 0 ? aString.replace("\"", "") : aString;
+    }
+
+    private static int[] toIntArray(ArrayList<Integer> integerList) {
+        int[] intArray = new int[integerList.size()];
+        for (int i = 0; i < intArray.length; i++) {
+            intArray[i] = integerList.get(i);
+        }
+        return intArray;
+    }
+}
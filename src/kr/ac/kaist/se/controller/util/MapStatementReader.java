@@ -0,0 +1,149 @@
+package kr.ac.kaist.se.controller.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A streaming reader of a map file that yields one statement (divided by ";") at a time.
+ * <p>
+ * The file is memory-mapped window by window (MAPPING_WINDOW_SIZE bytes),
+ * thus only the current statement is held in the heap, and a file can be larger than the heap
+ * (or larger than 2GB, which is the limit of a single mapping).
+ * As MapFileReader.readMapFile(..) does, line breaks are removed from statements.
+ *
+ * @author ymbaek
+ */
+public class MapStatementReader implements Closeable {
+
+    /** Size of a mapped region of the file */
+    public static final long MAPPING_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /** Bytes between progress notifications */
+    public static final long PROGRESS_INTERVAL = 4L * 1024 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel fileChannel;
+    private final long fileSize;
+
+    private final MapLoadProgressListener progressListener;
+
+    private MappedByteBuffer window;
+    private long windowStart = 0;        //Position of the current window in the file
+
+    private byte[] statementBuffer = new byte[256];
+    private int statementLength = 0;
+
+    private int numOfStatements = 0;
+    private long nextProgress = PROGRESS_INTERVAL;
+    private boolean isFinished = false;
+
+
+    public MapStatementReader(File mapFile, MapLoadProgressListener progressListener) throws IOException {
+        this.file = new RandomAccessFile(mapFile, "r");
+        this.fileChannel = file.getChannel();
+        this.fileSize = fileChannel.size();
+        this.progressListener = progressListener;
+    }
+
+
+    /**
+     * A method to read the next statement
+     *
+     * @return a statement (without ";" and line breaks), or null at the end of the file
+     */
+    public String nextStatement() throws IOException {
+        if (isFinished) {
+            return null;
+        }
+
+        statementLength = 0;
+
+        while (true) {
+            if (window == null || !window.hasRemaining()) {
+                if (!mapNextWindow()) {
+                    //The last statement may not end with ";"
+                    isFinished = true;
+                    if (statementLength > 0) {
+                        numOfStatements++;
+                    }
+                    notifyProgress(fileSize);
+                    return statementLength > 0 ? toStatement() : null;
+                }
+            }
+
+            byte aByte = window.get();
+
+            if (aByte == ';') {
+                numOfStatements++;
+                checkProgress();
+                return toStatement();
+            } else if (aByte != '\n' && aByte != '\r') {
+                appendToStatement(aByte);
+            }
+        }
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getBytesRead() {
+        return window != null ? windowStart + window.position() : 0;
+    }
+
+    public int getNumOfStatements() {
+        return numOfStatements;
+    }
+
+    @Override
+    public void close() throws IOException {
+        //A mapped region is released when the buffer is garbage-collected
+        window = null;
+        fileChannel.close();
+        file.close();
+    }
+
+
+    private boolean mapNextWindow() throws IOException {
+        long nextWindowStart = window != null ? windowStart + window.capacity() : 0;
+        if (nextWindowStart >= fileSize) {
+            return false;
+        }
+
+        windowStart = nextWindowStart;
+        window = fileChannel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAPPING_WINDOW_SIZE, fileSize - windowStart));
+        return true;
+    }
+
+    private void appendToStatement(byte aByte) {
+        if (statementLength == statementBuffer.length) {
+            byte[] newBuffer = new byte[statementBuffer.length * 2];
+            System.arraycopy(statementBuffer, 0, newBuffer, 0, statementLength);
+            statementBuffer = newBuffer;
+        }
+        statementBuffer[statementLength++] = aByte;
+    }
+
+    private String toStatement() {
+        return new String(statementBuffer, 0, statementLength, StandardCharsets.UTF_8);
+    }
+
+    private void checkProgress() {
+        long bytesRead = getBytesRead();
+        if (bytesRead >= nextProgress) {
+            notifyProgress(bytesRead);
+            nextProgress = bytesRead + PROGRESS_INTERVAL;
+        }
+    }
+
+    private void notifyProgress(long bytesRead) {
+        if (progressListener != null) {
+            progressListener.onProgress(bytesRead, fileSize, numOfStatements);
+        }
+    }
+}
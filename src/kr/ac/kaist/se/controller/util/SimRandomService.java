@@ -0,0 +1,146 @@
+package kr.ac.kaist.se.controller.util;
+
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.sos.SoS;
+
+import java.util.SplittableRandom;
+
+/**
+ * A service of random number streams of a simulation (owned by SimEngine, seeded by SimConfiguration.getSimRandomSeed()).
+ * Each stream (e.g., a stream of a SimObject) is a SplittableRandom whose seed is derived from
+ * the seed of the service and the name of the stream (e.g., id of the object).
+ * Therefore, values drawn from a stream depend neither on the order in which objects are run
+ * nor on the number of threads (e.g., SimConfiguration.getSimParallelism()),
+ * and a simulation with the same seed is reproducible.
+ * A stream should be used only by its owner (SplittableRandom is not thread-safe).
+ * <p>
+ * SimEngine assigns streams of each tick before the tick is executed (assignStreams(simModel, tick)):
+ * a stream is derived from the seed, the id of its object and the tick, thus values drawn at a tick do not depend
+ * on the values drawn before the tick. States of streams are not written to checkpoints
+ * (a SplittableRandom does not expose its state); a simulation restored from a checkpoint or forked at a tick
+ * derives the same streams at the tick, and draws the same values as an uninterrupted simulation.
+ * <p>
+ * Streams of a tick are created lazily: member objects are bound to the service (with the hash of their ids)
+ * only if the registry of the model is changed, and an object creates the stream of a tick
+ * only when it first asks for it in the tick (_SimObject_.getRandom()),
+ * thus a tick in which objects draw no values (e.g., an idle tick of the next-event time advance) does not allocate.
+ *
+ * @author ymbaek
+ */
+public class SimRandomService {
+
+    //Golden ratio increment of SplitMix64
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    //Seed of the current tick (streams of the tick are derived from it)
+    private long tickSeed;
+    //Generation of assigned streams (increased by every assignStreams(..), a stream of an older generation is replaced)
+    private int streamGeneration = 0;
+
+    //Model whose member objects are bound to this service, and the version of its registry when bound
+    private SoS boundModel;
+    private int boundRegistryVersion;
+
+
+    public SimRandomService(long seed) {
+        this.seed = seed;
+        this.tickSeed = deriveSeed(seed, 0);
+    }
+
+
+    /**
+     * Create a new stream of this service
+     *
+     * @param streamName name of the stream (e.g., id of a SimObject)
+     * @return stream (the same name gives the same sequence of values)
+     */
+    public SplittableRandom createStream(String streamName) {
+        return createStream(seed, streamName);
+    }
+
+    /**
+     * Assign streams of a tick to every member object of a simulation model (including the SoS itself).
+     * Objects are (re)bound to this service only if the registry of the model is changed,
+     * and each object creates its stream of the tick lazily (see _SimObject_.getRandom()).
+     *
+     * @param simModel simulation model (SoS)
+     * @param tick     tick to be executed
+     */
+    public void assignStreams(SoS simModel, int tick) {
+        if (simModel != boundModel || simModel.getSimObjectRegistryVersion() != boundRegistryVersion) {
+            for (_SimObject_ aObj : simModel.getSimObjectRegistry().values()) {
+                aObj.bindRandomService(this);
+            }
+            boundModel = simModel;
+            boundRegistryVersion = simModel.getSimObjectRegistryVersion();
+
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.DEBUG, "(SimRandomService:assignStreams) Random streams are bound: " + simModel.getSimObjectRegistry().size() + " objects (seed: " + seed + ")");
+            }
+        }
+
+        tickSeed = deriveSeed(seed, tick);
+        streamGeneration++;
+    }
+
+    /**
+     * Create the stream of the current tick of an object
+     *
+     * @param streamNameHash hash of the name of the stream (hashStreamName(id of the object), cached by the object)
+     * @return stream of the current tick
+     */
+    public SplittableRandom createTickStream(long streamNameHash) {
+        return new SplittableRandom(deriveSeed(tickSeed, streamNameHash));
+    }
+
+    public int getStreamGeneration() {
+        return streamGeneration;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+
+    /**
+     * Create a stream from a seed and the name of the stream
+     *
+     * @param seed       seed (e.g., a seed of a simulation)
+     * @param streamName name of the stream (e.g., id of a SimObject)
+     * @return stream
+     */
+    public static SplittableRandom createStream(long seed, String streamName) {
+        return new SplittableRandom(deriveSeed(seed, hashStreamName(streamName)));
+    }
+
+    /**
+     * A method to derive a seed of a sub-stream (e.g., a replication or a branch) from a base seed (SplitMix64 finalizer),
+     * so that seeds of consecutive ids are not correlated.
+     *
+     * @param baseSeed base seed
+     * @param streamId id of the sub-stream
+     * @return derived seed
+     */
+    public static long deriveSeed(long baseSeed, long streamId) {
+        long derivedSeed = baseSeed + (streamId + 1L) * GOLDEN_GAMMA;
+        derivedSeed = (derivedSeed ^ (derivedSeed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        derivedSeed = (derivedSeed ^ (derivedSeed >>> 27)) * 0x94D049BB133111EBL;
+        return derivedSeed ^ (derivedSeed >>> 31);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the name of a stream (String.hashCode() has too many collisions for a seed)
+     */
+    public static long hashStreamName(String streamName) {
+        long hash = 0xCBF29CE484222325L;
+        if (streamName != null) {
+            for (int i = 0; i < streamName.length(); i++) {
+                hash ^= streamName.charAt(i);
+                hash *= 0x100000001B3L;
+            }
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,180 @@
+package kr.ac.kaist.se.controller.util;
+
+import java.io.PrintStream;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * A central facility to print (stdout/stderr) traces of a simulation.
+ * <p>
+ * Every trace has a subsystem (EnumTraceSubsystem) and a level (EnumTraceLevel),
+ * and it is printed only if the level is enabled for the subsystem.
+ * Call sites should check isOn(..) before building a message,
+ * so that nothing (strings, timestamps) is allocated when a trace is off:
+ * <pre>
+ * if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+ *     SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent(" + id + "):run) ...");
+ * }
+ * </pre>
+ * Levels are global: they are shared by all simulations of the JVM (e.g., concurrent replications),
+ * and a level set by a thread is visible to all threads.
+ * Traces of a single simulation are turned off by the silent mode of threads running it (setThreadSilent(..),
+ * used by SimEngine in silent mode), without changing the levels.
+ * By default, every level is enabled for every subsystem.
+ *
+ * @author ymbaek
+ */
+public final class SimTracer {
+
+    //Maximum enabled level (ordinal of EnumTraceLevel) of each subsystem
+    //(a new array is published on every change, thus readers never see a partially updated array)
+    private static volatile int[] subsystemLevels = new int[EnumTraceSubsystem.values().length];
+
+    //Silent mode of each thread (e.g., a thread running a SimEngine in silent mode)
+    private static final ThreadLocal<Boolean> threadSilent = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    //Streams for traces (ERROR traces are printed to errStream)
+    private static PrintStream outStream = System.out;
+    private static PrintStream errStream = System.err;
+
+    static {
+        setLevel(EnumTraceLevel.TRACE);
+    }
+
+    private SimTracer() {
+    }
+
+
+    /**
+     * A method to check if a trace is enabled
+     *
+     * @param subsystem subsystem of the trace
+     * @param level     level of the trace
+     * @return true if the trace should be printed
+     */
+    public static boolean isOn(EnumTraceSubsystem subsystem, EnumTraceLevel level) {
+        return level.ordinal() <= subsystemLevels[subsystem.ordinal()] && !threadSilent.get();
+    }
+
+    /**
+     * A method to print a trace with a timestamp (e.g., [2021-01-01 00:00:00.0] message)
+     *
+     * @param subsystem subsystem of the trace
+     * @param level     level of the trace
+     * @param message   message to be printed
+     */
+    public static void trace(EnumTraceSubsystem subsystem, EnumTraceLevel level, String message) {
+        if (isOn(subsystem, level)) {
+            streamOf(level).println("[" + new Timestamp(System.currentTimeMillis()) + "] " + message);
+        }
+    }
+
+    /**
+     * A method to print a multi-line message (e.g., a table of model information).
+     * Every line is prefixed with the same timestamp.
+     *
+     * @param subsystem subsystem of the trace
+     * @param level     level of the trace
+     * @param lines     lines separated by '\n'
+     */
+    public static void traceLines(EnumTraceSubsystem subsystem, EnumTraceLevel level, String lines) {
+        if (isOn(subsystem, level)) {
+            String prefix = "[" + new Timestamp(System.currentTimeMillis()) + "] ";
+            PrintStream stream = streamOf(level);
+            for (String line : lines.split("\n", -1)) {
+                stream.println(prefix + line);
+            }
+        }
+    }
+
+    /**
+     * A method to print a message without a timestamp and a line separator
+     * (e.g., for a part of a line)
+     */
+    public static void print(EnumTraceSubsystem subsystem, EnumTraceLevel level, String message) {
+        if (isOn(subsystem, level)) {
+            streamOf(level).print(message);
+        }
+    }
+
+    /**
+     * A method to print a message without a timestamp
+     */
+    public static void println(EnumTraceSubsystem subsystem, EnumTraceLevel level, String message) {
+        if (isOn(subsystem, level)) {
+            streamOf(level).println(message);
+        }
+    }
+
+    private static PrintStream streamOf(EnumTraceLevel level) {
+        return level == EnumTraceLevel.ERROR ? errStream : outStream;
+    }
+
+
+    /* Configuration */
+
+    /**
+     * Set the maximum level of all subsystems
+     *
+     * @param level maximum level to be printed
+     */
+    public static synchronized void setLevel(EnumTraceLevel level) {
+        int[] newLevels = new int[subsystemLevels.length];
+        Arrays.fill(newLevels, level.ordinal());
+        subsystemLevels = newLevels;
+    }
+
+    /**
+     * Set the maximum level of a subsystem
+     *
+     * @param subsystem subsystem to be configured
+     * @param level     maximum level to be printed
+     */
+    public static synchronized void setLevel(EnumTraceSubsystem subsystem, EnumTraceLevel level) {
+        int[] newLevels = subsystemLevels.clone();
+        newLevels[subsystem.ordinal()] = level.ordinal();
+        subsystemLevels = newLevels;
+    }
+
+    public static EnumTraceLevel getLevel(EnumTraceSubsystem subsystem) {
+        return EnumTraceLevel.values()[subsystemLevels[subsystem.ordinal()]];
+    }
+
+    /**
+     * Silent mode: every trace (including errors) of every subsystem is turned off.
+     * (For headless runs such as benchmarks and statistical model checking)
+     * This mode is global: traces of all simulations of the JVM are turned off (see setThreadSilent(..) for a simulation).
+     */
+    public static void setSilent() {
+        setLevel(EnumTraceLevel.OFF);
+    }
+
+    /**
+     * Silent mode of the current thread: every trace printed by the thread is turned off, whatever the levels are
+     * (e.g., a thread running a SimEngine in silent mode; traces of other threads are not affected)
+     *
+     * @param isSilent true to turn off traces of the current thread
+     * @return previous silent mode of the current thread (to be restored)
+     */
+    public static boolean setThreadSilent(boolean isSilent) {
+        boolean wasSilent = threadSilent.get();
+        if (isSilent) {
+            threadSilent.set(Boolean.TRUE);
+        } else {
+            threadSilent.remove();
+        }
+        return wasSilent;
+    }
+
+    public static boolean isThreadSilent() {
+        return threadSilent.get();
+    }
+
+    public static void setOutStream(PrintStream outStream) {
+        SimTracer.outStream = outStream;
+    }
+
+    public static void setErrStream(PrintStream errStream) {
+        SimTracer.errStream = errStream;
+    }
+}
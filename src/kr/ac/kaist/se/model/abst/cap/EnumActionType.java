@@ -0,0 +1,34 @@
+package kr.ac.kaist.se.model.abst.cap;
+
+import kr.ac.kaist.se.model.sos.cap.CommAction;
+import kr.ac.kaist.se.model.sos.cap.FuncAction;
+import kr.ac.kaist.se.model.sos.cap.MoveAction;
+
+/**
+ * Types of actions (e.g., partitions of selected actions, indices of a SimActionBuffer)
+ *
+ * @author ymbaek
+ */
+public enum EnumActionType {
+    FUNC,
+    COMM,
+    MOVE,
+    OTHER;
+
+    /**
+     * Get the type of an action
+     *
+     * @param aAction action
+     * @return type of the action
+     */
+    public static EnumActionType of(_SimAction_ aAction) {
+        if (aAction instanceof FuncAction) {
+            return FUNC;
+        } else if (aAction instanceof CommAction) {
+            return COMM;
+        } else if (aAction instanceof MoveAction) {
+            return MOVE;
+        }
+        return OTHER;
+    }
+}
@@ -30,6 +30,8 @@ public abstract class _SimAction_ {
     protected float actionCost = -1;    //cost for action execution
     protected float actionBenefit = -1; //benefit from action execution
 
+    protected final EnumActionType actionType = EnumActionType.of(this);  //type of action (e.g., a partition of selected actions)
+
     protected _SimAction_(SoS accessibleSoS,
                           _SimObject_ actionSubject,
                           String actionId,
@@ -89,6 +91,10 @@ public abstract class _SimAction_ {
         this.accessibleSoS = accessibleSoS;
     }
 
+    public EnumActionType getActionType() {
+        return actionType;
+    }
+
     public _SimObject_ getActionSubject() {
         return actionSubject;
     }
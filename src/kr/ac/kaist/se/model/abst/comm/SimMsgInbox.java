@@ -0,0 +1,211 @@
+package kr.ac.kaist.se.model.abst.comm;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lock-free multi-producer single-consumer (MPSC) inbox of messages of a SimObject (its msgQueue).
+ * Messages are stored in linked array-backed segments (no allocation per message):
+ * senders (producers, e.g., delivery tasks of SimMessageBus on parallel workers) claim a slot of the tail segment
+ * by an atomic increment, and the receiver (the consumer) reads slots in order (e.g., drain(..) in readIncomingMsgs()).
+ * <p>
+ * offer(..) can be called by any number of threads concurrently.
+ * Other methods (poll(), peek(), drain(..), size(), iterator(), clear()) should be called only by one thread at a time
+ * (e.g., the thread running the receiver); a message being offered concurrently may not be seen until its offer(..) returns.
+ *
+ * @author ymbaek
+ */
+public class SimMsgInbox extends AbstractQueue<_SimMessage_> {
+
+    //Capacity of the first segment (a capacity of a new segment is doubled up to MAX_SEGMENT_CAPACITY)
+    private static final int FIRST_SEGMENT_CAPACITY = 4;
+    private static final int MAX_SEGMENT_CAPACITY = 1024;
+
+    private static final class Segment {
+        private final AtomicReferenceArray<_SimMessage_> slots;
+        private final AtomicInteger numOfClaimedSlots = new AtomicInteger();
+        private final AtomicReference<Segment> next = new AtomicReference<>();
+
+        private Segment(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    //Segment to which producers append messages
+    private final AtomicReference<Segment> tail;
+
+    //Segment and slot from which the consumer reads the next message
+    private Segment head;
+    private int readIndex = 0;
+
+
+    public SimMsgInbox() {
+        this.head = new Segment(FIRST_SEGMENT_CAPACITY);
+        this.tail = new AtomicReference<>(head);
+    }
+
+
+    /**
+     * Add a message (lock-free, thread-safe)
+     *
+     * @param aMsg message to be added
+     * @return true (an inbox is unbounded)
+     */
+    @Override
+    public boolean offer(_SimMessage_ aMsg) {
+        Objects.requireNonNull(aMsg);
+
+        while (true) {
+            Segment segment = tail.get();
+            int slotIndex = segment.numOfClaimedSlots.getAndIncrement();
+
+            if (slotIndex < segment.slots.length()) {
+                segment.slots.set(slotIndex, aMsg);
+                return true;
+            }
+
+            //The segment is full: a new segment is linked by one of producers, and the tail is moved
+            Segment nextSegment = segment.next.get();
+            if (nextSegment == null) {
+                Segment newSegment = new Segment(Math.min(segment.slots.length() * 2, MAX_SEGMENT_CAPACITY));
+                nextSegment = segment.next.compareAndSet(null, newSegment) ? newSegment : segment.next.get();
+            }
+            tail.compareAndSet(segment, nextSegment);
+        }
+    }
+
+    @Override
+    public _SimMessage_ poll() {
+        while (true) {
+            if (readIndex < head.slots.length()) {
+                _SimMessage_ aMsg = head.slots.get(readIndex);
+                if (aMsg == null) {
+                    return null;
+                }
+                head.slots.set(readIndex++, null);
+                return aMsg;
+            }
+
+            Segment nextSegment = head.next.get();
+            if (nextSegment == null) {
+                return null;
+            }
+            head = nextSegment;
+            readIndex = 0;
+        }
+    }
+
+    @Override
+    public _SimMessage_ peek() {
+        Segment segment = head;
+        int slotIndex = readIndex;
+
+        while (slotIndex >= segment.slots.length()) {
+            segment = segment.next.get();
+            if (segment == null) {
+                return null;
+            }
+            slotIndex = 0;
+        }
+        return segment.slots.get(slotIndex);
+    }
+
+    /**
+     * Read all messages in the inbox in one call (in the order of arrival)
+     *
+     * @param msgConsumer consumer of each message
+     * @return number of read messages
+     */
+    public int drain(Consumer<? super _SimMessage_> msgConsumer) {
+        int numOfMsgs = 0;
+        _SimMessage_ aMsg;
+        while ((aMsg = poll()) != null) {
+            msgConsumer.accept(aMsg);
+            numOfMsgs++;
+        }
+        return numOfMsgs;
+    }
+
+    /**
+     * Read all messages of a message queue in one call (a SimMsgInbox or another Queue, e.g., a LinkedList)
+     *
+     * @param msgQueue    message queue of a SimObject
+     * @param msgConsumer consumer of each message
+     * @return number of read messages
+     */
+    public static int drain(Queue<_SimMessage_> msgQueue, Consumer<? super _SimMessage_> msgConsumer) {
+        if (msgQueue instanceof SimMsgInbox) {
+            return ((SimMsgInbox) msgQueue).drain(msgConsumer);
+        }
+
+        int numOfMsgs = 0;
+        _SimMessage_ aMsg;
+        while ((aMsg = msgQueue.poll()) != null) {
+            msgConsumer.accept(aMsg);
+            numOfMsgs++;
+        }
+        return numOfMsgs;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    /**
+     * Number of messages in the inbox (exact if no message is being offered)
+     */
+    @Override
+    public int size() {
+        int size = -readIndex;
+        for (Segment segment = head; segment != null; segment = segment.next.get()) {
+            size += Math.min(segment.numOfClaimedSlots.get(), segment.slots.length());
+        }
+        return size;
+    }
+
+    /**
+     * Iterator of messages in the inbox (messages are not removed, e.g., for a checkpoint)
+     */
+    @Override
+    public Iterator<_SimMessage_> iterator() {
+        return new Iterator<_SimMessage_>() {
+            private Segment segment = head;
+            private int slotIndex = readIndex;
+            private _SimMessage_ nextMsg = advance();
+
+            private _SimMessage_ advance() {
+                while (segment != null) {
+                    if (slotIndex < segment.slots.length()) {
+                        return segment.slots.get(slotIndex++);
+                    }
+                    segment = segment.next.get();
+                    slotIndex = 0;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextMsg != null;
+            }
+
+            @Override
+            public _SimMessage_ next() {
+                if (nextMsg == null) {
+                    throw new NoSuchElementException();
+                }
+                _SimMessage_ aMsg = nextMsg;
+                nextMsg = advance();
+                return aMsg;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package kr.ac.kaist.se.model.abst.comm;
+
+import kr.ac.kaist.se.model.intf.Communicatable;
+
+/**
+ * A route of a multicast (or broadcast) message: a message with a route is delivered to every object
+ * satisfying all conditions of the route (instead of a single receiverId), except its sender.
+ * <p>
+ * Conditions (null: no condition)
+ * - topic: objects subscribing the topic (Communicatable.getSubscribedTopics() or SimMessageBus.subscribe(..))
+ * - orgId: member CSs of an Organization (including members of its sub-organizations)
+ * - objClass: objects of a class or an interface (e.g., a concrete Constituent class)
+ * - stateId: objects whose current state (curStateId) is the given state
+ * <p>
+ * A route without any condition is a broadcast to all Communicatable objects.
+ * A route is immutable, thus it can be shared by messages (e.g., cloned messages of a forked model).
+ *
+ * @author ymbaek
+ */
+public final class SimMsgRoute {
+
+    private final String topic;
+    private final String orgId;
+    private final Class<?> objClass;
+    private final String stateId;
+
+
+    public SimMsgRoute(String topic, String orgId, Class<?> objClass, String stateId) {
+        this.topic = topic;
+        this.orgId = orgId;
+        this.objClass = objClass;
+        this.stateId = stateId;
+    }
+
+
+    /**
+     * Route to all Communicatable objects
+     */
+    public static SimMsgRoute toAll() {
+        return new SimMsgRoute(null, null, null, null);
+    }
+
+    /**
+     * Route to subscribers of a topic
+     */
+    public static SimMsgRoute toTopic(String topic) {
+        return new SimMsgRoute(topic, null, null, null);
+    }
+
+    /**
+     * Route to member CSs of an Organization
+     */
+    public static SimMsgRoute toOrg(String orgId) {
+        return new SimMsgRoute(null, orgId, null, null);
+    }
+
+    /**
+     * Route to objects of a class (or an interface)
+     */
+    public static SimMsgRoute toClass(Class<?> objClass) {
+        return new SimMsgRoute(null, null, objClass, null);
+    }
+
+    /**
+     * Route to Communicatable objects in a state
+     */
+    public static SimMsgRoute toState(String stateId) {
+        return new SimMsgRoute(null, null, null, stateId);
+    }
+
+    /**
+     * A copy of this route with a condition on the current state of receivers
+     *
+     * @param stateId id of a state (curStateId) of receivers
+     * @return new route
+     */
+    public SimMsgRoute inState(String stateId) {
+        return new SimMsgRoute(topic, orgId, objClass, stateId);
+    }
+
+    /**
+     * A copy of this route with a condition on the class of receivers
+     *
+     * @param objClass class (or interface) of receivers
+     * @return new route
+     */
+    public SimMsgRoute ofClass(Class<?> objClass) {
+        return new SimMsgRoute(topic, orgId, objClass, stateId);
+    }
+
+    /**
+     * Class of receivers of this route (Communicatable if no class is given)
+     */
+    public Class<?> getReceiverClass() {
+        return objClass != null ? objClass : Communicatable.class;
+    }
+
+    public boolean isBroadcast() {
+        return topic == null && orgId == null && objClass == null && stateId == null;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getOrgId() {
+        return orgId;
+    }
+
+    public Class<?> getObjClass() {
+        return objClass;
+    }
+
+    public String getStateId() {
+        return stateId;
+    }
+
+    @Override
+    public String toString() {
+        if (isBroadcast()) {
+            return "*";
+        }
+
+        StringBuilder routeStr = new StringBuilder();
+        if (topic != null) {
+            routeStr.append("topic=").append(topic).append(";");
+        }
+        if (orgId != null) {
+            routeStr.append("org=").append(orgId).append(";");
+        }
+        if (objClass != null) {
+            routeStr.append("class=").append(objClass.getSimpleName()).append(";");
+        }
+        if (stateId != null) {
+            routeStr.append("state=").append(stateId).append(";");
+        }
+        routeStr.setLength(routeStr.length() - 1);
+        return routeStr.toString();
+    }
+}
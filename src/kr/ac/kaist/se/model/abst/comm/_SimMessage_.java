@@ -6,7 +6,7 @@ import kr.ac.kaist.se.model.sos.data.DataVar;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 
-public abstract class _SimMessage_ implements Transmittable {
+public abstract class _SimMessage_ implements Transmittable, Cloneable {
 
     protected Timestamp timestamp;    //Timestamp for stdout
 
@@ -16,6 +16,8 @@ public abstract class _SimMessage_ implements Transmittable {
 
     protected String senderId;
     protected String receiverId;
+    //Route of a multicast message (null: a message to receiverId); its msgDataList is shared by all receivers
+    protected SimMsgRoute msgRoute;
 
     protected ArrayList<DataVar> msgDataList = new ArrayList<>();
 
@@ -41,20 +43,53 @@ public abstract class _SimMessage_ implements Transmittable {
         this.msgDataList = msgDataList;
     }
 
+    public _SimMessage_(String msgId, String msgTag, EnumMsgType msgType, String senderId, SimMsgRoute msgRoute, ArrayList<DataVar> msgDataList) {
+        this.msgId = msgId;
+        this.msgTag = msgTag;
+        this.msgType = msgType;
+        this.senderId = senderId;
+        this.msgRoute = msgRoute;
+        this.msgDataList = msgDataList;
+    }
+
     /**
      * A method to check if this message is appropriately sendable or not
      *
      * @return
      */
     public boolean isSendable() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         //            System.out.println("[" + timestamp + "] (_SimMessage_(" + this.getClass().getSimpleName() + ":" + this.msgId + ") isSendable: true");
         return (senderId != null && !senderId.equals("")) &&
-                (receiverId != null && !receiverId.equals("")) &&
+                (msgRoute != null || (receiverId != null && !receiverId.equals(""))) &&
                 (msgDataList != null && msgDataList.size() > 0);
     }
 
+    /**
+     * An implemented method of Cloneable interface.
+     * DataVars of msgDataList are cloned (e.g., for a message of a forked model).
+     *
+     * @return cloned object of this class
+     */
+    public _SimMessage_ clone() {
+        _SimMessage_ clonedMsg = null;
+
+        try {
+            clonedMsg = (_SimMessage_) super.clone();
+        } catch (CloneNotSupportedException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        if (msgDataList != null) {
+            clonedMsg.msgDataList = new ArrayList<>(msgDataList.size());
+            for (DataVar msgData : msgDataList) {
+                clonedMsg.msgDataList.add((DataVar) msgData.clone());
+            }
+        }
+
+        return clonedMsg;
+    }
+
     public String getMsgId() {
         return msgId;
     }
@@ -95,6 +130,18 @@ public abstract class _SimMessage_ implements Transmittable {
         this.receiverId = receiverId;
     }
 
+    public SimMsgRoute getMsgRoute() {
+        return msgRoute;
+    }
+
+    public void setMsgRoute(SimMsgRoute msgRoute) {
+        this.msgRoute = msgRoute;
+    }
+
+    public boolean isMulticast() {
+        return msgRoute != null;
+    }
+
     public ArrayList<DataVar> getMsgDataList() {
         return msgDataList;
     }
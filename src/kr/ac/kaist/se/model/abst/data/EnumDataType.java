@@ -0,0 +1,58 @@
+package kr.ac.kaist.se.model.abst.data;
+
+/**
+ * Types of values of a data variable (_SimDataVariable_).
+ * A type is resolved from a type name (varType) once, when a data variable is created.
+ *
+ * @author ymbaek
+ */
+public enum EnumDataType {
+    NOT_DETERMINED,
+    INT,
+    FLOAT,
+    STRING,
+    ENUM;
+
+    /**
+     * A method to resolve a type name of a data variable (e.g., "Int", "Float", "EnumString")
+     *
+     * @param varType type name
+     * @return type resolved (NOT_DETERMINED for an unknown name)
+     */
+    public static EnumDataType fromVarType(String varType) {
+        if (varType == null) {
+            return NOT_DETERMINED;
+        }
+
+        switch (varType) {
+            case "INT":
+            case "int":
+            case "Int":
+            case "INTEGER":
+            case "integer":
+                return INT;
+            case "FLOAT":
+            case "float":
+            case "Float":
+            case "DOUBLE":
+            case "double":
+            case "Double":
+                return FLOAT;
+            case "STRING":
+            case "string":
+            case "String":
+            case "STR":
+            case "str":
+                return STRING;
+            case "ENUM":
+            case "enum":
+            case "Enum":
+            case "ENUMSTRING":
+            case "enumstring":
+            case "EnumString":
+                return ENUM;
+            default:
+                return NOT_DETERMINED;
+        }
+    }
+}
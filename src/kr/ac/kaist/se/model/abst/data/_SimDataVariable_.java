@@ -1,23 +1,37 @@
 package kr.ac.kaist.se.model.abst.data;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 
 /**
  * Abstract class to represent a data variable
+ * <p>
+ * A value is stored in a typed slot (int, float, or string/enum) according to dataType.
+ * The string API (getDataCurValue/setDataCurValue) is kept:
+ * a string is parsed only when it is set, and a value set by the typed API is rendered (without being stored)
+ * whenever its string is requested.
  *
  * @author ymbaek
  */
 public abstract class _SimDataVariable_ implements Cloneable {
 
+    private static final int ORDINAL_UNRESOLVED = -2;
+
     protected Timestamp timestamp;    //Timestamp for stdout
 
     protected String varId;        //id of a data (variable)
     protected String varName;      //name of a data (variable)
     protected String varType;      //type of a data (variable)
+    protected EnumDataType dataType;    //type of a value (resolved from varType once)
 
-    protected Integer integerData;
-    protected Float floatData;
+    /* Typed value slots (a value is stored in the slot of its dataType) */
+    protected int integerData;
+    protected float floatData;
     protected String stringData;    //String-type or Enum data
+    protected int enumOrdinal = ORDINAL_UNRESOLVED;    //Index of Enum data in its domain
 //    protected String enumData;
 
 //    protected _SimDataDomain_ varDomain;
@@ -26,7 +40,7 @@ public abstract class _SimDataVariable_ implements Cloneable {
     protected boolean isDomainConstrained = false;
 
     private String dataDefaultValue;  //default value of a data (variable)
-    private String dataCurValue;      //current value of a data (variable)
+    private String dataCurValue;      //current value of a data (variable) as set (null: set by the typed API or not assigned)
 
 
 
@@ -34,6 +48,7 @@ public abstract class _SimDataVariable_ implements Cloneable {
         this.varId = varId;
         this.varName = varName;
         this.varType = varType;
+        this.dataType = EnumDataType.fromVarType(varType);
 
         printDataCreation();
     }
@@ -46,79 +61,78 @@ public abstract class _SimDataVariable_ implements Cloneable {
         this.varId = varId;
         this.varName = varName;
         this.varType = varType;
+        this.dataType = EnumDataType.fromVarType(varType);
         this.dataDefaultValue = dataDefaultValue;
         this.dataCurValue = dataCurValue;
 
-        setActualDataTypeVar(this.varType);
+        setActualDataTypeVar();
         printDataCreation();
     }
 
     protected void printDataCreation() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + ") A data object (_SimDataVariable_) is created (" +
-                varId + ", " + varName + ", " + varType + ", " + dataDefaultValue + ", " + dataCurValue + ").");
+        if (SimTracer.isOn(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE)) {
+            SimTracer.trace(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE, "(" + this.getClass().getSimpleName() + ") A data object (_SimDataVariable_) is created (" +
+                    varId + ", " + varName + ", " + varType + ", " + dataDefaultValue + ", " + dataCurValue + ").");
+        }
 
     }
 
 
     /**
-     * A method to cast String data to data of actual type.
-     * This method is called in constructors.
-     *
-     * @param dataType Data type of this _SimDataVariable_
+     * A method to cast String data (dataCurValue) to data of actual type (dataType).
+     * This method is called in constructors and setDataCurValue(..).
      */
-    private void setActualDataTypeVar(String dataType) {
-//        System.out.println(dataType);
-
-        timestamp = new Timestamp(System.currentTimeMillis());
-
+    private void setActualDataTypeVar() {
+        isValueAssigned = dataCurValue != null;
 
         if (dataCurValue != null) {
-            //Integer data
-            if (dataType.equals("INT") ||
-                    dataType.equals("int") ||
-                    dataType.equals("Int") ||
-                    dataType.equals("INTEGER") ||
-                    dataType.equals("integer")) {
-                //Integer.parseInt(this.dataCurValue);
-                //System.out.println("INT");
-                integerData = Integer.valueOf(dataCurValue);
-            }
-            //Float data
-            else if (dataType.equals("FLOAT") ||
-                    dataType.equals("float") ||
-                    dataType.equals("Float") ||
-                    dataType.equals("DOUBLE") ||
-                    dataType.equals("double") ||
-                    dataType.equals("Double")) {
-                //System.out.println("DOUBLE");
-                floatData = Float.valueOf(dataCurValue);
-            }
-            //String data
-            else if (dataType.equals("STRING") ||
-                    dataType.equals("string") ||
-                    dataType.equals("String") ||
-                    dataType.equals("STR") ||
-                    dataType.equals("str")) {
-                //System.out.println("STR");
-                stringData = dataCurValue;
+            switch (dataType) {
+                //Integer data
+                case INT:
+                    integerData = Integer.parseInt(dataCurValue);
+                    break;
+                //Float data
+                case FLOAT:
+                    floatData = Float.parseFloat(dataCurValue);
+                    break;
+                //String data
+                case STRING:
+                    stringData = dataCurValue;
+                    break;
+                //Enumeration / Enumeration String data
+                case ENUM:
+                    isEnumData = true;
+                    stringData = dataCurValue;
+                    enumOrdinal = ORDINAL_UNRESOLVED;
+                    break;
+                default:
+                    break;
             }
-            //Enumeration / Enumeration String data
-            else if (dataType.equals("ENUM") ||
-                    dataType.equals("enum") ||
-                    dataType.equals("Enum") ||
-                    dataType.equals("ENUMSTRING") ||
-                    dataType.equals("enumstring") ||
-                    dataType.equals("EnumString")) {
-                //System.out.println("ENUM");
-                isEnumData = true;
-                stringData = dataCurValue;
-
-            }
-        } else {
+        }
+    }
 
+    /**
+     * A method to render the current value (set by the typed API) as a string
+     */
+    private String renderDataCurValue() {
+        switch (dataType) {
+            case INT:
+                return Integer.toString(integerData);
+            case FLOAT:
+                return Float.toString(floatData);
+            default:
+                return stringData;
         }
+    }
 
+    /**
+     * Allowed values of Enum data (e.g., values of an enumeration domain).
+     * A concrete data variable with a domain overrides this method.
+     *
+     * @return a list of enumeration values (null if not defined)
+     */
+    protected ArrayList<String> getEnumValues() {
+        return null;
     }
 
 
@@ -135,7 +149,9 @@ public abstract class _SimDataVariable_ implements Cloneable {
 
 
     /**
-     * An implemented method of Cloneable interface
+     * An implemented method of Cloneable interface.
+     * Values (typed values and dataCurValue) are copied, thus updating the cloned variable does not change this variable.
+     * A domain is a definition of a variable, thus it is shared by the cloned variable.
      *
      * @return cloned object of this class
      */
@@ -177,42 +193,108 @@ public abstract class _SimDataVariable_ implements Cloneable {
     }
 
     public void setVarType(String varType) {
+        //The current value is kept as a string (rendered with the previous type);
+        //it is not parsed with the new type until a value is set again
+        this.dataCurValue = getDataCurValue();
+
         this.varType = varType;
+        this.dataType = EnumDataType.fromVarType(varType);
     }
 
+    public EnumDataType getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Check if a value is assigned (i.e., the current value is not null)
+     */
+    public boolean hasValue() {
+        return isValueAssigned;
+    }
+
+
+    /* String API (a value is parsed once according to dataType) */
 
     public String getDataCurValue() {
-        return dataCurValue;
+        if (dataCurValue != null || !isValueAssigned) {
+            return dataCurValue;
+        }
+        return renderDataCurValue();
     }
 
     public void setDataCurValue(String dataCurValue) {
         this.dataCurValue = dataCurValue;
 
-        setActualDataTypeVar(this.varType);
+        setActualDataTypeVar();
     }
 
+
+    /* Typed API (values are not converted from/into strings) */
+
     public int getIntegerData() {
-        return integerData;
+        switch (dataType) {
+            case INT:
+                return integerData;
+            case FLOAT:
+                return (int) floatData;
+            default:
+                throw new IllegalStateException("(" + varId + ") Not a numeric data variable: " + varType);
+        }
     }
 
     public void setIntegerData(int integerData) {
-        this.integerData = integerData;
+        switch (dataType) {
+            case INT:
+                this.integerData = integerData;
+                break;
+            case FLOAT:
+                this.floatData = integerData;
+                break;
+            default:
+                throw new IllegalStateException("(" + varId + ") Not a numeric data variable: " + varType);
+        }
+        markTypedUpdate();
     }
 
     public void setIntegerData(Integer integerData) {
-        this.integerData = integerData;
+        if (integerData == null) {
+            setDataCurValue(null);
+        } else {
+            setIntegerData(integerData.intValue());
+        }
     }
 
     public float getFloatData() {
-        return floatData;
+        switch (dataType) {
+            case FLOAT:
+                return floatData;
+            case INT:
+                return integerData;
+            default:
+                throw new IllegalStateException("(" + varId + ") Not a numeric data variable: " + varType);
+        }
     }
 
     public void setFloatData(float floatData) {
-        this.floatData = floatData;
+        switch (dataType) {
+            case FLOAT:
+                this.floatData = floatData;
+                break;
+            case INT:
+                this.integerData = (int) floatData;
+                break;
+            default:
+                throw new IllegalStateException("(" + varId + ") Not a numeric data variable: " + varType);
+        }
+        markTypedUpdate();
     }
 
     public void setFloatData(Float floatData) {
-        this.floatData = floatData;
+        if (floatData == null) {
+            setDataCurValue(null);
+        } else {
+            setFloatData(floatData.floatValue());
+        }
     }
 
     public String getStringData() {
@@ -220,7 +302,46 @@ public abstract class _SimDataVariable_ implements Cloneable {
     }
 
     public void setStringData(String stringData) {
-        this.stringData = stringData;
+        setDataCurValue(stringData);
+    }
+
+    /**
+     * Get an index of Enum data in its enumeration values (see getEnumValues())
+     *
+     * @return index of the current value (-1 if the value is not one of the enumeration values)
+     */
+    public int getEnumOrdinal() {
+        if (enumOrdinal == ORDINAL_UNRESOLVED) {
+            ArrayList<String> enumValues = getEnumValues();
+            enumOrdinal = enumValues != null && stringData != null ? enumValues.indexOf(stringData) : -1;
+        }
+        return enumOrdinal;
+    }
+
+    /**
+     * Set Enum data with an index of its enumeration values (see getEnumValues())
+     *
+     * @param enumOrdinal index of an enumeration value
+     */
+    public void setEnumOrdinal(int enumOrdinal) {
+        ArrayList<String> enumValues = getEnumValues();
+        if (enumValues == null || enumOrdinal < 0 || enumOrdinal >= enumValues.size()) {
+            throw new IllegalArgumentException("(" + varId + ") Invalid enum ordinal: " + enumOrdinal);
+        }
+
+        this.isEnumData = true;
+        this.stringData = enumValues.get(enumOrdinal);
+        this.enumOrdinal = enumOrdinal;
+        this.dataCurValue = stringData;
+        this.isValueAssigned = true;
+    }
+
+    /**
+     * After a typed update, the string value is rendered from the typed value when it is requested (getDataCurValue())
+     */
+    private void markTypedUpdate() {
+        this.isValueAssigned = true;
+        this.dataCurValue = null;
     }
 
     public String getDataDefaultValue() {
@@ -1,5 +1,9 @@
 package kr.ac.kaist.se.model.abst.obj;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.cap.EnumActionType;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.intf.Actionable;
 import kr.ac.kaist.se.model.sos.cap.CommAction;
@@ -30,6 +34,12 @@ public abstract class _SimActionableObject_ extends _SimObject_ implements Actio
      */
     protected ArrayList<_SimAction_> selectedActionList = new ArrayList<>();
 
+    /**
+     * Selected actions partitioned by type (index: ordinal of EnumActionType),
+     * filled as actions are selected by addActionToSelectedActionList(..)
+     */
+    protected final ArrayList<ArrayList<_SimAction_>> selectedActionPartitions = createActionPartitions();
+
 
     /**
      * @param runResult
@@ -54,8 +64,7 @@ public abstract class _SimActionableObject_ extends _SimObject_ implements Actio
             }
         }
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "]  ----------------------------");
+        SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, " ----------------------------");
 
 
         return updateResult;
@@ -75,6 +84,40 @@ public abstract class _SimActionableObject_ extends _SimObject_ implements Actio
 
 
 
+    /**
+     * A method to create a RunResult of the selected actions (with their partitions by type).
+     * If actions were added to selectedActionList directly (not by addActionToSelectedActionList(..)),
+     * the partitions are rebuilt.
+     *
+     * @return RunResult of this object
+     */
+    protected RunResult createRunResult() {
+        int numOfPartitionedActions = 0;
+        for (ArrayList<_SimAction_> partition : selectedActionPartitions) {
+            numOfPartitionedActions += partition.size();
+        }
+
+        if (numOfPartitionedActions != selectedActionList.size()) {
+            for (ArrayList<_SimAction_> partition : selectedActionPartitions) {
+                partition.clear();
+            }
+            for (_SimAction_ aAction : selectedActionList) {
+                selectedActionPartitions.get(aAction.getActionType().ordinal()).add(aAction);
+            }
+        }
+
+        return new RunResult(this, selectedActionList, selectedActionPartitions);
+    }
+
+    private static ArrayList<ArrayList<_SimAction_>> createActionPartitions() {
+        ArrayList<ArrayList<_SimAction_>> actionPartitions = new ArrayList<>(EnumActionType.values().length);
+        for (int i = 0; i < EnumActionType.values().length; i++) {
+            actionPartitions.add(new ArrayList<>());
+        }
+        return actionPartitions;
+    }
+
+
     /* Action add/remove of capableActionList and selectedActionList */
 
     public void addActionToCapableActionList(_SimAction_ aAction) {
@@ -83,6 +126,13 @@ public abstract class _SimActionableObject_ extends _SimObject_ implements Actio
 
     public void addActionToSelectedActionList(_SimAction_ aAction) {
         selectedActionList.add(aAction);
+        selectedActionPartitions.get(aAction.getActionType().ordinal()).add(aAction);
+    }
+
+    public void addAllActionsToSelectedActionList(ArrayList<_SimAction_> actionList) {
+        for (_SimAction_ aAction : actionList) {
+            addActionToSelectedActionList(aAction);
+        }
     }
 
     public void removeActionFromCapableActionList(_SimAction_ aAction) {
@@ -91,10 +141,18 @@ public abstract class _SimActionableObject_ extends _SimObject_ implements Actio
 
     public void removeActionFromSelectedActionList(_SimAction_ aAction) {
         selectedActionList.remove(aAction);
+        selectedActionPartitions.get(aAction.getActionType().ordinal()).remove(aAction);
     }
 
     public void clearSelectedActionList() {
         selectedActionList.clear();
+        for (ArrayList<_SimAction_> partition : selectedActionPartitions) {
+            partition.clear();
+        }
+    }
+
+    public ArrayList<_SimAction_> getSelectedActionPartition(EnumActionType actionType) {
+        return selectedActionPartitions.get(actionType.ordinal());
     }
 
 
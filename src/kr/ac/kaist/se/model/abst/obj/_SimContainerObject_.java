@@ -1,12 +1,43 @@
 package kr.ac.kaist.se.model.abst.obj;
 
+import java.util.List;
+
 /**
  * Abstarct class for container classes
  * such as SoS, Organization, Infrastructure, and Environment
+ * <p>
+ * A container is run when any of its members needs to be run: a concrete container overrides getNextWakeUpTick(curTick)
+ * with the earliest wake-up tick of its members (see getNextWakeUpTick(curTick, nextTick, members)).
+ * The own wake-up tick of a container is WAKE_UP_NEVER by default; it is considered if a model sets it
+ * (setNextWakeUpTick(..)), or if the container has an incoming message.
  */
 public abstract class _SimContainerObject_ extends _SimObject_ {
     /**
      * type of SimContainerObject
      */
     protected EnumContainerType containerType;
+
+
+    public _SimContainerObject_() {
+        //A container is run for its members (see getNextWakeUpTick(..)), thus it has no wake-up of its own by default
+        this.nextWakeUpTick = WAKE_UP_NEVER;
+    }
+
+    /**
+     * A method to get the earliest wake-up tick of members (the search stops at curTick)
+     *
+     * @param curTick  tick from which the next wake-up is searched
+     * @param nextTick the earliest wake-up tick found so far
+     * @param members  members of a container (null: no member)
+     * @return the earliest wake-up tick of nextTick and the members
+     */
+    protected static int getNextWakeUpTick(int curTick, int nextTick, List<? extends _SimObject_> members) {
+        if (members == null) {
+            return nextTick;
+        }
+        for (int i = 0; i < members.size() && nextTick > curTick; i++) {
+            nextTick = Math.min(nextTick, members.get(i).getNextWakeUpTick(curTick));
+        }
+        return nextTick;
+    }
 }
@@ -1,18 +1,30 @@
 package kr.ac.kaist.se.model.abst.obj;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimRandomService;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.abst.comm.SimMsgInbox;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.abst.state._SimState_;
+import kr.ac.kaist.se.model.intf.Checkpointable;
 import kr.ac.kaist.se.model.intf.Simulatable;
 import kr.ac.kaist.se.model.sos.data.DimVar;
 import kr.ac.kaist.se.model.sos.geo.ObjectLocation;
 import kr.ac.kaist.se.model.sos.state.ObjectState;
+import kr.ac.kaist.se.simdata.evnt.SimLogEventId;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.Queue;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Abstract class for general simulation objects
@@ -57,10 +69,30 @@ public abstract class _SimObject_ implements Simulatable {
     protected String objLocation;
 
     //Queue for storing incoming messages from other objects
-    protected Queue<_SimMessage_> msgQueue = new LinkedList<>();
+    protected Queue<_SimMessage_> msgQueue = new SimMsgInbox();
 
-    //ArrayList to store logEventIds
-    private final ArrayList<String> logEventIdList = new ArrayList<>();
+    /** Wake-up information (for the next-event time advance of SimEngine) */
+    //No more wake-up is needed
+    public static final int WAKE_UP_NEVER = Integer.MAX_VALUE;
+    //Tick when this object needs to be run again (0: every tick)
+    protected int nextWakeUpTick = 0;
+
+    /** Random number stream of this object (created from SimRandomService of SimEngine) */
+    protected SplittableRandom random;
+    //Service of streams to which this object is bound (null: a stream of seed 0 is used)
+    private SimRandomService randomService;
+    //Hash of the id of this object (a stream of a tick is derived from it) and the generation of the current stream
+    private long randomStreamHash;
+    private int randomGeneration;
+
+    /** Log event ids of this object (see SimLogEventId) */
+    //Index of this object in ids of its log events (assigned by SoS.assignLogSubjectIndexes(), 0: not assigned)
+    protected int logSubjectIndex = 0;
+    //Sequence number of the last log event of this object
+    protected int logEventSeq = 0;
+
+    //Indexes of objects that are not assigned by a model (negative, thus distinct from assigned indexes)
+    private static final AtomicInteger unassignedLogSubjectIndex = new AtomicInteger();
 
 
     /**
@@ -70,14 +102,15 @@ public abstract class _SimObject_ implements Simulatable {
         String thisClassName = this.getClass().getSimpleName();
 
         if (this.getClass() != null) {
-            timestamp = new Timestamp(System.currentTimeMillis());
             //System.out.println("[" + timestamp + "] (" + thisClassName + ") An object is created.");
-            System.out.println("[" + timestamp + "] (" + thisClassName + " Object Created) id: " + this.id +
-                    ", name: " + this.name +
-                    ", isStatic: " + this.isStatic +
-                    ", isActivated: " + this.isActivated +
-                    ", isAvailable: " + this.isAvailable
-            );
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE, "(" + thisClassName + " Object Created) id: " + this.id +
+                        ", name: " + this.name +
+                        ", isStatic: " + this.isStatic +
+                        ", isActivated: " + this.isActivated +
+                        ", isAvailable: " + this.isAvailable
+                );
+            }
         }
 
     }
@@ -150,6 +183,99 @@ public abstract class _SimObject_ implements Simulatable {
         this.msgQueue = msgQueue;
     }
 
+    /**
+     * A method to get the next tick when this object needs to be run.
+     * An object declares its wake-up tick by setNextWakeUpTick(..) (e.g., when it becomes idle),
+     * and it wakes up earlier if there is an incoming message.
+     * By default (nextWakeUpTick: 0), an object needs to be run at every tick.
+     *
+     * @param curTick tick from which the next wake-up is searched
+     * @return the next wake-up tick (at least curTick), or WAKE_UP_NEVER
+     */
+    public int getNextWakeUpTick(int curTick) {
+        if (!msgQueue.isEmpty()) {
+            return curTick;
+        }
+        return Math.max(curTick, nextWakeUpTick);
+    }
+
+    public int getNextWakeUpTick() {
+        return nextWakeUpTick;
+    }
+
+    public void setNextWakeUpTick(int nextWakeUpTick) {
+        this.nextWakeUpTick = nextWakeUpTick;
+    }
+
+    /**
+     * Random number stream of this object (e.g., for selectMoveActions(..) of a concrete object).
+     * If this object is bound to a SimRandomService, a new stream is created when it is first asked in a tick
+     * (see SimRandomService.assignStreams(simModel, tick)), thus a stream should not be kept across ticks.
+     * Otherwise, a stream of seed 0 is created from the id of this object.
+     *
+     * @return stream of this object (used only by the thread running this object)
+     */
+    public SplittableRandom getRandom() {
+        if (randomService != null) {
+            int streamGeneration = randomService.getStreamGeneration();
+            if (random == null || randomGeneration != streamGeneration) {
+                random = randomService.createTickStream(randomStreamHash);
+                randomGeneration = streamGeneration;
+            }
+        } else if (random == null) {
+            random = SimRandomService.createStream(0, id);
+        }
+        return random;
+    }
+
+    /**
+     * Bind this object to a service of streams (by SimRandomService.assignStreams(..))
+     *
+     * @param randomService service of streams of a simulation
+     */
+    public void bindRandomService(SimRandomService randomService) {
+        if (this.randomService != randomService) {
+            this.randomService = randomService;
+            this.randomStreamHash = SimRandomService.hashStreamName(id);
+            this.random = null;
+        }
+    }
+
+    /**
+     * A method to copy the dynamic state of this object into an object of a forked model (see SoS.fork(..)).
+     * Messages of msgQueue are cloned, and additional state of a Checkpointable object
+     * is copied through its checkpoint (writeCheckpoint(..) and readCheckpoint(..)).
+     * A concrete object with other mutable fields should override this method (calling super).
+     *
+     * @param targetObj object of a forked model with the same id
+     */
+    public void copyStateTo(_SimObject_ targetObj) {
+        targetObj.isActivated = isActivated;
+        targetObj.isAvailable = isAvailable;
+        targetObj.curStateId = curStateId;
+        targetObj.objLocation = objLocation;
+        targetObj.nextWakeUpTick = nextWakeUpTick;
+        targetObj.logEventSeq = logEventSeq;
+
+        targetObj.msgQueue = new SimMsgInbox();
+        for (_SimMessage_ aMsg : msgQueue) {
+            targetObj.msgQueue.add(aMsg.clone());
+        }
+
+        if (this instanceof Checkpointable && targetObj instanceof Checkpointable) {
+            try {
+                ByteArrayOutputStream stateBytes = new ByteArrayOutputStream();
+                DataOutputStream stateOutput = new DataOutputStream(stateBytes);
+                ((Checkpointable) this).writeCheckpoint(stateOutput);
+                stateOutput.flush();
+
+                ((Checkpointable) targetObj).readCheckpoint(new DataInputStream(new ByteArrayInputStream(stateBytes.toByteArray())));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     public ArrayList<ObjectState> getObjStates() {
         return objStates;
     }
@@ -254,27 +380,42 @@ public abstract class _SimObject_ implements Simulatable {
 
 
     /**
-     * Method to automatically generate an id of a SimLogEvent
+     * Method to generate a numeric id of a SimLogEvent of this object (see SimLogEventId).
+     * An id is unique in a model without any check, and it is generated without any allocation.
+     *
+     * @return Generated id
+     */
+    public long nextLogEventId() {
+        if (logSubjectIndex == 0) {
+            logSubjectIndex = -unassignedLogSubjectIndex.incrementAndGet();
+        }
+        return SimLogEventId.of(logSubjectIndex, ++logEventSeq);
+    }
+
+    /**
+     * Method to automatically generate an id of a SimLogEvent (the string form of nextLogEventId())
      *
      * @param eventAction target action to be executed
      * @return Generated id
      */
     public String getLogEventIdAutomatically(_SimAction_ eventAction) {
-        String newId = "";
+        return SimLogEventId.toString(eventAction.getClass().getSimpleName(), this.id, nextLogEventId());
+    }
 
-        Random rand = new Random();
-//        newId += rand.nextInt( 99999) + "";
+    public int getLogSubjectIndex() {
+        return logSubjectIndex;
+    }
 
-//        boolean isDuplicate = false;
+    public void setLogSubjectIndex(int logSubjectIndex) {
+        this.logSubjectIndex = logSubjectIndex;
+    }
 
-        while (true) {
-            newId += String.format("EVNT_%S_%s_%s", eventAction.getClass().getSimpleName(), this.id, Integer.toHexString(rand.nextInt(99999)));
-            if (!logEventIdList.contains(newId)) {
-                break;
-            }
-        }
+    public int getLogEventSeq() {
+        return logEventSeq;
+    }
 
-        return newId;
+    public void setLogEventSeq(int logEventSeq) {
+        this.logEventSeq = logEventSeq;
     }
 
 
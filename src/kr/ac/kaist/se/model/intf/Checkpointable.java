@@ -0,0 +1,30 @@
+package kr.ac.kaist.se.model.intf;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Interface for objects that have their own state to be kept in a checkpoint (see SimCheckpointWriter).
+ * Common states of a SimObject (e.g., curStateId, objLocation, msgQueue) are written by the checkpoint writer,
+ * thus a concrete object implements this interface only for additional fields (e.g., counters of a model).
+ *
+ * @author ymbaek
+ */
+public interface Checkpointable {
+
+    /**
+     * Write additional state of this object into a checkpoint
+     *
+     * @param dataOutput output of the checkpoint entry of this object
+     */
+    void writeCheckpoint(DataOutput dataOutput) throws IOException;
+
+    /**
+     * Read additional state of this object from a checkpoint
+     * (in the same order as written by writeCheckpoint(..))
+     *
+     * @param dataInput input of the checkpoint entry of this object
+     */
+    void readCheckpoint(DataInput dataInput) throws IOException;
+}
@@ -3,6 +3,9 @@ package kr.ac.kaist.se.model.intf;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.sos.cap.CommAction;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Interface for objects that can communicate with other objects.
  * Communicatable objects can execute sendMsg(..) and readIncomingMsgs(..).
@@ -40,4 +43,14 @@ public interface Communicatable {
      * @return
      */
     _SimMessage_ makeMsgForCommAction(CommAction aCommAction);
+
+    /**
+     * Topics subscribed by this object: a message routed to a topic (SimMsgRoute.toTopic(..))
+     * is delivered to every subscriber of the topic.
+     * Topics are read when the routing index of a message bus is built (after objects are added to an SoS).
+     * @return subscribed topics (empty by default)
+     */
+    default List<String> getSubscribedTopics() {
+        return Collections.emptyList();
+    }
 }
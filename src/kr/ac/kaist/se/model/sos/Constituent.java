@@ -1,8 +1,13 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.abst.comm.SimMsgInbox;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.abst.obj._SimActionableObject_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
 import kr.ac.kaist.se.model.abst.state._SimState_;
 import kr.ac.kaist.se.model.intf.Communicatable;
 import kr.ac.kaist.se.model.intf.DecisionMakeable;
@@ -11,13 +16,12 @@ import kr.ac.kaist.se.model.intf.Stateful;
 import kr.ac.kaist.se.model.sos.cap.CommAction;
 import kr.ac.kaist.se.model.sos.cap.FuncAction;
 import kr.ac.kaist.se.model.sos.cap.MoveAction;
-import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.KnowledgeBase;
 import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
 import kr.ac.kaist.se.simdata.output.intermediate.RunResult;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.LinkedList;
 
 /**
  * Abstract class to represent a constituent system, called CS.
@@ -40,8 +44,8 @@ public abstract class Constituent extends _SimActionableObject_
     /**
      * Knowledge base of this constituent object
      */
-    //Knowledge base of a single constituent
-    protected ArrayList<DataVar> knowledgeBase;
+    //Knowledge base of a single constituent (latest DataVar per varId and sender; unbounded by default)
+    protected KnowledgeBase knowledgeBase = new KnowledgeBase();
 
 
     public Constituent(SoS simModel, Organization myOrg, String csId, String csName) {
@@ -59,7 +63,7 @@ public abstract class Constituent extends _SimActionableObject_
         //A constituent is a stateful object
         this.isStateful = true;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         initCapableActions();
 
@@ -83,7 +87,7 @@ public abstract class Constituent extends _SimActionableObject_
         //A constituent is a stateful object
         this.isStateful = true;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         initCapableActions();
 
@@ -95,9 +99,10 @@ public abstract class Constituent extends _SimActionableObject_
 
     @Override
     public RunResult run() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + " of " + myOrg.getId() + "):run) size of capableActions:" +
-                capableActionList.size() + " = " + capableActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + " of " + myOrg.getId() + "):run) size of capableActions:" +
+                    capableActionList.size() + " = " + capableActionList);
+        }
 
         // [Communicatable] Before selecting actions, read a message from its message queue
         readIncomingMsgs();
@@ -109,8 +114,8 @@ public abstract class Constituent extends _SimActionableObject_
         selectActions();
 
 
-        RunResult runResult = new RunResult(this, this.selectedActionList);
-        System.out.println("[" + timestamp + "]  ----------------------------");
+        RunResult runResult = createRunResult();
+        SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, " ----------------------------");
 
 
         return runResult;
@@ -121,31 +126,30 @@ public abstract class Constituent extends _SimActionableObject_
 
     @Override
     public void readIncomingMsgs() {
-        if (msgQueue.size() != 0) {
-
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) size of msgQueue:" +
-                    msgQueue.size());
+        int curTick = mySoS != null ? mySoS.getCurTick() : 0;
+        knowledgeBase.evictExpired(curTick);
 
-            int msgCnt = 0;
-            ArrayList<DataVar> receivedDataList = new ArrayList<>();
+        if (!msgQueue.isEmpty()) {
 
-            while (!msgQueue.isEmpty()) {
-                //Objects.requireNonNull()
-                receivedDataList.addAll(msgQueue.poll().getMsgDataList());
-                msgCnt++;
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) size of msgQueue:" +
+                        msgQueue.size());
             }
 
+            //All messages in the inbox are read in one batch
+            int[] dataCnt = new int[1];
+            int msgCnt = SimMsgInbox.drain(msgQueue, aMsg -> dataCnt[0] += addOrUpdateDataToKnowledgeBase(aMsg, curTick));
+
             //If there is a received message from the message queue
             if (msgCnt > 0) {
-                timestamp = new Timestamp(System.currentTimeMillis());
-                System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) " +
-                        msgCnt + " messages are read (dataCnt:" + receivedDataList.size() + ")");
-
-                addOrUpdateDataToKnowledgeBase(receivedDataList);
+                if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                    SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) " +
+                            msgCnt + " messages are read (dataCnt:" + dataCnt[0] + ", size of knowledgeBase:" + knowledgeBase.size() + ")");
+                }
             } else {
-                timestamp = new Timestamp(System.currentTimeMillis());
-                System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) no message is read.");
+                if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                    SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + "):readIncomingMsgs) no message is read.");
+                }
             }
         }
 
@@ -153,13 +157,14 @@ public abstract class Constituent extends _SimActionableObject_
 
     /**
      * A method to add or update received msg data to CS's knowledge base
+     * (an entry of the same varId and sender is updated)
      *
-     * @param dataList
+     * @param aMsg received message
+     * @param tick current tick
+     * @return number of data of the message
      */
-    private void addOrUpdateDataToKnowledgeBase(ArrayList<DataVar> dataList) {
-        knowledgeBase.addAll(dataList);
-
-        //TODO: update if it already exists
+    private int addOrUpdateDataToKnowledgeBase(_SimMessage_ aMsg, int tick) {
+        return knowledgeBase.upsertAll(aMsg.getMsgDataList(), aMsg.getSenderId(), tick);
     }
 
     @Override
@@ -172,7 +177,7 @@ public abstract class Constituent extends _SimActionableObject_
             //If aAction is not a MoveAction
             if (aAction instanceof FuncAction) {
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
             //If aAction is MoveAction
@@ -188,21 +193,23 @@ public abstract class Constituent extends _SimActionableObject_
 
                 //TODO: Selection mechanism for CommAction (now: select all communication actions)
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
         }
 
 
         /* Selection of move action (current: random) */
-        if (selectMoveActions(possibleMoveActions) != null) {
-            selectedActionList.addAll(selectMoveActions(possibleMoveActions));
+        ArrayList<_SimAction_> selectedMoveActions = selectMoveActions(possibleMoveActions);
+        if (selectedMoveActions != null) {
+            addAllActionsToSelectedActionList(selectedMoveActions);
         }
 
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + ":post-doDecisionMaking) capableActionList(" +
-                capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + ":post-doDecisionMaking) capableActionList(" +
+                    capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        }
     }
 
 
@@ -216,8 +223,9 @@ public abstract class Constituent extends _SimActionableObject_
 
     @Override
     public ArrayList<SimLogEvent> doAction(_SimAction_ actionObj, int tick) {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doAction) " + actionObj.getActionId() + " is executed.");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doAction) " + actionObj.getActionId() + " is executed.");
+        }
 
         ArrayList<SimLogEvent> actionLogEvents = new ArrayList<>();
 
@@ -258,8 +266,9 @@ public abstract class Constituent extends _SimActionableObject_
                 curStateId = newStateId;
             }
 
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            }
 
             //TODO: Make and add a SimLogEvent to transitionLogEvents
             /*
@@ -287,6 +296,21 @@ public abstract class Constituent extends _SimActionableObject_
     protected abstract void initObjLocation();
 
 
+    /**
+     * The knowledge base is also copied (DataVars are cloned)
+     *
+     * @param targetObj object of a forked model with the same id
+     */
+    @Override
+    public void copyStateTo(_SimObject_ targetObj) {
+        super.copyStateTo(targetObj);
+
+        if (targetObj instanceof Constituent) {
+            ((Constituent) targetObj).knowledgeBase = knowledgeBase != null ? knowledgeBase.copy() : null;
+        }
+    }
+
+
     /* Getters & Setters */
 
 
@@ -305,4 +329,15 @@ public abstract class Constituent extends _SimActionableObject_
     public void setMyOrg(Organization myOrg) {
         this.myOrg = myOrg;
     }
+
+    public KnowledgeBase getKnowledgeBase() {
+        return knowledgeBase;
+    }
+
+    /**
+     * Set a knowledge base (e.g., a bounded KnowledgeBase(capacity, evictionPolicy, maxAge))
+     */
+    public void setKnowledgeBase(KnowledgeBase knowledgeBase) {
+        this.knowledgeBase = knowledgeBase;
+    }
 }
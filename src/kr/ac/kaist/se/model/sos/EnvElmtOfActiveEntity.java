@@ -1,5 +1,8 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.obj._SimActionableObject_;
 import kr.ac.kaist.se.model.abst.state._SimState_;
@@ -36,9 +39,10 @@ public abstract class EnvElmtOfActiveEntity extends _SimActionableObject_
     public RunResult run() {
 
         //TODO: duplicate code (Constituent, SystemEntity, ...)
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + " of " + myEnv.getId() + "):run) size of capableActions:" +
-                capableActionList.size() + " = " + capableActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + " of " + myEnv.getId() + "):run) size of capableActions:" +
+                    capableActionList.size() + " = " + capableActionList);
+        }
 
         // [Communicatable] Before selecting actions, read a message from its message queue
         readIncomingMsgs();
@@ -50,7 +54,7 @@ public abstract class EnvElmtOfActiveEntity extends _SimActionableObject_
         selectActions();
 
 
-        RunResult runResult = new RunResult(this, this.selectedActionList);
+        RunResult runResult = createRunResult();
 //        System.out.println("[" + timestamp + "]  ----------------------------");
 
 
@@ -72,7 +76,7 @@ public abstract class EnvElmtOfActiveEntity extends _SimActionableObject_
             //If aAction is not a MoveAction
             if (aAction instanceof FuncAction) {
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
             //If aAction is MoveAction
@@ -88,21 +92,23 @@ public abstract class EnvElmtOfActiveEntity extends _SimActionableObject_
 
                 //TODO: Selection mechanism for CommAction (now: select all communication actions)
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
         }
 
 
         /* Selection of move action (current: random) */
-        if (selectMoveActions(possibleMoveActions) != null) {
-            selectedActionList.addAll(selectMoveActions(possibleMoveActions));
+        ArrayList<_SimAction_> selectedMoveActions = selectMoveActions(possibleMoveActions);
+        if (selectedMoveActions != null) {
+            addAllActionsToSelectedActionList(selectedMoveActions);
         }
 
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + ":post-doDecisionMaking) capableActionList(" +
-                capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + ":post-doDecisionMaking) capableActionList(" +
+                    capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        }
     }
 
     @Override
@@ -128,8 +134,9 @@ public abstract class EnvElmtOfActiveEntity extends _SimActionableObject_
                 curStateId = newStateId;
             }
 
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            }
 
             //TODO: Make and add a SimLogEvent to transitionLogEvents
             /*
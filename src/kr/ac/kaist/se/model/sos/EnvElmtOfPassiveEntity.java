@@ -1,5 +1,8 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.obj._SimNonActionableObject_;
 import kr.ac.kaist.se.model.abst.state._SimState_;
 import kr.ac.kaist.se.model.intf.Movable;
@@ -49,8 +52,9 @@ public abstract class EnvElmtOfPassiveEntity extends _SimNonActionableObject_
                 curStateId = newStateId;
             }
 
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Constituent:" + this.getClass().getSimpleName() + "(" + id + "):doStateTransition) A state transition (<" + previousStateId + "> -> <" + curStateId + ">) is executed.");
+            }
 
             //TODO: Make and add a SimLogEvent to transitionLogEvents
             /*
@@ -2,6 +2,8 @@ package kr.ac.kaist.se.model.sos;
 
 import kr.ac.kaist.se.model.abst.obj._SimContainerObject_;
 
+import java.util.ArrayList;
+
 /**
  * Abstract class to represent an Environment (Env)
  * (1-tier _SimContainerObject_)
@@ -19,6 +21,14 @@ public abstract class Environment extends _SimContainerObject_ {
 
     protected SoS mySoS;                //SoS that this environment belongs to
 
+    /**
+     * Member lists
+     */
+    //Member active env elements (run by this environment)
+    protected ArrayList<EnvElmtOfActiveEntity> activeEnvElmtList = new ArrayList<>();
+    //Member passive env elements
+    protected ArrayList<EnvElmtOfPassiveEntity> passiveEnvElmtList = new ArrayList<>();
+
     public Environment(SoS simModel, String envId, String envName) {
         this.mySoS = simModel;
 
@@ -46,4 +56,32 @@ public abstract class Environment extends _SimContainerObject_ {
 
         printObjInfo();
     }
+
+    /**
+     * A method to get the earliest wake-up tick of this environment and its active env elements
+     * (passive env elements are not run)
+     *
+     * @param curTick tick from which the next wake-up is searched
+     * @return the earliest wake-up tick (at least curTick), or WAKE_UP_NEVER
+     */
+    @Override
+    public int getNextWakeUpTick(int curTick) {
+        return getNextWakeUpTick(curTick, super.getNextWakeUpTick(curTick), this.activeEnvElmtList);
+    }
+
+    public ArrayList<EnvElmtOfActiveEntity> getActiveEnvElmtList() {
+        return activeEnvElmtList;
+    }
+
+    public void setActiveEnvElmtList(ArrayList<EnvElmtOfActiveEntity> activeEnvElmtList) {
+        this.activeEnvElmtList = activeEnvElmtList;
+    }
+
+    public ArrayList<EnvElmtOfPassiveEntity> getPassiveEnvElmtList() {
+        return passiveEnvElmtList;
+    }
+
+    public void setPassiveEnvElmtList(ArrayList<EnvElmtOfPassiveEntity> passiveEnvElmtList) {
+        this.passiveEnvElmtList = passiveEnvElmtList;
+    }
 }
@@ -62,4 +62,21 @@ public abstract class Infrastructure extends _SimContainerObject_ {
 
         printObjInfo();
     }
+
+    /**
+     * A method to get the earliest wake-up tick of this infrastructure and its member system and service entities
+     * (resource entities are not run)
+     *
+     * @param curTick tick from which the next wake-up is searched
+     * @return the earliest wake-up tick (at least curTick), or WAKE_UP_NEVER
+     */
+    @Override
+    public int getNextWakeUpTick(int curTick) {
+        int nextTick = super.getNextWakeUpTick(curTick);
+
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.systemEntityList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.serviceEntityList);
+
+        return nextTick;
+    }
 }
@@ -1,5 +1,9 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.comm.SimMsgInbox;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.abst.obj._SimContainerObject_;
 import kr.ac.kaist.se.model.intf.Movable;
@@ -8,7 +12,7 @@ import kr.ac.kaist.se.simdata.output.intermediate.UpdateResult;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Abstract class to represent an Orgniazation (Org)
@@ -58,7 +62,7 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
         this.isActivated = true;
         this.isAvailable = true;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         printObjInfo();
 
@@ -77,7 +81,7 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
         this.isActivated = isActivated;
         this.isAvailable = isAvailable;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         printObjInfo();
 
@@ -89,8 +93,9 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
      * Initialization of member lists
      */
     private void initLists() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Organization(" + this.id + "):initLists) Lists are initialized.");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE, "(Organization(" + this.id + "):initLists) Lists are initialized.");
+        }
 
         subOrgList = new ArrayList<>();
         allMemberCSList = new ArrayList<>();
@@ -130,6 +135,32 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
         return runResult;
     }
 
+    /**
+     * A method to run an organization in parallel (see SoS.runInParallel())
+     * Suborganizations and CSs are forked, and their RunResults are joined in the same order as run().
+     *
+     * @return RunResult of this organization
+     */
+    public RunResult runInParallel() {
+        RunResult runResult = new RunResult(this, new ArrayList<>(0));
+
+        ArrayList<ForkJoinTask<RunResult>> subRunTasks = new ArrayList<>();
+
+        for (Organization suborg : this.subOrgList) {
+            subRunTasks.add(ForkJoinTask.adapt(suborg::runInParallel));
+        }
+
+        for (Constituent directCS : this.directCSList) {
+            subRunTasks.add(ForkJoinTask.adapt(directCS::run));
+        }
+
+        for (ForkJoinTask<RunResult> subRunTask : ForkJoinTask.invokeAll(subRunTasks)) {
+            runResult.addSubRunResult(subRunTask.join());
+        }
+
+        return runResult;
+    }
+
     @Override
     public UpdateResult update(RunResult runResult, int tick) {
 
@@ -155,6 +186,22 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
     }
 
 
+    /**
+     * A method to get the earliest wake-up tick of this organization and its members (suborganizations, direct CSs)
+     *
+     * @param curTick tick from which the next wake-up is searched
+     * @return the earliest wake-up tick (at least curTick), or WAKE_UP_NEVER
+     */
+    @Override
+    public int getNextWakeUpTick(int curTick) {
+        int nextTick = super.getNextWakeUpTick(curTick);
+
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.subOrgList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.directCSList);
+
+        return nextTick;
+    }
+
     /**
      * A method to check if a CS is contained in AllMemberCSList
      *
@@ -219,8 +266,9 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
         this.subOrgList.add(subOrg);
         subOrg.setParentOrg(this);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Organization(" + this.id + "):addSubOrg) A sub-organization is added (id: " + subOrg.getId() + ").");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Organization(" + this.id + "):addSubOrg) A sub-organization is added (id: " + subOrg.getId() + ").");
+        }
     }
 
     /**
@@ -234,15 +282,17 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
         subOrg.setParentOrg(this);
         this.getMySoS().addOrg(subOrg);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Organization(" + this.id + "):addSubOrg) A sub-organization is added (id: " + subOrg.getId() + ").");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Organization(" + this.id + "):addSubOrg) A sub-organization is added (id: " + subOrg.getId() + ").");
+        }
     }
 
     public void removeSubOrg(Organization subOrg) {
         this.subOrgList.remove(subOrg);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (Organization(" + this.id + "):removeSubOrg) A sub-organization is removed (id: " + subOrg.getId() + ").");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(Organization(" + this.id + "):removeSubOrg) A sub-organization is removed (id: " + subOrg.getId() + ").");
+        }
     }
 
     /**
@@ -281,8 +331,9 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
 
         //If aCS is already contained in this organization
         else {
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.err.println("[" + timestamp + "] ADD_CS_TO_ORG_FAILED: A CS to be added already exists in this Org (" + aCS.getId() + " in " + this.id + ").");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_CS_TO_ORG_FAILED: A CS to be added already exists in this Org (" + aCS.getId() + " in " + this.id + ").");
+            }
         }
 
     }
@@ -336,8 +387,6 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
 
 
     public void removeCS(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         this.allMemberCSList.remove(aCS);
 
         //If this CS is also contained in the directed CS list,
@@ -370,8 +419,6 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
      * @param aCS a CS to be checked if it is contained in suborgs of this org.
      */
     private void tryToAddDirectCS(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         if (!this.isSubOrgsContainCS(aCS)) {
             this.addCSToDirectCSList(aCS);
         }
@@ -379,14 +426,10 @@ public abstract class Organization extends _SimContainerObject_ implements Movab
 
 
     public void addCSToDirectCSList(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         this.directCSList.add(aCS);
     }
 
     public void removeCSFromDirectCSList(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         this.directCSList.remove(aCS);
     }
 
@@ -1,5 +1,8 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.obj._SimActionableObject_;
 import kr.ac.kaist.se.model.intf.Communicatable;
@@ -23,9 +26,10 @@ public abstract class ServiceEntity extends _SimActionableObject_
     @Override
     public RunResult run() {
         //TODO: Duplicate code (<-> Constituent) (it can differ depending on its implementation)
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + " of " + myInfra.getId() + "):run) size of capableActions:" +
-                capableActionList.size() + " = " + capableActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + " of " + myInfra.getId() + "):run) size of capableActions:" +
+                    capableActionList.size() + " = " + capableActionList);
+        }
 
         // [Communicatable] Before selecting actions, read a message from its message queue
         readIncomingMsgs();
@@ -36,7 +40,7 @@ public abstract class ServiceEntity extends _SimActionableObject_
         //Select actions to execute
         selectActions();
 
-        RunResult runResult = new RunResult(this, this.selectedActionList);
+        RunResult runResult = createRunResult();
 //        System.out.println("[" + timestamp + "]  ----------------------------");
 
         return runResult;
@@ -50,7 +54,7 @@ public abstract class ServiceEntity extends _SimActionableObject_
             //If aAction is not a MoveAction
             if (aAction instanceof FuncAction) {
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
             else if (aAction instanceof CommAction) {
@@ -60,15 +64,16 @@ public abstract class ServiceEntity extends _SimActionableObject_
 
                 //TODO: Selection mechanism for CommAction (now: select all communication actions)
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
         }
 
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (ServiceEntity:" + this.getClass().getSimpleName() + ") capableActionList(" +
-                capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(ServiceEntity:" + this.getClass().getSimpleName() + ") capableActionList(" +
+                    capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        }
 
     }
 }
@@ -1,13 +1,21 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.obj._SimContainerObject_;
 import kr.ac.kaist.se.model.abst.obj._SimObject_;
 import kr.ac.kaist.se.model.sos.geo.SimMap;
 import kr.ac.kaist.se.simdata.output.intermediate.RunResult;
+import kr.ac.kaist.se.simdata.output.intermediate.SimActionBuffer;
 import kr.ac.kaist.se.simdata.output.intermediate.UpdateResult;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Abstract class to represent a System-of-Systems (SoS)
@@ -57,6 +65,18 @@ public abstract class SoS extends _SimContainerObject_ {
     protected ArrayList<ResourceEntity> resourceEntityList;
 
 
+    /**
+     * Registry of member objects
+     */
+    //Hash index (id -> object) of all member objects, kept in sync by add/remove methods
+    protected HashMap<String, _SimObject_> simObjectRegistry;
+    //Version of the registry (incremented whenever an object is registered or unregistered, e.g., to refresh a routing index)
+    protected int simObjectRegistryVersion = 0;
+
+    //Current tick of a simulation (set by SimEngine at the beginning of each tick)
+    protected int curTick = 0;
+
+
     public SoS(String sosId, String sosName) {
         this.id = sosId;
         this.name = sosName;
@@ -77,8 +97,9 @@ public abstract class SoS extends _SimContainerObject_ {
      * Initialization of member lists
      */
     private void initLists() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SoS(" + this.id + "):initLists) Lists are initialized.");
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.TRACE, "(SoS(" + this.id + "):initLists) Lists are initialized.");
+        }
 
         orgList = new ArrayList<>();
         infraList = new ArrayList<>();
@@ -87,6 +108,9 @@ public abstract class SoS extends _SimContainerObject_ {
         csList = new ArrayList<>();
 
         systemEntityList = new ArrayList<>();
+
+        simObjectRegistry = new HashMap<>();
+        simObjectRegistry.put(this.id, this);
     }
 
 
@@ -138,6 +162,44 @@ public abstract class SoS extends _SimContainerObject_ {
         return runResult;
     }
 
+    /**
+     * A method to run a simulation model (SoS) in parallel.
+     * Member containers are forked as ForkJoinTasks, and their RunResults are joined
+     * in the same order as run() (env -> infra -> org),
+     * so the RunResult tree is identical to the one of a sequential run.
+     * This method should be invoked by a task of a ForkJoinPool (see SimEngine).
+     *
+     * @return RunResult of this SoS
+     */
+    public RunResult runInParallel() {
+        RunResult runResult = new RunResult(this, new ArrayList<>(0));
+
+        ArrayList<ForkJoinTask<RunResult>> subRunTasks = new ArrayList<>();
+
+        /* Running order: env -> infra -> org*/
+        for (Environment env : this.envList) {
+            subRunTasks.add(ForkJoinTask.adapt(env::run));
+        }
+
+        for (Infrastructure infra : this.infraList) {
+            subRunTasks.add(ForkJoinTask.adapt(infra::run));
+        }
+
+        for (Organization org : this.orgList) {
+            //Only if the organization is the top-level organization
+            if (org.parentOrg == null) {
+                subRunTasks.add(ForkJoinTask.adapt(org::runInParallel));
+            }
+        }
+
+        //Results are merged in the order of forked tasks (deterministic)
+        for (ForkJoinTask<RunResult> subRunTask : ForkJoinTask.invokeAll(subRunTasks)) {
+            runResult.addSubRunResult(subRunTask.join());
+        }
+
+        return runResult;
+    }
+
     @Override
     public UpdateResult update(RunResult runResult, int tick) {
 //        timestamp = new Timestamp(System.currentTimeMillis());
@@ -172,127 +234,175 @@ public abstract class SoS extends _SimContainerObject_ {
         return updateResult;
     }
 
+    /**
+     * A method to fill a (reused) SimActionBuffer with the actions of a RunResult of this SoS.
+     * Selected actions of all RunResults are added in the order of the RunResult tree
+     * (actions of a subject in the order of its selection).
+     *
+     * @param runResult    RunResult of this SoS (returned by run() or runInParallel())
+     * @param actionBuffer buffer to be filled (cleared first)
+     * @return the filled buffer
+     */
+    public SimActionBuffer fillActionBuffer(RunResult runResult, SimActionBuffer actionBuffer) {
+        actionBuffer.clear(runResult);
+        addRunResultToActionBuffer(runResult, actionBuffer);
+
+        return actionBuffer;
+    }
+
+    private void addRunResultToActionBuffer(RunResult runResult, SimActionBuffer actionBuffer) {
+        actionBuffer.addAll(runResult);
+        for (RunResult subRunResult : runResult.getSubRunResults()) {
+            addRunResultToActionBuffer(subRunResult, actionBuffer);
+        }
+    }
+
+    /**
+     * A method to update this SoS with the actions remaining in a SimActionBuffer (see fillActionBuffer(..)).
+     * Actions removed from the buffer (e.g., CommActions whose messages are sent) are not executed,
+     * and the remaining actions are executed through update(..) of their subjects, as update(RunResult, ..) does
+     * (each subject executes its actions in its own order).
+     *
+     * @param actionBuffer actions allowed to be executed in the current tick
+     * @param tick         current tick
+     * @return UpdateResult (log events)
+     */
+    public UpdateResult update(SimActionBuffer actionBuffer, int tick) {
+        return update(actionBuffer.getRunResult(), tick);
+    }
+
+    /**
+     * A method to get the earliest wake-up tick of this SoS and its member objects
+     * (environments, infrastructures, organizations, constituents, system and service entities).
+     * The own wake-up tick of the SoS is considered only if it is set by a model (see _SimContainerObject_).
+     *
+     * @param curTick tick from which the next wake-up is searched
+     * @return the earliest wake-up tick (at least curTick), or WAKE_UP_NEVER
+     */
+    @Override
+    public int getNextWakeUpTick(int curTick) {
+        int nextTick = super.getNextWakeUpTick(curTick);
+
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.envList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.infraList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.orgList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.csList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.systemEntityList);
+        nextTick = getNextWakeUpTick(curTick, nextTick, this.serviceEntityList);
+
+        return nextTick;
+    }
+
     /**
      * A method to print SoS model information.
      * This method prints out all objects included in this SoS.
      */
     protected void printModelInfo() {
-        timestamp = new Timestamp(System.currentTimeMillis());
+        if (!SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.INFO)) {
+            return;
+        }
 
         int orgCount = 0;
         int infraCount = 0;
         int envCount = 0;
         int csCount = 0;
 
-        System.out.println("[" + timestamp + "] ┌─ Simulation Model ───────────────────────────────────────────────┐");
-        System.out.println("[" + timestamp + "]  - SoS(" + this.id + ")");
-        System.out.print("[" + timestamp + "]    > [numOfOrgs: " + orgList.size() + "] ");
+        StringBuilder modelInfo = new StringBuilder();
+
+        modelInfo.append("┌─ Simulation Model ───────────────────────────────────────────────┐\n");
+        modelInfo.append(" - SoS(").append(this.id).append(")\n");
+        modelInfo.append("   > [numOfOrgs: ").append(orgList.size()).append("] ");
         for (Organization org : orgList) {
-            System.out.print(org.getId() + ", ");
+            modelInfo.append(org.getId()).append(", ");
         }
-        System.out.println();
-        System.out.print("[" + timestamp + "]    > [numOfCSs: " + csList.size() + "] ");
+        modelInfo.append("\n");
+        modelInfo.append("   > [numOfCSs: ").append(csList.size()).append("] ");
         for (Constituent cs : csList) {
-            System.out.print(cs.getId() + ", ");
+            modelInfo.append(cs.getId()).append(", ");
         }
-        System.out.println();
-        System.out.println("[" + timestamp + "]    > [numOfInfras: " + infraList.size() + "] ");
-        System.out.println("[" + timestamp + "]    > [numOfEnvs: " + envList.size() + "] ");
-        System.out.println("[" + timestamp + "]  ===================================================================");
-        System.out.println("[" + timestamp + "]  - " + orgList.size() + " Organization(s)");
+        modelInfo.append("\n");
+        modelInfo.append("   > [numOfInfras: ").append(infraList.size()).append("] \n");
+        modelInfo.append("   > [numOfEnvs: ").append(envList.size()).append("] \n");
+        modelInfo.append(" ===================================================================\n");
+        modelInfo.append(" - ").append(orgList.size()).append(" Organization(s)\n");
 
         for (Organization org : orgList) {
-            if (org.parentOrg == null) printOrgsRecursively(org, 0);
+            if (org.parentOrg == null) printOrgsRecursively(modelInfo, org, 0);
         }
 
-        System.out.println("[" + timestamp + "]  ===================================================================");
-        System.out.println("[" + timestamp + "]  - " + csList.size() + " Constituent(s)");
+        modelInfo.append(" ===================================================================\n");
+        modelInfo.append(" - ").append(csList.size()).append(" Constituent(s)\n");
         for (Constituent cs : csList) {
-            System.out.print("[" + timestamp + "]    > [" + csCount + ":" + cs.getId());
+            modelInfo.append("   > [").append(csCount).append(":").append(cs.getId());
             if (cs.getMyOrg() != null) {
-                System.out.print(" | belongs to:" + cs.getMyOrg().getId());
+                modelInfo.append(" | belongs to:").append(cs.getMyOrg().getId());
             } else {
-                System.out.print(" | UNAFFILIATED");
+                modelInfo.append(" | UNAFFILIATED");
             }
-            System.out.println(
-                    " | aff:" + cs.getMySoS().getId() +
-                            " | (" + cs.isStatic() + "," + cs.isActivated() + "," + cs.isAvailable() + ")" +
-                            "] ");
+            modelInfo.append(" | aff:").append(cs.getMySoS().getId())
+                    .append(" | (").append(cs.isStatic()).append(",").append(cs.isActivated()).append(",").append(cs.isAvailable()).append(")")
+                    .append("] \n");
             csCount++;
         }
-        System.out.println("[" + timestamp + "]  ===================================================================");
-        System.out.println("[" + timestamp + "]  - " + infraList.size() + " Infrastructure(s) ");
+        modelInfo.append(" ===================================================================\n");
+        modelInfo.append(" - ").append(infraList.size()).append(" Infrastructure(s) \n");
         for (Infrastructure infra : infraList) {
-            System.out.println("[" + timestamp + "]    > [" + infraCount + ":" + infra.getId() + "] ");
+            modelInfo.append("   > [").append(infraCount).append(":").append(infra.getId()).append("] \n");
             infraCount++;
         }
-        System.out.println("[" + timestamp + "]  ===================================================================");
-        System.out.println("[" + timestamp + "]  - " + envList.size() + " Environment(s) ");
+        modelInfo.append(" ===================================================================\n");
+        modelInfo.append(" - ").append(envList.size()).append(" Environment(s) \n");
         for (Environment env : envList) {
-            System.out.println("[" + timestamp + "]    > [" + envCount + ":" + env.getId() + "] ");
+            modelInfo.append("   > [").append(envCount).append(":").append(env.getId()).append("] \n");
             envCount++;
         }
-//        System.out.println("[" + timestamp + "]  - " + .size() + " Map ");
-        System.out.println("[" + timestamp + "] └───────────────────────────────────────────────────────────────────┘");
+        modelInfo.append("└───────────────────────────────────────────────────────────────────┘");
+
+        //Every line is printed with the same timestamp
+        SimTracer.traceLines(EnumTraceSubsystem.MODEL, EnumTraceLevel.INFO, modelInfo.toString());
     }
 
 
     /**
      * A method to print member organizations recursively.
      *
-     * @param org   An organization to be printed
-     * @param depth Depths of organizations (for recursive execution)
+     * @param modelInfo A buffer where the information of organizations is appended
+     * @param org       An organization to be printed
+     * @param depth     Depths of organizations (for recursive execution)
      */
-    private void printOrgsRecursively(Organization org, int depth) {
+    private void printOrgsRecursively(StringBuilder modelInfo, Organization org, int depth) {
 
-        //System.out.println("parent: " + org.getParentOrg());
-
-        System.out.print("[" + timestamp + "]    ");
-        for (int i = 0; i < depth; i++) {
-            System.out.print("  ");
-        }
-        System.out.print("------------------------------------\n");
+        String indent = "  ".repeat(depth);
 
-        System.out.print("[" + timestamp + "]    ");
-        for (int i = 0; i < depth; i++) {
-            System.out.print("  ");
-        }
+        modelInfo.append("   ").append(indent).append("------------------------------------\n");
 
         org.setOrgDepth(depth);
 
-        System.out.print("> [" + org.getId() +
-                " | depth(" + org.getOrgDepth() + ") " +
-                " | suborg size:" + org.subOrgList.size() +
-                " | all-member size:" + org.getAllMemberCSList().size() +
-                " | direct-member size:" + org.getDirectCSList().size() + "] \n");
+        modelInfo.append("   ").append(indent).append("> [").append(org.getId())
+                .append(" | depth(").append(org.getOrgDepth()).append(") ")
+                .append(" | suborg size:").append(org.subOrgList.size())
+                .append(" | all-member size:").append(org.getAllMemberCSList().size())
+                .append(" | direct-member size:").append(org.getDirectCSList().size()).append("] \n");
 
 
         /* All Member CSs */
-        System.out.print("[" + timestamp + "]    ");
-        for (int i = 0; i < depth; i++) {
-            System.out.print("  ");
-        }
-        System.out.print("└> All Members: ");
+        modelInfo.append("   ").append(indent).append("└> All Members: ");
         for (Constituent memberCS : org.allMemberCSList) {
-            System.out.print("[" + memberCS.getId() + "] ");
+            modelInfo.append("[").append(memberCS.getId()).append("] ");
         }
-        System.out.print("\n");
+        modelInfo.append("\n");
 
         /* Direct CSs */
-        System.out.print("[" + timestamp + "]    ");
-        for (int i = 0; i < depth; i++) {
-            System.out.print("  ");
-        }
-        System.out.print("└> Direct Members: ");
+        modelInfo.append("   ").append(indent).append("└> Direct Members: ");
         for (Constituent memberCS : org.directCSList) {
-            System.out.print("[" + memberCS.getId() + "] ");
+            modelInfo.append("[").append(memberCS.getId()).append("] ");
         }
-        System.out.print("\n");
+        modelInfo.append("\n");
 
 
         if (org.subOrgList.size() != 0) {
             for (Organization aOrg : org.subOrgList) {
-                printOrgsRecursively(aOrg, depth + 1);
+                printOrgsRecursively(modelInfo, aOrg, depth + 1);
             }
         }
 
@@ -307,40 +417,108 @@ public abstract class SoS extends _SimContainerObject_ {
      * @return object that has the given id
      */
     public _SimObject_ getMemberSimObjectById(String objId) {
+        //If any object is not found, null is returned.
+        return simObjectRegistry.get(objId);
+    }
 
-        //SoS
-        if (this.id.equals(objId)) {
-            return this;
-        }
+
+    /**
+     * A method to rebuild the registry of member objects from member lists.
+     * This method should be called if member lists are modified without add/remove methods.
+     */
+    public void rebuildSimObjectRegistry() {
+        simObjectRegistry.clear();
+        simObjectRegistry.put(this.id, this);
 
         for (Organization org : orgList) {
-            if (org.getId().equals(objId)) {
-                return org;
-            }
+            simObjectRegistry.putIfAbsent(org.getId(), org);
         }
         for (Infrastructure infra : infraList) {
-            if (infra.getId().equals(objId)) {
-                return infra;
-            }
+            simObjectRegistry.putIfAbsent(infra.getId(), infra);
         }
         for (Environment env : envList) {
-            if (env.getId().equals(objId)) {
-                return env;
-            }
+            simObjectRegistry.putIfAbsent(env.getId(), env);
         }
         for (Constituent cs : csList) {
-            if (cs.getId().equals(objId)) {
-                return cs;
-            }
+            simObjectRegistry.putIfAbsent(cs.getId(), cs);
         }
         for (SystemEntity systemEntity : systemEntityList) {
-            if (systemEntity.getId().equals(objId)) {
-                return systemEntity;
+            simObjectRegistry.putIfAbsent(systemEntity.getId(), systemEntity);
+        }
+        simObjectRegistryVersion++;
+    }
+
+    /**
+     * A method to add an object to the registry
+     *
+     * @param aObj an object to be added to the registry
+     */
+    private void registerSimObject(_SimObject_ aObj) {
+        simObjectRegistry.put(aObj.getId(), aObj);
+        simObjectRegistryVersion++;
+    }
+
+    /**
+     * A method to remove an object from the registry,
+     * only if the id is registered by the given object.
+     *
+     * @param aObj an object to be removed from the registry
+     */
+    private void unregisterSimObject(_SimObject_ aObj) {
+        if (simObjectRegistry.remove(aObj.getId(), aObj)) {
+            simObjectRegistryVersion++;
+        }
+    }
+
+
+    /**
+     * A method to fork this model at its current state (e.g., for what-if branches of a simulation).
+     * The branch model should be a newly constructed model with the same structure as this model
+     * (e.g., created by the same SimModelFactory), since only dynamic states are copied:
+     * states of member objects are copied into the objects with the same ids (_SimObject_.copyStateTo(..)),
+     * and the map is forked copy-on-write (SimMap.fork()), thus unchanged map data is shared by branches.
+     * After forking, this model and the branch model can be simulated concurrently on different threads.
+     *
+     * @param branchModel a model with the same structure as this model
+     * @return the branch model
+     */
+    public SoS fork(SoS branchModel) {
+        for (_SimObject_ aObj : simObjectRegistry.values()) {
+            _SimObject_ branchObj = branchModel.getMemberSimObjectById(aObj.getId());
+
+            if (branchObj == null) {
+                if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.WARN)) {
+                    SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.WARN, "(SoS:fork) An object is not found in the branch model (ignored): " + aObj.getId());
+                }
+            } else if (branchObj.getClass() != aObj.getClass()) {
+                if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.WARN)) {
+                    SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.WARN, "(SoS:fork) An object of another class is found in the branch model (ignored): " + aObj.getId());
+                }
+            } else {
+                aObj.copyStateTo(branchObj);
             }
         }
 
-        //If any object is not found, null is returned.
-        return null;
+        if (sosMap != null) {
+            branchModel.setSosMap(sosMap.fork());
+        }
+
+        return branchModel;
+    }
+
+
+    /**
+     * A method to assign log subject indexes (1, 2, ...) to member objects (including this SoS) in the order of their ids,
+     * so that ids of log events (see SimLogEventId) are unique in this model and do not depend on the order of construction.
+     */
+    public void assignLogSubjectIndexes() {
+        ArrayList<String> objIds = new ArrayList<>(simObjectRegistry.keySet());
+        Collections.sort(objIds);
+
+        int logSubjectIndex = 0;
+        for (String objId : objIds) {
+            simObjectRegistry.get(objId).setLogSubjectIndex(++logSubjectIndex);
+        }
     }
 
 
@@ -390,12 +568,14 @@ public abstract class SoS extends _SimContainerObject_ {
      */
 
     public void addOrg(Organization aOrg) {
-        timestamp = new Timestamp(System.currentTimeMillis());
 
         if (!isDuplicateId(aOrg.getId())) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):addOrg) An Organization object is successfully added (id: " + aOrg.getId() + ").");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):addOrg) An Organization object is successfully added (id: " + aOrg.getId() + ").");
+            }
 
             orgList.add(aOrg);
+            registerSimObject(aOrg);
 
             //Add member CSs into csList of an SoS automatically
             for (Constituent cs : aOrg.getDirectCSList()) {
@@ -409,100 +589,138 @@ public abstract class SoS extends _SimContainerObject_ {
                 }
             }
         } else {
-            System.err.println("[" + timestamp + "] ADD_ORG_TO_SOS_FAILED: (SoS(" + this.id + "):addOrg) An Organization object is failed to be added.");
-            System.err.println("[" + timestamp + "] ADD_ORG_TO_SOS_FAILED: (SoS(" + this.id + "):addOrg) aOrg(id): " + aOrg + "(" + aOrg.getId() + "), isDuplicateId: " + isDuplicateId(aOrg.getId()));
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_ORG_TO_SOS_FAILED: (SoS(" + this.id + "):addOrg) An Organization object is failed to be added.");
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_ORG_TO_SOS_FAILED: (SoS(" + this.id + "):addOrg) aOrg(id): " + aOrg + "(" + aOrg.getId() + "), isDuplicateId: " + isDuplicateId(aOrg.getId()));
+            }
         }
     }
 
 
     public void removeOrg(Organization aOrg) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (orgList.remove(aOrg) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):removeOrg) An Organization object is successfully removed (id: " + aOrg.getId() + ").");
+            unregisterSimObject(aOrg);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):removeOrg) An Organization object is successfully removed (id: " + aOrg.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] REMOVE_ORG_FROM_SOS_FAILED: (SoS(" + this.id + "):removeOrg) An Organization object is failed to be removed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "REMOVE_ORG_FROM_SOS_FAILED: (SoS(" + this.id + "):removeOrg) An Organization object is failed to be removed.");
+            }
 
         }
     }
 
     public void addInfra(Infrastructure aInfra) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (!isDuplicateId(aInfra.getId()) && infraList.add(aInfra) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):addInfra) An Infrastructure object is successfully added (id: " + aInfra.getId() + ").");
+            registerSimObject(aInfra);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):addInfra) An Infrastructure object is successfully added (id: " + aInfra.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] ADD_INFRA_TO_SOS_FAILED: (SoS(" + this.id + "):addInfra) An Infrastructure object is failed to be added.");
-            System.err.println("[" + timestamp + "] ADD_INFRA_TO_SOS_FAILED: (SoS(" + this.id + "):addInfra) aInfra(id): " + aInfra + "(" + aInfra.getId() + "), isDuplicateId: " + isDuplicateId(aInfra.getId()));
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_INFRA_TO_SOS_FAILED: (SoS(" + this.id + "):addInfra) An Infrastructure object is failed to be added.");
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_INFRA_TO_SOS_FAILED: (SoS(" + this.id + "):addInfra) aInfra(id): " + aInfra + "(" + aInfra.getId() + "), isDuplicateId: " + isDuplicateId(aInfra.getId()));
+            }
         }
     }
 
     public void removeInfra(Infrastructure aInfra) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (infraList.remove(aInfra) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):removeInfra) An Infrastructure object is successfully removed (id: " + aInfra.getId() + ").");
+            unregisterSimObject(aInfra);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):removeInfra) An Infrastructure object is successfully removed (id: " + aInfra.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] REMOVE_INFRA_FROM_SOS_FAILED: (SoS(" + this.id + "):removeInfra) An Infrastructure object is failed to be removed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "REMOVE_INFRA_FROM_SOS_FAILED: (SoS(" + this.id + "):removeInfra) An Infrastructure object is failed to be removed.");
+            }
 
         }
     }
 
     public void addEnv(Environment aEnv) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (!isDuplicateId(aEnv.getId()) && envList.add(aEnv) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):addEnv) An Environment object is successfully added (id: " + aEnv.getId() + ").");
+            registerSimObject(aEnv);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):addEnv) An Environment object is successfully added (id: " + aEnv.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] ADD_ENV_TO_SOS_FAILED: (SoS(" + this.id + "):addEnv) An Environment object is failed to be added.");
-            System.err.println("[" + timestamp + "] ADD_ENV_TO_SOS_FAILED: (SoS(" + this.id + "):addEnv) aEnv(id): " + aEnv + "(" + aEnv.getId() + "), isDuplicateId: " + isDuplicateId(aEnv.getId()));
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_ENV_TO_SOS_FAILED: (SoS(" + this.id + "):addEnv) An Environment object is failed to be added.");
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_ENV_TO_SOS_FAILED: (SoS(" + this.id + "):addEnv) aEnv(id): " + aEnv + "(" + aEnv.getId() + "), isDuplicateId: " + isDuplicateId(aEnv.getId()));
+            }
         }
     }
 
     public void removeEnv(Environment aEnv) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (envList.remove(aEnv) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):removeEnv) An Environment object is successfully removed (id: " + aEnv.getId() + ").");
+            unregisterSimObject(aEnv);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):removeEnv) An Environment object is successfully removed (id: " + aEnv.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] REMOVE_ENV_FROM_SOS_FAILED: (SoS(" + this.id + "):removeEnv) An Environment object is failed to be removed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "REMOVE_ENV_FROM_SOS_FAILED: (SoS(" + this.id + "):removeEnv) An Environment object is failed to be removed.");
+            }
 
         }
     }
 
     public void addCS(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (!isDuplicateId(aCS.getId())) {
             csList.add(aCS);
+            registerSimObject(aCS);
             aCS.setMySoS(this);
 
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):addCS) An Constituent object is successfully added (id: " + aCS.getId() + ").");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):addCS) An Constituent object is successfully added (id: " + aCS.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] ADD_CS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) An Constituent object is failed to be added.");
-            System.err.println("[" + timestamp + "] ADD_CS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) aCS(id): " + aCS + "(" + aCS.getId() + "), isDuplicateId: " + isDuplicateId(aCS.getId()));
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_CS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) An Constituent object is failed to be added.");
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_CS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) aCS(id): " + aCS + "(" + aCS.getId() + "), isDuplicateId: " + isDuplicateId(aCS.getId()));
+            }
         }
     }
 
     public void removeCS(Constituent aCS) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (csList.remove(aCS) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):removeCS) An Constituent object is successfully removed (id: " + aCS.getId() + ").");
+            unregisterSimObject(aCS);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):removeCS) An Constituent object is successfully removed (id: " + aCS.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] REMOVE_CS_FROM_SOS_FAILED: (SoS(" + this.id + "):removeCS) An Constituent object is failed to be removed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "REMOVE_CS_FROM_SOS_FAILED: (SoS(" + this.id + "):removeCS) An Constituent object is failed to be removed.");
+            }
         }
     }
 
     public void addSystemEntity(SystemEntity aSystemEntity) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (!isDuplicateId(aSystemEntity.getId()) && systemEntityList.add(aSystemEntity) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):addCS) An SystemEntity object is successfully added (id: " + aSystemEntity.getId() + ").");
+            registerSimObject(aSystemEntity);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):addCS) An SystemEntity object is successfully added (id: " + aSystemEntity.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] ADD_SYS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) An SystemEntity object is failed to be added.");
-            System.err.println("[" + timestamp + "] ADD_SYS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) aSystemEntity(id): " + aSystemEntity + "(" + aSystemEntity.getId() + "), isDuplicateId: " + isDuplicateId(aSystemEntity.getId()));
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_SYS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) An SystemEntity object is failed to be added.");
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "ADD_SYS_TO_SOS_FAILED: (SoS(" + this.id + "):addCS) aSystemEntity(id): " + aSystemEntity + "(" + aSystemEntity.getId() + "), isDuplicateId: " + isDuplicateId(aSystemEntity.getId()));
+            }
         }
     }
 
     public void removeSystemEntity(SystemEntity aSystemEntity) {
-        timestamp = new Timestamp(System.currentTimeMillis());
         if (systemEntityList.remove(aSystemEntity) == true) {
-            System.out.println("[" + timestamp + "] (SoS(" + this.id + "):removeCS) An SystemEntity object is successfully removed (id: " + aSystemEntity.getId() + ").");
+            unregisterSimObject(aSystemEntity);
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SoS(" + this.id + "):removeCS) An SystemEntity object is successfully removed (id: " + aSystemEntity.getId() + ").");
+            }
         } else {
-            System.err.println("[" + timestamp + "] REMOVE_SYS_FROM_SOS_FAILED: (SoS(" + this.id + "):removeCS) An SystemEntity object is failed to be removed.");
+            if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR)) {
+                SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.ERROR, "REMOVE_SYS_FROM_SOS_FAILED: (SoS(" + this.id + "):removeCS) An SystemEntity object is failed to be removed.");
+            }
         }
     }
 
@@ -515,6 +733,7 @@ public abstract class SoS extends _SimContainerObject_ {
 
     public void setOrgList(ArrayList<Organization> orgList) {
         this.orgList = orgList;
+        rebuildSimObjectRegistry();
     }
 
     public ArrayList<Infrastructure> getInfraList() {
@@ -523,6 +742,7 @@ public abstract class SoS extends _SimContainerObject_ {
 
     public void setInfraList(ArrayList<Infrastructure> infraList) {
         this.infraList = infraList;
+        rebuildSimObjectRegistry();
     }
 
     public ArrayList<Environment> getEnvList() {
@@ -531,6 +751,7 @@ public abstract class SoS extends _SimContainerObject_ {
 
     public void setEnvList(ArrayList<Environment> envList) {
         this.envList = envList;
+        rebuildSimObjectRegistry();
     }
 
     public ArrayList<Constituent> getCsList() {
@@ -539,6 +760,7 @@ public abstract class SoS extends _SimContainerObject_ {
 
     public void setCsList(ArrayList<Constituent> csList) {
         this.csList = csList;
+        rebuildSimObjectRegistry();
     }
 
     public ArrayList<SystemEntity> getSystemEntityList() {
@@ -547,6 +769,7 @@ public abstract class SoS extends _SimContainerObject_ {
 
     public void setSystemEntityList(ArrayList<SystemEntity> systemEntityList) {
         this.systemEntityList = systemEntityList;
+        rebuildSimObjectRegistry();
     }
 
     public SimMap getSosMap() {
@@ -556,4 +779,24 @@ public abstract class SoS extends _SimContainerObject_ {
     public void setSosMap(SimMap sosMap) {
         this.sosMap = sosMap;
     }
+
+    /**
+     * Get the registry of member objects (id -> object), including this SoS
+     * (the registry should not be modified directly; use add/remove methods)
+     */
+    public Map<String, _SimObject_> getSimObjectRegistry() {
+        return Collections.unmodifiableMap(simObjectRegistry);
+    }
+
+    public int getSimObjectRegistryVersion() {
+        return simObjectRegistryVersion;
+    }
+
+    public int getCurTick() {
+        return curTick;
+    }
+
+    public void setCurTick(int curTick) {
+        this.curTick = curTick;
+    }
 }
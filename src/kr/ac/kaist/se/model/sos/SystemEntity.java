@@ -1,6 +1,10 @@
 package kr.ac.kaist.se.model.sos;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.abst.comm.SimMsgInbox;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.abst.obj._SimActionableObject_;
 import kr.ac.kaist.se.model.intf.Communicatable;
@@ -13,7 +17,6 @@ import kr.ac.kaist.se.simdata.output.intermediate.RunResult;
 
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.LinkedList;
 
 /**
  * Abstract class to represent a system (or system-based entity).
@@ -49,7 +52,7 @@ public abstract class SystemEntity extends _SimActionableObject_
         //A system entity is a stateful object
         this.isStateful = true;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         printObjInfo();
     }
@@ -69,7 +72,7 @@ public abstract class SystemEntity extends _SimActionableObject_
         //A system entity is a stateful object
         this.isStateful = true;
 
-        msgQueue = new LinkedList<_SimMessage_>();
+        msgQueue = new SimMsgInbox();
 
         printObjInfo();
     }
@@ -77,9 +80,10 @@ public abstract class SystemEntity extends _SimActionableObject_
     @Override
     public RunResult run() {
         //TODO: Duplicate code (<-> Constituent) (it can differ depending on its implementation)
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (" + this.getClass().getSimpleName() + "(" + id + " of " + myInfra.getId() + "):run) size of capableActions:" +
-                capableActionList.size() + " = " + capableActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(" + this.getClass().getSimpleName() + "(" + id + " of " + myInfra.getId() + "):run) size of capableActions:" +
+                    capableActionList.size() + " = " + capableActionList);
+        }
 
         // [Communicatable] Before selecting actions, read a message from its message queue
         readIncomingMsgs();
@@ -90,7 +94,7 @@ public abstract class SystemEntity extends _SimActionableObject_
         //Select actions to execute
         selectActions();
 
-        RunResult runResult = new RunResult(this, this.selectedActionList);
+        RunResult runResult = createRunResult();
 //        System.out.println("[" + timestamp + "]  ----------------------------");
 
         return runResult;
@@ -107,7 +111,7 @@ public abstract class SystemEntity extends _SimActionableObject_
             //If aAction is not a MoveAction
             if (aAction instanceof FuncAction) {
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
             //If aAction is MoveAction
@@ -123,19 +127,21 @@ public abstract class SystemEntity extends _SimActionableObject_
 
                 //TODO: Selection mechanism for CommAction (now: select all communication actions)
                 if (aAction.checkPrecondition()) {
-                    selectedActionList.add(aAction);
+                    addActionToSelectedActionList(aAction);
                 }
             }
         }
 
         /* Selection of move action (current: random) */
-        if (selectMoveActions(possibleMoveActions) != null) {
-            selectedActionList.addAll(selectMoveActions(possibleMoveActions));
+        ArrayList<_SimAction_> selectedMoveActions = selectMoveActions(possibleMoveActions);
+        if (selectedMoveActions != null) {
+            addAllActionsToSelectedActionList(selectedMoveActions);
         }
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (SystemEntity:" + this.getClass().getSimpleName() + ") capableActionList(" +
-                capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        if (SimTracer.isOn(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MODEL, EnumTraceLevel.DEBUG, "(SystemEntity:" + this.getClass().getSimpleName() + ") capableActionList(" +
+                    capableActionList.size() + "), selectedActionList(" + selectedActionList.size() + ") = " + selectedActionList);
+        }
 
     }
 
@@ -1,5 +1,8 @@
 package kr.ac.kaist.se.model.sos.cap;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
@@ -51,7 +54,9 @@ public class CommAction extends _SimAction_ {
     public boolean checkPrecondition() {
 
         boolean isSenderAvailable = (actionSubject.getId() != null && accessibleSoS.getMemberSimObjectById(actionSubject.getId()) != null);
-        boolean isReceiverAvailable = (message.getReceiverId() != null && accessibleSoS.getMemberSimObjectById(message.getReceiverId()) != null);
+        //Receivers of a multicast message are resolved when it is delivered (SimMessageBus)
+        boolean isReceiverAvailable = message.isMulticast() ||
+                (message.getReceiverId() != null && accessibleSoS.getMemberSimObjectById(message.getReceiverId()) != null);
 
         //TODO: Edit checkPrecondition phrase
         return isSenderAvailable && isReceiverAvailable && message.isSendable();
@@ -65,17 +70,19 @@ public class CommAction extends _SimAction_ {
         actionLogEvents.clear();
 
         //Send a message
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (CommAction:executeAction) message[" +
-                message.getMsgId() + "|" +
-                message.getMsgTag() + "|" +
-                message.getMsgType() + "|" +
-                message.getSenderId() + "->" +
-                message.getReceiverId() + "|" +
-                message.getMsgDataList() + "]");
+        if (SimTracer.isOn(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.COMM, EnumTraceLevel.DEBUG, "(CommAction:executeAction) message[" +
+                    message.getMsgId() + "|" +
+                    message.getMsgTag() + "|" +
+                    message.getMsgType() + "|" +
+                    message.getSenderId() + "->" +
+                    (message.isMulticast() ? "[" + message.getMsgRoute() + "]" : message.getReceiverId()) + "|" +
+                    message.getMsgDataList() + "]");
+        }
 
         //Generate LogEvent
-        actionLogEvents.add(new SimLogEvent(actionSubject.getLogEventIdAutomatically(this),
+        actionLogEvents.add(new SimLogEvent(actionSubject.nextLogEventId(),
+                getClass().getSimpleName(),
                 EnumEventType.COMMUNICATION,
                 new Timestamp(System.currentTimeMillis()),
                 tick,
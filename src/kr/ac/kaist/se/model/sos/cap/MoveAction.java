@@ -1,6 +1,9 @@
 package kr.ac.kaist.se.model.sos.cap;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
 import kr.ac.kaist.se.controller.util.MapKeyManager;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
 import kr.ac.kaist.se.model.abst.obj._SimActionableObject_;
@@ -204,15 +207,20 @@ public class MoveAction extends _SimAction_ {
      * @param objLocation A given ObjectLocation object
      */
     private void printLocation(ObjectLocation objLocation) {
-        System.out.print("(");
+        if (!SimTracer.isOn(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG)) {
+            return;
+        }
+
+        StringBuilder location = new StringBuilder("(");
         int index = 0;
         for (DimVar dimVar : objLocation.getObjLocDimVars()) {
-            System.out.print(dimVar.getDataCurValue());
+            location.append(dimVar.getDataCurValue());
             if (index++ < objLocation.getObjLocDimVars().size() - 1) {
-                System.out.print(",");
+                location.append(",");
             }
         }
-        System.out.print(")");
+        location.append(")");
+        SimTracer.print(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG, location.toString());
     }
 
 
@@ -220,16 +228,20 @@ public class MoveAction extends _SimAction_ {
      * Print allowed dimensions of this move action
      */
     private void printAllowedDims() {
+        if (!SimTracer.isOn(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG)) {
+            return;
+        }
 
-        System.out.print("(allowedDims: ");
+        StringBuilder dims = new StringBuilder("(allowedDims: ");
         int index = 0;
         for (DimVar dimVar : allowedDims) {
-            System.out.print(dimVar.getVarId() + "(" + ")");
+            dims.append(dimVar.getVarId()).append("(").append(")");
             if (index++ < allowedDims.size() - 1) {
-                System.out.print(",");
+                dims.append(",");
             }
         }
-        System.out.println(")");
+        dims.append(")");
+        SimTracer.println(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG, dims.toString());
     }
 
 
@@ -237,25 +249,30 @@ public class MoveAction extends _SimAction_ {
      * Print information about the creation of this MoveAction
      */
     private void printMoveActionCreation() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (MoveAction) A MoveAction is initialized: (" +
-                (this instanceof MoveAction) + ", " +
-                (this.getClass().getSimpleName()) + ") " +
-                accessibleSoS.getId() + " | " +
-                actionSubject.getId() + " | " +
-                actionId + " | " +
-                actionName + " | " +
-                dimVarDiffList);
+        if (SimTracer.isOn(EnumTraceSubsystem.ACTION, EnumTraceLevel.TRACE)) {
+            SimTracer.trace(EnumTraceSubsystem.ACTION, EnumTraceLevel.TRACE, "(MoveAction) A MoveAction is initialized: (" +
+                    (this instanceof MoveAction) + ", " +
+                    (this.getClass().getSimpleName()) + ") " +
+                    accessibleSoS.getId() + " | " +
+                    actionSubject.getId() + " | " +
+                    actionId + " | " +
+                    actionName + " | " +
+                    dimVarDiffList);
+        }
     }
 
     public void printMoveActionInfo(){
-        System.out.print("[" + actionId + "] ");
+        if (!SimTracer.isOn(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG)) {
+            return;
+        }
+
+        StringBuilder moveActionInfo = new StringBuilder("[" + actionId + "] ");
 
         int allowedDimVarIndex = 0;
         for (String dimVarId : allowedDimVarIds){
-            System.out.print(dimVarId + "(" + dimVarDiffList.get(allowedDimVarIndex) + ") ");
+            moveActionInfo.append(dimVarId).append("(").append(dimVarDiffList.get(allowedDimVarIndex)).append(") ");
         }
-        System.out.println();
+        SimTracer.println(EnumTraceSubsystem.ACTION, EnumTraceLevel.DEBUG, moveActionInfo.toString());
     }
 
     public ArrayList<DimVar> getAllowedDims() {
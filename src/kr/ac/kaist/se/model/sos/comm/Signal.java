@@ -1,6 +1,7 @@
 package kr.ac.kaist.se.model.sos.comm;
 
 import kr.ac.kaist.se.model.abst.comm.EnumMsgType;
+import kr.ac.kaist.se.model.abst.comm.SimMsgRoute;
 import kr.ac.kaist.se.model.abst.comm._SimMessage_;
 import kr.ac.kaist.se.model.sos.data.DataVar;
 
@@ -18,4 +19,8 @@ public class Signal extends _SimMessage_ {
     public Signal(String msgId, String msgTag, EnumMsgType msgType, String senderId, String receiverId, ArrayList<DataVar> msgDataList) {
         super(msgId, msgTag, msgType, senderId, receiverId, msgDataList);
     }
+
+    public Signal(String msgId, String msgTag, EnumMsgType msgType, String senderId, SimMsgRoute msgRoute, ArrayList<DataVar> msgDataList) {
+        super(msgId, msgTag, msgType, senderId, msgRoute, msgDataList);
+    }
 }
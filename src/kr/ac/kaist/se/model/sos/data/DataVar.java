@@ -2,6 +2,8 @@ package kr.ac.kaist.se.model.sos.data;
 
 import kr.ac.kaist.se.model.abst.data._SimDataVariable_;
 
+import java.util.ArrayList;
+
 /**
  * Concrete class to define information of a geolocation
  *
@@ -50,6 +52,11 @@ public class DataVar extends _SimDataVariable_ {
 //
 //    }
 
+    @Override
+    protected ArrayList<String> getEnumValues() {
+        return varDomain != null ? varDomain.getDomainEnumVal() : null;
+    }
+
     public DataVarDomain getVarDomain() {
         return varDomain;
     }
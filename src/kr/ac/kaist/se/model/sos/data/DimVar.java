@@ -1,8 +1,13 @@
 package kr.ac.kaist.se.model.sos.data;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.data.EnumDataType;
 import kr.ac.kaist.se.model.abst.data._SimDataVariable_;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 
 /**
  * Abstract class to define a dimension of a geolocation
@@ -83,22 +88,24 @@ public abstract class DimVar extends _SimDataVariable_ {
 
 
     private void printDimensionVarCreation() {
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         if (varDomain != null) {
-            System.out.println("[" + timestamp + "] (DimVar) A DimVar is initialized: " +
-                    varId + " | " +
-                    varName + " | " +
-                    varType + " | varDomain(" +
-                    varDomain.getDomainType() + ", " +
-                    varDomain.getDomainMinVal() + ", " +
-                    varDomain.getDomainMaxVal() + ", " +
-                    varDomain.getDomainEnumVal() + ")");
+            if (SimTracer.isOn(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE)) {
+                SimTracer.trace(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE, "(DimVar) A DimVar is initialized: " +
+                        varId + " | " +
+                        varName + " | " +
+                        varType + " | varDomain(" +
+                        varDomain.getDomainType() + ", " +
+                        varDomain.getDomainMinVal() + ", " +
+                        varDomain.getDomainMaxVal() + ", " +
+                        varDomain.getDomainEnumVal() + ")");
+            }
         } else {
-            System.out.println("[" + timestamp + "] (DimVar) A DimVar is initialized: " +
-                    varId + " | " +
-                    varName + " | " +
-                    varType + ")");
+            if (SimTracer.isOn(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE)) {
+                SimTracer.trace(EnumTraceSubsystem.DATA, EnumTraceLevel.TRACE, "(DimVar) A DimVar is initialized: " +
+                        varId + " | " +
+                        varName + " | " +
+                        varType + ")");
+            }
         }
     }
 
@@ -110,7 +117,7 @@ public abstract class DimVar extends _SimDataVariable_ {
      */
     public int countPossibleValues(){
         //case of integer type
-        if (varType == "Int"){
+        if (dataType == EnumDataType.INT){
             return (int)varDomain.getDomainMaxVal() - (int)varDomain.getDomainMinVal() + 1;
         }
         //case of enum type
@@ -121,7 +128,7 @@ public abstract class DimVar extends _SimDataVariable_ {
 
     public String getValueWithIndex(int index){
         //case of integer type
-        if (varType == "Int"){
+        if (dataType == EnumDataType.INT){
             return (int)varDomain.getDomainMinVal() + index + "";
         }
         //case of enum type
@@ -131,6 +138,12 @@ public abstract class DimVar extends _SimDataVariable_ {
     }
 
 
+    @Override
+    protected ArrayList<String> getEnumValues() {
+        return varDomain != null ? varDomain.getDomainEnumVal() : null;
+    }
+
+
     /* Getters & Setters */
 
     public DimVarDomain getVarDomain() {
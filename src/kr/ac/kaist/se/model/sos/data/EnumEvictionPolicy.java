@@ -0,0 +1,11 @@
+package kr.ac.kaist.se.model.sos.data;
+
+/**
+ * Eviction policies of a bounded KnowledgeBase
+ *
+ * @author ymbaek
+ */
+public enum EnumEvictionPolicy {
+    LRU,    //The least recently used (read or updated) entry is evicted if the capacity is exceeded
+    TIME    //Entries not updated for maxAge ticks are evicted, and the least recently updated entry is evicted if the capacity is exceeded
+}
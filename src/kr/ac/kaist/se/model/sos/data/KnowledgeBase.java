@@ -0,0 +1,359 @@
+package kr.ac.kaist.se.model.sos.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A knowledge base of a constituent: the latest DataVar per varId and source (e.g., the sender of a message).
+ * Received data are upserted: an entry of the same varId and source is replaced (its version is incremented),
+ * and an entry is looked up by its varId and source without a scan.
+ * <p>
+ * A knowledge base can be bounded:
+ * - capacity (0: unbounded): if the number of entries exceeds the capacity, an entry is evicted by evictionPolicy
+ * (LRU: the least recently read or updated entry, TIME: the least recently updated entry)
+ * - maxAge (0: no limit, only for TIME): entries not updated for more than maxAge ticks are evicted
+ * <p>
+ * Entries are kept in the order of eviction (a doubly linked list through the entries), thus an upsert,
+ * a lookup and an eviction take O(1). DataVars are kept as they are received (a DataVar of a multicast message
+ * is shared by receivers, thus it should not be modified). A knowledge base is not thread-safe.
+ *
+ * @author ymbaek
+ */
+public class KnowledgeBase implements Iterable<KnowledgeEntry> {
+
+    private final int capacity;
+    private final EnumEvictionPolicy evictionPolicy;
+    private final int maxAge;
+
+    //Entries (varId -> sourceId -> entry)
+    private final HashMap<String, HashMap<String, KnowledgeEntry>> entriesByVarId = new HashMap<>();
+    private int size = 0;
+
+    //The least recent entry (evicted first) and the most recent entry
+    private KnowledgeEntry eldest;
+    private KnowledgeEntry latest;
+
+    private long numOfEvictedEntries = 0;
+
+
+    /**
+     * An unbounded knowledge base
+     */
+    public KnowledgeBase() {
+        this(0, EnumEvictionPolicy.LRU, 0);
+    }
+
+    public KnowledgeBase(int capacity, EnumEvictionPolicy evictionPolicy) {
+        this(capacity, evictionPolicy, 0);
+    }
+
+    public KnowledgeBase(int capacity, EnumEvictionPolicy evictionPolicy, int maxAge) {
+        if (capacity < 0 || maxAge < 0 || evictionPolicy == null) {
+            throw new IllegalArgumentException("Invalid knowledge base (capacity: " + capacity + ", evictionPolicy: " + evictionPolicy + ", maxAge: " + maxAge + ")");
+        }
+        if (maxAge > 0 && evictionPolicy != EnumEvictionPolicy.TIME) {
+            throw new IllegalArgumentException("maxAge is only available with EnumEvictionPolicy.TIME");
+        }
+        this.capacity = capacity;
+        this.evictionPolicy = evictionPolicy;
+        this.maxAge = maxAge;
+    }
+
+
+    /**
+     * Add a DataVar, or update the entry of its varId and source
+     *
+     * @param aDataVar received DataVar
+     * @param sourceId id of the source (e.g., the sender of a message; null if unknown)
+     * @param tick     current tick
+     * @return added or updated entry
+     */
+    public KnowledgeEntry upsert(DataVar aDataVar, String sourceId, int tick) {
+        evictExpired(tick);
+
+        KnowledgeEntry entry = getEntryOf(aDataVar.getVarId(), sourceId);
+        if (entry != null) {
+            entry.update(aDataVar, tick);
+            moveToLatest(entry);
+            return entry;
+        }
+
+        entry = new KnowledgeEntry(aDataVar.getVarId(), sourceId, aDataVar, 1, tick);
+        addEntry(entry);
+        return entry;
+    }
+
+    /**
+     * Upsert DataVars of a source (e.g., msgDataList of a message)
+     *
+     * @param dataList received DataVars
+     * @param sourceId id of the source
+     * @param tick     current tick
+     * @return number of upserted DataVars
+     */
+    public int upsertAll(List<DataVar> dataList, String sourceId, int tick) {
+        if (dataList == null) {
+            return 0;
+        }
+        for (int i = 0; i < dataList.size(); i++) {
+            upsert(dataList.get(i), sourceId, tick);
+        }
+        return dataList.size();
+    }
+
+    /**
+     * Add an entry as it is (e.g., an entry restored from a checkpoint), replacing an entry of the same varId and source
+     *
+     * @return restored entry
+     */
+    public KnowledgeEntry restore(DataVar aDataVar, String sourceId, int version, int updatedTick) {
+        remove(aDataVar.getVarId(), sourceId);
+
+        KnowledgeEntry entry = new KnowledgeEntry(aDataVar.getVarId(), sourceId, aDataVar, version, updatedTick);
+        addEntry(entry);
+        return entry;
+    }
+
+    /**
+     * Get the DataVar of a varId received from a source
+     *
+     * @return DataVar, or null if it is not known
+     */
+    public DataVar get(String varId, String sourceId) {
+        KnowledgeEntry entry = getEntry(varId, sourceId);
+        return entry != null ? entry.getDataVar() : null;
+    }
+
+    /**
+     * Get the entry of a varId and a source (a read of an LRU knowledge base)
+     */
+    public KnowledgeEntry getEntry(String varId, String sourceId) {
+        KnowledgeEntry entry = getEntryOf(varId, sourceId);
+        if (entry != null && evictionPolicy == EnumEvictionPolicy.LRU) {
+            moveToLatest(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Get the most recently updated DataVar of a varId among all sources
+     *
+     * @return DataVar, or null if it is not known
+     */
+    public DataVar getLatest(String varId) {
+        HashMap<String, KnowledgeEntry> entriesOfVar = entriesByVarId.get(varId);
+        if (entriesOfVar == null) {
+            return null;
+        }
+
+        KnowledgeEntry latestEntry = null;
+        for (KnowledgeEntry entry : entriesOfVar.values()) {
+            if (latestEntry == null || entry.getUpdatedTick() > latestEntry.getUpdatedTick()) {
+                latestEntry = entry;
+            }
+        }
+        return latestEntry != null ? latestEntry.getDataVar() : null;
+    }
+
+    /**
+     * Get entries of a varId (one per source)
+     */
+    public Collection<KnowledgeEntry> getAll(String varId) {
+        HashMap<String, KnowledgeEntry> entriesOfVar = entriesByVarId.get(varId);
+        return entriesOfVar != null ? Collections.unmodifiableCollection(entriesOfVar.values()) : Collections.emptyList();
+    }
+
+    public boolean contains(String varId, String sourceId) {
+        return getEntryOf(varId, sourceId) != null;
+    }
+
+    /**
+     * Remove the entry of a varId and a source
+     *
+     * @return removed entry, or null
+     */
+    public KnowledgeEntry remove(String varId, String sourceId) {
+        KnowledgeEntry entry = getEntryOf(varId, sourceId);
+        if (entry != null) {
+            removeEntry(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Evict entries not updated for more than maxAge ticks (only for TIME with maxAge)
+     *
+     * @param curTick current tick
+     * @return number of evicted entries
+     */
+    public int evictExpired(int curTick) {
+        if (maxAge == 0) {
+            return 0;
+        }
+
+        //Entries are in the order of updates (the eldest entry is the least recently updated)
+        int numOfEvicted = 0;
+        while (eldest != null && curTick - eldest.getUpdatedTick() > maxAge) {
+            removeEntry(eldest);
+            numOfEvicted++;
+        }
+        numOfEvictedEntries += numOfEvicted;
+        return numOfEvicted;
+    }
+
+    public void clear() {
+        entriesByVarId.clear();
+        eldest = null;
+        latest = null;
+        size = 0;
+    }
+
+    /**
+     * A copy of this knowledge base with the same bounds (DataVars are cloned, e.g., for a forked model)
+     */
+    public KnowledgeBase copy() {
+        KnowledgeBase copiedKnowledgeBase = new KnowledgeBase(capacity, evictionPolicy, maxAge);
+        for (KnowledgeEntry entry = eldest; entry != null; entry = entry.next) {
+            copiedKnowledgeBase.restore((DataVar) entry.getDataVar().clone(), entry.getSourceId(), entry.getVersion(), entry.getUpdatedTick());
+        }
+        copiedKnowledgeBase.numOfEvictedEntries = numOfEvictedEntries;
+        return copiedKnowledgeBase;
+    }
+
+    /**
+     * DataVars of all entries as a new list (in the order of eviction)
+     */
+    public ArrayList<DataVar> toDataList() {
+        ArrayList<DataVar> dataList = new ArrayList<>(size);
+        for (KnowledgeEntry entry = eldest; entry != null; entry = entry.next) {
+            dataList.add(entry.getDataVar());
+        }
+        return dataList;
+    }
+
+    /**
+     * Iterator of entries in the order of eviction (from the entry evicted first; a read does not change the order)
+     */
+    @Override
+    public Iterator<KnowledgeEntry> iterator() {
+        return new Iterator<KnowledgeEntry>() {
+            private KnowledgeEntry nextEntry = eldest;
+
+            @Override
+            public boolean hasNext() {
+                return nextEntry != null;
+            }
+
+            @Override
+            public KnowledgeEntry next() {
+                if (nextEntry == null) {
+                    throw new NoSuchElementException();
+                }
+                KnowledgeEntry entry = nextEntry;
+                nextEntry = entry.next;
+                return entry;
+            }
+        };
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EnumEvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public long getNumOfEvictedEntries() {
+        return numOfEvictedEntries;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder kbStr = new StringBuilder("[");
+        for (KnowledgeEntry entry = eldest; entry != null; entry = entry.next) {
+            kbStr.append(entry);
+            if (entry.next != null) {
+                kbStr.append(", ");
+            }
+        }
+        return kbStr.append("]").toString();
+    }
+
+
+    private KnowledgeEntry getEntryOf(String varId, String sourceId) {
+        HashMap<String, KnowledgeEntry> entriesOfVar = entriesByVarId.get(varId);
+        return entriesOfVar != null ? entriesOfVar.get(sourceId) : null;
+    }
+
+    private void addEntry(KnowledgeEntry entry) {
+        entriesByVarId.computeIfAbsent(entry.getVarId(), key -> new HashMap<>(4)).put(entry.getSourceId(), entry);
+        linkLatest(entry);
+        size++;
+
+        if (capacity > 0 && size > capacity) {
+            removeEntry(eldest);
+            numOfEvictedEntries++;
+        }
+    }
+
+    private void removeEntry(KnowledgeEntry entry) {
+        HashMap<String, KnowledgeEntry> entriesOfVar = entriesByVarId.get(entry.getVarId());
+        entriesOfVar.remove(entry.getSourceId());
+        if (entriesOfVar.isEmpty()) {
+            entriesByVarId.remove(entry.getVarId());
+        }
+        unlink(entry);
+        size--;
+    }
+
+    private void moveToLatest(KnowledgeEntry entry) {
+        if (entry != latest) {
+            unlink(entry);
+            linkLatest(entry);
+        }
+    }
+
+    private void linkLatest(KnowledgeEntry entry) {
+        entry.prev = latest;
+        entry.next = null;
+        if (latest != null) {
+            latest.next = entry;
+        } else {
+            eldest = entry;
+        }
+        latest = entry;
+    }
+
+    private void unlink(KnowledgeEntry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            eldest = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        } else {
+            latest = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+}
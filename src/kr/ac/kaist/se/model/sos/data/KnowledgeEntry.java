@@ -0,0 +1,65 @@
+package kr.ac.kaist.se.model.sos.data;
+
+/**
+ * An entry of a KnowledgeBase: the latest DataVar of a varId received from a source,
+ * with its version (number of updates) and the tick of its last update.
+ *
+ * @author ymbaek
+ */
+public class KnowledgeEntry {
+
+    private final String varId;
+    private final String sourceId;
+
+    private DataVar dataVar;
+    private int version;
+    private int updatedTick;
+
+    //Neighbors in the eviction order of a KnowledgeBase (prev: less recent, next: more recent)
+    KnowledgeEntry prev;
+    KnowledgeEntry next;
+
+
+    public KnowledgeEntry(String varId, String sourceId, DataVar dataVar, int version, int updatedTick) {
+        this.varId = varId;
+        this.sourceId = sourceId;
+        this.dataVar = dataVar;
+        this.version = version;
+        this.updatedTick = updatedTick;
+    }
+
+
+    /**
+     * Replace the DataVar of this entry (a new version)
+     */
+    void update(DataVar dataVar, int updatedTick) {
+        this.dataVar = dataVar;
+        this.version++;
+        this.updatedTick = updatedTick;
+    }
+
+    public String getVarId() {
+        return varId;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public DataVar getDataVar() {
+        return dataVar;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getUpdatedTick() {
+        return updatedTick;
+    }
+
+    @Override
+    public String toString() {
+        return varId + "@" + sourceId + "(v" + version + ", tick " + updatedTick + "): " + dataVar.getDataCurValue();
+    }
+}
@@ -0,0 +1,14 @@
+package kr.ac.kaist.se.model.sos.geo;
+
+/**
+ * Backends to store location information of a SimMap
+ * <p>
+ * HASH_MAP: mapLocInfo (key string -> a list of DataVars of a location point)
+ * GRID: SimMapGrid (cell index -> primitive columns of DataVars)
+ *
+ * @author ymbaek
+ */
+public enum EnumMapBackend {
+    HASH_MAP,
+    GRID,
+}
@@ -30,7 +30,8 @@ public class ObjectLocation implements Cloneable {
     }
 
     /**
-     * An implemented method of Cloneable interface
+     * An implemented method of Cloneable interface.
+     * DimVars of the location are cloned, thus updating the cloned location does not change this location.
      *
      * @return cloned object of this class
      */
@@ -41,6 +42,14 @@ public class ObjectLocation implements Cloneable {
             clonedObjLoc = (ObjectLocation) super.clone();
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
+            return null;
+        }
+
+        if (objLocDimVars != null) {
+            clonedObjLoc.objLocDimVars = new ArrayList<>(objLocDimVars.size());
+            for (DimVar objLocDimVar : objLocDimVars) {
+                clonedObjLoc.objLocDimVars.add((DimVar) objLocDimVar.clone());
+            }
         }
 
         return clonedObjLoc;
@@ -1,6 +1,11 @@
 package kr.ac.kaist.se.model.sos.geo;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.controller.util.MapBuilder;
+import kr.ac.kaist.se.controller.util.MapLoadProgressListener;
+import kr.ac.kaist.se.model.abst.data.EnumDataType;
 import kr.ac.kaist.se.model.abst.geo._SimMap_;
 import kr.ac.kaist.se.model.sos.data.DataVar;
 import kr.ac.kaist.se.model.sos.data.DimVar;
@@ -8,13 +13,14 @@ import kr.ac.kaist.se.model.sos.data.DimVar;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A class to represent a geographical map of an SoS
  *
  * @author ymbaek
  */
-public abstract class SimMap extends _SimMap_ {
+public abstract class SimMap extends _SimMap_ implements Cloneable {
 
     /** Input file for map initialization (.txt) */
     protected String mapInitFile;
@@ -29,6 +35,11 @@ public abstract class SimMap extends _SimMap_ {
     //HashMap to store location information
     protected HashMap<String, ArrayList<DataVar>> mapLocInfo = new HashMap<>();
 
+    //Backend to store location information (mapLocInfo or mapGrid)
+    protected EnumMapBackend mapBackend = EnumMapBackend.HASH_MAP;
+    //Grid to store location information (used instead of mapLocInfo if mapBackend is GRID)
+    protected SimMapGrid mapGrid;
+
 
     /** MapBuilder */
     protected MapBuilder mapBuilder; //MapBuilder to initialize and update a map
@@ -55,6 +66,29 @@ public abstract class SimMap extends _SimMap_ {
         initMap(mapInitFileName);
     }
 
+    public SimMap(String mapId, String mapName, String mapInitFileName, EnumMapBackend mapBackend) {
+        super(mapId, mapName);
+        this.mapInitFile = mapInitFileName;
+        this.mapBackend = mapBackend;
+
+        initMap(mapInitFileName);
+    }
+
+    public SimMap(String mapId,
+                  String mapName,
+                  ArrayList<DimVar> mapDimVars,
+                  ArrayList<DataVar> mapDataVars,
+                  String mapInitFileName,
+                  EnumMapBackend mapBackend) {
+        super(mapId, mapName);
+        this.mapDimVars = mapDimVars;
+        this.mapDataVars = mapDataVars;
+        this.mapInitFile = mapInitFileName;
+        this.mapBackend = mapBackend;
+
+        initMap(mapInitFileName);
+    }
+
 //    public SimMap(String mapId, String mapName) {
 //        this.mapId = mapId;
 //        this.mapName = mapName;
@@ -88,26 +122,24 @@ public abstract class SimMap extends _SimMap_ {
         /* Initialization of map dimensions (mapDimVars) */
         initMapDimensions();
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (ToySoSMap: initDimensions) Dimensions (mapDimVars) are initialized (size:" + mapDimVars.size() + ")");
+        if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG, "(ToySoSMap: initDimensions) Dimensions (mapDimVars) are initialized (size:" + mapDimVars.size() + ")");
+        }
 
 
         /* Initialization of map data variables (mapDataVars) */
         initMapInformation();
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (ToySoSMap: initDimensions) MapInformation (mapDataVars) is initialized (size:" + mapDataVars.size() + ")");
+        if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG, "(ToySoSMap: initDimensions) MapInformation (mapDataVars) is initialized (size:" + mapDataVars.size() + ")");
+        }
 
 
-        /* Initialization of map location information (mapLocInfo) */
+        /* Initialization of map location information (mapLocInfo), with queries of mapInitFile (if any) */
         initMapLocInfo(mapInitFileName);
 
-        timestamp = new Timestamp(System.currentTimeMillis());
-        System.out.println("[" + timestamp + "] (ToySoSMap: initDimensions) Location information (mapLocInfo) are initialized (size:" + mapLocInfo.size() + ")");
-
-        if (!(mapInitFileName.equals("nofile") || mapInitFileName.equals(""))) {
-            /* Initialization of map location information (mapLocInfo) */
-            initMapLocInfo(mapInitFileName);
+        if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG)) {
+            SimTracer.trace(EnumTraceSubsystem.MAP, EnumTraceLevel.DEBUG, "(ToySoSMap: initDimensions) Location information (" + mapBackend + ") are initialized (size:" + countLocInfo() + ")");
         }
 
     }
@@ -131,12 +163,23 @@ public abstract class SimMap extends _SimMap_ {
      */
     protected void initMapLocInfo(String mapInitFileName){
 
+        //Grid backend: keys and DataVar objects of location points are not created
+        if (mapBackend == EnumMapBackend.GRID) {
+            initMapDimVarsAsMinVal();
+            mapGrid = new SimMapGrid(mapDimVars, mapDataVars);
+
+            mapBuilder = new MapBuilder(mapInitFileName, mapGrid);
+            mapBuilder.setProgressListener(getMapLoadProgressListener());
+            mapBuilder.updateMapData(mapDimVars, mapDataVars);
+            return;
+        }
 
         initMapLocKeys();
 
 //        System.out.println(makeKeyStrings());
 
         mapBuilder = new MapBuilder(mapInitFileName, mapLocInfo);
+        mapBuilder.setProgressListener(getMapLoadProgressListener());
         mapBuilder.updateMapData(mapDimVars, mapDataVars);
 
         /** Deprcated (Old Ver) */
@@ -185,6 +228,62 @@ public abstract class SimMap extends _SimMap_ {
 
     }
 
+    /**
+     * A method to fork this map for a branch of a simulation (see SoS.fork(..)).
+     * For the GRID backend, columns are shared by this map and the forked map,
+     * and copied only when one of them writes to a column (see SimMapGrid.fork()).
+     * For the HASH_MAP backend, DataVars of mapLocInfo are handed out to callers (getLocDataWithKey(..)),
+     * thus they cannot be shared and are copied.
+     *
+     * @return forked map (an object of the same class)
+     */
+    public SimMap fork() {
+        SimMap forkedMap = null;
+
+        try {
+            forkedMap = (SimMap) super.clone();
+        } catch (CloneNotSupportedException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        forkedMap.mapDimVars = new ArrayList<>(mapDimVars.size());
+        for (DimVar mapDimVar : mapDimVars) {
+            forkedMap.mapDimVars.add((DimVar) mapDimVar.clone());
+        }
+        forkedMap.mapDataVars = new ArrayList<>(mapDataVars.size());
+        for (DataVar mapDataVar : mapDataVars) {
+            forkedMap.mapDataVars.add((DataVar) mapDataVar.clone());
+        }
+
+        if (mapBackend == EnumMapBackend.GRID) {
+            forkedMap.mapGrid = mapGrid.fork();
+            forkedMap.mapBuilder = new MapBuilder(mapInitFile, forkedMap.mapGrid);
+        } else {
+            forkedMap.mapLocInfo = new HashMap<>(mapLocInfo.size() * 4 / 3 + 1);
+            for (Map.Entry<String, ArrayList<DataVar>> locInfo : mapLocInfo.entrySet()) {
+                ArrayList<DataVar> forkedLocDataVars = new ArrayList<>(locInfo.getValue().size());
+                for (DataVar locDataVar : locInfo.getValue()) {
+                    forkedLocDataVars.add((DataVar) locDataVar.clone());
+                }
+                forkedMap.mapLocInfo.put(locInfo.getKey(), forkedLocDataVars);
+            }
+            forkedMap.mapBuilder = new MapBuilder(mapInitFile, forkedMap.mapLocInfo);
+        }
+
+        return forkedMap;
+    }
+
+    /**
+     * A listener to be notified of the progress of loading a map file (mapInitFile).
+     * A concrete map can override this method (null: the progress is traced by MapBuilder).
+     * Note that this method is called during the construction of a map.
+     * @return listener of the progress
+     */
+    protected MapLoadProgressListener getMapLoadProgressListener(){
+        return null;
+    }
+
     /**
      * A method to initialize keys of mapLoc hashmap (mapLocInfo).
      * Initially, values of the hashmap are initialized as default values
@@ -236,10 +335,10 @@ public abstract class SimMap extends _SimMap_ {
      * @param aDimVar A dimVar to be initialized
      */
     private void initMapDimVarAsMinVal(DimVar aDimVar){
-        if (aDimVar.getVarType().equals("Int")) {
-            aDimVar.setDataCurValue((int) aDimVar.getVarDomain().getDomainMinVal() + "");
+        if (aDimVar.getDataType() == EnumDataType.INT) {
+            aDimVar.setIntegerData((int) aDimVar.getVarDomain().getDomainMinVal());
         } else {
-            aDimVar.setDataCurValue(aDimVar.getVarDomain().getDomainEnumVal().get(0) + "");
+            aDimVar.setEnumOrdinal(0);
         }
     }
 
@@ -332,7 +431,9 @@ public abstract class SimMap extends _SimMap_ {
         if (!isDuplicate){
             mapDimVars.add(aDimVar);
         }else{
-            System.out.println("[" + this.getClass().getSimpleName() + "] addDimVar failed (duplicate id: " + aDimVar.getVarId() + ")");
+            if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN)) {
+                SimTracer.println(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN, "[" + this.getClass().getSimpleName() + "] addDimVar failed (duplicate id: " + aDimVar.getVarId() + ")");
+            }
         }
     }
 
@@ -359,7 +460,9 @@ public abstract class SimMap extends _SimMap_ {
         if (!isDuplicate){
             mapDataVars.add(aDataVar);
         }else{
-            System.out.println("[" + this.getClass().getSimpleName() + "] addDataVar failed (duplicate id: " + aDataVar.getVarId() + ")");
+            if (SimTracer.isOn(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN)) {
+                SimTracer.println(EnumTraceSubsystem.MAP, EnumTraceLevel.WARN, "[" + this.getClass().getSimpleName() + "] addDataVar failed (duplicate id: " + aDataVar.getVarId() + ")");
+            }
         }
     }
 
@@ -372,12 +475,31 @@ public abstract class SimMap extends _SimMap_ {
     }
 
 
+    public EnumMapBackend getMapBackend() {
+        return mapBackend;
+    }
+
+    /**
+     * Get a grid of location information (null if mapBackend is not GRID)
+     * @return SimMapGrid of this map
+     */
+    public SimMapGrid getMapGrid() {
+        return mapGrid;
+    }
+
+
     /**
      * Get a list of locData with a key
+     * (for the GRID backend, new DataVar objects are made from the grid;
+     * updating them does not change the map)
      * @param key   a key to be searched
      * @return      A list of locData objects
      */
     public ArrayList<DataVar> getLocDataWithKey(String key){
+        if (mapBackend == EnumMapBackend.GRID) {
+            int cellIndex = mapGrid.getCellIndex(key);
+            return cellIndex >= 0 ? mapGrid.getLocData(cellIndex) : null;
+        }
         return this.mapLocInfo.get(key);
     }
 
@@ -385,6 +507,17 @@ public abstract class SimMap extends _SimMap_ {
 
     /* Counters */
 
+    /**
+     * A method to count location points stored in mapLocInfo or mapGrid
+     * @return number of location points stored
+     */
+    protected int countLocInfo(){
+        if (mapBackend == EnumMapBackend.GRID) {
+            return mapGrid.getNumOfCells();
+        }
+        return mapLocInfo.size();
+    }
+
     /**
      * A method to count the number of all location points
      * @return number of location points in a map
@@ -396,12 +529,12 @@ public abstract class SimMap extends _SimMap_ {
             int dimVarCount = 0;
 
             //For integer data
-            if (dimVar.getVarType().equals("Int")) {
-                dimVar.setDataCurValue((int)dimVar.getVarDomain().getDomainMinVal() + "");
+            if (dimVar.getDataType() == EnumDataType.INT) {
+                dimVar.setIntegerData((int) dimVar.getVarDomain().getDomainMinVal());
             }
             //For enum data
             else{
-                dimVar.setDataCurValue(dimVar.getVarDomain().getDomainEnumVal().get(0) + "");
+                dimVar.setEnumOrdinal(0);
             }
 
             boolean isInsideOfDomain = true;
@@ -0,0 +1,732 @@
+package kr.ac.kaist.se.model.sos.geo;
+
+import kr.ac.kaist.se.model.abst.data.EnumDataType;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DimVar;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * A dense grid to store location information of a SimMap.
+ * <p>
+ * Coordinates (values of mapDimVars) of a location point are converted into a flat cell index
+ * (the last dimension varies fastest, as the keys of SimMap.mapLocInfo are ordered),
+ * and each map DataVar is stored as a primitive column (one value per cell):
+ * - Int data: int[]
+ * - Float data: float[]
+ * - Enum/String data (or data without a numeric value): int[] of ordinals of a per-column dictionary
+ * <p>
+ * Thus, a location point does not need a key string nor DataVar objects.
+ * <p>
+ * A grid can be forked (fork()) for a branch of a simulation: columns are shared by the forked grids,
+ * and a column (or a dictionary) is copied only when a grid writes to it for the first time (copy-on-write).
+ *
+ * @author ymbaek
+ */
+public class SimMapGrid {
+
+    /* Column kinds */
+    private static final int COLUMN_INT = 0;
+    private static final int COLUMN_FLOAT = 1;
+    private static final int COLUMN_ORDINAL = 2;
+
+    /* Dimensions */
+    private final ArrayList<DimVar> dimVars;
+    private final int numOfDims;
+    private final int[] dimSizes;
+    private final int[] dimStrides;
+    private final int[] dimIntMinVals;                          //Minimum value of an Int dimension
+    private final ArrayList<HashMap<String, Integer>> dimEnumIndices;  //Value -> index of an Enum dimension (null for Int)
+    private final int numOfCells;
+
+    /* Columns (DataVars) */
+    private final ArrayList<DataVar> dataVars;
+    private final HashMap<String, Integer> dataVarIndices = new HashMap<>();
+    private final int[] columnKinds;
+    private final int[][] intColumns;
+    private final float[][] floatColumns;
+    private final ArrayList<ArrayList<String>> columnDictionaries;
+    private final ArrayList<HashMap<String, Integer>> columnDictionaryIndices;
+
+    /* Copy-on-write: columns and dictionaries shared with forked grids (see fork()) */
+    private final boolean[] isColumnShared;
+    private final boolean[] isDictionaryShared;
+
+
+    /**
+     * Constructor of a grid. Every cell is initialized with dataCurValues of the given mapDataVars.
+     *
+     * @param mapDimVars  dimension variables of a map (with their domains)
+     * @param mapDataVars data variables of a map
+     */
+    public SimMapGrid(ArrayList<DimVar> mapDimVars, ArrayList<DataVar> mapDataVars) {
+        this.dimVars = mapDimVars;
+        this.numOfDims = mapDimVars.size();
+        this.dimSizes = new int[numOfDims];
+        this.dimStrides = new int[numOfDims];
+        this.dimIntMinVals = new int[numOfDims];
+        this.dimEnumIndices = new ArrayList<>(numOfDims);
+
+        for (int dim = 0; dim < numOfDims; dim++) {
+            DimVar dimVar = mapDimVars.get(dim);
+
+            //Int dimension
+            if (dimVar.getDataType() == EnumDataType.INT) {
+                dimIntMinVals[dim] = (int) dimVar.getVarDomain().getDomainMinVal();
+                dimSizes[dim] = (int) dimVar.getVarDomain().getDomainMaxVal() - dimIntMinVals[dim] + 1;
+                dimEnumIndices.add(null);
+            }
+            //Enum dimension
+            else {
+                dimSizes[dim] = dimVar.getVarDomain().getDomainEnumVal().size();
+                HashMap<String, Integer> enumIndices = new HashMap<>();
+                int enumIndex = 0;
+                for (String enumVal : dimVar.getVarDomain().getDomainEnumVal()) {
+                    enumIndices.put(enumVal, enumIndex++);
+                }
+                dimEnumIndices.add(enumIndices);
+            }
+        }
+
+        long cellCount = 1;
+        for (int dim = numOfDims - 1; dim >= 0; dim--) {
+            dimStrides[dim] = (int) cellCount;
+            cellCount *= dimSizes[dim];
+            if (cellCount > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many location points for a SimMapGrid: " + cellCount);
+            }
+        }
+        this.numOfCells = numOfDims > 0 ? (int) cellCount : 0;
+
+        this.dataVars = mapDataVars;
+        int numOfColumns = mapDataVars.size();
+        this.columnKinds = new int[numOfColumns];
+        this.intColumns = new int[numOfColumns][];
+        this.floatColumns = new float[numOfColumns][];
+        this.columnDictionaries = new ArrayList<>(numOfColumns);
+        this.columnDictionaryIndices = new ArrayList<>(numOfColumns);
+        this.isColumnShared = new boolean[numOfColumns];
+        this.isDictionaryShared = new boolean[numOfColumns];
+
+        for (int column = 0; column < numOfColumns; column++) {
+            DataVar dataVar = mapDataVars.get(column);
+            String initValue = dataVar.getDataCurValue();
+
+            dataVarIndices.putIfAbsent(dataVar.getVarId(), column);
+
+            if (dataVar.getDataType() == EnumDataType.INT && initValue != null) {
+                columnKinds[column] = COLUMN_INT;
+                intColumns[column] = new int[numOfCells];
+                Arrays.fill(intColumns[column], dataVar.getIntegerData());
+                columnDictionaries.add(null);
+                columnDictionaryIndices.add(null);
+            } else if (dataVar.getDataType() == EnumDataType.FLOAT && initValue != null) {
+                columnKinds[column] = COLUMN_FLOAT;
+                floatColumns[column] = new float[numOfCells];
+                Arrays.fill(floatColumns[column], dataVar.getFloatData());
+                columnDictionaries.add(null);
+                columnDictionaryIndices.add(null);
+            } else {
+                columnKinds[column] = COLUMN_ORDINAL;
+                intColumns[column] = new int[numOfCells];
+                columnDictionaries.add(new ArrayList<>());
+                columnDictionaryIndices.add(new HashMap<>());
+
+                //Values of an enumeration domain have the same ordinals as the domain
+                if (dataVar.getVarDomain() != null) {
+                    for (String enumVal : dataVar.getVarDomain().getDomainEnumVal()) {
+                        toOrdinal(column, enumVal);
+                    }
+                }
+                Arrays.fill(intColumns[column], toOrdinal(column, initValue));
+            }
+        }
+    }
+
+
+    /**
+     * Constructor of a forked grid (see fork()).
+     * Dimensions are immutable, and columns are shared until they are written.
+     */
+    private SimMapGrid(SimMapGrid sourceGrid) {
+        this.dimVars = sourceGrid.dimVars;
+        this.numOfDims = sourceGrid.numOfDims;
+        this.dimSizes = sourceGrid.dimSizes;
+        this.dimStrides = sourceGrid.dimStrides;
+        this.dimIntMinVals = sourceGrid.dimIntMinVals;
+        this.dimEnumIndices = sourceGrid.dimEnumIndices;
+        this.numOfCells = sourceGrid.numOfCells;
+
+        this.dataVars = sourceGrid.dataVars;
+        this.dataVarIndices.putAll(sourceGrid.dataVarIndices);
+        this.columnKinds = sourceGrid.columnKinds;
+        this.intColumns = sourceGrid.intColumns.clone();
+        this.floatColumns = sourceGrid.floatColumns.clone();
+        this.columnDictionaries = new ArrayList<>(sourceGrid.columnDictionaries);
+        this.columnDictionaryIndices = new ArrayList<>(sourceGrid.columnDictionaryIndices);
+
+        this.isColumnShared = new boolean[columnKinds.length];
+        this.isDictionaryShared = new boolean[columnKinds.length];
+        Arrays.fill(isColumnShared, true);
+        Arrays.fill(isDictionaryShared, true);
+    }
+
+    /**
+     * Fork this grid (e.g., for a branch of a simulation).
+     * Columns are shared by this grid and the forked grid,
+     * and each grid copies a column only when it writes to the column for the first time.
+     * Thus, forking takes O(# of columns) time, and unchanged columns are not copied.
+     * <p>
+     * Forked grids can be used by different threads (a grid itself is not thread-safe).
+     *
+     * @return forked grid with the same values
+     */
+    public SimMapGrid fork() {
+        //Columns of this grid are also shared from now on
+        Arrays.fill(isColumnShared, true);
+        Arrays.fill(isDictionaryShared, true);
+
+        return new SimMapGrid(this);
+    }
+
+    /**
+     * Copy a shared column before it is written
+     */
+    private void ensureColumnOwned(int column) {
+        if (isColumnShared[column]) {
+            if (columnKinds[column] == COLUMN_FLOAT) {
+                floatColumns[column] = floatColumns[column].clone();
+            } else {
+                intColumns[column] = intColumns[column].clone();
+            }
+            isColumnShared[column] = false;
+        }
+    }
+
+    /**
+     * Copy a shared dictionary before a value is added
+     */
+    private void ensureDictionaryOwned(int column) {
+        if (isDictionaryShared[column]) {
+            if (columnDictionaries.get(column) != null) {
+                columnDictionaries.set(column, new ArrayList<>(columnDictionaries.get(column)));
+                columnDictionaryIndices.set(column, new HashMap<>(columnDictionaryIndices.get(column)));
+            }
+            isDictionaryShared[column] = false;
+        }
+    }
+
+
+    /* Cell indices */
+
+    /**
+     * Get a cell index from a string-based key (e.g., 3,4,FLOOR_1)
+     *
+     * @param key key of SimMap.mapLocInfo
+     * @return cell index, or -1 if the key is not a location point of this grid
+     */
+    public int getCellIndex(String key) {
+        if (key == null) {
+            return -1;
+        }
+
+        int cellIndex = 0;
+        int start = 0;
+        for (int dim = 0; dim < numOfDims; dim++) {
+            int end = key.indexOf(',', start);
+            if (end < 0) {
+                if (dim != numOfDims - 1) {
+                    return -1;
+                }
+                end = key.length();
+            } else if (dim == numOfDims - 1) {
+                return -1;
+            }
+
+            //Int values are parsed without substrings
+            int valueIndex = dimEnumIndices.get(dim) == null ?
+                    parseIntValueIndex(dim, key, start, end) :
+                    getDimValueIndex(dim, key.substring(start, end).trim());
+            if (valueIndex < 0) {
+                return -1;
+            }
+            cellIndex += valueIndex * dimStrides[dim];
+            start = end + 1;
+        }
+        return cellIndex;
+    }
+
+    /**
+     * Get a cell index from current values of dimVars (e.g., dimVars of an ObjectLocation)
+     *
+     * @param locDimVars dimVars ordered as mapDimVars
+     * @return cell index, or -1 if the location is outside of this grid
+     */
+    public int getCellIndex(ArrayList<DimVar> locDimVars) {
+        if (locDimVars.size() != numOfDims) {
+            return -1;
+        }
+
+        int cellIndex = 0;
+        for (int dim = 0; dim < numOfDims; dim++) {
+            DimVar locDimVar = locDimVars.get(dim);
+            if (!locDimVar.hasValue()) {
+                return -1;
+            }
+
+            //Int values are read without strings
+            int valueIndex;
+            if (dimEnumIndices.get(dim) == null && locDimVar.getDataType() == EnumDataType.INT) {
+                valueIndex = locDimVar.getIntegerData() - dimIntMinVals[dim];
+                if (valueIndex >= dimSizes[dim]) {
+                    return -1;
+                }
+            } else {
+                valueIndex = getDimValueIndex(dim, locDimVar.getDataCurValue());
+            }
+            if (valueIndex < 0) {
+                return -1;
+            }
+            cellIndex += valueIndex * dimStrides[dim];
+        }
+        return cellIndex;
+    }
+
+    /**
+     * Get a cell index from value indices of every dimension
+     *
+     * @param dimValueIndices value index of each dimension (0 ~ getDimSize(dim) - 1)
+     * @return cell index, or -1 if an index is out of range
+     */
+    public int getCellIndex(int... dimValueIndices) {
+        if (dimValueIndices.length != numOfDims) {
+            return -1;
+        }
+
+        int cellIndex = 0;
+        for (int dim = 0; dim < numOfDims; dim++) {
+            if (dimValueIndices[dim] < 0 || dimValueIndices[dim] >= dimSizes[dim]) {
+                return -1;
+            }
+            cellIndex += dimValueIndices[dim] * dimStrides[dim];
+        }
+        return cellIndex;
+    }
+
+    /**
+     * Get an index of a value of a dimension
+     * (e.g., value - min for an Int dimension, index in the domain for an Enum dimension)
+     *
+     * @return value index, or -1 if the value is not in the domain of the dimension
+     */
+    public int getDimValueIndex(int dim, String dimValue) {
+        if (dimValue == null) {
+            return -1;
+        }
+
+        HashMap<String, Integer> enumIndices = dimEnumIndices.get(dim);
+        if (enumIndices == null) {
+            try {
+                int valueIndex = Integer.parseInt(dimValue.trim()) - dimIntMinVals[dim];
+                return valueIndex >= 0 && valueIndex < dimSizes[dim] ? valueIndex : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        } else {
+            Integer valueIndex = enumIndices.get(dimValue);
+            return valueIndex != null ? valueIndex : -1;
+        }
+    }
+
+    /**
+     * Get a value index of a dimension of a cell
+     */
+    public int getDimValueIndexOfCell(int cellIndex, int dim) {
+        return (cellIndex / dimStrides[dim]) % dimSizes[dim];
+    }
+
+    /**
+     * Get a string-based key (e.g., 3,4,FLOOR_1) of a cell
+     */
+    public String getKey(int cellIndex) {
+        StringBuilder key = new StringBuilder();
+        for (int dim = 0; dim < numOfDims; dim++) {
+            if (dim != 0) {
+                key.append(",");
+            }
+            int valueIndex = getDimValueIndexOfCell(cellIndex, dim);
+            if (dimEnumIndices.get(dim) == null) {
+                key.append(dimIntMinVals[dim] + valueIndex);
+            } else {
+                key.append(dimVars.get(dim).getVarDomain().getDomainEnumVal().get(valueIndex));
+            }
+        }
+        return key.toString();
+    }
+
+
+    /* Values */
+
+    /**
+     * Get an index of a column (i.e., index of a DataVar in mapDataVars)
+     *
+     * @return column index, or -1 if there is no DataVar with the varId
+     */
+    public int getColumnIndex(String varId) {
+        Integer column = dataVarIndices.get(varId);
+        return column != null ? column : -1;
+    }
+
+    public int getInt(int cellIndex, int column) {
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                return intColumns[column][cellIndex];
+            case COLUMN_FLOAT:
+                return (int) floatColumns[column][cellIndex];
+            default:
+                return Integer.parseInt(getValue(cellIndex, column));
+        }
+    }
+
+    public float getFloat(int cellIndex, int column) {
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                return intColumns[column][cellIndex];
+            case COLUMN_FLOAT:
+                return floatColumns[column][cellIndex];
+            default:
+                return Float.parseFloat(getValue(cellIndex, column));
+        }
+    }
+
+    /**
+     * Get an ordinal of an Enum/String value (index in the dictionary of the column)
+     */
+    public int getOrdinal(int cellIndex, int column) {
+        if (columnKinds[column] != COLUMN_ORDINAL) {
+            throw new IllegalStateException("Not an ordinal column: " + dataVars.get(column).getVarId());
+        }
+        return intColumns[column][cellIndex];
+    }
+
+    /**
+     * Get a value of a cell as a string (same as DataVar.getDataCurValue())
+     */
+    public String getValue(int cellIndex, int column) {
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                return Integer.toString(intColumns[column][cellIndex]);
+            case COLUMN_FLOAT:
+                return Float.toString(floatColumns[column][cellIndex]);
+            default:
+                return columnDictionaries.get(column).get(intColumns[column][cellIndex]);
+        }
+    }
+
+    public void setInt(int cellIndex, int column, int value) {
+        ensureColumnOwned(column);
+
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                intColumns[column][cellIndex] = value;
+                break;
+            case COLUMN_FLOAT:
+                floatColumns[column][cellIndex] = value;
+                break;
+            default:
+                intColumns[column][cellIndex] = toOrdinal(column, Integer.toString(value));
+        }
+    }
+
+    public void setFloat(int cellIndex, int column, float value) {
+        ensureColumnOwned(column);
+
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                intColumns[column][cellIndex] = (int) value;
+                break;
+            case COLUMN_FLOAT:
+                floatColumns[column][cellIndex] = value;
+                break;
+            default:
+                intColumns[column][cellIndex] = toOrdinal(column, Float.toString(value));
+        }
+    }
+
+    /**
+     * Set a value of a cell from a string (parsed according to the kind of the column)
+     */
+    public void setValue(int cellIndex, int column, String value) {
+        ensureColumnOwned(column);
+
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                intColumns[column][cellIndex] = Integer.parseInt(value.trim());
+                break;
+            case COLUMN_FLOAT:
+                floatColumns[column][cellIndex] = Float.parseFloat(value.trim());
+                break;
+            default:
+                intColumns[column][cellIndex] = toOrdinal(column, value);
+        }
+    }
+
+    /**
+     * Set the same value to a range of cells [fromCellIndex, toCellIndex)
+     * (the string is parsed only once)
+     */
+    public void fillValue(int fromCellIndex, int toCellIndex, int column, String value) {
+        ensureColumnOwned(column);
+
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                Arrays.fill(intColumns[column], fromCellIndex, toCellIndex, Integer.parseInt(value.trim()));
+                break;
+            case COLUMN_FLOAT:
+                Arrays.fill(floatColumns[column], fromCellIndex, toCellIndex, Float.parseFloat(value.trim()));
+                break;
+            default:
+                Arrays.fill(intColumns[column], fromCellIndex, toCellIndex, toOrdinal(column, value));
+        }
+    }
+
+    /**
+     * Encode a string value into a raw value of a column (int value, float bits, or ordinal),
+     * so that the value can be filled into many cells without parsing it again
+     *
+     * @return raw value to be used for fillEncodedValue(..)
+     */
+    public int encodeValue(int column, String value) {
+        switch (columnKinds[column]) {
+            case COLUMN_INT:
+                return Integer.parseInt(value.trim());
+            case COLUMN_FLOAT:
+                return Float.floatToRawIntBits(Float.parseFloat(value.trim()));
+            default:
+                return toOrdinal(column, value);
+        }
+    }
+
+    /**
+     * Set a raw value (see encodeValue(..)) to a range of cells [fromCellIndex, toCellIndex)
+     */
+    public void fillEncodedValue(int fromCellIndex, int toCellIndex, int column, int encodedValue) {
+        ensureColumnOwned(column);
+
+        if (columnKinds[column] == COLUMN_FLOAT) {
+            Arrays.fill(floatColumns[column], fromCellIndex, toCellIndex, Float.intBitsToFloat(encodedValue));
+        } else {
+            Arrays.fill(intColumns[column], fromCellIndex, toCellIndex, encodedValue);
+        }
+    }
+
+    /**
+     * Make DataVar objects of a cell (values are copied; changing them does not change this grid)
+     *
+     * @return a list of DataVars ordered as mapDataVars
+     */
+    public ArrayList<DataVar> getLocData(int cellIndex) {
+        ArrayList<DataVar> locDataVars = new ArrayList<>(dataVars.size());
+        for (int column = 0; column < dataVars.size(); column++) {
+            DataVar dataVar = dataVars.get(column);
+
+            //Numeric values are set without strings
+            boolean isOrdinal = columnKinds[column] == COLUMN_ORDINAL;
+            DataVar locDataVar = new DataVar(
+                    dataVar.getVarId(),
+                    dataVar.getVarName(),
+                    dataVar.getVarType(),
+                    dataVar.getDataDefaultValue(),
+                    isOrdinal ? getValue(cellIndex, column) : null,
+                    dataVar.getVarDomain());
+
+            if (columnKinds[column] == COLUMN_INT) {
+                locDataVar.setIntegerData(intColumns[column][cellIndex]);
+            } else if (columnKinds[column] == COLUMN_FLOAT) {
+                locDataVar.setFloatData(floatColumns[column][cellIndex]);
+            }
+            locDataVars.add(locDataVar);
+        }
+        return locDataVars;
+    }
+
+
+    /* Checkpoint */
+
+    /**
+     * Write all columns (values of all cells) into a checkpoint.
+     * A column is written as a block of raw values, with the dictionary of an ordinal column.
+     *
+     * @param dataOutput output of a checkpoint
+     */
+    public void writeColumns(DataOutput dataOutput) throws IOException {
+        dataOutput.writeInt(columnKinds.length);
+        dataOutput.writeInt(numOfCells);
+
+        ByteBuffer columnBuffer = ByteBuffer.allocate(numOfCells * Integer.BYTES);
+
+        for (int column = 0; column < columnKinds.length; column++) {
+            dataOutput.writeByte(columnKinds[column]);
+
+            columnBuffer.clear();
+            if (columnKinds[column] == COLUMN_FLOAT) {
+                columnBuffer.asFloatBuffer().put(floatColumns[column]);
+            } else {
+                if (columnKinds[column] == COLUMN_ORDINAL) {
+                    ArrayList<String> dictionary = columnDictionaries.get(column);
+                    dataOutput.writeInt(dictionary.size());
+                    for (String value : dictionary) {
+                        dataOutput.writeBoolean(value != null);
+                        if (value != null) {
+                            dataOutput.writeUTF(value);
+                        }
+                    }
+                }
+                columnBuffer.asIntBuffer().put(intColumns[column]);
+            }
+            dataOutput.write(columnBuffer.array(), 0, numOfCells * Integer.BYTES);
+        }
+    }
+
+    /**
+     * Read all columns written by writeColumns(..).
+     * The grid should have the same dimensions and columns as the grid of the checkpoint.
+     *
+     * @param dataInput input of a checkpoint
+     */
+    public void readColumns(DataInput dataInput) throws IOException {
+        int numOfColumns = dataInput.readInt();
+        int numOfCheckpointCells = dataInput.readInt();
+        if (numOfColumns != columnKinds.length || numOfCheckpointCells != numOfCells) {
+            throw new IOException("Columns of a checkpoint do not match the grid: (" + numOfColumns + " x " + numOfCheckpointCells +
+                    ") vs. (" + columnKinds.length + " x " + numOfCells + ")");
+        }
+
+        byte[] columnBytes = new byte[numOfCells * Integer.BYTES];
+        ByteBuffer columnBuffer = ByteBuffer.wrap(columnBytes);
+
+        for (int column = 0; column < columnKinds.length; column++) {
+            int columnKind = dataInput.readByte();
+            if (columnKind != columnKinds[column]) {
+                throw new IOException("Kind of a column does not match the grid: " + dataVars.get(column).getVarId());
+            }
+
+            ensureColumnOwned(column);
+
+            if (columnKind == COLUMN_ORDINAL) {
+                ensureDictionaryOwned(column);
+                ArrayList<String> dictionary = columnDictionaries.get(column);
+                HashMap<String, Integer> dictionaryIndices = columnDictionaryIndices.get(column);
+                dictionary.clear();
+                dictionaryIndices.clear();
+
+                int dictionarySize = dataInput.readInt();
+                for (int ordinal = 0; ordinal < dictionarySize; ordinal++) {
+                    String value = dataInput.readBoolean() ? dataInput.readUTF() : null;
+                    dictionary.add(value);
+                    dictionaryIndices.putIfAbsent(value, ordinal);
+                }
+            }
+
+            dataInput.readFully(columnBytes);
+            columnBuffer.clear();
+            if (columnKind == COLUMN_FLOAT) {
+                columnBuffer.asFloatBuffer().get(floatColumns[column]);
+            } else {
+                columnBuffer.asIntBuffer().get(intColumns[column]);
+            }
+        }
+    }
+
+
+    /**
+     * Parse an Int value of key[start, end) into a value index (-1 if not valid)
+     */
+    private int parseIntValueIndex(int dim, String key, int start, int end) {
+        while (start < end && key.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && key.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end) {
+            return -1;
+        }
+
+        boolean isNegative = key.charAt(start) == '-';
+        int pos = isNegative || key.charAt(start) == '+' ? start + 1 : start;
+        if (pos == end || end - pos > 9) {
+            return -1;
+        }
+
+        int value = 0;
+        for (; pos < end; pos++) {
+            int digit = key.charAt(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+
+        int valueIndex = (isNegative ? -value : value) - dimIntMinVals[dim];
+        return valueIndex >= 0 && valueIndex < dimSizes[dim] ? valueIndex : -1;
+    }
+
+    private int toOrdinal(int column, String value) {
+        HashMap<String, Integer> dictionaryIndices = columnDictionaryIndices.get(column);
+        Integer ordinal = dictionaryIndices.get(value);
+        if (ordinal == null) {
+            ensureDictionaryOwned(column);
+            dictionaryIndices = columnDictionaryIndices.get(column);
+            ArrayList<String> dictionary = columnDictionaries.get(column);
+            ordinal = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndices.put(value, ordinal);
+        }
+        return ordinal;
+    }
+
+
+    /* Getters */
+
+    public int getNumOfCells() {
+        return numOfCells;
+    }
+
+    public int getNumOfDims() {
+        return numOfDims;
+    }
+
+    public int getDimSize(int dim) {
+        return dimSizes[dim];
+    }
+
+    public int getDimStride(int dim) {
+        return dimStrides[dim];
+    }
+
+    public int getNumOfColumns() {
+        return dataVars.size();
+    }
+
+    /**
+     * Check if a column is shared with a forked grid (i.e., not copied yet)
+     */
+    public boolean isColumnShared(int column) {
+        return isColumnShared[column];
+    }
+
+    public ArrayList<DimVar> getDimVars() {
+        return dimVars;
+    }
+
+    public ArrayList<DataVar> getDataVars() {
+        return dataVars;
+    }
+}
@@ -0,0 +1,64 @@
+package kr.ac.kaist.se.simdata.checkpoint;
+
+/**
+ * Constants of the compact binary checkpoint format (SimCheckpointWriter/SimCheckpointReader)
+ * <p>
+ * File      : MAGIC (4 bytes) | VERSION (1 byte) | resumeTick (varint) | sosId (string ref) |
+ * numOfObjects (varint) | object * numOfObjects | map | in-flight messages | network state
+ * Object    : id (string ref) | flags (1 byte: FLAG_*) | curStateId (string ref) | objLocation (string ref) |
+ * nextWakeUpTick (zigzag varint) | logSubjectIndex (zigzag varint) | logEventSeq (varint) | numOfMsgs (varint) | message * numOfMsgs |
+ * knowledge base | size of extra state in bytes (varint, 0 if not Checkpointable) | extra state
+ * Knowledge base: data list (null if not a Constituent) | (sourceId (string ref) | version (varint) | updatedTick (zigzag varint)) * size
+ * In-flight messages: numOfMsgs (varint) | (deliveryTick (zigzag varint) | receiverId (string ref) | message) * numOfMsgs
+ * (in the order of delivery)
+ * Network state: size of the state of the network model in bytes (varint, 0 if it is not Checkpointable) | state
+ * Message   : kind (1 byte: MSG_*) | msgId (string ref) | msgTag (string ref) | msgType (1 byte, ordinal + 1, 0 if null) |
+ * senderId (string ref) | receiverId (string ref) | msgDataList (data list)
+ * Data list : size + 1 (varint, 0 if null) | DataVar * size
+ * DataVar   : varId | varName | varType | dataDefaultValue (string refs) | value | varDomain (domain ref)
+ * Value     : VALUE_NONE | VALUE_INT zigzag varint | VALUE_FLOAT 4 bytes | VALUE_STRING string ref
+ * Map       : MAP_NONE | MAP_HASH_MAP numOfKeys (varint) | (key (string ref) | numOfVars (varint) | value * numOfVars) * numOfKeys |
+ * MAP_GRID columns (see SimMapGrid.writeColumns(..))
+ * <p>
+ * String ref: 0 (null) | 1 (an inline string follows; it becomes the next entry of the string table) | index of the string table + 2
+ * Domain ref: 0 (null) | 1 (an inline domain follows; it becomes the next entry of the domain table) | index of the domain table + 2
+ * Inline domain: domainType (1 byte, ordinal) | domainMinVal (4 bytes) | domainMaxVal (4 bytes) |
+ * numOfEnumVals (varint) | enumVal (string ref) * numOfEnumVals | flags (1 byte: FLAG_LOGICAL, FLAG_DISCRETE)
+ *
+ * @author ymbaek
+ */
+public final class SimCheckpointFormat {
+
+    public static final byte[] MAGIC = {'S', 'O', 'S', 'C'};
+    public static final byte VERSION = 1;
+
+    /* Flags of an object */
+    public static final int FLAG_ACTIVATED = 1;
+    public static final int FLAG_AVAILABLE = 1 << 1;
+
+    /* Flags of a domain */
+    public static final int FLAG_LOGICAL = 1;
+    public static final int FLAG_DISCRETE = 1 << 1;
+
+    /* Kinds of a message */
+    public static final int MSG_MESSAGE = 1;
+    public static final int MSG_SIGNAL = 2;
+
+    /* Kinds of a value */
+    public static final int VALUE_NONE = 0;
+    public static final int VALUE_INT = 1;
+    public static final int VALUE_FLOAT = 2;
+    public static final int VALUE_STRING = 3;
+
+    /* Kinds of a map */
+    public static final int MAP_NONE = 0;
+    public static final int MAP_HASH_MAP = 1;
+    public static final int MAP_GRID = 2;
+
+    public static final int REF_NULL = 0;
+    public static final int REF_INLINE = 1;
+    public static final int REF_TABLE_OFFSET = 2;
+
+    private SimCheckpointFormat() {
+    }
+}
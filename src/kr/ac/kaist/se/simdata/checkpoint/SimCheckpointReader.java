@@ -0,0 +1,458 @@
+package kr.ac.kaist.se.simdata.checkpoint;
+
+import kr.ac.kaist.se.controller.comm.SimMessageBus;
+import kr.ac.kaist.se.controller.comm.SimNetworkModel;
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.model.abst.comm.EnumMsgType;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.data.EnumDataType;
+import kr.ac.kaist.se.model.abst.data.EnumDomainType;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.intf.Checkpointable;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.comm.Message;
+import kr.ac.kaist.se.model.sos.comm.Signal;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DataVarDomain;
+import kr.ac.kaist.se.model.sos.data.KnowledgeBase;
+import kr.ac.kaist.se.model.sos.data.KnowledgeEntry;
+import kr.ac.kaist.se.model.sos.geo.SimMap;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+/**
+ * A reader of the compact binary checkpoint format (see SimCheckpointFormat).
+ * A checkpoint is restored onto a simulation model that has the same structure as the model of the checkpoint
+ * (e.g., a model newly constructed by the same code): member objects are found by their ids,
+ * and their states are replaced by the states of the checkpoint.
+ *
+ * @author ymbaek
+ */
+public class SimCheckpointReader implements Closeable {
+
+    private static final EnumMsgType[] msgTypes = EnumMsgType.values();
+    private static final EnumDomainType[] domainTypes = EnumDomainType.values();
+
+    private final DataInputStream dataInput;
+
+    private final ArrayList<String> stringTable = new ArrayList<>();
+    private final ArrayList<DataVarDomain> domainTable = new ArrayList<>();
+
+
+    public SimCheckpointReader(InputStream inputStream) throws IOException {
+        this.dataInput = new DataInputStream(inputStream instanceof BufferedInputStream ? inputStream : new BufferedInputStream(inputStream));
+
+        byte[] magic = new byte[SimCheckpointFormat.MAGIC.length];
+        dataInput.readFully(magic);
+        for (int i = 0; i < magic.length; i++) {
+            if (magic[i] != SimCheckpointFormat.MAGIC[i]) {
+                throw new IOException("Not a SimCheckpoint file");
+            }
+        }
+
+        int version = dataInput.read();
+        if (version != SimCheckpointFormat.VERSION) {
+            throw new IOException("Unsupported SimCheckpoint version: " + version);
+        }
+    }
+
+
+    /**
+     * Restore a checkpoint onto a simulation model
+     *
+     * @param simModel simulation model (SoS) with the same structure as the model of the checkpoint
+     * @return the tick to be executed first (i.e., resumeTick of the checkpoint)
+     */
+    public int readCheckpoint(SoS simModel) throws IOException {
+        return readCheckpoint(simModel, null);
+    }
+
+    /**
+     * Restore a checkpoint onto a simulation model and its message bus
+     * (messages in flight of the bus are replaced by messages in flight of the checkpoint)
+     *
+     * @param simModel   simulation model (SoS) with the same structure as the model of the checkpoint
+     * @param messageBus message bus of the model (null: messages in flight of the checkpoint are ignored)
+     * @return the tick to be executed first (i.e., resumeTick of the checkpoint)
+     */
+    public int readCheckpoint(SoS simModel, SimMessageBus messageBus) throws IOException {
+        int resumeTick = (int) readVarint();
+
+        String sosId = readString();
+        if (sosId != null && !sosId.equals(simModel.getId())) {
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimCheckpointReader) A checkpoint of another SoS is restored: " + sosId + " -> " + simModel.getId());
+            }
+        }
+
+        long numOfObjects = readVarint();
+        for (long i = 0; i < numOfObjects; i++) {
+            readSimObject(simModel);
+        }
+
+        readSimMap(simModel.getSosMap());
+
+        readInFlightMsgs(simModel, messageBus, resumeTick);
+        readNetworkState(messageBus);
+
+        return resumeTick;
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataInput.close();
+    }
+
+
+    private void readSimObject(SoS simModel) throws IOException {
+        String objId = readString();
+        int flags = readByte();
+        String curStateId = readString();
+        String objLocation = readString();
+        int nextWakeUpTick = (int) unzigzag(readVarint());
+        //Log event ids continue from the checkpoint
+        int logSubjectIndex = (int) unzigzag(readVarint());
+        int logEventSeq = (int) readVarint();
+
+        long numOfMsgs = readVarint();
+        LinkedList<_SimMessage_> msgs = new LinkedList<>();
+        for (long i = 0; i < numOfMsgs; i++) {
+            msgs.add(readMessage());
+        }
+
+        ArrayList<DataVar> knowledgeData = readDataList();
+        KnowledgeBase knowledgeBase = readKnowledgeBase(knowledgeData);
+
+        byte[] extraState = new byte[(int) readVarint()];
+        dataInput.readFully(extraState);
+
+
+        _SimObject_ aObj = simModel.getMemberSimObjectById(objId);
+        if (aObj == null) {
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimCheckpointReader) An object of a checkpoint is not found (ignored): " + objId);
+            }
+            return;
+        }
+
+        aObj.setActivated((flags & SimCheckpointFormat.FLAG_ACTIVATED) != 0);
+        aObj.setAvailable((flags & SimCheckpointFormat.FLAG_AVAILABLE) != 0);
+        aObj.setCurStateId(curStateId);
+        aObj.setObjLocation(objLocation);
+        aObj.setNextWakeUpTick(nextWakeUpTick);
+        aObj.setLogSubjectIndex(logSubjectIndex);
+        aObj.setLogEventSeq(logEventSeq);
+
+        if (aObj.getMsgQueue() != null) {
+            aObj.getMsgQueue().clear();
+            aObj.getMsgQueue().addAll(msgs);
+        } else {
+            aObj.setMsgQueue(msgs);
+        }
+
+        if (aObj instanceof Constituent) {
+            Constituent aCS = (Constituent) aObj;
+            if (knowledgeBase != null && aCS.getKnowledgeBase() != null) {
+                //Entries are restored into the knowledge base of the CS (its bounds are kept)
+                aCS.getKnowledgeBase().clear();
+                for (KnowledgeEntry entry : knowledgeBase) {
+                    aCS.getKnowledgeBase().restore(entry.getDataVar(), entry.getSourceId(), entry.getVersion(), entry.getUpdatedTick());
+                }
+            } else {
+                aCS.setKnowledgeBase(knowledgeBase);
+            }
+        }
+
+        if (aObj instanceof Checkpointable) {
+            ((Checkpointable) aObj).readCheckpoint(new DataInputStream(new ByteArrayInputStream(extraState)));
+        } else if (extraState.length > 0) {
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimCheckpointReader) Extra state of a non-Checkpointable object is ignored: " + objId);
+            }
+        }
+    }
+
+    /**
+     * Read messages in flight, and schedule them on a message bus
+     * (the bus is set to the tick before resumeTick, thus messages arrive from resumeTick)
+     */
+    private void readInFlightMsgs(SoS simModel, SimMessageBus messageBus, int resumeTick) throws IOException {
+        if (messageBus != null) {
+            messageBus.resetInFlightMsgs(Math.max(resumeTick - 1, 0));
+        }
+
+        long numOfMsgs = readVarint();
+        for (long i = 0; i < numOfMsgs; i++) {
+            int deliveryTick = (int) unzigzag(readVarint());
+            String receiverId = readString();
+            _SimMessage_ aMsg = readMessage();
+
+            _SimObject_ receiverObj = simModel.getMemberSimObjectById(receiverId);
+            if (messageBus == null || receiverObj == null || !messageBus.scheduleInFlightMsg(deliveryTick, receiverObj, aMsg)) {
+                if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+                    SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimCheckpointReader) A message in flight of a checkpoint is ignored: " + aMsg.getMsgId() + " -> " + receiverId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the state of the network model of a message bus (e.g., queues of links)
+     * (the network model should be set on the bus before the checkpoint is restored)
+     */
+    private void readNetworkState(SimMessageBus messageBus) throws IOException {
+        byte[] networkState = new byte[(int) readVarint()];
+        dataInput.readFully(networkState);
+
+        SimNetworkModel networkModel = messageBus != null ? messageBus.getNetworkModel() : null;
+        if (networkModel instanceof Checkpointable) {
+            ((Checkpointable) networkModel).readCheckpoint(new DataInputStream(new ByteArrayInputStream(networkState)));
+        } else if (networkState.length > 0) {
+            if (SimTracer.isOn(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.WARN, "(SimCheckpointReader) State of a network model of a checkpoint is ignored");
+            }
+        }
+    }
+
+    /**
+     * Read sources, versions and ticks of entries of a knowledge base
+     *
+     * @param knowledgeData DataVars of the knowledge base
+     * @return knowledge base (null if knowledgeData is null)
+     */
+    private KnowledgeBase readKnowledgeBase(ArrayList<DataVar> knowledgeData) throws IOException {
+        if (knowledgeData == null) {
+            return null;
+        }
+
+        KnowledgeBase knowledgeBase = new KnowledgeBase();
+        for (DataVar aDataVar : knowledgeData) {
+            String sourceId = readString();
+            int entryVersion = (int) readVarint();
+            int updatedTick = (int) unzigzag(readVarint());
+            knowledgeBase.restore(aDataVar, sourceId, entryVersion, updatedTick);
+        }
+        return knowledgeBase;
+    }
+
+    private _SimMessage_ readMessage() throws IOException {
+        int msgKind = readByte();
+        String msgId = readString();
+        String msgTag = readString();
+
+        int msgTypeCode = readByte();
+        EnumMsgType msgType = null;
+        if (msgTypeCode > 0) {
+            if (msgTypeCode > msgTypes.length) {
+                throw new IOException("Unknown EnumMsgType (ordinal: " + (msgTypeCode - 1) + ")");
+            }
+            msgType = msgTypes[msgTypeCode - 1];
+        }
+
+        String senderId = readString();
+        String receiverId = readString();
+        ArrayList<DataVar> msgDataList = readDataList();
+
+        switch (msgKind) {
+            case SimCheckpointFormat.MSG_MESSAGE:
+                return new Message(msgId, msgTag, msgType, senderId, receiverId, msgDataList);
+            case SimCheckpointFormat.MSG_SIGNAL:
+                return new Signal(msgId, msgTag, msgType, senderId, receiverId, msgDataList);
+            default:
+                throw new IOException("Unknown kind of a message: " + msgKind);
+        }
+    }
+
+    private ArrayList<DataVar> readDataList() throws IOException {
+        long sizeCode = readVarint();
+        if (sizeCode == 0) {
+            return null;
+        }
+
+        int size = (int) (sizeCode - 1);
+        ArrayList<DataVar> dataList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String varId = readString();
+            String varName = readString();
+            String varType = readString();
+            String dataDefaultValue = readString();
+
+            //A value is set without parsing a string (see readValue(..))
+            DataVar aDataVar = new DataVar(varId, varName, varType, dataDefaultValue, null, null);
+            readValue(aDataVar);
+            aDataVar.setVarDomain(readDomain());
+
+            dataList.add(aDataVar);
+        }
+        return dataList;
+    }
+
+    /**
+     * Read a value, and set it to a DataVar (numeric values are set without strings)
+     */
+    private void readValue(DataVar aDataVar) throws IOException {
+        int valueKind = readByte();
+
+        switch (valueKind) {
+            case SimCheckpointFormat.VALUE_NONE:
+                if (aDataVar != null) {
+                    aDataVar.setDataCurValue(null);
+                }
+                break;
+            case SimCheckpointFormat.VALUE_INT:
+                int intValue = (int) unzigzag(readVarint());
+                if (aDataVar != null) {
+                    if (aDataVar.getDataType() == EnumDataType.INT ||
+                            aDataVar.getDataType() == EnumDataType.FLOAT) {
+                        aDataVar.setIntegerData(intValue);
+                    } else {
+                        aDataVar.setDataCurValue(Integer.toString(intValue));
+                    }
+                }
+                break;
+            case SimCheckpointFormat.VALUE_FLOAT:
+                float floatValue = dataInput.readFloat();
+                if (aDataVar != null) {
+                    if (aDataVar.getDataType() == EnumDataType.INT ||
+                            aDataVar.getDataType() == EnumDataType.FLOAT) {
+                        aDataVar.setFloatData(floatValue);
+                    } else {
+                        aDataVar.setDataCurValue(Float.toString(floatValue));
+                    }
+                }
+                break;
+            case SimCheckpointFormat.VALUE_STRING:
+                String stringValue = readString();
+                if (aDataVar != null) {
+                    aDataVar.setDataCurValue(stringValue);
+                }
+                break;
+            default:
+                throw new IOException("Unknown kind of a value: " + valueKind);
+        }
+    }
+
+    private DataVarDomain readDomain() throws IOException {
+        long domainRef = readVarint();
+
+        if (domainRef == SimCheckpointFormat.REF_NULL) {
+            return null;
+        } else if (domainRef != SimCheckpointFormat.REF_INLINE) {
+            long index = domainRef - SimCheckpointFormat.REF_TABLE_OFFSET;
+            if (index >= domainTable.size()) {
+                throw new IOException("Invalid domain reference: " + domainRef);
+            }
+            return domainTable.get((int) index);
+        }
+
+        int domainTypeCode = readByte();
+        if (domainTypeCode >= domainTypes.length) {
+            throw new IOException("Unknown EnumDomainType (ordinal: " + domainTypeCode + ")");
+        }
+        float domainMinVal = dataInput.readFloat();
+        float domainMaxVal = dataInput.readFloat();
+
+        long numOfEnumVals = readVarint();
+        ArrayList<String> domainEnumVal = new ArrayList<>((int) numOfEnumVals);
+        for (long i = 0; i < numOfEnumVals; i++) {
+            domainEnumVal.add(readString());
+        }
+
+        int flags = readByte();
+
+        DataVarDomain varDomain = new DataVarDomain(domainTypes[domainTypeCode], domainMinVal, domainMaxVal,
+                (flags & SimCheckpointFormat.FLAG_LOGICAL) != 0,
+                (flags & SimCheckpointFormat.FLAG_DISCRETE) != 0,
+                null);
+        varDomain.setDomainEnumVal(domainEnumVal);
+
+        domainTable.add(varDomain);
+        return varDomain;
+    }
+
+    private void readSimMap(SimMap simMap) throws IOException {
+        int mapKind = readByte();
+
+        switch (mapKind) {
+            case SimCheckpointFormat.MAP_NONE:
+                break;
+            case SimCheckpointFormat.MAP_GRID:
+                if (simMap == null || simMap.getMapGrid() == null) {
+                    throw new IOException("A checkpoint of a grid map is restored onto a model without a grid map");
+                }
+                simMap.getMapGrid().readColumns(dataInput);
+                break;
+            case SimCheckpointFormat.MAP_HASH_MAP:
+                long numOfKeys = readVarint();
+                for (long i = 0; i < numOfKeys; i++) {
+                    String key = readString();
+                    ArrayList<DataVar> locDataVars = simMap != null && simMap.getMapLocInfo() != null ? simMap.getMapLocInfo().get(key) : null;
+
+                    long numOfVars = readVarint();
+                    for (int varIndex = 0; varIndex < numOfVars; varIndex++) {
+                        readValue(locDataVars != null && varIndex < locDataVars.size() ? locDataVars.get(varIndex) : null);
+                    }
+                }
+                break;
+            default:
+                throw new IOException("Unknown kind of a map: " + mapKind);
+        }
+    }
+
+
+    private String readString() throws IOException {
+        long stringRef = readVarint();
+
+        if (stringRef == SimCheckpointFormat.REF_NULL) {
+            return null;
+        } else if (stringRef == SimCheckpointFormat.REF_INLINE) {
+            byte[] bytes = new byte[(int) readVarint()];
+            dataInput.readFully(bytes);
+            String aString = new String(bytes, StandardCharsets.UTF_8);
+            stringTable.add(aString);
+            return aString;
+        } else {
+            long index = stringRef - SimCheckpointFormat.REF_TABLE_OFFSET;
+            if (index >= stringTable.size()) {
+                throw new IOException("Invalid string reference: " + stringRef);
+            }
+            return stringTable.get((int) index);
+        }
+    }
+
+    private int readByte() throws IOException {
+        int aByte = dataInput.read();
+        if (aByte < 0) {
+            throw new EOFException("Unexpected end of a SimCheckpoint");
+        }
+        return aByte;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int aByte = readByte();
+            value |= (long) (aByte & 0x7F) << shift;
+            if ((aByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
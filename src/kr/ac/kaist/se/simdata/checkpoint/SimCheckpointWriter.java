@@ -0,0 +1,322 @@
+package kr.ac.kaist.se.simdata.checkpoint;
+
+import kr.ac.kaist.se.controller.comm.SimMessageBus;
+import kr.ac.kaist.se.model.abst.comm._SimMessage_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+import kr.ac.kaist.se.model.intf.Checkpointable;
+import kr.ac.kaist.se.model.sos.Constituent;
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.model.sos.comm.Signal;
+import kr.ac.kaist.se.model.sos.data.DataVar;
+import kr.ac.kaist.se.model.sos.data.DataVarDomain;
+import kr.ac.kaist.se.model.sos.data.KnowledgeBase;
+import kr.ac.kaist.se.model.sos.data.KnowledgeEntry;
+import kr.ac.kaist.se.model.sos.geo.EnumMapBackend;
+import kr.ac.kaist.se.model.sos.geo.SimMap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A writer of the compact binary checkpoint format (see SimCheckpointFormat).
+ * A checkpoint keeps the dynamic state of a simulation model at a tick:
+ * states of member objects (flags, curStateId, objLocation, log event ids, msgQueue, knowledge base),
+ * values of the SimMap, additional states of Checkpointable objects, and messages in flight of a message bus
+ * (with the state of its network model, e.g., queues of links, if the model is Checkpointable).
+ * Structure of the model (e.g., member objects, actions, states) is not written;
+ * it is rebuilt by constructing the model, and a checkpoint is restored onto it (see SimCheckpointReader).
+ *
+ * @author ymbaek
+ */
+public class SimCheckpointWriter implements Closeable {
+
+    private final DataOutputStream dataOutput;
+
+    //Interned strings (string -> index of the string table)
+    private final HashMap<String, Integer> stringTable = new HashMap<>();
+    //Interned domains (domain -> index of the domain table)
+    private final IdentityHashMap<DataVarDomain, Integer> domainTable = new IdentityHashMap<>();
+
+
+    public SimCheckpointWriter(OutputStream outputStream) throws IOException {
+        this.dataOutput = new DataOutputStream(outputStream instanceof BufferedOutputStream ? outputStream : new BufferedOutputStream(outputStream));
+
+        this.dataOutput.write(SimCheckpointFormat.MAGIC);
+        this.dataOutput.write(SimCheckpointFormat.VERSION);
+    }
+
+
+    /**
+     * Write a checkpoint of a simulation model
+     *
+     * @param simModel   simulation model (SoS)
+     * @param resumeTick the tick to be executed first after the checkpoint is restored
+     */
+    public void writeCheckpoint(SoS simModel, int resumeTick) throws IOException {
+        writeCheckpoint(simModel, resumeTick, null);
+    }
+
+    /**
+     * Write a checkpoint of a simulation model and messages in flight of its message bus
+     *
+     * @param simModel   simulation model (SoS)
+     * @param resumeTick the tick to be executed first after the checkpoint is restored
+     * @param messageBus message bus of the model (null: no message in flight)
+     */
+    public void writeCheckpoint(SoS simModel, int resumeTick, SimMessageBus messageBus) throws IOException {
+        writeVarint(resumeTick);
+        writeString(simModel.getId());
+
+        Map<String, _SimObject_> simObjectRegistry = simModel.getSimObjectRegistry();
+        writeVarint(simObjectRegistry.size());
+        for (_SimObject_ aObj : simObjectRegistry.values()) {
+            writeSimObject(aObj);
+        }
+
+        writeSimMap(simModel.getSosMap());
+
+        writeInFlightMsgs(messageBus);
+        writeCheckpointable(messageBus != null ? messageBus.getNetworkModel() : null);
+
+        dataOutput.flush();
+    }
+
+    public void flush() throws IOException {
+        dataOutput.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataOutput.close();
+    }
+
+
+    private void writeSimObject(_SimObject_ aObj) throws IOException {
+        writeString(aObj.getId());
+        dataOutput.write((aObj.isActivated() ? SimCheckpointFormat.FLAG_ACTIVATED : 0) |
+                (aObj.isAvailable() ? SimCheckpointFormat.FLAG_AVAILABLE : 0));
+        writeString(aObj.getCurStateId());
+        writeString(aObj.getObjLocation());
+        writeVarint(zigzag(aObj.getNextWakeUpTick()));
+        writeVarint(zigzag(aObj.getLogSubjectIndex()));
+        writeVarint(aObj.getLogEventSeq() & 0xFFFFFFFFL);
+
+        //Messages that are not read yet
+        writeVarint(aObj.getMsgQueue() != null ? aObj.getMsgQueue().size() : 0);
+        if (aObj.getMsgQueue() != null) {
+            for (_SimMessage_ aMsg : aObj.getMsgQueue()) {
+                writeMessage(aMsg);
+            }
+        }
+
+        writeKnowledgeBase(aObj instanceof Constituent ? ((Constituent) aObj).getKnowledgeBase() : null);
+
+        //Additional state of a concrete object
+        writeCheckpointable(aObj);
+    }
+
+    /**
+     * Write the state of a Checkpointable object with its size (0 if the object is not Checkpointable)
+     */
+    private void writeCheckpointable(Object aObj) throws IOException {
+        if (aObj instanceof Checkpointable) {
+            ByteArrayOutputStream extraBytes = new ByteArrayOutputStream();
+            DataOutputStream extraOutput = new DataOutputStream(extraBytes);
+            ((Checkpointable) aObj).writeCheckpoint(extraOutput);
+            extraOutput.flush();
+
+            writeVarint(extraBytes.size());
+            extraBytes.writeTo(dataOutput);
+        } else {
+            writeVarint(0);
+        }
+    }
+
+    private void writeMessage(_SimMessage_ aMsg) throws IOException {
+        dataOutput.write(aMsg instanceof Signal ? SimCheckpointFormat.MSG_SIGNAL : SimCheckpointFormat.MSG_MESSAGE);
+        writeString(aMsg.getMsgId());
+        writeString(aMsg.getMsgTag());
+        dataOutput.write(aMsg.getMsgType() != null ? aMsg.getMsgType().ordinal() + 1 : 0);
+        writeString(aMsg.getSenderId());
+        writeString(aMsg.getReceiverId());
+        writeDataList(aMsg.getMsgDataList());
+    }
+
+    private void writeInFlightMsgs(SimMessageBus messageBus) throws IOException {
+        //Messages are collected first (the consumer of the bus cannot throw IOException)
+        ArrayList<Integer> deliveryTicks = new ArrayList<>();
+        ArrayList<String> receiverIds = new ArrayList<>();
+        ArrayList<_SimMessage_> msgs = new ArrayList<>();
+        if (messageBus != null) {
+            messageBus.forEachInFlightMsg((deliveryTick, receiverObj, aMsg) -> {
+                deliveryTicks.add(deliveryTick);
+                receiverIds.add(receiverObj.getId());
+                msgs.add(aMsg);
+            });
+        }
+
+        writeVarint(msgs.size());
+        for (int i = 0; i < msgs.size(); i++) {
+            writeVarint(zigzag(deliveryTicks.get(i)));
+            writeString(receiverIds.get(i));
+            writeMessage(msgs.get(i));
+        }
+    }
+
+    private void writeKnowledgeBase(KnowledgeBase knowledgeBase) throws IOException {
+        if (knowledgeBase == null) {
+            writeDataList(null);
+            return;
+        }
+
+        writeDataList(knowledgeBase.toDataList());
+        for (KnowledgeEntry entry : knowledgeBase) {
+            writeString(entry.getSourceId());
+            writeVarint(entry.getVersion());
+            writeVarint(zigzag(entry.getUpdatedTick()));
+        }
+    }
+
+    private void writeDataList(ArrayList<DataVar> dataList) throws IOException {
+        if (dataList == null) {
+            writeVarint(0);
+            return;
+        }
+
+        writeVarint(dataList.size() + 1L);
+        for (DataVar aDataVar : dataList) {
+            writeString(aDataVar.getVarId());
+            writeString(aDataVar.getVarName());
+            writeString(aDataVar.getVarType());
+            writeString(aDataVar.getDataDefaultValue());
+            writeValue(aDataVar);
+            writeDomain(aDataVar.getVarDomain());
+        }
+    }
+
+    /**
+     * Write a value of a DataVar (numeric values are written without strings)
+     */
+    private void writeValue(DataVar aDataVar) throws IOException {
+        if (!aDataVar.hasValue()) {
+            dataOutput.write(SimCheckpointFormat.VALUE_NONE);
+            return;
+        }
+
+        switch (aDataVar.getDataType()) {
+            case INT:
+                dataOutput.write(SimCheckpointFormat.VALUE_INT);
+                writeVarint(zigzag(aDataVar.getIntegerData()));
+                break;
+            case FLOAT:
+                dataOutput.write(SimCheckpointFormat.VALUE_FLOAT);
+                dataOutput.writeFloat(aDataVar.getFloatData());
+                break;
+            default:
+                dataOutput.write(SimCheckpointFormat.VALUE_STRING);
+                writeString(aDataVar.getDataCurValue());
+                break;
+        }
+    }
+
+    private void writeDomain(DataVarDomain varDomain) throws IOException {
+        if (varDomain == null) {
+            writeVarint(SimCheckpointFormat.REF_NULL);
+            return;
+        }
+
+        Integer index = domainTable.get(varDomain);
+        if (index != null) {
+            writeVarint(index + SimCheckpointFormat.REF_TABLE_OFFSET);
+            return;
+        }
+
+        domainTable.put(varDomain, domainTable.size());
+
+        writeVarint(SimCheckpointFormat.REF_INLINE);
+        dataOutput.write(varDomain.getDomainType().ordinal());
+        dataOutput.writeFloat((float) varDomain.getDomainMinVal());
+        dataOutput.writeFloat((float) varDomain.getDomainMaxVal());
+
+        ArrayList<String> domainEnumVal = varDomain.getDomainEnumVal();
+        writeVarint(domainEnumVal != null ? domainEnumVal.size() : 0);
+        if (domainEnumVal != null) {
+            for (String enumVal : domainEnumVal) {
+                writeString(enumVal);
+            }
+        }
+
+        dataOutput.write((varDomain.isLogical() ? SimCheckpointFormat.FLAG_LOGICAL : 0) |
+                (varDomain.isDiscrete() ? SimCheckpointFormat.FLAG_DISCRETE : 0));
+    }
+
+    private void writeSimMap(SimMap simMap) throws IOException {
+        if (simMap == null) {
+            dataOutput.write(SimCheckpointFormat.MAP_NONE);
+        } else if (simMap.getMapBackend() == EnumMapBackend.GRID && simMap.getMapGrid() != null) {
+            dataOutput.write(SimCheckpointFormat.MAP_GRID);
+            simMap.getMapGrid().writeColumns(dataOutput);
+        } else {
+            dataOutput.write(SimCheckpointFormat.MAP_HASH_MAP);
+
+            HashMap<String, ArrayList<DataVar>> mapLocInfo = simMap.getMapLocInfo();
+            writeVarint(mapLocInfo.size());
+            for (Map.Entry<String, ArrayList<DataVar>> locInfo : mapLocInfo.entrySet()) {
+                writeString(locInfo.getKey());
+
+                ArrayList<DataVar> locDataVars = locInfo.getValue();
+                writeVarint(locDataVars != null ? locDataVars.size() : 0);
+                if (locDataVars != null) {
+                    for (DataVar locDataVar : locDataVars) {
+                        writeValue(locDataVar);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Write a string as a reference (a new string is written inline and interned)
+     */
+    private void writeString(String aString) throws IOException {
+        if (aString == null) {
+            writeVarint(SimCheckpointFormat.REF_NULL);
+            return;
+        }
+
+        Integer index = stringTable.get(aString);
+        if (index != null) {
+            writeVarint(index + SimCheckpointFormat.REF_TABLE_OFFSET);
+            return;
+        }
+
+        stringTable.put(aString, stringTable.size());
+
+        byte[] bytes = aString.getBytes(StandardCharsets.UTF_8);
+        writeVarint(SimCheckpointFormat.REF_INLINE);
+        writeVarint(bytes.length);
+        dataOutput.write(bytes);
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            dataOutput.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        dataOutput.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -22,6 +22,11 @@ public class SimLogEvent extends _SimEvent_ {
 
     private String eventSpec;
 
+    //Numeric id (see SimLogEventId) and name of the source of this event (e.g., a class of an action),
+    //from which the string id is rendered only when it is needed (getId())
+    private long numericId = SimLogEventId.NONE;
+    private String eventSourceName;
+
 
     public SimLogEvent() {
     }
@@ -44,13 +49,34 @@ public class SimLogEvent extends _SimEvent_ {
         this.eventSpec = eventSpec;
     }
 
+    /**
+     * Constructor of a SimLogEvent with a numeric id (the string id is not rendered until getId() is called)
+     *
+     * @param numericId       numeric id (e.g., _SimObject_.nextLogEventId())
+     * @param eventSourceName name of the source of the event (e.g., a simple class name of an action)
+     */
+    public SimLogEvent(long numericId,
+                       String eventSourceName,
+                       EnumEventType eventType,
+                       Timestamp timestamp,
+                       int simTime,
+                       String subjectObjId,
+                       _SimObject_ subjectObj,
+                       String eventSpec) {
+
+        this(null, eventType, timestamp, simTime, subjectObjId, subjectObj, eventSpec);
+
+        this.numericId = numericId;
+        this.eventSourceName = eventSourceName;
+    }
+
 
     public String getStringLogEvent() {
         String stringLogEvent = "";
 
         stringLogEvent += simTime + "|";
         stringLogEvent += timestamp + "|";
-        stringLogEvent += id + "|";
+        stringLogEvent += getId() + "|";
         stringLogEvent += eventType + "|";
         stringLogEvent += subjectObjId + "|";
         stringLogEvent += subjectObj + "|";
@@ -58,4 +84,43 @@ public class SimLogEvent extends _SimEvent_ {
 
         return stringLogEvent;
     }
+
+    /**
+     * Id of this event (the string form of a numeric id is rendered at the first call)
+     */
+    @Override
+    public String getId() {
+        if (id == null && numericId != SimLogEventId.NONE) {
+            id = SimLogEventId.toString(eventSourceName, subjectObjId, numericId);
+        }
+        return id;
+    }
+
+    public long getNumericId() {
+        return numericId;
+    }
+
+    public String getEventSourceName() {
+        return eventSourceName;
+    }
+
+    public Timestamp getTimestamp() {
+        return timestamp;
+    }
+
+    public int getSimTime() {
+        return simTime;
+    }
+
+    public String getSubjectObjId() {
+        return subjectObjId;
+    }
+
+    public _SimObject_ getSubjectObj() {
+        return subjectObj;
+    }
+
+    public String getEventSpec() {
+        return eventSpec;
+    }
 }
@@ -0,0 +1,57 @@
+package kr.ac.kaist.se.simdata.evnt;
+
+import java.util.Locale;
+
+/**
+ * Numeric id of a SimLogEvent (a long without any allocation)
+ * <p>
+ * Id: log subject index of the subject object (upper 32 bits) | sequence number of the event in the subject (lower 32 bits)
+ * <p>
+ * Log subject indexes are unique in a simulation model (assigned by SoS.assignLogSubjectIndexes()),
+ * and a sequence number is incremented by the subject (_SimObject_.nextLogEventId()),
+ * thus an id is unique in a simulation without any check (until a subject generates 2^32 events),
+ * and ids do not depend on the number of threads running objects.
+ * The string form of an id is rendered only when it is needed (e.g., SimLogEvent.getId() of a text log).
+ *
+ * @author ymbaek
+ */
+public final class SimLogEventId {
+
+    //No numeric id (e.g., a SimLogEvent with a string id)
+    public static final long NONE = 0;
+
+    private SimLogEventId() {
+    }
+
+
+    /**
+     * Make an id
+     *
+     * @param logSubjectIndex log subject index of the subject object (not 0)
+     * @param sequence        sequence number of the event in the subject
+     * @return id
+     */
+    public static long of(int logSubjectIndex, int sequence) {
+        return ((long) logSubjectIndex << 32) | (sequence & 0xFFFFFFFFL);
+    }
+
+    public static int logSubjectIndexOf(long eventId) {
+        return (int) (eventId >> 32);
+    }
+
+    public static int sequenceOf(long eventId) {
+        return (int) eventId;
+    }
+
+    /**
+     * Render the string form of an id (e.g., EVNT_COMMACTION_CS_01_100000003)
+     *
+     * @param eventSourceName name of the source of the event (e.g., a simple class name of an action)
+     * @param subjectObjId    id of the subject object
+     * @param eventId         id
+     * @return string form of the id
+     */
+    public static String toString(String eventSourceName, String subjectObjId, long eventId) {
+        return "EVNT_" + (eventSourceName != null ? eventSourceName.toUpperCase(Locale.ROOT) : "") + "_" + subjectObjId + "_" + Long.toHexString(eventId);
+    }
+}
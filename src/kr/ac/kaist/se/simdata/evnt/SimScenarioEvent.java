@@ -1,5 +1,8 @@
 package kr.ac.kaist.se.simdata.evnt;
 
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
 import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
 import kr.ac.kaist.se.model.abst.evnt._SimEvent_;
 import kr.ac.kaist.se.model.abst.obj._SimObject_;
@@ -43,6 +46,14 @@ public class SimScenarioEvent extends _SimEvent_ {
     private final EnumEventProbDist probDist;   //Probability distribution
     private final String probExp;               //Expression of probability (this should conform to probDist)
 
+    /* Intervals of unit events (resolved from the temporal information) */
+    private boolean isIntervalResolved = false;
+    private int unitEventLimitTime = 0;     //No unit event starts at or after this time
+    private int unitEventLength = 0;        //Number of unit events of a period
+    private int unitEventPeriod = 1;        //Distance between start times of periods
+    private int numOfPeriods = 0;
+    private int numOfFullPeriods = 0;       //Periods that are not truncated by unitEventLimitTime
+
     public SimScenarioEvent(String id,
                             String name,
                             EnumEventType eventType,
@@ -85,123 +96,204 @@ public class SimScenarioEvent extends _SimEvent_ {
      * A method for decomposing an event to unit events.
      * SimScenarioEvent object is decomposed into one or more SimScenarioUnitEvents,
      * according to occPattern of the SimScenarioEvent (INSTANT, CONSTANT, PERIODIC).
+     * (All unit events are created at once; SimEngine creates them lazily by createUnitEventsAt(..))
      *
      * @return List of decomposed unit events
      */
     public ArrayList<SimScenarioUnitEvent> readUnitEvents() {
 
-        int numOfUnitEvents = 0;
-        timestamp = new Timestamp(System.currentTimeMillis());
-
         if (startTime >= simTotalTime) {
-            System.out.println("[" + timestamp + "] (SimScenarioEvent: readUnitEvents) Non-executable event: id(" + id + ")");
+            if (SimTracer.isOn(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.WARN)) {
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.WARN, "(SimScenarioEvent: readUnitEvents) Non-executable event: id(" + id + ")");
+            }
             return null;
         } else {
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (SimScenarioEvent: readUnitEvents) Event decomposition (evnt_id(" + id + "))");
-
-            ArrayList<SimScenarioUnitEvent> unitEventList = new ArrayList<>();
-
-            int eventEndTime = 0;
-            int eventEndTimeInPeriod = 0;
-            int unitEventStartTime = startTime;
-            int unitEventPeriodStartTime = startTime;
+            if (SimTracer.isOn(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG, "(SimScenarioEvent: readUnitEvents) Event decomposition (evnt_id(" + id + "))");
+            }
 
-            int appendIdNum = 0;
-            String appendIdString;
-            String unitEventId;
+            resolveUnitEventIntervals();
 
-            // Instant and constant event
-            if (occPattern == EnumEventOccPattern.INSTANT || occPattern == EnumEventOccPattern.CONSTANT) {
+            ArrayList<SimScenarioUnitEvent> unitEventList = new ArrayList<>(getNumOfUnitEvents());
 
-                if (occPattern == EnumEventOccPattern.INSTANT) {
-                    eventEndTime = unitEventStartTime + duration;
-                } else if (occPattern == EnumEventOccPattern.CONSTANT) {
-                    eventEndTime = simTotalTime;
-                }
+            //For each period (INSTANT and CONSTANT events have one period)
+            int unitEventIndex = 0;
+            for (int periodNum = 0; periodNum < numOfPeriods; periodNum++) {
+                int periodStartTime = getPeriodStartTime(periodNum);
+                int periodEndTime = (int) Math.min((long) periodStartTime + unitEventLength, unitEventLimitTime);
 
-                while (unitEventStartTime < eventEndTime && unitEventStartTime < endTime) {
-                    //TODO: debug
-                    appendIdString = String.format("%03d", appendIdNum);
-                    unitEventId = id + "_" + appendIdString;
-
-                    SimScenarioUnitEvent unitEvent = new SimScenarioUnitEvent(this,
-                            unitEventId,
-                            name,
-                            eventType,
-                            targetObjId,
-                            targetObj,
-                            targetScope,
-                            predefBehavior,
-                            unitEventStartTime,
-                            isProbabilistic,
-                            probDist,
-                            probExp);
-
-                    unitEventList.add(unitEvent);
-                    unitEventStartTime++;
-                    appendIdNum++;
-                    numOfUnitEvents++;
+                for (int unitEventStartTime = periodStartTime; unitEventStartTime < periodEndTime; unitEventStartTime++) {
+                    unitEventList.add(createUnitEvent(unitEventIndex, unitEventStartTime));
+                    unitEventIndex++;
                 }
             }
-            // periodic event
-            else {
-                int periodNum = 0;
-
-                //TODO: periodic
-//                for(int periodNum = 0; periodNum < simTotalTime; periodNum++){
-                while (unitEventPeriodStartTime < simTotalTime && unitEventPeriodStartTime < endTime) {
-
-                    //For each period, eventEndTime is newly assigned.
-                    eventEndTimeInPeriod = unitEventStartTime + duration;
-
-                    while (unitEventStartTime < eventEndTimeInPeriod) {
-                        //TODO: debug
-                        appendIdString = String.format("%03d", appendIdNum);
-                        unitEventId = id + "_" + appendIdString;
-
-                        SimScenarioUnitEvent unitEvent = new SimScenarioUnitEvent(this,
-                                unitEventId,
-                                name,
-                                eventType,
-                                targetObjId,
-                                targetObj,
-                                targetScope,
-                                predefBehavior,
-                                unitEventStartTime,
-                                isProbabilistic,
-                                probDist,
-                                probExp);
-
-                        unitEventList.add(unitEvent);
-                        unitEventStartTime++;
-                        appendIdNum++;
-                        numOfUnitEvents++;
-
-                        if (unitEventStartTime >= simTotalTime || unitEventStartTime >= endTime) {
-                            break;
-                        }
-                    }
-
-                    unitEventPeriodStartTime += period;
-                    unitEventStartTime = unitEventPeriodStartTime;
-                    periodNum++;
+
+            if (SimTracer.isOn(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG)) {
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG, "(SimScenarioEvent: readUnitEvents) Event decomposition finished (numOfUnitEvents: " + unitEventList.size() + ")");
+
+                StringBuilder decomposedEvents = new StringBuilder("(SimScenarioEvent: readUnitEvents) ScenarioEvent decomposed (" + id + "): ");
+                for (int numOfEvents = 0; numOfEvents < unitEventList.size(); numOfEvents++) {
+                    decomposedEvents.append("(").append(numOfEvents).append(")").append(unitEventList.get(numOfEvents).getId())
+                            .append("[").append(unitEventList.get(numOfEvents).getStartTime()).append("] ");
                 }
+                SimTracer.trace(EnumTraceSubsystem.SCENARIO, EnumTraceLevel.DEBUG, decomposedEvents.toString());
             }
 
-            timestamp = new Timestamp(System.currentTimeMillis());
-            System.out.println("[" + timestamp + "] (SimScenarioEvent: readUnitEvents) Event decomposition finished (numOfUnitEvents: " + numOfUnitEvents + ")");
+            return unitEventList;
+        }
 
-            System.out.print("[" + timestamp + "] (SimScenarioEvent: readUnitEvents) ScenarioEvent decomposed (" + id + "): ");
-            for (int numOfEvents = 0; numOfEvents < unitEventList.size(); numOfEvents++) {
-                System.out.print("(" + numOfEvents + ")" + unitEventList.get(numOfEvents).getId() + "[" + unitEventList.get(numOfEvents).getStartTime() + "] ");
-            }
+    }
+
+    /**
+     * A method to get the number of unit events of this event (without creating them)
+     *
+     * @return number of unit events (same as the size of readUnitEvents())
+     */
+    public int getNumOfUnitEvents() {
+        resolveUnitEventIntervals();
+
+        return (int) countUnitEventsBefore(numOfPeriods);
+    }
 
-            System.out.println();
+    /**
+     * A method to get the earliest start time of unit events from a given time
+     *
+     * @param fromTime time from which unit events are searched (inclusive)
+     * @return start time of the next unit event, or -1 if there is no more unit event
+     */
+    public int getNextUnitEventTime(int fromTime) {
+        resolveUnitEventIntervals();
+
+        int time = Math.max(fromTime, startTime);
+        if (numOfPeriods == 0 || time >= unitEventLimitTime) {
+            return -1;
+        }
 
+        int periodNum = (time - startTime) / unitEventPeriod;
+        if (time - getPeriodStartTime(periodNum) < unitEventLength) {
+            return time;
+        } else if (periodNum + 1 < numOfPeriods) {
+            return getPeriodStartTime(periodNum + 1);
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * A method to create the unit events that start at a given time.
+     * A unit event is created only when it is needed, thus a long-running event does not occupy the heap.
+     * (More than one unit event can start at a time, if periods of a PERIODIC event overlap)
+     *
+     * @param time start time of unit events
+     * @return unit events starting at the time (same ids as the unit events of readUnitEvents())
+     */
+    public ArrayList<SimScenarioUnitEvent> createUnitEventsAt(int time) {
+        resolveUnitEventIntervals();
+
+        ArrayList<SimScenarioUnitEvent> unitEventList = new ArrayList<>(1);
+        if (numOfPeriods == 0 || time < startTime || time >= unitEventLimitTime) {
             return unitEventList;
         }
 
+        //Periods that include the time: startTime + periodNum * unitEventPeriod <= time < (...) + unitEventLength
+        long offset = (long) time - startTime;
+        int lastPeriodNum = (int) Math.min(numOfPeriods - 1, offset / unitEventPeriod);
+        long firstPeriodOffset = offset - unitEventLength + 1;
+        int firstPeriodNum = firstPeriodOffset <= 0 ? 0 : (int) ((firstPeriodOffset + unitEventPeriod - 1) / unitEventPeriod);
+
+        for (int periodNum = firstPeriodNum; periodNum <= lastPeriodNum; periodNum++) {
+            int periodStartTime = getPeriodStartTime(periodNum);
+            int unitEventIndex = (int) (countUnitEventsBefore(periodNum) + (time - periodStartTime));
+            unitEventList.add(createUnitEvent(unitEventIndex, time));
+        }
+
+        return unitEventList;
+    }
+
+
+    /**
+     * Unit events are represented by intervals:
+     * [startTime + periodNum * unitEventPeriod, min(... + unitEventLength, unitEventLimitTime)) for periodNum < numOfPeriods
+     */
+    private void resolveUnitEventIntervals() {
+        if (isIntervalResolved) {
+            return;
+        }
+
+        if (startTime >= simTotalTime) {
+            numOfPeriods = 0;
+        } else if (occPattern == EnumEventOccPattern.INSTANT || occPattern == EnumEventOccPattern.CONSTANT) {
+            if (occPattern == EnumEventOccPattern.INSTANT) {
+                unitEventLimitTime = (int) Math.min((long) startTime + duration, endTime);
+            } else {
+                unitEventLimitTime = Math.min(simTotalTime, endTime);
+            }
+            unitEventLength = unitEventLimitTime - startTime;
+            unitEventPeriod = Math.max(1, unitEventLength);
+            numOfPeriods = unitEventLength > 0 ? 1 : 0;
+        } else {
+            unitEventLimitTime = Math.min(simTotalTime, endTime);
+            unitEventLength = duration;
+
+            if (duration <= 0 || startTime >= unitEventLimitTime) {
+                unitEventPeriod = 1;
+                numOfPeriods = 0;
+            } else {
+                //Non-positive period: only one period
+                unitEventPeriod = period > 0 ? period : unitEventLimitTime - startTime;
+                numOfPeriods = (int) (((long) unitEventLimitTime - startTime + unitEventPeriod - 1) / unitEventPeriod);
+            }
+        }
+
+        //Periods that are not truncated by unitEventLimitTime
+        long fullOffset = (long) unitEventLimitTime - startTime - unitEventLength;
+        numOfFullPeriods = (numOfPeriods == 0 || fullOffset < 0) ? 0 : (int) Math.min(numOfPeriods, fullOffset / unitEventPeriod + 1);
+
+        isIntervalResolved = true;
+    }
+
+    private int getPeriodStartTime(int periodNum) {
+        return startTime + periodNum * unitEventPeriod;
+    }
+
+    /**
+     * Number of unit events of periods before a given period
+     */
+    private long countUnitEventsBefore(int periodNum) {
+        if (periodNum <= numOfFullPeriods) {
+            return (long) periodNum * unitEventLength;
+        }
+
+        //Truncated periods: (unitEventLimitTime - periodStartTime) unit events for each period
+        long numOfTruncatedPeriods = periodNum - numOfFullPeriods;
+        long sumOfPeriodNums = ((long) numOfFullPeriods + periodNum - 1) * numOfTruncatedPeriods / 2;
+        return (long) numOfFullPeriods * unitEventLength
+                + numOfTruncatedPeriods * ((long) unitEventLimitTime - startTime)
+                - sumOfPeriodNums * unitEventPeriod;
+    }
+
+    private SimScenarioUnitEvent createUnitEvent(int unitEventIndex, int unitEventStartTime) {
+        //Id of a unit event: id + "_" + index (at least three digits, e.g., EVT_007)
+        StringBuilder unitEventId = new StringBuilder(id.length() + 4).append(id).append('_');
+        if (unitEventIndex < 10) {
+            unitEventId.append("00");
+        } else if (unitEventIndex < 100) {
+            unitEventId.append('0');
+        }
+        unitEventId.append(unitEventIndex);
+
+        return new SimScenarioUnitEvent(this,
+                unitEventId.toString(),
+                name,
+                eventType,
+                targetObjId,
+                targetObj,
+                targetScope,
+                predefBehavior,
+                unitEventStartTime,
+                isProbabilistic,
+                probDist,
+                probExp);
     }
 
 
@@ -213,4 +305,36 @@ public class SimScenarioEvent extends _SimEvent_ {
         }
     }
 
+
+    public int getSimTotalTime() {
+        return simTotalTime;
+    }
+
+    public String getTargetObjId() {
+        return targetObjId;
+    }
+
+    public _SimObject_ getTargetObj() {
+        return targetObj;
+    }
+
+    public EnumEventOccPattern getOccPattern() {
+        return occPattern;
+    }
+
+    public int getStartTime() {
+        return startTime;
+    }
+
+    public int getEndTime() {
+        return endTime;
+    }
+
+    public int getDuration() {
+        return duration;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
 }
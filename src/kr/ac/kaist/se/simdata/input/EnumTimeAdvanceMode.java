@@ -0,0 +1,6 @@
+package kr.ac.kaist.se.simdata.input;
+
+public enum EnumTimeAdvanceMode {
+    FIXED_STEP,     //Every tick from 0 to simTotalTime is executed
+    NEXT_EVENT      //The clock jumps to the earliest tick when an object wakes up or a scenario event occurs
+}
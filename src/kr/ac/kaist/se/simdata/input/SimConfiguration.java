@@ -1,15 +1,56 @@
 package kr.ac.kaist.se.simdata.input;
 
+import kr.ac.kaist.se.simdata.output.sink.EnumSimLogSinkType;
+
 public class SimConfiguration {
 
     private int simTotalTime = 0;
     private boolean simMapeMode = false;
     private boolean simHasScenario = false;
 
+    //Parallel run phase (members of an SoS are run on a ForkJoinPool)
+    private boolean simParallelRun = false;
+    private int simParallelism = Runtime.getRuntime().availableProcessors();
+
+    //Silent (headless) mode (all stdout traces of a simulation are turned off)
+    private boolean simSilentMode = false;
+
+    //Log sink of SimLogEvents and size of the ring buffer of AsyncSimLogWriter
+    private EnumSimLogSinkType simLogSinkType = EnumSimLogSinkType.TEXT;
+    private int simLogBufferSize = 65536;
+
+    //Time advance of SimEngine (fixed-step or next-event)
+    private EnumTimeAdvanceMode simTimeAdvanceMode = EnumTimeAdvanceMode.FIXED_STEP;
+
+    //Log file of SimEngine itself (SimEngineLog.log)
+    private boolean simEngineLogEnabled = true;
+
+    //Seed of random numbers of a simulation (e.g., a seed of each replication)
+    private long simRandomSeed = 0;
+
     public SimConfiguration() {
 
     }
 
+    /**
+     * Copy constructor (e.g., a configuration of each replication)
+     *
+     * @param simConfig configuration to be copied
+     */
+    public SimConfiguration(SimConfiguration simConfig) {
+        this.simTotalTime = simConfig.simTotalTime;
+        this.simMapeMode = simConfig.simMapeMode;
+        this.simHasScenario = simConfig.simHasScenario;
+        this.simParallelRun = simConfig.simParallelRun;
+        this.simParallelism = simConfig.simParallelism;
+        this.simSilentMode = simConfig.simSilentMode;
+        this.simLogSinkType = simConfig.simLogSinkType;
+        this.simLogBufferSize = simConfig.simLogBufferSize;
+        this.simTimeAdvanceMode = simConfig.simTimeAdvanceMode;
+        this.simEngineLogEnabled = simConfig.simEngineLogEnabled;
+        this.simRandomSeed = simConfig.simRandomSeed;
+    }
+
     public int getSimTotalTime() {
         return simTotalTime;
     }
@@ -33,4 +74,101 @@ public class SimConfiguration {
     public void setSimHasScenario(boolean simHasScenario) {
         this.simHasScenario = simHasScenario;
     }
+
+    public boolean isSimParallelRun() {
+        return simParallelRun;
+    }
+
+    /**
+     * Enable/disable the parallel run phase of SimEngine.
+     * If it is enabled, run() of member objects is executed concurrently,
+     * thus run() of a member object should only modify its own state.
+     *
+     * @param simParallelRun true if the run phase is executed in parallel
+     */
+    public void setSimParallelRun(boolean simParallelRun) {
+        this.simParallelRun = simParallelRun;
+    }
+
+    public int getSimParallelism() {
+        return simParallelism;
+    }
+
+    public void setSimParallelism(int simParallelism) {
+        this.simParallelism = simParallelism;
+    }
+
+    public boolean isSimSilentMode() {
+        return simSilentMode;
+    }
+
+    /**
+     * Enable/disable the silent (headless) mode.
+     * If it is enabled, traces of threads running the SimEngine (its construction, startSimulation() and its run pool)
+     * are turned off (SimTracer.setThreadSilent(..)); traces of other simulations of the JVM are not affected.
+     * Traces printed before the engine is constructed (e.g., construction of a model) are turned off by SimTracer.setSilent().
+     *
+     * @param simSilentMode true if no trace is printed during a simulation
+     */
+    public void setSimSilentMode(boolean simSilentMode) {
+        this.simSilentMode = simSilentMode;
+    }
+
+    public EnumSimLogSinkType getSimLogSinkType() {
+        return simLogSinkType;
+    }
+
+    public void setSimLogSinkType(EnumSimLogSinkType simLogSinkType) {
+        this.simLogSinkType = simLogSinkType;
+    }
+
+    public int getSimLogBufferSize() {
+        return simLogBufferSize;
+    }
+
+    /**
+     * Set the number of SimLogEvents that can be buffered before SimEngine is blocked
+     *
+     * @param simLogBufferSize capacity of the ring buffer of AsyncSimLogWriter
+     */
+    public void setSimLogBufferSize(int simLogBufferSize) {
+        this.simLogBufferSize = simLogBufferSize;
+    }
+
+    public EnumTimeAdvanceMode getSimTimeAdvanceMode() {
+        return simTimeAdvanceMode;
+    }
+
+    /**
+     * Set the time advance mode of SimEngine.
+     * In NEXT_EVENT mode, ticks where no object wakes up (see _SimObject_.getNextWakeUpTick(..))
+     * and no scenario event occurs are skipped.
+     *
+     * @param simTimeAdvanceMode FIXED_STEP (default) or NEXT_EVENT
+     */
+    public void setSimTimeAdvanceMode(EnumTimeAdvanceMode simTimeAdvanceMode) {
+        this.simTimeAdvanceMode = simTimeAdvanceMode;
+    }
+
+    public boolean isSimEngineLogEnabled() {
+        return simEngineLogEnabled;
+    }
+
+    /**
+     * Enable/disable the log file of SimEngine (SimEngineLog.log).
+     * It should be disabled if several SimEngines run concurrently (e.g., replications).
+     *
+     * @param simEngineLogEnabled true if SimEngine writes its own log file
+     */
+    public void setSimEngineLogEnabled(boolean simEngineLogEnabled) {
+        this.simEngineLogEnabled = simEngineLogEnabled;
+    }
+
+    public long getSimRandomSeed() {
+        return simRandomSeed;
+    }
+
+    public void setSimRandomSeed(long simRandomSeed) {
+        this.simRandomSeed = simRandomSeed;
+    }
 }
@@ -16,7 +16,8 @@ public class SimScenario {
     protected int numOfUnitEvents = 0;
 
     protected ArrayList<SimScenarioEvent> eventList = new ArrayList<>();
-    protected ArrayList<SimScenarioUnitEvent> unitEventList = new ArrayList<>();
+    //Unit events are created only when getUnitEventList() is called (null: not created yet)
+    protected ArrayList<SimScenarioUnitEvent> unitEventList = null;
 
     public SimScenario() {
     }
@@ -35,9 +36,29 @@ public class SimScenario {
         eventList.add(simScenarioEvent);
         numOfEvents = eventList.size();
 
-        //Add unit events (i.e., decomposed events) of the given SimScenarioEvent
-        unitEventList.addAll(simScenarioEvent.readUnitEvents());
-        numOfUnitEvents = unitEventList.size();
+        //Unit events (i.e., decomposed events) are counted, but not created
+        numOfUnitEvents += simScenarioEvent.getNumOfUnitEvents();
+        if (unitEventList != null) {
+            addUnitEvents(unitEventList, simScenarioEvent);
+        }
+    }
+
+    private static void addUnitEvents(ArrayList<SimScenarioUnitEvent> unitEventList, SimScenarioEvent simScenarioEvent) {
+        //null if the event is not executable within the simulation time
+        ArrayList<SimScenarioUnitEvent> unitEvents = simScenarioEvent.readUnitEvents();
+        if (unitEvents != null) {
+            unitEventList.addAll(unitEvents);
+        }
+    }
+
+    /**
+     * A method to resolve intervals of unit events of all events in advance
+     * (e.g., before the scenario is shared by concurrent simulations; see SimScenarioEvent.getNumOfUnitEvents())
+     */
+    public void resolveEventIntervals() {
+        for (SimScenarioEvent simScenarioEvent : eventList) {
+            simScenarioEvent.getNumOfUnitEvents();
+        }
     }
 
     public String getScenarioName() {
@@ -88,7 +109,21 @@ public class SimScenario {
         this.eventList = eventList;
     }
 
+    /**
+     * A method to get all unit events of this scenario.
+     * Unit events are created (and kept) at the first call, thus this should be avoided for long scenarios.
+     * (SimEngine creates unit events lazily, tick by tick, by SimEventCalendar)
+     *
+     * @return unit events of all SimScenarioEvents (in the order the events were added)
+     */
     public ArrayList<SimScenarioUnitEvent> getUnitEventList() {
+        if (unitEventList == null) {
+            ArrayList<SimScenarioUnitEvent> unitEvents = new ArrayList<>(numOfUnitEvents);
+            for (SimScenarioEvent simScenarioEvent : eventList) {
+                addUnitEvents(unitEvents, simScenarioEvent);
+            }
+            unitEventList = unitEvents;
+        }
         return unitEventList;
     }
 
@@ -0,0 +1,100 @@
+package kr.ac.kaist.se.simdata.output;
+
+import kr.ac.kaist.se.model.sos.SoS;
+import kr.ac.kaist.se.simdata.output.sink.SimLogSink;
+
+/**
+ * Result of a replication (i.e., an independent simulation) run by SimReplicationRunner
+ *
+ * @author ymbaek
+ */
+public class SimReplicationResult {
+
+    private final int replicationId;
+    private final long randomSeed;
+
+    //Simulation model after the simulation (final state of the replication)
+    private SoS simModel;
+    //SimLogSink where SimLogEvents of the replication were written (e.g., MemorySimLogSink)
+    private SimLogSink logSink;
+    private SimLog simLog;
+
+    private int numOfExecutedTicks = 0;
+    private long elapsedTimeNanos = 0;
+
+    //Exception thrown by the replication (null if succeeded)
+    private Throwable failure;
+
+
+    public SimReplicationResult(int replicationId, long randomSeed) {
+        this.replicationId = replicationId;
+        this.randomSeed = randomSeed;
+    }
+
+
+    public boolean isSucceeded() {
+        return failure == null;
+    }
+
+    public int getReplicationId() {
+        return replicationId;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public SoS getSimModel() {
+        return simModel;
+    }
+
+    public void setSimModel(SoS simModel) {
+        this.simModel = simModel;
+    }
+
+    public SimLogSink getLogSink() {
+        return logSink;
+    }
+
+    public void setLogSink(SimLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    public SimLog getSimLog() {
+        return simLog;
+    }
+
+    public void setSimLog(SimLog simLog) {
+        this.simLog = simLog;
+    }
+
+    public int getNumOfExecutedTicks() {
+        return numOfExecutedTicks;
+    }
+
+    public void setNumOfExecutedTicks(int numOfExecutedTicks) {
+        this.numOfExecutedTicks = numOfExecutedTicks;
+    }
+
+    public long getElapsedTimeNanos() {
+        return elapsedTimeNanos;
+    }
+
+    public void setElapsedTimeNanos(long elapsedTimeNanos) {
+        this.elapsedTimeNanos = elapsedTimeNanos;
+    }
+
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    public void setFailure(Throwable failure) {
+        this.failure = failure;
+    }
+
+    @Override
+    public String toString() {
+        return "SimReplicationResult(" + replicationId + ", seed:" + randomSeed + ", " +
+                (isSucceeded() ? "ticks:" + numOfExecutedTicks : "failed:" + failure) + ")";
+    }
+}
@@ -4,6 +4,7 @@ import kr.ac.kaist.se.model.abst.cap._SimAction_;
 import kr.ac.kaist.se.model.abst.obj._SimObject_;
 
 import java.util.ArrayList;
+import java.util.function.Predicate;
 
 /**
  * Data type to store execution results of run() method of _SimObject_
@@ -17,6 +18,9 @@ public class RunResult {
     private ArrayList<_SimAction_> selectedActionList;
     private ArrayList<RunResult> subRunResults;
 
+    //Selected actions partitioned by type (index: ordinal of EnumActionType), null if not partitioned
+    private ArrayList<ArrayList<_SimAction_>> selectedActionPartitions;
+
     public RunResult(_SimObject_ runSubject, ArrayList<_SimAction_> selectedActionList) {
         this.runSubject = runSubject;
         this.selectedActionList = selectedActionList;
@@ -24,6 +28,36 @@ public class RunResult {
         this.subRunResults = new ArrayList<RunResult>();
     }
 
+    /**
+     * Constructor of a RunResult whose selected actions are also partitioned by type
+     * (e.g., by _SimActionableObject_.createRunResult())
+     *
+     * @param selectedActionPartitions partitions of selectedActionList (index: ordinal of EnumActionType)
+     */
+    public RunResult(_SimObject_ runSubject, ArrayList<_SimAction_> selectedActionList, ArrayList<ArrayList<_SimAction_>> selectedActionPartitions) {
+        this(runSubject, selectedActionList);
+
+        this.selectedActionPartitions = selectedActionPartitions;
+    }
+
+    /**
+     * Remove selected actions of this RunResult (not of sub-RunResults) that satisfy a condition,
+     * from both selectedActionList and its partitions
+     *
+     * @param condition condition of actions to be removed
+     * @return true if any action is removed
+     */
+    public boolean removeSelectedActionsIf(Predicate<_SimAction_> condition) {
+        boolean isRemoved = selectedActionList != null && selectedActionList.removeIf(condition);
+
+        if (isRemoved && selectedActionPartitions != null) {
+            for (ArrayList<_SimAction_> partition : selectedActionPartitions) {
+                partition.removeIf(condition);
+            }
+        }
+        return isRemoved;
+    }
+
 
     public _SimObject_ getRunSubject() {
         return runSubject;
@@ -39,6 +73,11 @@ public class RunResult {
 
     public void setSelectedActionList(ArrayList<_SimAction_> selectedActionList) {
         this.selectedActionList = selectedActionList;
+        this.selectedActionPartitions = null;
+    }
+
+    public ArrayList<ArrayList<_SimAction_>> getSelectedActionPartitions() {
+        return selectedActionPartitions;
     }
 
     public ArrayList<RunResult> getSubRunResults() {
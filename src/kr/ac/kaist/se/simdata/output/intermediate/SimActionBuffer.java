@@ -0,0 +1,164 @@
+package kr.ac.kaist.se.simdata.output.intermediate;
+
+import kr.ac.kaist.se.model.abst.cap.EnumActionType;
+import kr.ac.kaist.se.model.abst.cap._SimAction_;
+import kr.ac.kaist.se.model.abst.obj._SimObject_;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A flat buffer of actions selected in a tick (filled from a RunResult by SoS.fillActionBuffer(..)).
+ * Actions are kept in the order of the RunResult tree (each subject's actions form a contiguous range
+ * in the order of its selection), each with the RunResult of its subject,
+ * and every action type (EnumActionType) has an index of positions of its actions,
+ * so that the phases of SimEngine (counting, resolving conflicts, sending messages) iterate
+ * actions linearly without traversing the RunResult tree.
+ * A buffer is reused by SimEngine at every tick (clear()), thus it does not allocate once its arrays are large enough.
+ * <p>
+ * An action removed from the buffer (e.g., a CommAction whose message is sent) is also removed from
+ * the RunResult of its subject, thus the RunResult (getRunResult()) can be updated by update(..) of its subjects
+ * with the remaining actions, in the order of each subject.
+ *
+ * @author ymbaek
+ */
+public class SimActionBuffer {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NUM_OF_ACTION_TYPES = EnumActionType.values().length;
+
+    //RunResult from which the buffer is filled
+    private RunResult runResult;
+
+    //Selected actions (null: removed) and RunResults of their subjects, in the order of the RunResult tree
+    private _SimAction_[] actions = new _SimAction_[INITIAL_CAPACITY];
+    private RunResult[] subjectResults = new RunResult[INITIAL_CAPACITY];
+    private int numOfEntries = 0;
+    private int numOfRemoved = 0;
+
+    //Positions of actions of each type (index: ordinal of EnumActionType)
+    private final int[][] typePositions = new int[NUM_OF_ACTION_TYPES][INITIAL_CAPACITY];
+    private final int[] typeSizes = new int[NUM_OF_ACTION_TYPES];
+
+
+    public SimActionBuffer() {
+    }
+
+
+    /**
+     * Clear the buffer (arrays are kept for the next tick)
+     *
+     * @param runResult RunResult from which the buffer is (re)filled
+     */
+    public void clear(RunResult runResult) {
+        //References to actions of the previous tick are released
+        Arrays.fill(actions, 0, numOfEntries, null);
+        Arrays.fill(subjectResults, 0, numOfEntries, null);
+        numOfEntries = 0;
+        numOfRemoved = 0;
+        Arrays.fill(typeSizes, 0);
+
+        this.runResult = runResult;
+    }
+
+    /**
+     * Add selected actions of a RunResult (its selectedActionList, in the order of selection)
+     *
+     * @param subjectResult RunResult of a subject
+     */
+    public void addAll(RunResult subjectResult) {
+        List<_SimAction_> actionList = subjectResult.getSelectedActionList();
+        if (actionList == null) {
+            return;
+        }
+
+        ensureCapacity(actionList.size());
+        for (int i = 0; i < actionList.size(); i++) {
+            _SimAction_ aAction = actionList.get(i);
+            int type = aAction.getActionType().ordinal();
+
+            if (typeSizes[type] == typePositions[type].length) {
+                typePositions[type] = Arrays.copyOf(typePositions[type], typeSizes[type] * 2);
+            }
+            typePositions[type][typeSizes[type]++] = numOfEntries;
+
+            actions[numOfEntries] = aAction;
+            subjectResults[numOfEntries++] = subjectResult;
+        }
+    }
+
+    /**
+     * Remove an action from the buffer and from the RunResult of its subject
+     * (e.g., a CommAction whose message is sent, not to be executed again by an update)
+     *
+     * @param actionType type of the action
+     * @param index      index of the action among actions of the type
+     */
+    public void remove(EnumActionType actionType, int index) {
+        int position = typePositions[actionType.ordinal()][index];
+        _SimAction_ aAction = actions[position];
+        if (aAction == null) {
+            return;
+        }
+
+        subjectResults[position].removeSelectedActionsIf(selectedAction -> selectedAction == aAction);
+        actions[position] = null;
+        numOfRemoved++;
+    }
+
+
+    /**
+     * Number of actions in the buffer (not removed)
+     */
+    public int size() {
+        return numOfEntries - numOfRemoved;
+    }
+
+    /**
+     * Number of actions of a type (including removed ones, for which getAction(..) returns null)
+     */
+    public int size(EnumActionType actionType) {
+        return typeSizes[actionType.ordinal()];
+    }
+
+    /**
+     * @return action, or null if it is removed
+     */
+    public _SimAction_ getAction(EnumActionType actionType, int index) {
+        return actions[typePositions[actionType.ordinal()][index]];
+    }
+
+    public _SimObject_ getSubject(EnumActionType actionType, int index) {
+        return subjectResults[typePositions[actionType.ordinal()][index]].getRunSubject();
+    }
+
+    public RunResult getRunResult() {
+        return runResult;
+    }
+
+    /**
+     * Actions of the buffer as a new list (e.g., for a debug trace)
+     *
+     * @return list of actions (not removed) in the order of the RunResult tree
+     */
+    public ArrayList<_SimAction_> toActionList() {
+        ArrayList<_SimAction_> actionList = new ArrayList<>(size());
+        for (int position = 0; position < numOfEntries; position++) {
+            if (actions[position] != null) {
+                actionList.add(actions[position]);
+            }
+        }
+        return actionList;
+    }
+
+
+    private void ensureCapacity(int numOfNewActions) {
+        int requiredCapacity = numOfEntries + numOfNewActions;
+        if (requiredCapacity > actions.length) {
+            int newCapacity = Math.max(requiredCapacity, actions.length * 2);
+            actions = Arrays.copyOf(actions, newCapacity);
+            subjectResults = Arrays.copyOf(subjectResults, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.controller.util.EnumTraceLevel;
+import kr.ac.kaist.se.controller.util.EnumTraceSubsystem;
+import kr.ac.kaist.se.controller.util.SimTracer;
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An asynchronous writer of SimLogEvents.
+ * <p>
+ * SimEngine appends SimLogEvents of a tick into a bounded ring buffer and commits them at the end of the tick.
+ * A background thread writes committed SimLogEvents to a SimLogSink and flushes the sink
+ * once per group commit (i.e., not once per SimLogEvent).
+ * SimEngine is blocked only when the ring buffer is full.
+ * <p>
+ * append(..) and commit() should be called by a single thread (i.e., the simulation thread).
+ *
+ * @author ymbaek
+ */
+public class AsyncSimLogWriter {
+
+    private final SimLogSink logSink;
+
+    /* Ring buffer: [head, committed) is visible to the writer thread, [committed, tail) is not committed yet */
+    private final SimLogEvent[] ringBuffer;
+    private long head = 0;
+    private long committed = 0;
+    private long tail = 0;
+
+    private boolean isClosed = false;
+    private IOException writeException;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition hasCommitted = lock.newCondition();
+
+    private final Thread writerThread;
+
+
+    public AsyncSimLogWriter(SimLogSink logSink, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+
+        this.logSink = logSink;
+        this.ringBuffer = new SimLogEvent[bufferSize];
+
+        this.writerThread = new Thread(this::writeCommittedEvents, "SimLogWriter");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+
+    /**
+     * Write header information synchronously (before any SimLogEvent is appended)
+     *
+     * @param headerLines lines of the header
+     */
+    public void writeHeader(List<String> headerLines) throws IOException {
+        lock.lock();
+        try {
+            logSink.writeHeader(headerLines);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append a SimLogEvent into the ring buffer.
+     * If the ring buffer is full, uncommitted events are committed and
+     * this method waits until the writer thread makes a room.
+     *
+     * @param logEvent SimLogEvent to be written
+     */
+    public void append(SimLogEvent logEvent) {
+        lock.lock();
+        try {
+            appendWithLock(logEvent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append SimLogEvents (e.g., SimLogEvents of a tick) into the ring buffer
+     *
+     * @param logEvents SimLogEvents to be written
+     */
+    public void appendAll(List<SimLogEvent> logEvents) {
+        lock.lock();
+        try {
+            for (SimLogEvent logEvent : logEvents) {
+                appendWithLock(logEvent);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void appendWithLock(SimLogEvent logEvent) {
+        if (isClosed) {
+            throw new IllegalStateException("AsyncSimLogWriter is already closed.");
+        }
+
+        while (tail - head == ringBuffer.length) {
+            //A tick larger than the ring buffer is committed partially
+            if (committed < tail) {
+                committed = tail;
+                hasCommitted.signal();
+            }
+            notFull.awaitUninterruptibly();
+        }
+
+        ringBuffer[(int) (tail % ringBuffer.length)] = logEvent;
+        tail++;
+    }
+
+    /**
+     * Commit appended SimLogEvents (group commit, e.g., at the end of a tick)
+     */
+    public void commit() {
+        lock.lock();
+        try {
+            if (committed < tail) {
+                committed = tail;
+                hasCommitted.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commit appended SimLogEvents, wait until all of them are written, and close the SimLogSink
+     *
+     * @throws IOException if the writer thread failed to write SimLogEvents
+     */
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            committed = tail;
+            isClosed = true;
+            hasCommitted.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        boolean isInterrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            logSink.close();
+        } catch (IOException e) {
+            if (writeException == null) {
+                writeException = e;
+            }
+        }
+
+        if (writeException != null) {
+            throw writeException;
+        }
+    }
+
+
+    /**
+     * Loop of the writer thread
+     */
+    private void writeCommittedEvents() {
+        while (true) {
+            long from;
+            long to;
+
+            lock.lock();
+            try {
+                while (head == committed && !isClosed) {
+                    hasCommitted.awaitUninterruptibly();
+                }
+                if (head == committed) {
+                    return;
+                }
+                from = head;
+                to = committed;
+            } finally {
+                lock.unlock();
+            }
+
+            //Slots in [from, to) are not overwritten until head is moved
+            if (writeException == null) {
+                try {
+                    for (long index = from; index < to; index++) {
+                        logSink.writeLogEvent(ringBuffer[(int) (index % ringBuffer.length)]);
+                    }
+                    logSink.flush();
+                } catch (IOException e) {
+                    writeException = e;
+                    SimTracer.trace(EnumTraceSubsystem.ENGINE, EnumTraceLevel.ERROR,
+                            "WRITE_LOG_FAILED: (AsyncSimLogWriter) SimLogEvents are discarded from now on (" + e + ")");
+                }
+            }
+
+            lock.lock();
+            try {
+                for (long index = from; index < to; index++) {
+                    ringBuffer[(int) (index % ringBuffer.length)] = null;
+                }
+                head = to;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public SimLogSink getLogSink() {
+        return logSink;
+    }
+
+    public int getBufferSize() {
+        return ringBuffer.length;
+    }
+}
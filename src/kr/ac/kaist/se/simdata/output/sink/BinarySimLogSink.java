@@ -0,0 +1,50 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+import kr.ac.kaist.se.simdata.output.trace.SimTraceWriter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * A SimLogSink that writes SimLogEvents in the compact binary trace format
+ * (see SimTraceFormat). A written trace can be read by SimTraceReader.
+ *
+ * @author ymbaek
+ */
+public class BinarySimLogSink implements SimLogSink {
+
+    private final SimTraceWriter traceWriter;
+
+    public BinarySimLogSink(File logFile) throws IOException {
+        this(new FileOutputStream(logFile));
+    }
+
+    public BinarySimLogSink(OutputStream outputStream) throws IOException {
+        this.traceWriter = new SimTraceWriter(outputStream);
+    }
+
+    @Override
+    public void writeHeader(List<String> headerLines) throws IOException {
+        traceWriter.writeHeader(headerLines);
+        traceWriter.flush();
+    }
+
+    @Override
+    public void writeLogEvent(SimLogEvent logEvent) throws IOException {
+        traceWriter.writeLogEvent(logEvent);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        traceWriter.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        traceWriter.close();
+    }
+}
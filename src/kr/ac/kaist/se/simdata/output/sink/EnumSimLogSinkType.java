@@ -0,0 +1,7 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+public enum EnumSimLogSinkType {
+    TEXT,       //TextSimLogSink (SimModelLog.log)
+    BINARY,     //BinarySimLogSink (SimModelLog.bin)
+    NONE        //NullSimLogSink
+}
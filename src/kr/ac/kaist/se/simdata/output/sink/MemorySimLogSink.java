@@ -0,0 +1,47 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A SimLogSink that keeps SimLogEvents in memory
+ * (e.g., a trace of a replication that is evaluated after the simulation).
+ *
+ * @author ymbaek
+ */
+public class MemorySimLogSink implements SimLogSink {
+
+    private final ArrayList<String> headerLines = new ArrayList<>();
+    private final ArrayList<SimLogEvent> logEventList = new ArrayList<>();
+
+    @Override
+    public void writeHeader(List<String> headerLines) {
+        this.headerLines.addAll(headerLines);
+    }
+
+    @Override
+    public void writeLogEvent(SimLogEvent logEvent) {
+        logEventList.add(logEvent);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public ArrayList<String> getHeaderLines() {
+        return headerLines;
+    }
+
+    /**
+     * @return SimLogEvents in the order of writing (should be read after the simulation)
+     */
+    public ArrayList<SimLogEvent> getLogEventList() {
+        return logEventList;
+    }
+}
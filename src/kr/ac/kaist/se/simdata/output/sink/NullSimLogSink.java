@@ -0,0 +1,30 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+
+import java.util.List;
+
+/**
+ * A SimLogSink that discards every SimLogEvent
+ * (e.g., for benchmarks or simulations whose results are collected in memory).
+ *
+ * @author ymbaek
+ */
+public class NullSimLogSink implements SimLogSink {
+
+    @Override
+    public void writeHeader(List<String> headerLines) {
+    }
+
+    @Override
+    public void writeLogEvent(SimLogEvent logEvent) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,36 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Interface for destinations of SimLogEvents (e.g., text file, binary file).
+ * A SimLogSink is written by a single thread (AsyncSimLogWriter),
+ * thus an implementation does not need to be thread-safe.
+ *
+ * @author ymbaek
+ */
+public interface SimLogSink extends Closeable {
+
+    /**
+     * Write header information of a simulation (written once before any SimLogEvent)
+     *
+     * @param headerLines lines of the header
+     */
+    void writeHeader(List<String> headerLines) throws IOException;
+
+    /**
+     * Write a SimLogEvent
+     *
+     * @param logEvent SimLogEvent to be written
+     */
+    void writeLogEvent(SimLogEvent logEvent) throws IOException;
+
+    /**
+     * Flush written SimLogEvents (called once per group commit, not per event)
+     */
+    void flush() throws IOException;
+}
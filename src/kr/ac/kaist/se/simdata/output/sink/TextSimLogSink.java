@@ -0,0 +1,50 @@
+package kr.ac.kaist.se.simdata.output.sink;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A SimLogSink that writes SimLogEvents as pipe-delimited lines
+ * (SimLogEvent.getStringLogEvent()) to a text file.
+ *
+ * @author ymbaek
+ */
+public class TextSimLogSink implements SimLogSink {
+
+    private final String lineSeparator = System.getProperty("line.separator");
+    private final BufferedWriter outputWriter;
+
+    public TextSimLogSink(File logFile) throws IOException {
+        this.outputWriter = new BufferedWriter(new FileWriter(logFile));
+    }
+
+    @Override
+    public void writeHeader(List<String> headerLines) throws IOException {
+        for (String headerLine : headerLines) {
+            outputWriter.write(headerLine);
+            outputWriter.write(lineSeparator);
+        }
+        outputWriter.flush();
+    }
+
+    @Override
+    public void writeLogEvent(SimLogEvent logEvent) throws IOException {
+        outputWriter.write(logEvent.getStringLogEvent());
+        outputWriter.write(lineSeparator);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputWriter.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputWriter.close();
+    }
+}
@@ -0,0 +1,40 @@
+package kr.ac.kaist.se.simdata.output.trace;
+
+/**
+ * Constants of the compact binary trace format (SimTraceWriter/SimTraceReader)
+ * <p>
+ * File      : MAGIC (4 bytes) | VERSION (1 byte) | entry*
+ * Entry     : tag (1 byte) | body
+ * HEADER    : count (varint) | inline string * count
+ * STRING    : inline string (defines the next entry of the string table)
+ * EVENT     : simTime delta (zigzag varint) | wall-clock delta in millis (zigzag varint) |
+ * eventType (1 byte, ordinal + 1, 0 if null) | id (inline string) |
+ * subjectObjId (string ref) | eventSpec (string ref)
+ * EVENT_NUMERIC_ID : the same as EVENT, except that id is numericId (varint, see SimLogEventId) | eventSourceName (string ref)
+ * <p>
+ * Inline string: length in bytes (varint) | UTF-8 bytes
+ * String ref   : 0 (null) | 1 (an inline string follows) | index of the string table + 2
+ * Deltas are computed from the previous EVENT (the first EVENT is relative to 0).
+ *
+ * @author ymbaek
+ */
+public final class SimTraceFormat {
+
+    public static final byte[] MAGIC = {'S', 'O', 'S', 'T'};
+    public static final byte VERSION = 1;
+
+    public static final byte TAG_HEADER = 1;
+    public static final byte TAG_STRING = 2;
+    public static final byte TAG_EVENT = 3;
+    public static final byte TAG_EVENT_NUMERIC_ID = 4;
+
+    public static final int REF_NULL = 0;
+    public static final int REF_INLINE = 1;
+    public static final int REF_TABLE_OFFSET = 2;
+
+    //Maximum number of interned strings (further strings are written inline)
+    public static final int MAX_STRING_TABLE_SIZE = 1 << 16;
+
+    private SimTraceFormat() {
+    }
+}
@@ -0,0 +1,242 @@
+package kr.ac.kaist.se.simdata.output.trace;
+
+import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+import kr.ac.kaist.se.simdata.evnt.SimLogEventId;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A streaming reader of the compact binary trace format (see SimTraceFormat).
+ * Events are read one by one, thus a trace is never loaded into memory as a whole.
+ * <pre>
+ * try (SimTraceReader reader = new SimTraceReader(new File("SimModelLog.bin"))) {
+ *     SimTraceRecord record = new SimTraceRecord();
+ *     while (reader.readNext(record)) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author ymbaek
+ */
+public class SimTraceReader implements Closeable {
+
+    private static final EnumEventType[] eventTypes = EnumEventType.values();
+
+    private final InputStream inputStream;
+
+    private final ArrayList<String> stringTable = new ArrayList<>();
+    private final ArrayList<String> headerLines = new ArrayList<>();
+
+    //Values of the previous event (for delta decoding)
+    private int prevSimTime = 0;
+    private long prevTimestampMillis = 0;
+
+    private byte[] stringBuffer = new byte[64];
+
+
+    public SimTraceReader(File traceFile) throws IOException {
+        this(new FileInputStream(traceFile));
+    }
+
+    public SimTraceReader(InputStream inputStream) throws IOException {
+        this.inputStream = inputStream instanceof BufferedInputStream ? inputStream : new BufferedInputStream(inputStream);
+
+        byte[] magic = new byte[SimTraceFormat.MAGIC.length];
+        readFully(magic, magic.length);
+        if (!Arrays.equals(magic, SimTraceFormat.MAGIC)) {
+            throw new IOException("Not a SimTrace file (magic: " + Arrays.toString(magic) + ")");
+        }
+        int version = readByte();
+        if (version != SimTraceFormat.VERSION) {
+            throw new IOException("Unsupported SimTrace version: " + version);
+        }
+    }
+
+
+    /**
+     * Read the next event into a given record
+     *
+     * @param record record to be filled (reused by a caller)
+     * @return false if there is no more event
+     */
+    public boolean readNext(SimTraceRecord record) throws IOException {
+        while (true) {
+            int tag = inputStream.read();
+
+            switch (tag) {
+                case -1:
+                    return false;
+                case SimTraceFormat.TAG_HEADER:
+                    long numOfLines = readVarint();
+                    for (long line = 0; line < numOfLines; line++) {
+                        headerLines.add(readInlineString());
+                    }
+                    break;
+                case SimTraceFormat.TAG_STRING:
+                    stringTable.add(readInlineString());
+                    break;
+                case SimTraceFormat.TAG_EVENT:
+                    readEvent(record, false);
+                    return true;
+                case SimTraceFormat.TAG_EVENT_NUMERIC_ID:
+                    readEvent(record, true);
+                    return true;
+                default:
+                    throw new IOException("Unknown SimTrace entry (tag: " + tag + ")");
+            }
+        }
+    }
+
+    /**
+     * Read the next event as a new record
+     *
+     * @return record, or null if there is no more event
+     */
+    public SimTraceRecord next() throws IOException {
+        SimTraceRecord record = new SimTraceRecord();
+        return readNext(record) ? record : null;
+    }
+
+    /**
+     * Read the next event as a SimLogEvent (subjectObj of the SimLogEvent is null)
+     *
+     * @return SimLogEvent, or null if there is no more event
+     */
+    public SimLogEvent nextLogEvent() throws IOException {
+        SimTraceRecord record = next();
+        return record != null ? record.toLogEvent() : null;
+    }
+
+    /**
+     * Replay all remaining events (a single record object is reused for every event)
+     *
+     * @param recordConsumer consumer of records
+     */
+    public void forEachRecord(Consumer<SimTraceRecord> recordConsumer) throws IOException {
+        SimTraceRecord record = new SimTraceRecord();
+        while (readNext(record)) {
+            recordConsumer.accept(record);
+        }
+    }
+
+    /**
+     * Header lines read so far (the header is written before the first event by SimEngine)
+     */
+    public List<String> getHeaderLines() {
+        return headerLines;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+
+    private void readEvent(SimTraceRecord record, boolean hasNumericId) throws IOException {
+        int simTime = (int) (prevSimTime + unzigzag(readVarint()));
+        long timestampMillis = prevTimestampMillis + unzigzag(readVarint());
+
+        int eventTypeCode = readByte();
+        EnumEventType eventType = null;
+        if (eventTypeCode > 0) {
+            if (eventTypeCode > eventTypes.length) {
+                throw new IOException("Unknown EnumEventType (ordinal: " + (eventTypeCode - 1) + ")");
+            }
+            eventType = eventTypes[eventTypeCode - 1];
+        }
+
+        String eventId = null;
+        long numericEventId = SimLogEventId.NONE;
+        String eventSourceName = null;
+        if (hasNumericId) {
+            numericEventId = readVarint();
+            eventSourceName = readStringRef();
+        } else {
+            eventId = readInlineString();
+        }
+        String subjectObjId = readStringRef();
+        String eventSpec = readStringRef();
+
+        record.set(simTime, timestampMillis, eventId, numericEventId, eventSourceName, eventType, subjectObjId, eventSpec);
+
+        prevSimTime = simTime;
+        prevTimestampMillis = timestampMillis;
+    }
+
+    private String readStringRef() throws IOException {
+        long stringRef = readVarint();
+
+        if (stringRef == SimTraceFormat.REF_NULL) {
+            return null;
+        } else if (stringRef == SimTraceFormat.REF_INLINE) {
+            return readInlineString();
+        } else {
+            long index = stringRef - SimTraceFormat.REF_TABLE_OFFSET;
+            if (index >= stringTable.size()) {
+                throw new IOException("Invalid string reference: " + stringRef);
+            }
+            return stringTable.get((int) index);
+        }
+    }
+
+    private String readInlineString() throws IOException {
+        int length = (int) readVarint();
+        if (stringBuffer.length < length) {
+            stringBuffer = new byte[Math.max(length, stringBuffer.length * 2)];
+        }
+        readFully(stringBuffer, length);
+        return new String(stringBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int aByte = readByte();
+            value |= (long) (aByte & 0x7F) << shift;
+            if ((aByte & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varint");
+            }
+        }
+    }
+
+    private int readByte() throws IOException {
+        int aByte = inputStream.read();
+        if (aByte < 0) {
+            throw new EOFException("Unexpected end of SimTrace");
+        }
+        return aByte;
+    }
+
+    private void readFully(byte[] buffer, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = inputStream.read(buffer, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of SimTrace");
+            }
+            offset += read;
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,95 @@
+package kr.ac.kaist.se.simdata.output.trace;
+
+import kr.ac.kaist.se.model.abst.evnt.EnumEventType;
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+import kr.ac.kaist.se.simdata.evnt.SimLogEventId;
+
+import java.sql.Timestamp;
+
+/**
+ * A light-weight record of a SimLogEvent read from a binary trace.
+ * A record does not refer to the subject object (only its id),
+ * and it can be reused by SimTraceReader.readNext(..) to avoid an allocation per event.
+ *
+ * @author ymbaek
+ */
+public class SimTraceRecord {
+
+    private int simTime;
+    private long timestampMillis;
+    private String eventId;
+    //Numeric id (see SimLogEventId) and its source, from which eventId is rendered when it is needed
+    private long numericEventId;
+    private String eventSourceName;
+    private EnumEventType eventType;
+    private String subjectObjId;
+    private String eventSpec;
+
+
+    public SimTraceRecord() {
+    }
+
+    void set(int simTime, long timestampMillis, String eventId, long numericEventId, String eventSourceName,
+             EnumEventType eventType, String subjectObjId, String eventSpec) {
+        this.simTime = simTime;
+        this.timestampMillis = timestampMillis;
+        this.eventId = eventId;
+        this.numericEventId = numericEventId;
+        this.eventSourceName = eventSourceName;
+        this.eventType = eventType;
+        this.subjectObjId = subjectObjId;
+        this.eventSpec = eventSpec;
+    }
+
+    /**
+     * Convert this record into a SimLogEvent (subjectObj is null)
+     *
+     * @return SimLogEvent
+     */
+    public SimLogEvent toLogEvent() {
+        if (eventId == null && numericEventId != SimLogEventId.NONE) {
+            return new SimLogEvent(numericEventId, eventSourceName, eventType, new Timestamp(timestampMillis), simTime, subjectObjId, null, eventSpec);
+        }
+        return new SimLogEvent(eventId, eventType, new Timestamp(timestampMillis), simTime, subjectObjId, null, eventSpec);
+    }
+
+    public int getSimTime() {
+        return simTime;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getEventId() {
+        if (eventId == null && numericEventId != SimLogEventId.NONE) {
+            eventId = SimLogEventId.toString(eventSourceName, subjectObjId, numericEventId);
+        }
+        return eventId;
+    }
+
+    public long getNumericEventId() {
+        return numericEventId;
+    }
+
+    public String getEventSourceName() {
+        return eventSourceName;
+    }
+
+    public EnumEventType getEventType() {
+        return eventType;
+    }
+
+    public String getSubjectObjId() {
+        return subjectObjId;
+    }
+
+    public String getEventSpec() {
+        return eventSpec;
+    }
+
+    @Override
+    public String toString() {
+        return simTime + "|" + new Timestamp(timestampMillis) + "|" + getEventId() + "|" + eventType + "|" + subjectObjId + "|" + eventSpec;
+    }
+}
@@ -0,0 +1,145 @@
+package kr.ac.kaist.se.simdata.output.trace;
+
+import kr.ac.kaist.se.simdata.evnt.SimLogEvent;
+import kr.ac.kaist.se.simdata.evnt.SimLogEventId;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A writer of the compact binary trace format (see SimTraceFormat).
+ * Object ids and event specifications are interned in a string table,
+ * thus a repeated string is written only once.
+ *
+ * @author ymbaek
+ */
+public class SimTraceWriter implements Closeable {
+
+    private final OutputStream outputStream;
+
+    //Interned strings (string -> index of the string table)
+    private final HashMap<String, Integer> stringTable = new HashMap<>();
+
+    //Values of the previous event (for delta encoding)
+    private int prevSimTime = 0;
+    private long prevTimestampMillis = 0;
+
+
+    public SimTraceWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = outputStream instanceof BufferedOutputStream ? outputStream : new BufferedOutputStream(outputStream);
+
+        this.outputStream.write(SimTraceFormat.MAGIC);
+        this.outputStream.write(SimTraceFormat.VERSION);
+    }
+
+
+    /**
+     * Write header lines (e.g., information of SimEngine)
+     *
+     * @param headerLines lines of the header
+     */
+    public void writeHeader(List<String> headerLines) throws IOException {
+        outputStream.write(SimTraceFormat.TAG_HEADER);
+        writeVarint(headerLines.size());
+        for (String headerLine : headerLines) {
+            writeInlineString(headerLine);
+        }
+    }
+
+    /**
+     * Write a SimLogEvent (the subject object is written as its id)
+     *
+     * @param logEvent SimLogEvent to be written
+     */
+    public void writeLogEvent(SimLogEvent logEvent) throws IOException {
+        long timestampMillis = logEvent.getTimestamp() != null ? logEvent.getTimestamp().getTime() : prevTimestampMillis;
+
+        //A numeric id is written as it is (its string form is not rendered)
+        boolean hasNumericId = logEvent.getNumericId() != SimLogEventId.NONE;
+
+        //Strings are interned before the event entry
+        int eventSourceNameRef = hasNumericId ? internString(logEvent.getEventSourceName()) : SimTraceFormat.REF_NULL;
+        int subjectObjIdRef = internString(logEvent.getSubjectObjId());
+        int eventSpecRef = internString(logEvent.getEventSpec());
+
+        outputStream.write(hasNumericId ? SimTraceFormat.TAG_EVENT_NUMERIC_ID : SimTraceFormat.TAG_EVENT);
+        writeVarint(zigzag(logEvent.getSimTime() - (long) prevSimTime));
+        writeVarint(zigzag(timestampMillis - prevTimestampMillis));
+        outputStream.write(logEvent.getEventType() != null ? logEvent.getEventType().ordinal() + 1 : 0);
+        if (hasNumericId) {
+            writeVarint(logEvent.getNumericId());
+            writeStringRef(eventSourceNameRef, logEvent.getEventSourceName());
+        } else {
+            writeInlineString(logEvent.getId() != null ? logEvent.getId() : "");
+        }
+        writeStringRef(subjectObjIdRef, logEvent.getSubjectObjId());
+        writeStringRef(eventSpecRef, logEvent.getEventSpec());
+
+        prevSimTime = logEvent.getSimTime();
+        prevTimestampMillis = timestampMillis;
+    }
+
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+
+
+    /**
+     * Intern a string (a STRING entry is written if the string is new)
+     *
+     * @return reference of the string (see SimTraceFormat)
+     */
+    private int internString(String aString) throws IOException {
+        if (aString == null) {
+            return SimTraceFormat.REF_NULL;
+        }
+
+        Integer index = stringTable.get(aString);
+        if (index == null) {
+            if (stringTable.size() >= SimTraceFormat.MAX_STRING_TABLE_SIZE) {
+                return SimTraceFormat.REF_INLINE;
+            }
+            index = stringTable.size();
+            stringTable.put(aString, index);
+
+            outputStream.write(SimTraceFormat.TAG_STRING);
+            writeInlineString(aString);
+        }
+        return index + SimTraceFormat.REF_TABLE_OFFSET;
+    }
+
+    private void writeStringRef(int stringRef, String aString) throws IOException {
+        writeVarint(stringRef);
+        if (stringRef == SimTraceFormat.REF_INLINE) {
+            writeInlineString(aString);
+        }
+    }
+
+    private void writeInlineString(String aString) throws IOException {
+        byte[] bytes = aString.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        outputStream.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}